@@ -0,0 +1,22 @@
+package org.plantagonist.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Same command line as JMH's own Main, but results always go to a JSON file
+ * ({@code target/jmh-result.json}, or {@code -Djmh.result=...}) so runs can be diffed over time.
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        String result = System.getProperty("jmh.result", "target/jmh-result.json");
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build()).run();
+        System.out.println("Results written to " + result);
+    }
+}
@@ -0,0 +1,51 @@
+package org.plantagonist.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.plantagonist.core.json.DateAdapters;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/** Date (de)serialization through the Gson adapters used for the user profile JSON. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateAdaptersBenchmark {
+    private Gson gson;
+    private Date date;
+    private String isoJson;
+    private String legacyJson;
+
+    @Setup
+    public void setup() {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(Date.class, DateAdapters.DESERIALIZER)
+                .registerTypeAdapter(Date.class, DateAdapters.SERIALIZER)
+                .create();
+        date = Date.from(Instant.parse("2025-03-14T09:26:53.589Z"));
+        isoJson = gson.toJson(date);
+        // falls through the java.time parser to the SimpleDateFormat patterns
+        legacyJson = "\"Mar 14, 2025, 9:26:53 AM\"";
+    }
+
+    @Benchmark
+    public String serialize() {
+        return gson.toJson(date);
+    }
+
+    @Benchmark
+    public Date deserializeIso() {
+        return gson.fromJson(isoJson, Date.class);
+    }
+
+    @Benchmark
+    public Date deserializeLegacy() {
+        return gson.fromJson(legacyJson, Date.class);
+    }
+}
@@ -0,0 +1,90 @@
+package org.plantagonist.bench;
+
+import org.plantagonist.core.models.CareAction;
+import org.plantagonist.core.models.CareLogEntry;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.models.UserProfile;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/** Deterministic sample data shared by the benchmarks. */
+final class Fixtures {
+    private static final CareAction[] ACTIONS =
+            {CareAction.WATERING, CareAction.FERTILIZING, CareAction.SOIL_CHANGE, CareAction.OTHER};
+
+    private Fixtures() {}
+
+    static List<UserProfile> users(int n) {
+        List<UserProfile> out = new ArrayList<>(n);
+        Date now = Date.from(Instant.parse("2025-01-01T00:00:00Z"));
+        for (int i = 0; i < n; i++) {
+            UserProfile u = new UserProfile();
+            u.setId("user-" + i);
+            u.setEmail("user" + i + "@example.com");
+            u.setUsername("user_" + i);
+            u.setPasswordHash("$2a$10$abcdefghijklmnopqrstuu7Hq3V4pH1b8mXqYQ0m1Zc1dYx3o2Wsy");
+            u.setCity(i % 2 == 0 ? "Dhaka" : "Chattogram");
+            u.setCreatedAt(now);
+            u.setUpdatedAt(now);
+            out.add(u);
+        }
+        return out;
+    }
+
+    static List<CareLogEntry> careLogs(int n) {
+        Random rnd = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        List<CareLogEntry> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            CareLogEntry e = new CareLogEntry();
+            e.setId("log-" + i);
+            e.setUserId("user-" + (i % 50));
+            e.setPlantId("plant-" + (i % 400));
+            e.setPlantName("Monstera " + (i % 400));
+            e.setDate(start.plusDays(i % 365));
+            e.setActionType(ACTIONS[i % ACTIONS.length]);
+            if (rnd.nextBoolean()) e.setSoilMoisturePct(rnd.nextDouble() * 100);
+            e.setNotes(i % 3 == 0 ? "Leaves look healthy, rotated pot a quarter turn." : null);
+            out.add(e);
+        }
+        return out;
+    }
+
+    /** {@code n} plants spread round-robin over {@code users} users. */
+    static List<Plant> plants(int n, int users) {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        List<Plant> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Plant p = new Plant();
+            p.setId("plant-" + i);
+            p.setUserId("user-" + (i % users));
+            p.setName("Monstera " + i);
+            p.setWaterEveryDays(2 + i % 7);
+            p.setLastWatered(start.minusDays(i % 9));
+            out.add(p);
+        }
+        return out;
+    }
+
+    static CareTask task(int i) {
+        CareTask t = new CareTask();
+        t.setId("task-" + i);
+        t.setUserId("user-" + (i % 50));
+        t.setPlantId("plant-" + (i % 400));
+        t.setPlantName("Monstera " + (i % 400));
+        t.setDueDate(LocalDate.of(2025, 1, 1).plusDays(i % 30));
+        t.setType(TaskType.WATER);
+        t.setStatus(TaskStatus.UPCOMING);
+        t.setFrequencyDays(7);
+        t.setLastCompleted(LocalDate.of(2024, 12, 25));
+        return t;
+    }
+}
@@ -0,0 +1,60 @@
+package org.plantagonist.bench;
+
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.*;
+import org.plantagonist.core.models.CareLogEntry;
+import org.plantagonist.core.storage.JsonStore;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** JsonStore full-file read and rewrite of a care-log list. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonStoreBenchmark {
+    private static final Type LIST_TYPE = new TypeToken<List<CareLogEntry>>(){}.getType();
+
+    @Param({"100", "1000", "10000"})
+    public int entries;
+
+    private Path dir;
+    private Path readFile;
+    private Path writeFile;
+    private List<CareLogEntry> data;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("plantagonist-bench");
+        readFile = dir.resolve("logs.json");
+        writeFile = dir.resolve("logs-out.json");
+        data = Fixtures.careLogs(entries);
+        JsonStore.writeList(readFile, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<CareLogEntry> read() {
+        return JsonStore.readList(readFile, LIST_TYPE);
+    }
+
+    @Benchmark
+    public void write() {
+        JsonStore.writeList(writeFile, data);
+    }
+}
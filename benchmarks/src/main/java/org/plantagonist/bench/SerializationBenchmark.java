@@ -0,0 +1,75 @@
+package org.plantagonist.bench;
+
+import com.google.gson.Gson;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.openjdk.jmh.annotations.*;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.CareLogEntry;
+import org.plantagonist.core.models.CareTask;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model encode/decode: Gson (local JSON files) and the BSON POJO codecs the Mongo client
+ * uses, without a server. CareTask only goes through BSON since Gson cannot reflect on LocalDate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private final Gson gson = new Gson();
+    private CareLogEntry log;
+    private String logJson;
+    private CareTask task;
+
+    private Codec<CareLogEntry> logCodec;
+    private Codec<CareTask> taskCodec;
+    private RawBsonDocument logBson;
+    private RawBsonDocument taskBson;
+
+    @Setup
+    public void setup() {
+        log = Fixtures.careLogs(1).get(0);
+        logJson = gson.toJson(log);
+        task = Fixtures.task(7);
+
+        logCodec = MongoConfig.codecRegistry().get(CareLogEntry.class);
+        taskCodec = MongoConfig.codecRegistry().get(CareTask.class);
+        logBson = new RawBsonDocument(log, logCodec);
+        taskBson = new RawBsonDocument(task, taskCodec);
+    }
+
+    @Benchmark
+    public String gsonEncodeCareLog() {
+        return gson.toJson(log);
+    }
+
+    @Benchmark
+    public CareLogEntry gsonDecodeCareLog() {
+        return gson.fromJson(logJson, CareLogEntry.class);
+    }
+
+    @Benchmark
+    public RawBsonDocument bsonEncodeCareLog() {
+        return new RawBsonDocument(log, logCodec);
+    }
+
+    @Benchmark
+    public CareLogEntry bsonDecodeCareLog() {
+        return logBson.decode(logCodec);
+    }
+
+    @Benchmark
+    public RawBsonDocument bsonEncodeCareTask() {
+        return new RawBsonDocument(task, taskCodec);
+    }
+
+    @Benchmark
+    public CareTask bsonDecodeCareTask() {
+        return taskBson.decode(taskCodec);
+    }
+}
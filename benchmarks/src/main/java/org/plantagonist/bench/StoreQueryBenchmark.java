@@ -0,0 +1,83 @@
+package org.plantagonist.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.repositories.InMemoryPlantStore;
+import org.plantagonist.core.repositories.InMemoryTaskStore;
+import org.plantagonist.core.repositories.LocalDatabase;
+import org.plantagonist.core.repositories.PlantStore;
+import org.plantagonist.core.repositories.TaskStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The two reads every screen makes, on the embedded backends: the in-memory stores and the
+ * file-backed local database, to compare with the same reads against a localhost Mongo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreQueryBenchmark {
+    private static final String USER = "user-0";
+    private static final int USERS = 50;
+
+    @Param({"memory", "local"})
+    public String backend;
+
+    @Param({"20", "200"})
+    public int plantsPerUser;
+
+    private Path dir;
+    private LocalDatabase db;
+    private PlantStore plants;
+    private TaskStore tasks;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if (backend.equals("local")) {
+            dir = Files.createTempDirectory("plantagonist-bench");
+            db = LocalDatabase.open(dir);
+            plants = new InMemoryPlantStore(db);
+            tasks = new InMemoryTaskStore(db);
+        } else {
+            plants = new InMemoryPlantStore();
+            tasks = new InMemoryTaskStore();
+        }
+        int n = USERS * plantsPerUser;
+        for (Plant p : Fixtures.plants(n, USERS)) plants.insertOne(p);
+        for (int i = 0; i < n; i++) {
+            CareTask t = Fixtures.task(i);
+            t.setUserId("user-" + (i % USERS));
+            tasks.insertOne(t);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (db == null) return;
+        db.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Plant> plantsByUser() {
+        return plants.findByUserId(USER);
+    }
+
+    @Benchmark
+    public List<CareTask> dueOrUpcoming() {
+        return tasks.findDueOrUpcoming(USER);
+    }
+}
@@ -0,0 +1,52 @@
+package org.plantagonist.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.plantagonist.core.services.SuggestionService;
+import org.plantagonist.core.services.WeatherService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/** SuggestionService.advise across the main branches (soil reading, rain, heat, schedule only). */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionBenchmark {
+    private final SuggestionService suggestions = new SuggestionService();
+    private WeatherService.WeatherNow[] weather;
+    private LocalDate lastWatered;
+
+    @Setup
+    public void setup() {
+        weather = new WeatherService.WeatherNow[]{
+                weather(26, 0), weather(36, 0), weather(15, 0.4), weather(24, 6.5)
+        };
+        lastWatered = LocalDate.now().minusDays(5);
+    }
+
+    private static WeatherService.WeatherNow weather(double tempC, double precipMm) {
+        WeatherService.WeatherNow w = new WeatherService.WeatherNow();
+        w.tempC = tempC;
+        w.precipMm = precipMm;
+        w.description = "Partly cloudy";
+        return w;
+    }
+
+    @Benchmark
+    public void scheduleOnly(Blackhole bh) {
+        for (WeatherService.WeatherNow w : weather) {
+            bh.consume(suggestions.advise(w, lastWatered, 7, null, false));
+        }
+    }
+
+    @Benchmark
+    public void withSoilMoisture(Blackhole bh) {
+        for (WeatherService.WeatherNow w : weather) {
+            bh.consume(suggestions.advise(w, lastWatered, 7, 33.0, true));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.plantagonist.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.repositories.InMemoryPlantStore;
+import org.plantagonist.core.repositories.InMemoryTaskStore;
+import org.plantagonist.core.services.ForecastCache;
+import org.plantagonist.core.services.GeoCache;
+import org.plantagonist.core.services.SuggestionService;
+import org.plantagonist.core.services.TaskService;
+import org.plantagonist.core.services.WeatherCells;
+import org.plantagonist.core.services.WeatherProvider;
+import org.plantagonist.core.services.WeatherService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/** TaskService.syncAllTasks for one user against the in-memory stores and a canned forecast. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskServiceBenchmark {
+    private static final String USER = "user-0";
+    private static final String CITY = "Dhaka";
+
+    @Param({"10", "100", "1000"})
+    public int plants;
+
+    private TaskService tasks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        InMemoryPlantStore plantStore = new InMemoryPlantStore();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < plants; i++) {
+            Plant p = new Plant();
+            p.setId("plant-" + i);
+            p.setUserId(USER);
+            p.setName("Monstera " + i);
+            p.setWaterEveryDays(i % 10 == 0 ? null : 2 + i % 7);
+            p.setLastWatered(today.minusDays(i % 9));
+            plantStore.insertOne(p);
+        }
+        WeatherService canned = new WeatherService(new CannedWeather(today));
+        WeatherCells weather = new WeatherCells(new GeoCache(city -> null, null), canned,
+                new ForecastCache(canned), Duration.ofHours(3), Clock.systemUTC());
+        tasks = new TaskService(plantStore, new InMemoryTaskStore(), weather, new SuggestionService());
+        tasks.syncAllTasks(USER, CITY); // steady state: stored tasks already match, the forecast is cached
+    }
+
+    @Benchmark
+    public void syncAllTasks() {
+        tasks.syncAllTasks(USER, CITY);
+    }
+
+    /** A hot, dry week, so the watering planner moves days without touching the network. */
+    static final class CannedWeather implements WeatherProvider {
+        private final LocalDate today;
+
+        CannedWeather(LocalDate today) {
+            this.today = today;
+        }
+
+        @Override
+        public String name() { return "canned"; }
+
+        @Override
+        public WeatherService.WeatherNow now(String q) {
+            WeatherService.WeatherNow now = new WeatherService.WeatherNow();
+            now.tempC = 35;
+            now.precipMm = 0;
+            return now;
+        }
+
+        @Override
+        public WeatherService.Forecast forecast(String q, int days) {
+            WeatherService.Forecast f = new WeatherService.Forecast();
+            f.locationName = q;
+            f.fetchedAt = Instant.now();
+            for (int i = 0; i < days; i++) {
+                WeatherService.Day d = new WeatherService.Day();
+                d.date = today.plusDays(i);
+                d.maxTempC = 35;
+                d.avgTempC = 30;
+                f.days.add(d);
+            }
+            return f;
+        }
+    }
+}
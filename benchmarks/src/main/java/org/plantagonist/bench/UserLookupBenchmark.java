@@ -0,0 +1,64 @@
+package org.plantagonist.bench;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import org.plantagonist.core.models.UserProfile;
+import org.plantagonist.core.repositories.UserRepositoryJson;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/** UserRepositoryJson lookups (each one reads and scans users.json) at growing user counts. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private Path dir;
+    private UserRepositoryJson repo;
+    private String lastEmail;
+    private String middleId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("plantagonist-bench");
+        Path file = dir.resolve("users.json");
+        // written in one go: inserting through the repository is O(n^2)
+        Files.writeString(file, new Gson().toJson(Fixtures.users(users)), StandardCharsets.UTF_8);
+        repo = new UserRepositoryJson(file);
+        lastEmail = "user" + (users - 1) + "@example.com";
+        middleId = "user-" + (users / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public UserProfile findByEmailLast() {
+        return repo.findByEmail(lastEmail);
+    }
+
+    @Benchmark
+    public UserProfile findByIdMiddle() {
+        return repo.findById(middleId);
+    }
+
+    @Benchmark
+    public UserProfile findByUsernameMiss() {
+        return repo.findByUsername("nobody");
+    }
+}
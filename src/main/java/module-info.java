@@ -6,6 +6,9 @@ module org.plantagonist {
     // HTTP client for APIs
     requires java.net.http;
 
+    // local weather stub (tools.ForecastStub)
+    requires jdk.httpserver;
+
     // JSON
     requires com.google.gson;
 
@@ -26,6 +29,9 @@ module org.plantagonist {
     // Models are deserialized by Gson & Mongo (both use reflection)
     opens org.plantagonist.core.models to com.google.gson, org.mongodb.bson;
 
+    // Search index segments are (de)serialized by Gson
+    opens org.plantagonist.core.search to com.google.gson;
+
     // If you put DTOs/configs elsewhere, open those packages similarly.
     // Example: opens org.plantagonist.core.services to com.google.gson;
 
@@ -4,7 +4,14 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.migrations.Migrations;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.schedule.ReminderScheduler;
+import org.plantagonist.core.services.NotificationService;
+import org.plantagonist.core.services.SchedulerService;
 import org.plantagonist.ui.UiRouter;
+import org.plantagonist.util.StartupTimer;
 
 public class App extends Application {
     @Override
@@ -23,7 +30,27 @@ public class App extends Application {
       //  stage.show();
 
 
+      // local files first: the login screen reads them
+      Migrations.runFileMigrations();
+
+      // connect, fill the pool and build indexes while the user is typing their password
+      Repositories.Backend backend = Repositories.backend();
+      if (backend == Repositories.Backend.MONGO || backend == Repositories.Backend.OFFLINE) MongoConfig.warmUpAsync();
+      SchedulerService.startSweeps();
+      ReminderScheduler.start();
       UiRouter.showLogin(stage);
+      StartupTimer.loginScreenShown();
+    }
+
+    @Override
+    public void stop() {
+        Repositories.cacheStats().forEach(s -> System.out.println("[Cache] " + s));
+        SchedulerService.SweepStats sweeps = SchedulerService.stats();
+        if (sweeps != null && sweeps.sweeps() > 0) System.out.println("[Sweep] " + sweeps);
+        ReminderScheduler.Stats reminders = ReminderScheduler.stats();
+        if (reminders != null) System.out.println("[Reminders] " + reminders);
+        NotificationService.Stats notify = NotificationService.sharedStats();
+        if (notify != null) System.out.println("[Notify] " + notify);
     }
 
     public static void main(String[] args) {
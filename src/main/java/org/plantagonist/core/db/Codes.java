@@ -0,0 +1,91 @@
+package org.plantagonist.core.db;
+
+import com.mongodb.client.model.Filters;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.plantagonist.core.migrations.EnumCodeMigration;
+import org.plantagonist.core.models.CareAction;
+import org.plantagonist.core.models.Coded;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link Coded} enums in documents: written as their int code, read from the code or from the
+ * name strings stored before codes. Filters on them go through {@link #eq}/{@link #nin}, which
+ * also match the old strings until {@link EnumCodeMigration} has rewritten them.
+ */
+public final class Codes {
+    private Codes() {}
+
+    /** Codecs for every coded enum the models use; must come before the driver's enum codec. */
+    static CodecRegistry registry() {
+        return CodecRegistries.fromCodecs(
+                new CodedEnumCodec<>(TaskType.class, TaskType::parse),
+                new CodedEnumCodec<>(TaskStatus.class, TaskStatus::parse),
+                new CodedEnumCodec<>(CareAction.class, CareAction::parse));
+    }
+
+    public static <E extends Enum<E> & Coded> Bson eq(String field, E value) {
+        if (value == null) return Filters.eq(field, null);
+        return EnumCodeMigration.isComplete() ? Filters.eq(field, value.code())
+                : Filters.in(field, value.code(), value.name());
+    }
+
+    /** Documents whose field is none of {@code values} in either spelling (or is missing), like a chain of $ne. */
+    @SafeVarargs
+    public static <E extends Enum<E> & Coded> Bson nin(String field, E... values) {
+        boolean both = !EnumCodeMigration.isComplete();
+        List<Object> out = new ArrayList<>(values.length * 2);
+        for (E v : values) {
+            out.add(v.code());
+            if (both) out.add(v.name());
+        }
+        return Filters.nin(field, out);
+    }
+
+    static final class CodedEnumCodec<E extends Enum<E> & Coded> implements Codec<E> {
+        private final Class<E> type;
+        private final Function<String, E> parse;
+        private final Map<Integer, E> byCode = new HashMap<>();
+
+        CodedEnumCodec(Class<E> type, Function<String, E> parse) {
+            this.type = type;
+            this.parse = parse;
+            for (E e : type.getEnumConstants()) byCode.put(e.code(), e);
+        }
+
+        @Override
+        public void encode(BsonWriter writer, E value, EncoderContext ctx) {
+            writer.writeInt32(value.code());
+        }
+
+        @Override
+        public E decode(BsonReader reader, DecoderContext ctx) {
+            return switch (reader.getCurrentBsonType()) {
+                case INT32 -> byCode.get(reader.readInt32());
+                case INT64 -> byCode.get((int) reader.readInt64());
+                case DOUBLE -> byCode.get((int) reader.readDouble());
+                case STRING -> parse.apply(reader.readString());
+                default -> {
+                    reader.skipValue();
+                    yield null;
+                }
+            };
+        }
+
+        @Override
+        public Class<E> getEncoderClass() { return type; }
+    }
+}
@@ -0,0 +1,164 @@
+package org.plantagonist.core.db;
+
+import com.mongodb.client.model.Filters;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonNull;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.pojo.Convention;
+import org.bson.codecs.pojo.PropertyModelBuilder;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.plantagonist.core.migrations.BinaryIdMigration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Document ids and the foreign keys that repeat them (userId, plantId). Models keep them as
+ * String; with {@code PLANTAGONIST_IDS=binary} (or {@code -Dplantagonist.ids=binary}) the codec
+ * stores every canonical UUID string among them as a 16-byte BSON binary (subtype 4) instead of
+ * a 36-byte string, and decodes either form back to the same String.
+ *
+ * Queries on those fields go through {@link #eq}/{@link #in}, which match both forms until
+ * {@link BinaryIdMigration} has converted the existing documents. Ids that aren't canonical
+ * UUIDs (ObjectIds, fixture ids like "plant-1") are stored as before in either mode.
+ * Turning binary ids off again after the migration ran is not supported.
+ */
+public final class Ids {
+    /** Model properties the codec converts ("id" is the POJO name of _id). */
+    private static final Set<String> PROPERTIES = Set.of("id", "userId", "plantId");
+    /** The same fields as stored / queried. */
+    public static final List<String> FIELDS = List.of("_id", "userId", "plantId");
+
+    private static volatile Boolean binary;
+
+    private Ids() {}
+
+    /** Whether new writes store UUID ids as binary. */
+    public static boolean binary() {
+        Boolean b = binary;
+        if (b == null) {
+            String v = System.getProperty("plantagonist.ids");
+            if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_IDS");
+            binary = b = v != null && v.trim().equalsIgnoreCase("binary");
+        }
+        return b;
+    }
+
+    /** The UUID {@code s} spells in canonical (lower-case, hyphenated) form, else null. */
+    public static UUID parse(String s) {
+        if (s == null || s.length() != 36) return null;
+        try {
+            UUID u = UUID.fromString(s);
+            return u.toString().equals(s) ? u : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** What the codec stores for {@code id}, for hand-written updates. */
+    public static BsonValue value(String id) {
+        if (id == null) return BsonNull.VALUE;
+        UUID u = binary() ? parse(id) : null;
+        return u != null ? new BsonBinary(u) : new BsonString(id);
+    }
+
+    /** Equality filter on {@code field}; for id fields in binary mode, matches both spellings. */
+    public static Bson eq(String field, String value) {
+        UUID u = binary() && FIELDS.contains(field) ? parse(value) : null;
+        if (u == null) return Filters.eq(field, value);
+        BsonBinary bin = new BsonBinary(u);
+        return BinaryIdMigration.isComplete() ? Filters.eq(field, bin) : Filters.in(field, new BsonString(value), bin);
+    }
+
+    /** {@code $in} counterpart of {@link #eq}. */
+    public static Bson in(String field, Collection<String> values) {
+        if (!binary() || !FIELDS.contains(field)) return Filters.in(field, values);
+        boolean both = !BinaryIdMigration.isComplete();
+        List<BsonValue> out = new ArrayList<>(values.size() * 2);
+        for (String v : values) {
+            UUID u = parse(v);
+            if (u == null || both) out.add(new BsonString(v));
+            if (u != null) out.add(new BsonBinary(u));
+        }
+        return Filters.in(field, out);
+    }
+
+    /** String form of a stored id in any of its shapes (BSON or driver value); null stays null. */
+    public static String string(Object id) {
+        if (id == null) return null;
+        if (id instanceof BsonValue v) {
+            if (v.isString()) return v.asString().getValue();
+            if (v.isObjectId()) return v.asObjectId().getValue().toHexString();
+            if (v.isBinary() && v.asBinary().getType() == BsonBinarySubType.UUID_STANDARD.getValue()) {
+                return v.asBinary().asUuid().toString();
+            }
+            return v.toString();
+        }
+        if (id instanceof ObjectId oid) return oid.toHexString();
+        if (id instanceof Binary b && b.getType() == BsonBinarySubType.UUID_STANDARD.getValue()) {
+            return new BsonBinary(b.getType(), b.getData()).asUuid().toString();
+        }
+        return id.toString();
+    }
+
+    /** Puts {@link StringIdCodec} on the id properties of every POJO model. */
+    static Convention convention(boolean binary) {
+        StringIdCodec codec = new StringIdCodec(binary);
+        return model -> {
+            for (PropertyModelBuilder<?> p : model.getPropertyModelBuilders()) {
+                if (PROPERTIES.contains(p.getName()) && isString(model.getType(), p.getName())) {
+                    @SuppressWarnings("unchecked")
+                    PropertyModelBuilder<String> s = (PropertyModelBuilder<String>) p;
+                    s.codec(codec);
+                }
+            }
+        };
+    }
+
+    private static boolean isString(Class<?> type, String property) {
+        try {
+            String getter = "get" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            return type.getMethod(getter).getReturnType() == String.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /** String id property: written as binary UUID when enabled and possible, read from either. */
+    static final class StringIdCodec implements Codec<String> {
+        private final boolean binary;
+
+        StringIdCodec(boolean binary) {
+            this.binary = binary;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, String value, EncoderContext ctx) {
+            UUID u = binary ? parse(value) : null;
+            if (u != null) writer.writeBinaryData(new BsonBinary(u));
+            else writer.writeString(value);
+        }
+
+        @Override
+        public String decode(BsonReader reader, DecoderContext ctx) {
+            if (reader.getCurrentBsonType() == BsonType.BINARY) return string(reader.readBinaryData());
+            return reader.readString();
+        }
+
+        @Override
+        public Class<String> getEncoderClass() { return String.class; }
+    }
+}
@@ -4,39 +4,176 @@ import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.jsr310.LocalDateCodec;     // <-- add this
+import org.bson.codecs.pojo.Convention;
+import org.bson.codecs.pojo.Conventions;
 import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.conversions.Bson;
+
+import org.plantagonist.core.migrations.Migrations;
+import org.plantagonist.core.repositories.ChangeSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class MongoConfig {
-    private static MongoClient client;
-    private static MongoDatabase db;
-
-    public static synchronized MongoDatabase db() {
-        if (db == null) {
-            String uri = System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017");
-            String dbName = System.getenv().getOrDefault("MONGODB_DB", "plantagonist");
-
-            // Java-time (JSR-310) registry — only LocalDate is needed
-            CodecRegistry jsr310 = CodecRegistries.fromCodecs(new LocalDateCodec());
-
-            CodecRegistry pojoCodecRegistry = CodecRegistries.fromRegistries(
-                    MongoClientSettings.getDefaultCodecRegistry(),
-                    jsr310, // <-- IMPORTANT: include Java-time codecs
-                    CodecRegistries.fromProviders(PojoCodecProvider.builder().automatic(true).build())
-            );
-
-            MongoClientSettings settings = MongoClientSettings.builder()
-                    .applyConnectionString(new ConnectionString(uri))
-                    .codecRegistry(pojoCodecRegistry)
-                    .build();
-
-            client = MongoClients.create(settings);
-            db = client.getDatabase(dbName);
+    private static volatile MongoClient client;
+    private static volatile MongoDatabase db;
+    private static volatile CompletableFuture<Void> warmup;
+    private static volatile long warmupFailedAt;
+
+    /** How long after a failed warm-up the next {@link #db()} call tries it again. */
+    static final long WARMUP_RETRY_MS = 30_000;
+
+    /**
+     * Cheap after the first call: creating the client does not touch the network
+     * (the driver connects in the background), so this is safe on the FX thread.
+     * The first call also kicks off {@link #warmUpAsync()}, and so does the first call after a
+     * failed warm-up has cooled off, so indexes still get created once the server is reachable.
+     */
+    public static MongoDatabase db() {
+        MongoDatabase d = db;
+        if (d != null) {
+            if (retryDue(warmup)) warmUpAsync();
+            return d;
+        }
+        synchronized (MongoConfig.class) {
+            if (db == null) {
+                String uri = System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017");
+                String dbName = System.getenv().getOrDefault("MONGODB_DB", "plantagonist");
+
+                MongoClientSettings settings = MongoClientSettings.builder()
+                        .applyConnectionString(new ConnectionString(uri))
+                        .codecRegistry(codecRegistry())
+                        .build();
+
+                client = MongoClients.create(settings);
+                db = client.getDatabase(dbName);
+            }
+            d = db;
+        }
+        warmUpAsync();
+        return d;
+    }
+
+    /** The registry the client uses for model POJOs; also handy for encoding without a server. */
+    public static CodecRegistry codecRegistry() {
+        return codecRegistry(Ids.binary());
+    }
+
+    /** As {@link #codecRegistry()}, with UUID ids stored as binary or as strings (see {@link Ids}). */
+    public static CodecRegistry codecRegistry(boolean binaryIds) {
+        // Java-time (JSR-310) registry — only LocalDate is needed
+        CodecRegistry jsr310 = CodecRegistries.fromCodecs(new LocalDateCodec());
+
+        List<Convention> conventions = new ArrayList<>(Conventions.DEFAULT_CONVENTIONS);
+        conventions.add(Ids.convention(binaryIds));
+        return CodecRegistries.fromRegistries(
+                Codes.registry(), // ahead of the driver's enum-by-name codec
+                MongoClientSettings.getDefaultCodecRegistry(),
+                jsr310, // <-- IMPORTANT: include Java-time codecs
+                CodecRegistries.fromProviders(PojoCodecProvider.builder().automatic(true).conventions(conventions).build())
+        );
+    }
+
+    /**
+     * Connects, pings (which fills the connection pool) and creates indexes on a background
+     * thread. Idempotent: every caller gets the same future, until it fails; then a call
+     * {@value #WARMUP_RETRY_MS} ms later starts a new one.
+     */
+    public static CompletableFuture<Void> warmUpAsync() {
+        CompletableFuture<Void> w = warmup;
+        if (w != null && !retryDue(w)) return w;
+        synchronized (MongoConfig.class) {
+            if (warmup == null || retryDue(warmup)) {
+                CompletableFuture<Void> attempt = new CompletableFuture<>();
+                warmup = attempt;
+                Thread t = new Thread(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        MongoDatabase database = db();
+                        database.runCommand(new Document("ping", 1));
+                        long pinged = System.nanoTime();
+                        ensureIndexes(database);
+                        System.out.println("[MongoConfig] warm-up: ping " + (pinged - t0) / 1_000_000 + " ms, indexes "
+                                + (System.nanoTime() - pinged) / 1_000_000 + " ms");
+                        attempt.complete(null);
+                    } catch (Exception e) {
+                        System.err.println("[MongoConfig] warm-up failed, retrying on a later use: " + e.getMessage());
+                        warmupFailedAt = System.currentTimeMillis();
+                        attempt.completeExceptionally(e);
+                        return;
+                    }
+                    Migrations.runMongoMigrationsAsync(db()); // each resumes from its checkpoint
+                }, "mongo-warmup");
+                t.setDaemon(true);
+                t.start();
+            }
+            return warmup;
+        }
+    }
+
+    private static boolean retryDue(CompletableFuture<Void> w) {
+        return w != null && w.isCompletedExceptionally()
+                && System.currentTimeMillis() - warmupFailedAt >= WARMUP_RETRY_MS;
+    }
+
+    /** All indexes the repositories rely on; created once per process instead of per repository instance. */
+    private static void ensureIndexes(MongoDatabase database) {
+        MongoCollection<Document> careLogs = database.getCollection("care_logs");
+        // helpful index: query by plant + sort by date (dateIso only until CareLogDateMigration is applied)
+        createIndex(careLogs, Indexes.ascending("plantId", "dateIso"), new IndexOptions());
+        createIndex(careLogs, Indexes.ascending("userId", "dateIso"), new IndexOptions());
+        createIndex(careLogs, Indexes.ascending("plantId", "date"), new IndexOptions());
+        createIndex(careLogs, Indexes.ascending("userId", "date"), new IndexOptions());
+
+        MongoCollection<Document> tasks = database.getCollection("care_tasks");
+        createIndex(tasks, Indexes.ascending("userId", "dueDate"), new IndexOptions());
+        createIndex(tasks, Indexes.ascending("plantId", "type"), new IndexOptions());
+        createIndex(tasks, Indexes.ascending("dueDate", "status"), new IndexOptions()); // missed-task sweep
+
+        MongoCollection<Document> plants = database.getCollection("plants");
+        createIndex(plants, Indexes.ascending("userId"), new IndexOptions());
+
+        MongoCollection<Document> supplies = database.getCollection("supplies");
+        // Unique name per user
+        createIndex(supplies, Indexes.compoundIndex(Indexes.ascending("userId", "name")), new IndexOptions().unique(true));
+        createIndex(supplies, Indexes.ascending("userId"), new IndexOptions());
+
+        MongoCollection<Document> journal = database.getCollection("journal_entries");
+        // timeline: newest first per user (optionally per plant), _id breaks ties for keyset paging
+        createIndex(journal, Indexes.compoundIndex(Indexes.ascending("userId"),
+                Indexes.descending("entryDate", "_id")), new IndexOptions());
+        createIndex(journal, Indexes.compoundIndex(Indexes.ascending("userId", "plantId"),
+                Indexes.descending("entryDate", "_id")), new IndexOptions());
+
+        // delta sync: changedSince(userId, since) on every per-user collection
+        for (MongoCollection<Document> c : List.of(careLogs, tasks, plants, supplies, journal)) {
+            createIndex(c, Indexes.ascending("userId", "updatedAt"), new IndexOptions());
+        }
+        MongoCollection<Document> tombstones = database.getCollection("tombstones");
+        createIndex(tombstones, Indexes.ascending("userId", "collection", "deletedAt"), new IndexOptions());
+        createIndex(tombstones, Indexes.ascending("deletedAt"), new IndexOptions()
+                .expireAfter(ChangeSet.TOMBSTONE_RETENTION.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    private static void createIndex(MongoCollection<Document> coll, Bson keys, IndexOptions options) {
+        try {
+            coll.createIndex(keys, options);
+        } catch (Exception e) {
+            // e.g. a unique index over existing duplicates; the app still works without it
+            System.err.println("[MongoConfig] index " + keys.toBsonDocument() + " on "
+                    + coll.getNamespace().getCollectionName() + " failed: " + e.getMessage());
         }
-        return db;
     }
 }
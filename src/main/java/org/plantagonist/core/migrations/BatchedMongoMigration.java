@@ -0,0 +1,72 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks the documents matching {@link #pending()} in _id order, {@link #batchSize} at a time,
+ * and applies {@link #migrate}'s writes as one bulk write per batch, checkpointing
+ * the last _id after each. A restart continues after that _id; documents a batch left alone
+ * (say, unparseable ones) are therefore not picked up again.
+ *
+ * Migrations that rewrite _id itself should override {@link #keyset()} to return false and
+ * rely on {@link #pending()} no longer matching migrated documents.
+ */
+public abstract class BatchedMongoMigration implements Migration {
+    protected final MongoDatabase db;
+    private final String collection;
+
+    protected BatchedMongoMigration(MongoDatabase db, String collection) {
+        this.db = db;
+        this.collection = collection;
+    }
+
+    @Override
+    public String target() { return collection; }
+
+    /** Documents that still need the change. */
+    protected abstract Bson pending();
+
+    /** Writes for one batch; may be empty. */
+    protected abstract List<WriteModel<Document>> migrate(List<Document> batch);
+
+    protected Bson projection() { return null; }
+
+    protected int batchSize() { return 500; }
+
+    protected boolean keyset() { return true; }
+
+    /** Ordered batches stop at the first failed write, for migrations whose writes pair up. */
+    protected boolean ordered() { return false; }
+
+    @Override
+    public void run(MigrationContext ctx) {
+        MongoCollection<Document> coll = db.getCollection(collection);
+        Object lastId = ctx.lastId();
+        ctx.expect(coll.countDocuments(after(lastId)));
+        while (true) {
+            List<Document> batch = new ArrayList<>(batchSize());
+            coll.find(after(lastId)).projection(projection()).sort(Sorts.ascending("_id"))
+                    .limit(batchSize()).into(batch);
+            if (batch.isEmpty()) return;
+            List<WriteModel<Document>> writes = migrate(batch);
+            if (!writes.isEmpty()) coll.bulkWrite(writes, new BulkWriteOptions().ordered(ordered()));
+            lastId = batch.get(batch.size() - 1).get("_id");
+            ctx.checkpoint(lastId, batch.size());
+        }
+    }
+
+    /** What is left after the checkpoint {@code lastId}: past it by _id, or just {@link #pending()} without keyset. */
+    Bson after(Object lastId) {
+        return keyset() && lastId != null ? Filters.and(pending(), Filters.gt("_id", lastId)) : pending();
+    }
+}
@@ -0,0 +1,95 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonBinary;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.plantagonist.core.db.Ids;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rewrites UUID strings in _id, userId and plantId as binary UUIDs, for
+ * {@code PLANTAGONIST_IDS=binary}. A document whose _id changes is re-inserted under the
+ * binary _id (a binary copy written meanwhile by the app wins) and the string one removed.
+ */
+public final class BinaryIdMigration extends BatchedMongoMigration {
+    static final List<String> COLLECTIONS =
+            List.of("plants", "care_tasks", "care_logs", "journal_entries", "supplies", "users", "tombstones");
+    private static final String UUID_STRING = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$";
+
+    private static volatile boolean complete;
+
+    private final String collection;
+
+    BinaryIdMigration(MongoDatabase db, String collection) {
+        super(db, collection);
+        this.collection = collection;
+    }
+
+    static String id(String collection) { return "004-binary-ids-" + collection; }
+
+    /** True once every collection has been converted; until then id filters match both forms. */
+    public static boolean isComplete() {
+        if (complete) return true;
+        for (String c : COLLECTIONS) {
+            if (!Migrations.isApplied(id(c))) return false;
+        }
+        return complete = true;
+    }
+
+    @Override
+    public String id() { return id(collection); }
+
+    @Override
+    protected Bson pending() {
+        List<Bson> any = new ArrayList<>();
+        for (String f : Ids.FIELDS) any.add(Filters.regex(f, UUID_STRING));
+        return Filters.or(any);
+    }
+
+    // same as LegacyIdMigration: converted _ids change BSON type, so resume by filter
+    @Override
+    protected boolean keyset() { return false; }
+
+    @Override
+    protected boolean ordered() { return true; }
+
+    @Override
+    protected List<WriteModel<Document>> migrate(List<Document> batch) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document d : batch) {
+            Object oldId = d.get("_id");
+            List<Bson> fields = new ArrayList<>();
+            BsonBinary newId = null;
+            for (String f : Ids.FIELDS) {
+                UUID u = d.get(f) instanceof String s ? Ids.parse(s) : null;
+                if (u == null) continue;
+                if (f.equals("_id")) newId = new BsonBinary(u);
+                else fields.add(Updates.set(f, new BsonBinary(u)));
+            }
+            if (newId == null) {
+                if (!fields.isEmpty()) writes.add(new UpdateOneModel<>(Filters.eq("_id", oldId), Updates.combine(fields)));
+                continue;
+            }
+            List<Bson> copy = new ArrayList<>();
+            for (var e : d.entrySet()) {
+                if (e.getKey().equals("_id")) continue;
+                UUID u = Ids.FIELDS.contains(e.getKey()) && e.getValue() instanceof String s ? Ids.parse(s) : null;
+                copy.add(Updates.setOnInsert(e.getKey(), u != null ? new BsonBinary(u) : e.getValue()));
+            }
+            if (copy.isEmpty()) copy.add(Updates.setOnInsert("migratedFrom", oldId));
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", newId), Updates.combine(copy), new UpdateOptions().upsert(true)));
+            writes.add(new DeleteOneModel<>(Filters.eq("_id", oldId)));
+        }
+        return writes;
+    }
+}
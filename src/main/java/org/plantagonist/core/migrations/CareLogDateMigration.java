@@ -0,0 +1,58 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives every care log a native {@code date} next to its legacy {@code dateIso} string.
+ * Until it is applied CareLogRepository keeps querying the string field, which every log has.
+ */
+public final class CareLogDateMigration extends BatchedMongoMigration {
+    public static final String ID = "001-care-log-dates";
+
+    CareLogDateMigration(MongoDatabase db) {
+        super(db, "care_logs");
+    }
+
+    @Override
+    public String id() { return ID; }
+
+    @Override
+    protected Bson pending() { return Filters.exists("date", false); }
+
+    @Override
+    protected Bson projection() { return Projections.include("_id", "dateIso"); }
+
+    @Override
+    protected List<WriteModel<Document>> migrate(List<Document> batch) {
+        List<WriteModel<Document>> writes = new ArrayList<>(batch.size());
+        for (Document d : batch) {
+            LocalDate date = parse(d.getString("dateIso"));
+            if (date == null) continue; // left for a human; the keyset moves past it
+            // the filter re-checks "date", so a log rewritten meanwhile by the app is left alone
+            writes.add(new UpdateOneModel<>(Filters.and(Filters.eq("_id", d.get("_id")), pending()),
+                    Updates.set("date", date)));
+        }
+        return writes;
+    }
+
+    private static LocalDate parse(String iso) {
+        if (iso == null || iso.isBlank()) return null;
+        try {
+            return LocalDate.parse(iso.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.plantagonist.core.models.CareAction;
+import org.plantagonist.core.models.Coded;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Rewrites the task type/status and care-log action names as their int codes (see
+ * core.db.Codes) and drops the display strings the POJO codec used to store alongside them.
+ * Names no enum knows are left as they are.
+ */
+public final class EnumCodeMigration extends BatchedMongoMigration {
+    private static final Map<String, Map<String, Function<String, ? extends Coded>>> FIELDS = Map.of(
+            "care_tasks", Map.of("type", TaskType::parse, "status", TaskStatus::parse),
+            "care_logs", Map.of("actionType", CareAction::parse));
+    private static final Map<String, List<String>> DISPLAY = Map.of(
+            "care_tasks", List.of("typeDisplay", "statusDisplay", "statusColorClass"),
+            "care_logs", List.of("actionTypeDisplay"));
+
+    private static volatile boolean complete;
+
+    private final String collection;
+
+    EnumCodeMigration(MongoDatabase db, String collection) {
+        super(db, collection);
+        this.collection = collection;
+    }
+
+    static List<String> collections() { return List.of("care_tasks", "care_logs"); }
+
+    static String id(String collection) { return "005-enum-codes-" + collection; }
+
+    /** True once both collections are rewritten; until then enum filters also match names. */
+    public static boolean isComplete() {
+        if (complete) return true;
+        for (String c : collections()) {
+            if (!Migrations.isApplied(id(c))) return false;
+        }
+        return complete = true;
+    }
+
+    @Override
+    public String id() { return id(collection); }
+
+    @Override
+    protected Bson pending() {
+        List<Bson> any = new ArrayList<>();
+        for (String f : FIELDS.get(collection).keySet()) any.add(Filters.type(f, BsonType.STRING));
+        for (String f : DISPLAY.get(collection)) any.add(Filters.exists(f));
+        return Filters.or(any);
+    }
+
+    @Override
+    protected Bson projection() {
+        List<String> fields = new ArrayList<>(FIELDS.get(collection).keySet());
+        fields.addAll(DISPLAY.get(collection));
+        return Projections.include(fields);
+    }
+
+    @Override
+    protected List<WriteModel<Document>> migrate(List<Document> batch) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document d : batch) {
+            List<Bson> changes = new ArrayList<>();
+            FIELDS.get(collection).forEach((field, parse) -> {
+                Coded v = d.get(field) instanceof String s ? parse.apply(s) : null;
+                if (v != null) changes.add(Updates.set(field, v.code()));
+            });
+            for (String f : DISPLAY.get(collection)) {
+                if (d.containsKey(f)) changes.add(Updates.unset(f));
+            }
+            if (!changes.isEmpty()) writes.add(new UpdateOneModel<>(Filters.eq("_id", d.get("_id")), Updates.combine(changes)));
+        }
+        return writes;
+    }
+}
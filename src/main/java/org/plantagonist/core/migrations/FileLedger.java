@@ -0,0 +1,64 @@
+package org.plantagonist.core.migrations;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Ledger for migrations of local files, as a properties file ({@code <id>.done},
+ * {@code <id>.processed}, {@code <id>.lastId}). Checkpoint ids are kept as strings.
+ */
+final class FileLedger implements MigrationLedger {
+    private final Path file;
+
+    FileLedger(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized Checkpoint load(String migrationId) {
+        Properties p = read();
+        if (!p.containsKey(migrationId + ".done")) return Checkpoint.NEW;
+        return new Checkpoint(p.getProperty(migrationId + ".lastId"),
+                Long.parseLong(p.getProperty(migrationId + ".processed", "0")),
+                Boolean.parseBoolean(p.getProperty(migrationId + ".done")));
+    }
+
+    @Override
+    public synchronized void save(String migrationId, Checkpoint c) {
+        Properties p = read();
+        p.setProperty(migrationId + ".done", Boolean.toString(c.done()));
+        p.setProperty(migrationId + ".processed", Long.toString(c.processed()));
+        if (c.lastId() != null) p.setProperty(migrationId + ".lastId", c.lastId().toString());
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer w = Files.newBufferedWriter(tmp)) {
+                p.store(w, "Plantagonist applied migrations");
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing " + file, e);
+        }
+    }
+
+    private Properties read() {
+        Properties p = new Properties();
+        if (!Files.exists(file)) return p;
+        try (Reader r = Files.newBufferedReader(file)) {
+            p.load(r);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed reading " + file, e);
+        }
+        return p;
+    }
+}
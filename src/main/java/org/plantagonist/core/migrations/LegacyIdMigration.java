@@ -0,0 +1,63 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves documents from the old schema, where the app's id lived in an {@code id} field next to
+ * a driver-generated _id, to the canonical {@code _id: <string id>} the repositories filter
+ * on. If a canonical copy already exists it wins and the legacy one is just removed.
+ */
+final class LegacyIdMigration extends BatchedMongoMigration {
+    private final String collection;
+
+    LegacyIdMigration(MongoDatabase db, String collection) {
+        super(db, collection);
+        this.collection = collection;
+    }
+
+    @Override
+    public String id() { return "002-legacy-ids-" + collection; }
+
+    @Override
+    protected Bson pending() { return Filters.exists("id", true); }
+
+    // migrated documents get a new _id (of another BSON type), so resume by filter instead
+    @Override
+    protected boolean keyset() { return false; }
+
+    // never delete the legacy document when its canonical upsert failed
+    @Override
+    protected boolean ordered() { return true; }
+
+    @Override
+    protected List<WriteModel<Document>> migrate(List<Document> batch) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document d : batch) {
+            Object oldId = d.get("_id");
+            Object appId = d.get("id");
+            if (appId == null || appId.equals(oldId)) {
+                writes.add(new UpdateOneModel<>(Filters.eq("_id", oldId), Updates.unset("id")));
+                continue;
+            }
+            List<Bson> fields = new ArrayList<>();
+            for (var e : d.entrySet()) {
+                if (!e.getKey().equals("_id") && !e.getKey().equals("id")) fields.add(Updates.setOnInsert(e.getKey(), e.getValue()));
+            }
+            if (fields.isEmpty()) fields.add(Updates.setOnInsert("migratedFrom", oldId));
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", appId), Updates.combine(fields), new UpdateOptions().upsert(true)));
+            writes.add(new DeleteOneModel<>(Filters.eq("_id", oldId)));
+        }
+        return writes;
+    }
+}
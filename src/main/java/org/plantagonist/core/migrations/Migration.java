@@ -0,0 +1,17 @@
+package org.plantagonist.core.migrations;
+
+/**
+ * One versioned data change. Migrations with the same {@link #target()} run one after another
+ * in id order; different targets run in parallel. {@link #run} must be safe to call again after
+ * a crash: it gets the last checkpoint back from {@link MigrationContext} and should only
+ * select what is still left to do.
+ */
+public interface Migration {
+    /** Sortable and never reused, e.g. {@code 001-care-log-dates}. Recorded once applied. */
+    String id();
+
+    /** The collection or file the migration works on. */
+    String target();
+
+    void run(MigrationContext ctx) throws Exception;
+}
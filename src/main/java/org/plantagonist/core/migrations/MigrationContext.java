@@ -0,0 +1,46 @@
+package org.plantagonist.core.migrations;
+
+/**
+ * Handed to {@link Migration#run}: the checkpoint to resume from, and the way to record a new
+ * one after each batch. Every checkpoint is saved to the ledger and logged as progress.
+ */
+public final class MigrationContext {
+    private final String id;
+    private final MigrationLedger ledger;
+    private MigrationLedger.Checkpoint checkpoint;
+    private long total = -1;
+    private final long startedAt = System.nanoTime();
+
+    MigrationContext(String id, MigrationLedger ledger, MigrationLedger.Checkpoint checkpoint) {
+        this.id = id;
+        this.ledger = ledger;
+        this.checkpoint = checkpoint;
+    }
+
+    /** Id of the last item handled before the previous run stopped; null on a fresh start. */
+    public Object lastId() { return checkpoint.lastId(); }
+
+    /** Items handled so far, over all runs. */
+    public long processed() { return checkpoint.processed(); }
+
+    /** Items still to do at the start of this run, for the percentage in progress lines. */
+    public void expect(long remaining) {
+        this.total = checkpoint.processed() + remaining;
+    }
+
+    /** Records that {@code count} more items up to {@code lastId} are done. */
+    public void checkpoint(Object lastId, long count) {
+        checkpoint = new MigrationLedger.Checkpoint(lastId, checkpoint.processed() + count, false);
+        ledger.save(id, checkpoint);
+        long done = checkpoint.processed();
+        System.out.println("[Migration] " + id + ": " + done
+                + (total > 0 ? "/" + total + " (" + Math.min(100, done * 100 / total) + "%)" : ""));
+    }
+
+    void finish() {
+        checkpoint = new MigrationLedger.Checkpoint(checkpoint.lastId(), checkpoint.processed(), true);
+        ledger.save(id, checkpoint);
+        System.out.println("[Migration] " + id + " applied (" + checkpoint.processed() + " item(s), "
+                + (System.nanoTime() - startedAt) / 1_000_000 + " ms this run)");
+    }
+}
@@ -0,0 +1,15 @@
+package org.plantagonist.core.migrations;
+
+/** Where applied migrations and in-flight checkpoints are recorded. */
+interface MigrationLedger {
+
+    /** Progress of one migration; {@code lastId} is null until the first batch is done. */
+    record Checkpoint(Object lastId, long processed, boolean done) {
+        static final Checkpoint NEW = new Checkpoint(null, 0, false);
+    }
+
+    /** {@link Checkpoint#NEW} for migrations never started. */
+    Checkpoint load(String migrationId);
+
+    void save(String migrationId, Checkpoint checkpoint);
+}
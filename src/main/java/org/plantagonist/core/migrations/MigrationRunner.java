@@ -0,0 +1,69 @@
+package org.plantagonist.core.migrations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Applies pending migrations against one ledger: per target in id order, targets in parallel
+ * on daemon threads. A failing migration is logged and stops the rest of its target's chain
+ * (later steps may depend on it); it resumes from its checkpoint on the next run.
+ */
+final class MigrationRunner {
+    private final MigrationLedger ledger;
+    private final List<Migration> migrations;
+
+    MigrationRunner(MigrationLedger ledger, List<Migration> migrations) {
+        this.ledger = ledger;
+        this.migrations = new ArrayList<>(migrations);
+        this.migrations.sort(Comparator.comparing(Migration::id));
+    }
+
+    CompletableFuture<Void> runAsync() {
+        Map<String, List<Migration>> byTarget = new LinkedHashMap<>();
+        for (Migration m : migrations) {
+            if (ledger.load(m.id()).done()) {
+                Migrations.markApplied(m.id());
+            } else {
+                byTarget.computeIfAbsent(m.target(), t -> new ArrayList<>()).add(m);
+            }
+        }
+        if (byTarget.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(byTarget.size(), 4), r -> {
+            Thread t = new Thread(r, "migration");
+            t.setDaemon(true);
+            return t;
+        });
+        List<CompletableFuture<Void>> chains = new ArrayList<>();
+        for (List<Migration> chain : byTarget.values()) {
+            chains.add(CompletableFuture.runAsync(() -> {
+                for (Migration m : chain) {
+                    if (!apply(m)) return;
+                }
+            }, pool));
+        }
+        return CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new))
+                .whenComplete((v, e) -> pool.shutdown());
+    }
+
+    private boolean apply(Migration m) {
+        MigrationContext ctx = new MigrationContext(m.id(), ledger, ledger.load(m.id()));
+        try {
+            if (ctx.processed() > 0) System.out.println("[Migration] resuming " + m.id() + " after " + ctx.processed());
+            m.run(ctx);
+            ctx.finish();
+            Migrations.markApplied(m.id());
+            return true;
+        } catch (Exception e) {
+            System.err.println("[Migration] " + m.id() + " stopped at " + ctx.processed()
+                    + " (will resume next start): " + e.getMessage());
+            return false;
+        }
+    }
+}
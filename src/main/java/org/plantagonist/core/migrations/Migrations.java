@@ -0,0 +1,64 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoDatabase;
+import org.plantagonist.core.db.Ids;
+import org.plantagonist.core.repositories.UserRepositoryJson;
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The app's migrations and their entry points. Local-file migrations run at startup before any
+ * screen reads the files (they're small); Mongo migrations run in the background after warm-up,
+ * and code that must behave differently until one is applied asks {@link #isApplied}.
+ * To add one: implement {@link Migration} (usually a {@link BatchedMongoMigration}) with the
+ * next free id number and list it below.
+ */
+public final class Migrations {
+    private static final Set<String> applied = ConcurrentHashMap.newKeySet();
+
+    private Migrations() {}
+
+    static List<Migration> mongo(MongoDatabase db) {
+        List<Migration> all = new ArrayList<>(List.of(
+                new CareLogDateMigration(db),
+                new LegacyIdMigration(db, "plants"),
+                new LegacyIdMigration(db, "care_tasks"),
+                new LegacyIdMigration(db, "care_logs"),
+                new LegacyIdMigration(db, "journal_entries"),
+                new LegacyIdMigration(db, "users")));
+        for (String c : EnumCodeMigration.collections()) all.add(new EnumCodeMigration(db, c));
+        if (Ids.binary()) {
+            for (String c : BinaryIdMigration.COLLECTIONS) all.add(new BinaryIdMigration(db, c));
+        }
+        return all;
+    }
+
+    static List<Migration> files() {
+        return List.of(new UserJsonNormalization(new UserRepositoryJson()));
+    }
+
+    /** Blocking; ledger in data/migrations.properties. */
+    public static void runFileMigrations() {
+        new MigrationRunner(new FileLedger(PathsConfig.dataDir().resolve("migrations.properties")), files())
+                .runAsync().join();
+    }
+
+    /** Ledger in the database's {@code migrations} collection. */
+    public static CompletableFuture<Void> runMongoMigrationsAsync(MongoDatabase db) {
+        return new MigrationRunner(new MongoLedger(db), mongo(db)).runAsync();
+    }
+
+    /** True once the migration has completed in this or an earlier run (false until checked). */
+    public static boolean isApplied(String id) {
+        return applied.contains(id);
+    }
+
+    static void markApplied(String id) {
+        applied.add(id);
+    }
+}
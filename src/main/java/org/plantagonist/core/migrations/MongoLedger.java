@@ -0,0 +1,32 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+
+import java.util.Date;
+
+/** Ledger in the {@code migrations} collection: one document per migration id. */
+final class MongoLedger implements MigrationLedger {
+    private final MongoCollection<Document> coll;
+
+    MongoLedger(MongoDatabase db) {
+        this.coll = db.getCollection("migrations");
+    }
+
+    @Override
+    public Checkpoint load(String migrationId) {
+        Document d = coll.find(Filters.eq("_id", migrationId)).first();
+        if (d == null) return Checkpoint.NEW;
+        return new Checkpoint(d.get("lastId"), d.get("processed", 0L), d.getBoolean("done", false));
+    }
+
+    @Override
+    public void save(String migrationId, Checkpoint c) {
+        Document d = new Document("_id", migrationId).append("lastId", c.lastId())
+                .append("processed", c.processed()).append("done", c.done()).append("updatedAt", new Date());
+        coll.replaceOne(Filters.eq("_id", migrationId), d, new ReplaceOptions().upsert(true));
+    }
+}
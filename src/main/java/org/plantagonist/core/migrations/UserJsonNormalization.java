@@ -0,0 +1,26 @@
+package org.plantagonist.core.migrations;
+
+import org.plantagonist.core.repositories.UserRepositoryJson;
+
+/**
+ * Gives every user in the local users file an id and normalized fields (lower-case email,
+ * known units/theme, defaults) once, instead of on every read.
+ */
+final class UserJsonNormalization implements Migration {
+    private final UserRepositoryJson users;
+
+    UserJsonNormalization(UserRepositoryJson users) {
+        this.users = users;
+    }
+
+    @Override
+    public String id() { return "003-normalize-users-json"; }
+
+    @Override
+    public String target() { return "user.json"; }
+
+    @Override
+    public void run(MigrationContext ctx) {
+        ctx.checkpoint(null, users.normalizeStoredUsers());
+    }
+}
@@ -0,0 +1,36 @@
+package org.plantagonist.core.models;
+
+/** What a {@link CareLogEntry} records. */
+public enum CareAction implements Coded {
+    OTHER(0, "Care"),
+    WATERING(1, "💧 Watering"),
+    FERTILIZING(2, "🌿 Fertilizing"),
+    SOIL_CHANGE(3, "🔄 Soil Change");
+
+    private final int code;
+    private final String display;
+
+    CareAction(int code, String display) {
+        this.code = code;
+        this.display = display;
+    }
+
+    @Override
+    public int code() { return code; }
+
+    public String display() { return display; }
+
+    /**
+     * Name as stored before codes, case-insensitive. Completed tasks used to log their task
+     * type ("WATER"), so those names map too; unknown names are OTHER, null stays null.
+     */
+    public static CareAction parse(String s) {
+        if (s == null || s.isBlank()) return null;
+        return switch (s.trim().toUpperCase()) {
+            case "WATERING", "WATER" -> WATERING;
+            case "FERTILIZING", "FERTILIZE" -> FERTILIZING;
+            case "SOIL_CHANGE" -> SOIL_CHANGE;
+            default -> OTHER;
+        };
+    }
+}
@@ -1,22 +1,29 @@
 package org.plantagonist.core.models;
 
+import org.bson.codecs.pojo.annotations.BsonIgnore;
+
 import java.time.LocalDate;
+import java.util.Date;
 
-public class CareLogEntry {
+public class CareLogEntry implements Syncable {
     private String id;                 // uuid
     private String plantId;            // FK -> Plant.id
     private String userId;             // FK -> User.id
-    /** Stored as ISO-8601 (yyyy-MM-dd) to avoid custom codecs */
-    private String dateIso;
-    private String actionType;         // "WATERING", "FERTILIZING", "SOIL_CHANGE", "OTHER"
+    /** Stored as a BSON date via LocalDateCodec; see {@link #getDateIso()} for the legacy string. */
+    private LocalDate date;
+    private CareAction actionType;     // stored as its code
     private Double soilMoisturePct;    // nullable
     private Double fertilizerMl;       // nullable
     private String notes;              // nullable
     private String plantName;          // denormalized for display
 
+    // ---- audit (stamped by the repositories)
+    private Date createdAt;
+    private Date updatedAt;
+
     public CareLogEntry() {}
 
-    public CareLogEntry(String id, String plantId, String userId, LocalDate date, String actionType,
+    public CareLogEntry(String id, String plantId, String userId, LocalDate date, CareAction actionType,
                         Double soilMoisturePct, Double fertilizerMl, String notes, String plantName) {
         this.id = id;
         this.plantId = plantId;
@@ -39,12 +46,22 @@ public class CareLogEntry {
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
 
-    /** Underlying persisted field */
-    public String getDateIso() { return dateIso; }
-    public void setDateIso(String dateIso) { this.dateIso = dateIso; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
 
-    public String getActionType() { return actionType; }
-    public void setActionType(String actionType) { this.actionType = actionType; }
+    /**
+     * Legacy ISO-8601 copy of {@link #date}, still written so string-range queries stay
+     * correct until CareLogDateMigration has given every stored log a native date.
+     */
+    public String getDateIso() { return date == null ? null : date.toString(); }
+
+    /** Only used when reading documents written before the native field: fills a missing date. */
+    public void setDateIso(String dateIso) {
+        if (date == null && dateIso != null && !dateIso.isBlank()) date = LocalDate.parse(dateIso);
+    }
+
+    public CareAction getActionType() { return actionType; }
+    public void setActionType(CareAction actionType) { this.actionType = actionType; }
 
     public Double getSoilMoisturePct() { return soilMoisturePct; }
     public void setSoilMoisturePct(Double soilMoisturePct) { this.soilMoisturePct = soilMoisturePct; }
@@ -58,22 +75,15 @@ public class CareLogEntry {
     public String getPlantName() { return plantName; }
     public void setPlantName(String plantName) { this.plantName = plantName; }
 
-    // ----- convenience (not persisted) -----
-    public LocalDate getDate() {
-        return (dateIso == null || dateIso.isBlank()) ? null : LocalDate.parse(dateIso);
-    }
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
 
-    public void setDate(LocalDate date) {
-        this.dateIso = (date == null) ? null : date.toString();
-    }
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
 
+    // ----- display (not stored) -----
+    @BsonIgnore
     public String getActionTypeDisplay() {
-        if (actionType == null) return "Care";
-        switch (actionType) {
-            case "WATERING": return "💧 Watering";
-            case "FERTILIZING": return "🌿 Fertilizing";
-            case "SOIL_CHANGE": return "🔄 Soil Change";
-            default: return actionType;
-        }
+        return actionType == null ? "Care" : actionType.display();
     }
-}
\ No newline at end of file
+}
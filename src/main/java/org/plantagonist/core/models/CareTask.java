@@ -1,19 +1,26 @@
 package org.plantagonist.core.models;
 
+import org.bson.codecs.pojo.annotations.BsonIgnore;
+
 import java.time.LocalDate;
+import java.util.Date;
 
-public class CareTask {
+public class CareTask implements Syncable {
     private String userId;
     private String id;           // UUID string (we'll set in code)
     private String plantId;      // links to Plant.id
     private String plantName;    // denormalized for display
     private LocalDate dueDate;   // when to do it
-    private String type;         // "WATER", "FERTILIZE", "SOIL_CHANGE"
-    private String status;       // "DUE", "TODAY", "UPCOMING", "DONE", "MISSED", "CANCELLED"
+    private TaskType type;       // stored as its code
+    private TaskStatus status;   // stored as its code
     private String notes;        // optional
     private Integer frequencyDays; // null for one-time tasks, number of days for recurring
     private LocalDate lastCompleted; // for recurring tasks
 
+    // ---- audit (stamped by the repositories)
+    private Date createdAt;
+    private Date updatedAt;
+
     // ---- getters/setters (Mongo POJO codec needs them) ----
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -27,11 +34,11 @@ public class CareTask {
     public LocalDate getDueDate() { return dueDate; }
     public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
 
-    public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
+    public TaskType getType() { return type; }
+    public void setType(TaskType type) { this.type = type; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
 
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
@@ -45,39 +52,25 @@ public class CareTask {
     public LocalDate getLastCompleted() { return lastCompleted; }
     public void setLastCompleted(LocalDate lastCompleted) { this.lastCompleted = lastCompleted; }
 
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    // ---- display (not stored) ----
+    @BsonIgnore
     public String getTypeDisplay() {
-        if (type == null) return "Task";
-        switch (type) {
-            case "WATER": return "💧 Water";
-            case "FERTILIZE": return "🌿 Fertilize";
-            case "SOIL_CHANGE": return "🔄 Soil Change";
-            default: return type;
-        }
+        return type == null ? "Task" : type.display();
     }
 
+    @BsonIgnore
     public String getStatusDisplay() {
-        if (status == null) return "DUE";
-        switch (status) {
-            case "DUE": return "📅 Due";
-            case "TODAY": return "⭐ Today";
-            case "UPCOMING": return "🔜 Upcoming";
-            case "DONE": return "✅ Done";
-            case "MISSED": return "❌ Missed";
-            case "CANCELLED": return "🚫 Cancelled";
-            default: return status;
-        }
+        return status == null ? "DUE" : status.display();
     }
 
+    @BsonIgnore
     public String getStatusColorClass() {
-        if (status == null) return "status-due";
-        switch (status) {
-            case "DUE": return "status-due";
-            case "TODAY": return "status-today";
-            case "UPCOMING": return "status-upcoming";
-            case "DONE": return "status-done";
-            case "MISSED": return "status-missed";
-            case "CANCELLED": return "status-cancelled";
-            default: return "status-due";
-        }
+        return status == null ? "status-due" : status.styleClass();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package org.plantagonist.core.models;
+
+/**
+ * Enum stored as a small integer code instead of its name (see core.db.Codes). Codes are
+ * part of the stored format: never reuse or renumber one, only add new ones.
+ */
+public interface Coded {
+    int code();
+}
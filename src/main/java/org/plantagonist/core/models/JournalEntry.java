@@ -1,9 +1,10 @@
 package org.plantagonist.core.models;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.UUID;
 
-public class JournalEntry {
+public class JournalEntry implements Syncable {
     private String id;
     private String userId;
     private String plantId;
@@ -12,9 +13,13 @@ public class JournalEntry {
     private String content;
     private String photoPath;
 
+    // ---- audit (stamped by the repositories)
+    private Date createdAt;
+    private Date updatedAt;
+
+    // no default entryDate: the codec decodes through this, and an undated document must stay undated
     public JournalEntry() {
         this.id = UUID.randomUUID().toString();
-        this.entryDate = LocalDateTime.now();
     }
 
     public JournalEntry(String id, String userId, String plantId, String plantName,
@@ -50,8 +55,17 @@ public class JournalEntry {
     public String getPhotoPath() { return photoPath; }
     public void setPhotoPath(String photoPath) { this.photoPath = photoPath; }
 
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
     // Helper method to get formatted date
     public String getFormattedDate() {
+        if (entryDate == null) {
+            return "Undated";
+        }
         return entryDate.format(java.time.format.DateTimeFormatter.ofPattern("MMMM d, yyyy"));
     }
 
@@ -7,8 +7,9 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
 import java.time.LocalDate;
+import java.util.Date;
 
-public class Plant {
+public class Plant implements Syncable {
     private final StringProperty userId = new SimpleStringProperty();
 
     private final StringProperty id = new SimpleStringProperty();
@@ -18,6 +19,12 @@ public class Plant {
     private final ObjectProperty<Double> sunlightHours = new SimpleObjectProperty<>();
     private final StringProperty photoPath = new SimpleStringProperty();
     private final ObjectProperty<LocalDate> lastWatered = new SimpleObjectProperty<>();
+    private final ObjectProperty<Integer> fertilizeEveryDays = new SimpleObjectProperty<>();
+    private final ObjectProperty<LocalDate> lastFertilized = new SimpleObjectProperty<>();
+    private final ObjectProperty<Integer> soilChangeEveryDays = new SimpleObjectProperty<>();
+    private final ObjectProperty<LocalDate> lastSoilChanged = new SimpleObjectProperty<>();
+    private final ObjectProperty<Date> createdAt = new SimpleObjectProperty<>();
+    private final ObjectProperty<Date> updatedAt = new SimpleObjectProperty<>();
 
     // Getters/Setters for JSON + TableView
     public String getId() { return id.get(); }
@@ -48,12 +55,36 @@ public class Plant {
     public void setLastWatered(LocalDate v) { lastWatered.set(v); }
     public ObjectProperty<LocalDate> lastWateredProperty() { return lastWatered; }
 
+    // other recurring care; null interval = no schedule
+    public Integer getFertilizeEveryDays() { return fertilizeEveryDays.get(); }
+    public void setFertilizeEveryDays(Integer v) { fertilizeEveryDays.set(v); }
+    public ObjectProperty<Integer> fertilizeEveryDaysProperty() { return fertilizeEveryDays; }
+
+    public LocalDate getLastFertilized() { return lastFertilized.get(); }
+    public void setLastFertilized(LocalDate v) { lastFertilized.set(v); }
+    public ObjectProperty<LocalDate> lastFertilizedProperty() { return lastFertilized; }
+
+    public Integer getSoilChangeEveryDays() { return soilChangeEveryDays.get(); }
+    public void setSoilChangeEveryDays(Integer v) { soilChangeEveryDays.set(v); }
+    public ObjectProperty<Integer> soilChangeEveryDaysProperty() { return soilChangeEveryDays; }
+
+    public LocalDate getLastSoilChanged() { return lastSoilChanged.get(); }
+    public void setLastSoilChanged(LocalDate v) { lastSoilChanged.set(v); }
+    public ObjectProperty<LocalDate> lastSoilChangedProperty() { return lastSoilChanged; }
+
 
     // Add getters/setters
     public String getUserId() { return userId.get(); }
     public void setUserId(String v) { userId.set(v); }
     public StringProperty userIdProperty() { return userId; }
 
+    // audit, stamped by the repositories
+    public Date getCreatedAt() { return createdAt.get(); }
+    public void setCreatedAt(Date v) { createdAt.set(v); }
+
+    public Date getUpdatedAt() { return updatedAt.get(); }
+    public void setUpdatedAt(Date v) { updatedAt.set(v); }
+
     public Plant copy() {
         Plant p = new Plant();
         p.setId(getId());
@@ -64,6 +95,12 @@ public class Plant {
         p.setSunlightHours(getSunlightHours());
         p.setPhotoPath(getPhotoPath());
         p.setLastWatered(getLastWatered());
+        p.setFertilizeEveryDays(getFertilizeEveryDays());
+        p.setLastFertilized(getLastFertilized());
+        p.setSoilChangeEveryDays(getSoilChangeEveryDays());
+        p.setLastSoilChanged(getLastSoilChanged());
+        p.setCreatedAt(getCreatedAt());
+        p.setUpdatedAt(getUpdatedAt());
         return p;
     }
 
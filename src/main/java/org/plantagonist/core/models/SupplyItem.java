@@ -7,8 +7,9 @@ import org.bson.types.ObjectId;
 import org.bson.BsonType;
 
 import java.time.LocalDate;
+import java.util.Date;
 
-public class SupplyItem {
+public class SupplyItem implements Syncable {
     @BsonId
     private ObjectId id;
 
@@ -22,6 +23,10 @@ public class SupplyItem {
 //    @BsonRepresentation(BsonType.STRING)
     private LocalDate lastRestocked;
 
+    // ---- audit (stamped by the repositories)
+    private Date createdAt;
+    private Date updatedAt;
+
     public SupplyItem() { }
 
     public SupplyItem(String userId, String name, int quantity, int refillBelow) {
@@ -54,4 +59,10 @@ public class SupplyItem {
 
     public LocalDate getLastRestocked() { return lastRestocked; }
     public void setLastRestocked(LocalDate lastRestocked) { this.lastRestocked = lastRestocked; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
 }
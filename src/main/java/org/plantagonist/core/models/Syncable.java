@@ -0,0 +1,17 @@
+package org.plantagonist.core.models;
+
+import java.util.Date;
+
+/**
+ * A per-user document whose repositories stamp createdAt/updatedAt on every write and leave a
+ * {@link Tombstone} on delete, so clients can ask for just what changed since their last poll.
+ */
+public interface Syncable {
+    String getUserId();
+
+    Date getCreatedAt();
+    void setCreatedAt(Date createdAt);
+
+    Date getUpdatedAt();
+    void setUpdatedAt(Date updatedAt);
+}
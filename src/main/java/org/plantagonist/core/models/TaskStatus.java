@@ -0,0 +1,44 @@
+package org.plantagonist.core.models;
+
+/** Where a {@link CareTask} stands; DUE is overdue, TODAY due today. */
+public enum TaskStatus implements Coded {
+    DUE(1, "📅 Due", "status-due"),
+    TODAY(2, "⭐ Today", "status-today"),
+    UPCOMING(3, "🔜 Upcoming", "status-upcoming"),
+    DONE(4, "✅ Done", "status-done"),
+    MISSED(5, "❌ Missed", "status-missed"),
+    CANCELLED(6, "🚫 Cancelled", "status-cancelled");
+
+    private final int code;
+    private final String display;
+    private final String styleClass;
+
+    TaskStatus(int code, String display, String styleClass) {
+        this.code = code;
+        this.display = display;
+        this.styleClass = styleClass;
+    }
+
+    @Override
+    public int code() { return code; }
+
+    public String display() { return display; }
+
+    public String styleClass() { return styleClass; }
+
+    /** Needs doing now (DUE or TODAY). */
+    public boolean isDueish() { return this == DUE || this == TODAY; }
+
+    /** Still on the user's list: not DONE or CANCELLED. */
+    public boolean isOpen() { return this != DONE && this != CANCELLED; }
+
+    /** Name as stored before codes, case-insensitive; null for unknown names. */
+    public static TaskStatus parse(String s) {
+        if (s == null || s.isBlank()) return null;
+        try {
+            return valueOf(s.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.plantagonist.core.models;
+
+/** What a {@link CareTask} asks the user to do. */
+public enum TaskType implements Coded {
+    OTHER(0, "Task"),
+    WATER(1, "💧 Water"),
+    FERTILIZE(2, "🌿 Fertilize"),
+    SOIL_CHANGE(3, "🔄 Soil Change");
+
+    private final int code;
+    private final String display;
+
+    TaskType(int code, String display) {
+        this.code = code;
+        this.display = display;
+    }
+
+    @Override
+    public int code() { return code; }
+
+    public String display() { return display; }
+
+    /** The log entry completing a task of this type records. */
+    public CareAction action() {
+        return switch (this) {
+            case WATER -> CareAction.WATERING;
+            case FERTILIZE -> CareAction.FERTILIZING;
+            case SOIL_CHANGE -> CareAction.SOIL_CHANGE;
+            case OTHER -> CareAction.OTHER;
+        };
+    }
+
+    /** Name as stored before codes, case-insensitive; unknown names are OTHER, null stays null. */
+    public static TaskType parse(String s) {
+        if (s == null || s.isBlank()) return null;
+        return switch (s.trim().toUpperCase()) {
+            case "WATER", "WATERING" -> WATER;
+            case "FERTILIZE", "FERTILIZING" -> FERTILIZE;
+            case "SOIL_CHANGE" -> SOIL_CHANGE;
+            default -> OTHER;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package org.plantagonist.core.models;
+
+import java.util.Date;
+
+/**
+ * Marker left behind when a {@link Syncable} document is deleted, so delta readers learn about
+ * the delete. Stored in the "tombstones" collection with id {@code <collection>:<docId>} and
+ * expired after ChangeSet.TOMBSTONE_RETENTION.
+ */
+public class Tombstone {
+    private String id;
+    private String collection;
+    private String docId;      // hex string for ObjectId ids
+    private String userId;
+    private Date deletedAt;
+
+    public Tombstone() {}
+
+    public Tombstone(String collection, String docId, String userId, Date deletedAt) {
+        this.id = collection + ":" + docId;
+        this.collection = collection;
+        this.docId = docId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+
+    public String getDocId() { return docId; }
+    public void setDocId(String docId) { this.docId = docId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Date getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(Date deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -2,13 +2,28 @@ package org.plantagonist.core.repositories;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.plantagonist.core.db.Ids;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.Syncable;
+import org.plantagonist.core.models.Tombstone;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Shared Mongo plumbing. For {@link Syncable} documents it also keeps createdAt/updatedAt
+ * current on every write made through here (subclasses add {@link #touched()} to their own
+ * $set updates) and leaves a {@link Tombstone} for every delete, which is what
+ * {@link #changedSince} reads.
+ */
 public class BaseRepository<T> {
     protected final MongoCollection<T> coll;
 
@@ -16,19 +31,35 @@ public class BaseRepository<T> {
         this.coll = coll;
     }
 
-    /** Canonical id filter (schema uses _id:String UUID).
-     *  If you have legacy docs with an "id" field, temporarily switch to the OR version.
+    protected String collectionName() {
+        return coll.getNamespace().getCollectionName();
+    }
+
+    /** $set of updatedAt for hand-written updates. */
+    protected static Bson touched() {
+        return Updates.set("updatedAt", new Date());
+    }
+
+    /**
+     * Canonical id filter (schema uses _id:String UUID, binary with {@link Ids#binary()});
+     * legacy "id" docs are moved by LegacyIdMigration.
      */
     protected Bson idFilter(String id) {
-        // return Filters.or(Filters.eq("_id", id), Filters.eq("id", id)); // <-- use during migration
-        return Filters.eq("_id", id);
+        return Ids.eq("_id", id);
     }
 
     protected Bson idFilter(ObjectId id) {
         return Filters.eq("_id", id);
     }
 
-    public void insert(T t) { coll.insertOne(t); }
+    public void insert(T t) {
+        if (t instanceof Syncable s) {
+            Date now = new Date();
+            if (s.getCreatedAt() == null) s.setCreatedAt(now);
+            s.setUpdatedAt(now);
+        }
+        coll.insertOne(t);
+    }
 
     public List<T> findAll() {
         List<T> list = new ArrayList<>();
@@ -42,12 +73,44 @@ public class BaseRepository<T> {
     }
 
     public long deleteById(String id, Function<T, String> idGetter) {
-        var res = coll.deleteOne(idFilter(id));
-        System.out.println("[DB] deleteById _id=" + id + " deleted=" + res.getDeletedCount());
-        return res.getDeletedCount();
+        T gone = coll.findOneAndDelete(idFilter(id));
+        if (gone instanceof Syncable s) tombstone(id, s.getUserId());
+        System.out.println("[DB] deleteById _id=" + id + " deleted=" + (gone == null ? 0 : 1));
+        return gone == null ? 0 : 1;
+    }
+
+    /** deleteMany that leaves tombstones: reads the matching ids and owners first. */
+    protected long deleteMany(Bson filter) {
+        List<Document> doomed = new ArrayList<>();
+        coll.withDocumentClass(Document.class).find(filter)
+                .projection(Projections.include("_id", "userId")).into(doomed);
+        if (doomed.isEmpty()) return 0;
+        List<Object> ids = new ArrayList<>(doomed.size());
+        for (Document d : doomed) ids.add(d.get("_id"));
+        long n = coll.deleteMany(Filters.in("_id", ids)).getDeletedCount();
+        for (Document d : doomed) tombstone(d.get("_id"), Ids.string(d.get("userId")));
+        return n;
+    }
+
+    protected void tombstone(Object id, String userId) {
+        Tombstone t = new Tombstone(collectionName(), Ids.string(id), userId, new Date());
+        tombstones().replaceOne(Filters.eq("_id", t.getId()), t, new ReplaceOptions().upsert(true));
+    }
+
+    private static MongoCollection<Tombstone> tombstones() {
+        return MongoConfig.db().getCollection("tombstones", Tombstone.class);
     }
 
     protected void replace(T entity, String id, Function<T, String> idGetter) {
+        if (entity instanceof Syncable s) {
+            if (s.getCreatedAt() == null) {
+                // an edited copy without audit fields: keep the stored createdAt
+                Document old = coll.withDocumentClass(Document.class).find(idFilter(id))
+                        .projection(Projections.include("createdAt")).first();
+                if (old != null) s.setCreatedAt(old.getDate("createdAt"));
+            }
+            s.setUpdatedAt(new Date());
+        }
         var result = coll.replaceOne(idFilter(id), entity);
         System.out.println("[DB] replace _id=" + id +
                 " matched=" + result.getMatchedCount() +
@@ -56,14 +119,31 @@ public class BaseRepository<T> {
 
     public List<T> findByUserId(String userId, Function<T, String> userIdGetter) {
         List<T> out = new ArrayList<>();
-        coll.find(Filters.eq("userId", userId)).into(out);
+        coll.find(Ids.eq("userId", userId)).into(out);
         return out;
     }
 
     public List<T> findByField(String fieldName, String value) {
         List<T> out = new ArrayList<>();
-        coll.find(Filters.eq(fieldName, value)).into(out);
+        coll.find(Ids.eq(fieldName, value)).into(out);
         return out;
     }
 
+    /** See {@link ChangeSet}; uses the (userId, updatedAt) index. */
+    public ChangeSet<T> changedSince(String userId, Date since) {
+        long start = System.currentTimeMillis();
+        boolean full = ChangeSet.isFull(since, start);
+        Bson mine = Ids.eq("userId", userId);
+        List<T> changed = new ArrayList<>();
+        coll.find(full ? mine : Filters.and(mine, Filters.gte("updatedAt", since))).into(changed);
+        List<String> deleted = new ArrayList<>();
+        if (!full) {
+            for (Tombstone t : tombstones().find(Filters.and(mine, Filters.eq("collection", collectionName()),
+                    Filters.gte("deletedAt", since)))) {
+                deleted.add(t.getDocId());
+            }
+        }
+        return new ChangeSet<>(changed, deleted, ChangeSet.until(since, start), full);
+    }
+
 }
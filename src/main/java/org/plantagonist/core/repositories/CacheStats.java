@@ -0,0 +1,17 @@
+package org.plantagonist.core.repositories;
+
+/** Counters of one caching store since startup; see {@link Repositories#cacheStats()}. */
+public record CacheStats(String store, long hits, long misses, long evictions, long invalidations,
+                         int cachedEntities, int cachedQueries) {
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d hits / %d misses (%.0f%%), %d evicted, %d invalidated, %d entities + %d queries cached",
+                store, hits, misses, hitRate() * 100, evictions, invalidations, cachedEntities, cachedQueries);
+    }
+}
@@ -0,0 +1,63 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.Plant;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * PlantStore decorator that answers repeated reads from a {@link StoreCache}. Only writes made
+ * through this instance invalidate it; changes made elsewhere show up once entries expire.
+ */
+public class CachingPlantStore implements PlantStore {
+    private final PlantStore delegate;
+    private final StoreCache<Plant> cache;
+
+    public CachingPlantStore(PlantStore delegate, int maxEntities, int maxQueries, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new StoreCache<>("plants", Plant.class, Plant::getId,
+                p -> p.getUserId() == null ? List.of() : List.of(StoreCache.user(p.getUserId())),
+                maxEntities, maxQueries, ttl);
+    }
+
+    public CacheStats stats() { return cache.stats(); }
+
+    @Override
+    public void insertOne(Plant p) {
+        delegate.insertOne(p);
+        cache.inserted(p);
+    }
+
+    @Override
+    public List<Plant> findAll() {
+        return cache.query(StoreCache.ALL, "all", delegate::findAll);
+    }
+
+    @Override
+    public Plant findById(String id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public List<Plant> findByUserId(String userId) {
+        return cache.query(StoreCache.user(userId), "byUser", () -> delegate.findByUserId(userId));
+    }
+
+    @Override
+    public void replaceById(String id, Plant p) {
+        delegate.replaceById(id, p);
+        cache.replaced(id, p);
+    }
+
+    @Override
+    public long deleteById(String id) {
+        long n = delegate.deleteById(id);
+        cache.changed(id);
+        return n;
+    }
+
+    /** Not cached: delta readers want exactly what the server has. */
+    @Override
+    public ChangeSet<Plant> changedSince(String userId, Date since) { return delegate.changedSince(userId, since); }
+}
@@ -0,0 +1,143 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * TaskStore decorator that answers repeated reads from a {@link StoreCache}. A task's results
+ * live under its user's and its plant's scope; only writes made through this instance
+ * invalidate them, changes made elsewhere show up once entries expire.
+ */
+public class CachingTaskStore implements TaskStore {
+    private final TaskStore delegate;
+    private final StoreCache<CareTask> cache;
+
+    public CachingTaskStore(TaskStore delegate, int maxEntities, int maxQueries, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new StoreCache<>("care_tasks", CareTask.class, CareTask::getId,
+                CachingTaskStore::scopes, maxEntities, maxQueries, ttl);
+    }
+
+    private static List<String> scopes(CareTask t) {
+        List<String> out = new ArrayList<>(2);
+        if (t.getUserId() != null) out.add(StoreCache.user(t.getUserId()));
+        if (t.getPlantId() != null) out.add(StoreCache.plant(t.getPlantId()));
+        return out;
+    }
+
+    public CacheStats stats() { return cache.stats(); }
+
+    @Override
+    public void insertOne(CareTask t) {
+        delegate.insertOne(t);
+        cache.inserted(t);
+    }
+
+    @Override
+    public CareTask findById(String id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public List<CareTask> findByUserId(String userId) {
+        return cache.query(StoreCache.user(userId), "byUser", () -> delegate.findByUserId(userId));
+    }
+
+    @Override
+    public List<CareTask> findByPlantIdAndType(String plantId, TaskType type) {
+        return cache.query(StoreCache.plant(plantId), "type=" + type, () -> delegate.findByPlantIdAndType(plantId, type));
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndStatus(String userId, TaskStatus status) {
+        return cache.query(StoreCache.user(userId), "status=" + status, () -> delegate.findByUserIdAndStatus(userId, status));
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndDate(String userId, LocalDate date) {
+        return cache.query(StoreCache.user(userId), "due=" + date, () -> delegate.findByUserIdAndDate(userId, date));
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
+        return cache.query(StoreCache.user(userId), "due=" + startDate + ".." + endDate,
+                () -> delegate.findByUserIdAndDateRange(userId, startDate, endDate));
+    }
+
+    @Override
+    public List<CareTask> findDueOrUpcoming() {
+        return cache.query(StoreCache.ALL, "open", delegate::findDueOrUpcoming);
+    }
+
+    @Override
+    public List<CareTask> findDueOrUpcoming(String userId) {
+        return cache.query(StoreCache.user(userId), "open", () -> delegate.findDueOrUpcoming(userId));
+    }
+
+    @Override
+    public void replaceById(CareTask t) {
+        delegate.replaceById(t);
+        cache.replaced(t.getId(), t);
+    }
+
+    @Override
+    public void replaceById(String id, CareTask t) {
+        delegate.replaceById(id, t);
+        cache.replaced(id, t);
+    }
+
+    @Override
+    public long deleteById(String id) {
+        long n = delegate.deleteById(id);
+        cache.changed(id);
+        return n;
+    }
+
+    @Override
+    public void deleteByPlantIdAndType(String plantId, TaskType type) {
+        delegate.deleteByPlantIdAndType(plantId, type);
+        // the owners of the deleted tasks aren't known here
+        cache.changedScopes(StoreCache.plant(plantId));
+        cache.changedQueries();
+    }
+
+    @Override
+    public void deleteByPlantIdAndType(String plantId, TaskType type, String userId) {
+        delegate.deleteByPlantIdAndType(plantId, type, userId);
+        cache.changedScopes(StoreCache.plant(plantId), StoreCache.user(userId));
+    }
+
+    @Override
+    public void updateStatus(String id, TaskStatus status) {
+        delegate.updateStatus(id, status);
+        cache.changed(id);
+    }
+
+    @Override
+    public void updateStatusAndLastCompleted(String id, TaskStatus status, LocalDate lastCompleted) {
+        delegate.updateStatusAndLastCompleted(id, status, lastCompleted);
+        cache.changed(id);
+    }
+
+    @Override
+    public List<String> findOverdueIds(LocalDate cutoff, int limit) { return delegate.findOverdueIds(cutoff, limit); }
+
+    @Override
+    public List<String> markMissed(List<String> ids, LocalDate cutoff) {
+        List<String> changed = delegate.markMissed(ids, cutoff);
+        for (String id : changed) cache.changed(id);
+        if (!changed.isEmpty()) cache.changedQueries(); // owners of tasks that weren't cached are unknown
+        return changed;
+    }
+
+    /** Not cached: delta readers want exactly what the server has. */
+    @Override
+    public ChangeSet<CareTask> changedSince(String userId, Date since) { return delegate.changedSince(userId, since); }
+}
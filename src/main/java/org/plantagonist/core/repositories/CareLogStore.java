@@ -0,0 +1,20 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareLogEntry;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+/** Care log queries all return newest first (by date). */
+public interface CareLogStore {
+    void insert(CareLogEntry e);
+    List<CareLogEntry> findByPlant(String plantId);
+    List<CareLogEntry> findByUser(String userId);
+    List<CareLogEntry> findByUserAndDateRange(String userId, LocalDate startDate, LocalDate endDate);
+    List<CareLogEntry> findRecent(int limit);
+    List<CareLogEntry> findRecentByUser(String userId, int limit);
+
+    /** What the user wrote or deleted since a high-water mark; see {@link ChangeSet}. */
+    ChangeSet<CareLogEntry> changedSince(String userId, Date since);
+}
@@ -1,16 +1,23 @@
 package org.plantagonist.core.repositories;
 
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Updates;
+import org.bson.BsonDocument;
 import org.bson.conversions.Bson;
+import org.plantagonist.core.db.Codes;
+import org.plantagonist.core.db.Ids;
 import org.plantagonist.core.db.MongoConfig;
 import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
-public class CareTaskRepository extends BaseRepository<CareTask> {
+public class CareTaskRepository extends BaseRepository<CareTask> implements TaskStore {
     public CareTaskRepository() {
         super(MongoConfig.db().getCollection("care_tasks", CareTask.class));
     }
@@ -18,20 +25,20 @@ public class CareTaskRepository extends BaseRepository<CareTask> {
     // convenience
     public void insertOne(CareTask t) { insert(t); }
 
-    public List<CareTask> findByPlantIdAndType(String plantId, String type) {
-        Bson filter = Filters.and(Filters.eq("plantId", plantId), Filters.eq("type", type));
+    public List<CareTask> findByPlantIdAndType(String plantId, TaskType type) {
+        Bson filter = Filters.and(Ids.eq("plantId", plantId), Codes.eq("type", type));
         List<CareTask> out = new ArrayList<>();
         coll.find(filter).into(out);
         return out;
     }
 
-    public void deleteByPlantIdAndType(String plantId, String type) {
-        coll.deleteMany(Filters.and(Filters.eq("plantId", plantId), Filters.eq("type", type)));
+    public void deleteByPlantIdAndType(String plantId, TaskType type) {
+        deleteMany(Filters.and(Ids.eq("plantId", plantId), Codes.eq("type", type)));
     }
 
     public List<CareTask> findDueOrUpcoming() {
         List<CareTask> out = new ArrayList<>();
-        coll.find(Filters.ne("status", "DONE")).into(out);
+        coll.find(Codes.nin("status", TaskStatus.DONE)).into(out);
         return out;
     }
 
@@ -39,10 +46,10 @@ public class CareTaskRepository extends BaseRepository<CareTask> {
         return findByUserId(userId, CareTask::getUserId);
     }
 
-    public List<CareTask> findByUserIdAndStatus(String userId, String status) {
+    public List<CareTask> findByUserIdAndStatus(String userId, TaskStatus status) {
         Bson filter = Filters.and(
-                Filters.eq("userId", userId),
-                Filters.eq("status", status)
+                Ids.eq("userId", userId),
+                Codes.eq("status", status)
         );
         List<CareTask> out = new ArrayList<>();
         coll.find(filter).into(out);
@@ -51,7 +58,7 @@ public class CareTaskRepository extends BaseRepository<CareTask> {
 
     public List<CareTask> findByUserIdAndDate(String userId, LocalDate date) {
         Bson filter = Filters.and(
-                Filters.eq("userId", userId),
+                Ids.eq("userId", userId),
                 Filters.eq("dueDate", date)
         );
         List<CareTask> out = new ArrayList<>();
@@ -61,7 +68,7 @@ public class CareTaskRepository extends BaseRepository<CareTask> {
 
     public List<CareTask> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
         Bson filter = Filters.and(
-                Filters.eq("userId", userId),
+                Ids.eq("userId", userId),
                 Filters.gte("dueDate", startDate),
                 Filters.lte("dueDate", endDate)
         );
@@ -72,22 +79,21 @@ public class CareTaskRepository extends BaseRepository<CareTask> {
 
     public List<CareTask> findDueOrUpcoming(String userId) {
         Bson filter = Filters.and(
-                Filters.eq("userId", userId),
-                Filters.ne("status", "DONE"),
-                Filters.ne("status", "CANCELLED")
+                Ids.eq("userId", userId),
+                Codes.nin("status", TaskStatus.DONE, TaskStatus.CANCELLED)
         );
         List<CareTask> out = new ArrayList<>();
         coll.find(filter).sort(com.mongodb.client.model.Sorts.ascending("dueDate")).into(out);
         return out;
     }
 
-    public void deleteByPlantIdAndType(String plantId, String type, String userId) {
+    public void deleteByPlantIdAndType(String plantId, TaskType type, String userId) {
         Bson filter = Filters.and(
-                Filters.eq("plantId", plantId),
-                Filters.eq("type", type),
-                Filters.eq("userId", userId)
+                Ids.eq("plantId", plantId),
+                Codes.eq("type", type),
+                Ids.eq("userId", userId)
         );
-        coll.deleteMany(filter);
+        deleteMany(filter);
     }
 
     /** wrappers so callers don't pass id getters everywhere */
@@ -100,21 +106,58 @@ public class CareTaskRepository extends BaseRepository<CareTask> {
     public void replaceById(String id, CareTask t) { super.replace(t, id, CareTask::getId); }
 
     /** Light‑weight status update (no full replace) */
-    public void updateStatus(String id, String status) {
-        var result = coll.updateOne(Filters.eq("_id", id), Updates.set("status", status));
+    public void updateStatus(String id, TaskStatus status) {
+        var result = coll.updateOne(Ids.eq("_id", id), Updates.combine(Updates.set("status", status.code()), touched()));
         System.out.println("[DB] updateStatus _id=" + id +
                 " matched=" + result.getMatchedCount() +
                 " modified=" + result.getModifiedCount());
     }
 
-    public void updateStatusAndLastCompleted(String id, String status, LocalDate lastCompleted) {
-        var result = coll.updateOne(Filters.eq("_id", id),
+    public void updateStatusAndLastCompleted(String id, TaskStatus status, LocalDate lastCompleted) {
+        var result = coll.updateOne(Ids.eq("_id", id),
                 Updates.combine(
-                        Updates.set("status", status),
-                        Updates.set("lastCompleted", lastCompleted)
+                        Updates.set("status", status.code()),
+                        Updates.set("lastCompleted", lastCompleted),
+                        touched()
                 ));
         System.out.println("[DB] updateStatusAndLastCompleted _id=" + id +
                 " matched=" + result.getMatchedCount() +
                 " modified=" + result.getModifiedCount());
     }
+
+    /** Reads the batch's _ids on the (dueDate, status) index. */
+    public List<String> findOverdueIds(LocalDate cutoff, int limit) {
+        List<String> out = new ArrayList<>();
+        for (BsonDocument d : coll.withDocumentClass(BsonDocument.class).find(overdue(cutoff))
+                .projection(Projections.include("_id")).limit(limit)) {
+            out.add(Ids.string(d.get("_id")));
+        }
+        return out;
+    }
+
+    /**
+     * One updateMany that re-checks the filter (a task completed since the read still matches
+     * the ids but no longer the filter) and stamps a fresh updatedAt; the batch's MISSED tasks
+     * carrying that stamp afterwards are the ones it changed.
+     */
+    public List<String> markMissed(List<String> ids, LocalDate cutoff) {
+        if (ids.isEmpty()) return List.of();
+        Bson batch = Ids.in("_id", ids);
+        Date stamp = new Date();
+        var result = coll.updateMany(Filters.and(batch, overdue(cutoff)),
+                Updates.combine(Updates.set("status", TaskStatus.MISSED.code()), Updates.set("updatedAt", stamp)));
+        if (result.getModifiedCount() == 0) return List.of();
+        List<String> out = new ArrayList<>((int) result.getModifiedCount());
+        for (BsonDocument d : coll.withDocumentClass(BsonDocument.class)
+                .find(Filters.and(batch, Codes.eq("status", TaskStatus.MISSED), Filters.eq("updatedAt", stamp)))
+                .projection(Projections.include("_id"))) {
+            out.add(Ids.string(d.get("_id")));
+        }
+        return out;
+    }
+
+    private static Bson overdue(LocalDate cutoff) {
+        return Filters.and(Filters.lt("dueDate", cutoff),
+                Codes.nin("status", TaskStatus.DONE, TaskStatus.MISSED, TaskStatus.CANCELLED));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+/**
+ * Sees every local write as the document's new state (or a delete), after it is journaled
+ * and while the collection's write lock is held, so calls arrive in commit order.
+ */
+public interface ChangeListener {
+    void put(String collection, RawBsonDocument doc);
+    void delete(String collection, BsonValue id);
+}
@@ -0,0 +1,41 @@
+package org.plantagonist.core.repositories;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Result of a {@code changedSince(userId, since)} query: documents written at or after
+ * {@code since} and ids deleted since then. Apply {@code deletedIds} before {@code changed}
+ * (an id can be deleted and then written again), then pass {@code until} as the next
+ * {@code since}. Overlapping polls repeat a few documents; applying them twice is harmless.
+ *
+ * When {@code full} is set the client's copy is too old for the tombstones to cover it (or it
+ * asked with a null since): {@code changed} is everything the user owns and the client should
+ * replace its set instead of merging.
+ */
+public record ChangeSet<T>(List<T> changed, List<String> deletedIds, Date until, boolean full) {
+
+    /** Tombstones are kept this long; older high-water marks get a full reload. */
+    public static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    /**
+     * How far {@code until} trails the query: covers writes stamped just before the query but
+     * committed just after it, and small clock differences between app instances.
+     */
+    public static final Duration LAG = Duration.ofSeconds(5);
+
+    static boolean isFull(Date since, long queryStartMillis) {
+        return since == null || since.getTime() < queryStartMillis - TOMBSTONE_RETENTION.toMillis();
+    }
+
+    static Date until(Date since, long queryStartMillis) {
+        long t = queryStartMillis - LAG.toMillis();
+        return new Date(since == null ? t : Math.max(since.getTime(), t));
+    }
+
+    /** Fixed-width millis, so the string order of sorted-index keys is the time order. */
+    static String sortable(Date d) {
+        return d == null ? null : String.format("%013d", d.getTime());
+    }
+}
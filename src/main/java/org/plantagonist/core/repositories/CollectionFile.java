@@ -0,0 +1,155 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk half of one local collection: {@code <name>.snapshot} holds the live documents as
+ * concatenated BSON, {@code <name>.journal} every put/delete since the last snapshot. Loading
+ * replays the journal over the snapshot; a torn record at the end of the journal (crash
+ * mid-write) is dropped. Writes reach the OS with each call but are only fsync'ed on
+ * compaction and close, which is the same guarantee Mongo's default write concern gives.
+ * Not thread-safe: the owning MemoryCollection calls it under its write lock.
+ */
+final class CollectionFile {
+    private static final BsonString PUT = new BsonString("put");
+    private static final BsonString DELETE = new BsonString("del");
+    private static final BsonDocumentCodec DOC_CODEC = new BsonDocumentCodec();
+
+    private final Path snapshot;
+    private final Path journal;
+    private FileChannel out;
+    private int journalRecords;
+
+    CollectionFile(Path dir, String name) {
+        this.snapshot = dir.resolve(name + ".snapshot");
+        this.journal = dir.resolve(name + ".journal");
+    }
+
+    /** Current documents in insertion order; opens the journal for appending. */
+    List<RawBsonDocument> load() {
+        try {
+            // keyed by the id's string form: a UUID may be stored as a string in older records and as binary in newer ones
+            Map<String, RawBsonDocument> live = new LinkedHashMap<>();
+            for (RawBsonDocument doc : read(snapshot, false)) live.put(MemoryCollection.idString(doc.get("_id")), doc);
+            List<RawBsonDocument> records = read(journal, true);
+            for (RawBsonDocument r : records) {
+                if (PUT.equals(r.get("op"))) {
+                    RawBsonDocument doc = (RawBsonDocument) r.getDocument("doc");
+                    live.put(MemoryCollection.idString(doc.get("_id")), doc);
+                } else {
+                    live.remove(MemoryCollection.idString(r.get("id")));
+                }
+            }
+            journalRecords = records.size();
+            close();
+            out = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new ArrayList<>(live.values());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed loading " + snapshot.getFileName(), e);
+        }
+    }
+
+    void appendPut(RawBsonDocument doc) {
+        BsonDocument r = new BsonDocument("op", PUT).append("doc", doc);
+        append(r);
+    }
+
+    void appendDelete(BsonValue id) {
+        append(new BsonDocument("op", DELETE).append("id", id));
+    }
+
+    /** Worth rewriting once the journal is mostly superseded records. */
+    boolean shouldCompact(int liveDocs) {
+        return journalRecords > Math.max(1024, 2 * liveDocs);
+    }
+
+    /** Writes a fresh snapshot (tmp + atomic move), then empties the journal. */
+    void compact(Collection<RawBsonDocument> live) {
+        try {
+            Path tmp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (RawBsonDocument doc : live) writeFully(ch, doc.getByteBuffer().asNIO());
+                ch.force(true);
+            }
+            try {
+                Files.move(tmp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // a crash before this truncate just replays records the snapshot already contains
+            out.truncate(0);
+            out.force(true);
+            journalRecords = 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed compacting " + snapshot.getFileName(), e);
+        }
+    }
+
+    void close() {
+        if (out == null) return;
+        try {
+            out.force(true);
+            out.close();
+        } catch (IOException e) {
+            System.err.println("[LocalDatabase] close " + journal.getFileName() + ": " + e.getMessage());
+        }
+        out = null;
+    }
+
+    private void append(BsonDocument record) {
+        BasicOutputBuffer buf = new BasicOutputBuffer();
+        DOC_CODEC.encode(new BsonBinaryWriter(buf), record, EncoderContext.builder().build());
+        try {
+            writeFully(out, ByteBuffer.wrap(buf.getInternalBuffer(), 0, buf.getPosition()));
+            journalRecords++;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing " + journal.getFileName(), e);
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) ch.write(bytes);
+    }
+
+    /** Concatenated BSON documents; a short tail is cut off (journal) or rejected (snapshot). */
+    private static List<RawBsonDocument> read(Path file, boolean repairTail) throws IOException {
+        List<RawBsonDocument> docs = new ArrayList<>();
+        if (!Files.exists(file)) return docs;
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int pos = 0;
+        while (pos < bytes.length) {
+            int size = bytes.length - pos >= 4 ? in.getInt(pos) : -1;
+            if (size < 5 || pos + size > bytes.length) {
+                if (!repairTail) throw new IOException("Corrupt snapshot " + file + " at byte " + pos);
+                System.err.println("[LocalDatabase] dropping torn record at end of " + file.getFileName());
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(pos);
+                }
+                break;
+            }
+            docs.add(new RawBsonDocument(bytes, pos, size));
+            pos += size;
+        }
+        return docs;
+    }
+}
@@ -0,0 +1,79 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareLogEntry;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.plantagonist.core.repositories.MemoryCollection.key;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixEnd;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixStart;
+
+/**
+ * Zero-latency CareLogStore with (userId, date) and (plantId, date) sorted indexes, so
+ * newest-first reads are a reverse index walk. Non-persistent by default; given a
+ * {@link LocalDatabase} it is the embedded backend's care log collection.
+ */
+public class InMemoryCareLogStore implements CareLogStore {
+    // newest first; entries without a date sort last, as in Mongo's descending order
+    private static final Comparator<CareLogEntry> NEWEST_FIRST =
+            Comparator.comparing(CareLogEntry::getDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder())).reversed();
+
+    private final MemoryCollection<CareLogEntry> logs;
+
+    public InMemoryCareLogStore() { this(null); }
+
+    // LocalDate.toString() is ISO-8601, so index keys sort chronologically
+    public InMemoryCareLogStore(LocalDatabase db) {
+        logs = new MemoryCollection<>(CareLogEntry.class, CareLogEntry::getId)
+                .sortedIndex("userDate", e -> key(e.getUserId(), e.getDate()))
+                .sortedIndex("plantDate", e -> key(e.getPlantId(), e.getDate()))
+                .persistTo(db, "care_logs");
+    }
+
+    @Override
+    public void insert(CareLogEntry e) {
+        if (e.getId() == null || e.getId().isBlank()) e.setId(UUID.randomUUID().toString());
+        logs.put(e);
+    }
+
+    @Override
+    public List<CareLogEntry> findByPlant(String plantId) {
+        return newest("plantDate", plantId, 0);
+    }
+
+    @Override
+    public List<CareLogEntry> findByUser(String userId) {
+        return newest("userDate", userId, 0);
+    }
+
+    @Override
+    public List<CareLogEntry> findByUserAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
+        if (userId == null) return List.of();
+        return logs.range("userDate", key(userId, startDate), true, key(userId, endDate), true, true, null, 0);
+    }
+
+    @Override
+    public List<CareLogEntry> findRecent(int limit) {
+        List<CareLogEntry> all = logs.all();
+        all.sort(NEWEST_FIRST);
+        // Mongo treats limit(0) as "no limit"
+        return limit > 0 && all.size() > limit ? all.subList(0, limit) : all;
+    }
+
+    @Override
+    public List<CareLogEntry> findRecentByUser(String userId, int limit) {
+        return newest("userDate", userId, limit);
+    }
+
+    @Override
+    public ChangeSet<CareLogEntry> changedSince(String userId, Date since) { return logs.changedSince(userId, since); }
+
+    private List<CareLogEntry> newest(String index, String owner, int limit) {
+        if (owner == null) return List.of();
+        return logs.range(index, prefixStart(owner), true, prefixEnd(owner), true, true, null, limit);
+    }
+}
@@ -0,0 +1,111 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.JournalEntry;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.plantagonist.core.repositories.MemoryCollection.key;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixEnd;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixStart;
+
+/**
+ * Zero-latency JournalStore. Sorted indexes on (userId, entryDate, id) and
+ * (userId, plantId, entryDate, id) give the timeline's newest-first keyset order directly.
+ * Non-persistent by default; given a {@link LocalDatabase} it is the embedded backend's
+ * journal collection.
+ */
+public class InMemoryJournalStore implements JournalStore {
+    // fixed width so the string order is the chronological order
+    private static final DateTimeFormatter SORTABLE = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS");
+
+    private final MemoryCollection<JournalEntry> entries;
+
+    public InMemoryJournalStore() { this(null); }
+
+    public InMemoryJournalStore(LocalDatabase db) {
+        entries = new MemoryCollection<>(JournalEntry.class, JournalEntry::getId)
+                .index("plantId", JournalEntry::getPlantId)
+                .sortedIndex("userDate", e -> key(e.getUserId(), sortable(e.getEntryDate()), e.getId()))
+                .sortedIndex("userPlantDate", e -> e.getPlantId() == null ? null
+                        : key(e.getUserId(), e.getPlantId(), sortable(e.getEntryDate()), e.getId()))
+                .persistTo(db, "journal_entries");
+    }
+
+    private static String sortable(LocalDateTime t) {
+        return t == null ? null : SORTABLE.format(t);
+    }
+
+    @Override
+    public void insertOne(JournalEntry entry) {
+        if (entry.getId() == null || entry.getId().isBlank()) entry.setId(UUID.randomUUID().toString());
+        entries.put(entry);
+    }
+
+    @Override
+    public void save(JournalEntry entry) {
+        if (entry.getId() != null) entries.replace(entry.getId(), entry);
+        else insertOne(entry);
+    }
+
+    @Override
+    public JournalEntry findById(String id) { return id == null ? null : entries.get(id); }
+
+    @Override
+    public List<JournalEntry> getAll() { return entries.all(); }
+
+    @Override
+    public List<JournalEntry> findByUserId(String userId) {
+        if (userId == null) return List.of();
+        return entries.range("userDate", prefixStart(userId), true, prefixEnd(userId), true, false, null, 0);
+    }
+
+    @Override
+    public List<JournalEntry> findByPlantId(String plantId) { return entries.find("plantId", plantId); }
+
+    @Override
+    public List<JournalEntry> findByUserIdAndPlantId(String userId, String plantId) {
+        if (userId == null) return entries.find("plantId", plantId, e -> e.getUserId() == null);
+        return entries.find("plantId", plantId, e -> Objects.equals(userId, e.getUserId()));
+    }
+
+    @Override
+    public List<JournalEntry> findRecentByUserId(String userId, int limit) {
+        if (userId == null) return List.of();
+        return entries.range("userDate", prefixStart(userId), true, prefixEnd(userId), true, true, null, limit);
+    }
+
+    @Override
+    public List<JournalEntry> findTimelinePage(String userId, String plantId, JournalEntry after, int limit) {
+        if (userId == null) return List.of();
+        String index = plantId == null ? "userDate" : "userPlantDate";
+        String from = plantId == null ? prefixStart(userId) : prefixStart(userId, plantId);
+        String to = plantId == null ? prefixEnd(userId) : prefixEnd(userId, plantId);
+        boolean toInclusive = true;
+        if (after != null) {
+            // keyset cursor: strictly older than the last row of the previous page
+            to = plantId == null
+                    ? key(userId, sortable(after.getEntryDate()), after.getId())
+                    : key(userId, plantId, sortable(after.getEntryDate()), after.getId());
+            toInclusive = false;
+        }
+        List<JournalEntry> out = entries.range(index, from, true, to, toInclusive, true, null, limit);
+        for (JournalEntry e : out) e.setContent(preview(e.getContent()));
+        return out;
+    }
+
+    @Override
+    public ChangeSet<JournalEntry> changedSince(String userId, Date since) { return entries.changedSince(userId, since); }
+
+    // same cut as the $substrCP projection: code points, not chars
+    private static String preview(String content) {
+        if (content == null) return "";
+        int max = TIMELINE_PREVIEW_CHARS + 1;
+        if (content.codePointCount(0, content.length()) <= max) return content;
+        return content.substring(0, content.offsetByCodePoints(0, max));
+    }
+}
@@ -0,0 +1,47 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.Plant;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Zero-latency PlantStore indexed by userId. Non-persistent by default; given a
+ * {@link LocalDatabase} it is the embedded backend's plant collection.
+ */
+public class InMemoryPlantStore implements PlantStore {
+    private final MemoryCollection<Plant> plants;
+
+    public InMemoryPlantStore() { this(null); }
+
+    public InMemoryPlantStore(LocalDatabase db) {
+        plants = new MemoryCollection<>(Plant.class, Plant::getId)
+                .index("userId", Plant::getUserId)
+                .persistTo(db, "plants");
+    }
+
+    @Override
+    public void insertOne(Plant p) {
+        if (p.getId() == null || p.getId().isBlank()) p.setId(UUID.randomUUID().toString());
+        plants.put(p);
+    }
+
+    @Override
+    public List<Plant> findAll() { return plants.all(); }
+
+    @Override
+    public Plant findById(String id) { return id == null ? null : plants.get(id); }
+
+    @Override
+    public List<Plant> findByUserId(String userId) { return plants.find("userId", userId); }
+
+    @Override
+    public void replaceById(String id, Plant p) { plants.replace(id, p); }
+
+    @Override
+    public long deleteById(String id) { return id != null && plants.remove(id) ? 1 : 0; }
+
+    @Override
+    public ChangeSet<Plant> changedSince(String userId, Date since) { return plants.changedSince(userId, since); }
+}
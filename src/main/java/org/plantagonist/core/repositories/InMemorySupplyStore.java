@@ -0,0 +1,96 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.types.ObjectId;
+import org.plantagonist.core.models.SupplyItem;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Zero-latency SupplyStore indexed by userId. Non-persistent by default; given a
+ * {@link LocalDatabase} it is the embedded backend's supplies collection.
+ */
+public class InMemorySupplyStore implements SupplyStore {
+    private final MemoryCollection<SupplyItem> supplies;
+
+    public InMemorySupplyStore() { this(null); }
+
+    public InMemorySupplyStore(LocalDatabase db) {
+        supplies = new MemoryCollection<>(SupplyItem.class, SupplyItem::getId)
+                .index("userId", SupplyItem::getUserId)
+                .persistTo(db, "supplies");
+    }
+
+    @Override
+    public List<SupplyItem> findAll(String userId) { return supplies.find("userId", userId); }
+
+    @Override
+    public List<SupplyItem> findLowStock(String userId) {
+        return supplies.find("userId", userId, s -> s.getQuantity() <= s.getRefillBelow());
+    }
+
+    @Override
+    public synchronized void upsertByName(String userId, SupplyItem item) {
+        // synchronized: find-then-write must not race another upsert of the same name
+        List<SupplyItem> existing = supplies.find("userId", userId, s -> Objects.equals(item.getName(), s.getName()));
+        if (existing.isEmpty()) {
+            SupplyItem fresh = new SupplyItem();
+            fresh.setId(item.getId() != null ? item.getId() : new ObjectId());
+            fresh.setUserId(userId);
+            fresh.setName(item.getName());
+            fresh.setQuantity(item.getQuantity());
+            fresh.setRefillBelow(item.getRefillBelow());
+            fresh.setLastRestocked(LocalDate.now());
+            supplies.put(fresh);
+        } else {
+            supplies.update(existing.get(0).getId(), s -> {
+                s.setUserId(userId);
+                s.setName(item.getName());
+                s.setQuantity(item.getQuantity());
+                s.setRefillBelow(item.getRefillBelow());
+                s.setLastRestocked(LocalDate.now());
+            });
+        }
+    }
+
+    @Override
+    public void adjustQuantity(ObjectId id, String userId, int delta) {
+        adjustQuantity(id, userId, delta, false);
+    }
+
+    @Override
+    public void adjustQuantity(ObjectId id, String userId, int delta, boolean clampAtZero) {
+        updateOwned(id, userId, s -> {
+            int q = s.getQuantity() + delta;
+            s.setQuantity(clampAtZero ? Math.max(0, q) : q);
+        });
+    }
+
+    @Override
+    public void restock(ObjectId id, String userId, int add) {
+        if (add <= 0) return; // ignore no-op / invalid
+        updateOwned(id, userId, s -> {
+            s.setQuantity(s.getQuantity() + add);
+            s.setLastRestocked(LocalDate.now());
+        });
+    }
+
+    @Override
+    public void delete(ObjectId id, String userId) {
+        SupplyItem s = id == null ? null : supplies.get(id);
+        if (s != null && Objects.equals(userId, s.getUserId())) supplies.remove(id);
+    }
+
+    // the Mongo filter is (_id, userId): other users' items are never touched
+    private void updateOwned(ObjectId id, String userId, java.util.function.Consumer<SupplyItem> change) {
+        if (id == null) return;
+        supplies.update(id, s -> {
+            if (Objects.equals(userId, s.getUserId())) change.accept(s);
+        });
+    }
+
+    @Override
+    public ChangeSet<SupplyItem> changedSince(String userId, Date since) { return supplies.changedSince(userId, since); }
+}
@@ -0,0 +1,146 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.plantagonist.core.repositories.MemoryCollection.key;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixEnd;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixStart;
+
+/**
+ * Zero-latency TaskStore indexed by plantId and (userId, dueDate). Non-persistent by default;
+ * given a {@link LocalDatabase} it is the embedded backend's task collection.
+ */
+public class InMemoryTaskStore implements TaskStore {
+    private final MemoryCollection<CareTask> tasks;
+
+    public InMemoryTaskStore() { this(null); }
+
+    public InMemoryTaskStore(LocalDatabase db) {
+        // ISO dates sort chronologically as strings; tasks without a date sort first, as in Mongo
+        tasks = new MemoryCollection<>(CareTask.class, CareTask::getId)
+                .index("userId", CareTask::getUserId)
+                .index("plantId", CareTask::getPlantId)
+                .sortedIndex("userDue", t -> key(t.getUserId(), t.getDueDate()))
+                .persistTo(db, "care_tasks");
+    }
+
+    @Override
+    public void insertOne(CareTask t) {
+        if (t.getId() == null || t.getId().isBlank()) t.setId(UUID.randomUUID().toString());
+        tasks.put(t);
+    }
+
+    @Override
+    public CareTask findById(String id) { return id == null ? null : tasks.get(id); }
+
+    @Override
+    public List<CareTask> findByUserId(String userId) { return tasks.find("userId", userId); }
+
+    @Override
+    public List<CareTask> findByPlantIdAndType(String plantId, TaskType type) {
+        return tasks.find("plantId", plantId, t -> type == t.getType());
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndStatus(String userId, TaskStatus status) {
+        return tasks.find("userId", userId, t -> status == t.getStatus());
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndDate(String userId, LocalDate date) {
+        if (userId == null || date == null) return tasks.find("userId", userId, t -> Objects.equals(date, t.getDueDate()));
+        String k = key(userId, date);
+        return tasks.range("userDue", k, true, k, true, false, null, 0);
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
+        if (userId == null) return List.of();
+        return tasks.range("userDue", key(userId, startDate), true, key(userId, endDate), true, false, null, 0);
+    }
+
+    @Override
+    public List<CareTask> findDueOrUpcoming() {
+        return tasks.scan(t -> t.getStatus() != TaskStatus.DONE);
+    }
+
+    @Override
+    public List<CareTask> findDueOrUpcoming(String userId) {
+        if (userId == null) return List.of();
+        return tasks.range("userDue", prefixStart(userId), true, prefixEnd(userId), true, false,
+                t -> t.getStatus() == null || t.getStatus().isOpen(), 0);
+    }
+
+    @Override
+    public void replaceById(CareTask t) {
+        if (t.getId() == null || t.getId().isBlank()) throw new IllegalArgumentException("Task id required");
+        tasks.replace(t.getId(), t);
+    }
+
+    @Override
+    public void replaceById(String id, CareTask t) { tasks.replace(id, t); }
+
+    @Override
+    public long deleteById(String id) { return id != null && tasks.remove(id) ? 1 : 0; }
+
+    @Override
+    public void deleteByPlantIdAndType(String plantId, TaskType type) {
+        tasks.removeWhere("plantId", plantId, t -> type == t.getType());
+    }
+
+    @Override
+    public void deleteByPlantIdAndType(String plantId, TaskType type, String userId) {
+        tasks.removeWhere("plantId", plantId,
+                t -> type == t.getType() && Objects.equals(userId, t.getUserId()));
+    }
+
+    @Override
+    public void updateStatus(String id, TaskStatus status) {
+        tasks.update(id, t -> t.setStatus(status));
+    }
+
+    @Override
+    public void updateStatusAndLastCompleted(String id, TaskStatus status, LocalDate lastCompleted) {
+        tasks.update(id, t -> {
+            t.setStatus(status);
+            t.setLastCompleted(lastCompleted);
+        });
+    }
+
+    @Override
+    public List<String> findOverdueIds(LocalDate cutoff, int limit) {
+        List<String> out = new ArrayList<>();
+        for (CareTask t : tasks.scan(t -> isOverdue(t, cutoff))) {
+            if (out.size() == limit) break;
+            out.add(t.getId());
+        }
+        return out;
+    }
+
+    @Override
+    public List<String> markMissed(List<String> ids, LocalDate cutoff) {
+        List<String> out = new ArrayList<>();
+        for (String id : ids) {
+            if (tasks.update(id, t -> isOverdue(t, cutoff), t -> t.setStatus(TaskStatus.MISSED))) out.add(id);
+        }
+        return out;
+    }
+
+    private static boolean isOverdue(CareTask t, LocalDate cutoff) {
+        TaskStatus s = t.getStatus();
+        return t.getDueDate() != null && t.getDueDate().isBefore(cutoff)
+                && s != TaskStatus.DONE && s != TaskStatus.MISSED && s != TaskStatus.CANCELLED;
+    }
+
+    @Override
+    public ChangeSet<CareTask> changedSince(String userId, Date since) { return tasks.changedSince(userId, since); }
+}
@@ -2,19 +2,24 @@ package org.plantagonist.core.repositories;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.plantagonist.core.db.Ids;
 import org.plantagonist.core.db.MongoConfig;
 import org.plantagonist.core.models.JournalEntry;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class JournalRepository extends BaseRepository<JournalEntry> {
+public class JournalRepository extends BaseRepository<JournalEntry> implements JournalStore {
 
     private static final String COLLECTION_NAME = "journal_entries";
 
     public JournalRepository() {
         super(getCollection());
+        // timeline indexes are created once by MongoConfig's warm-up
     }
 
     private static MongoCollection<JournalEntry> getCollection() {
@@ -24,7 +29,7 @@ public class JournalRepository extends BaseRepository<JournalEntry> {
     // Override the idFilter to use JournalEntry's getId method
     @Override
     protected Bson idFilter(String id) {
-        return Filters.eq("_id", id);
+        return Ids.eq("_id", id);
     }
 
     public List<JournalEntry> getAll() {
@@ -45,8 +50,8 @@ public class JournalRepository extends BaseRepository<JournalEntry> {
 
     public List<JournalEntry> findByUserIdAndPlantId(String userId, String plantId) {
         Bson filter = Filters.and(
-                Filters.eq("userId", userId),
-                Filters.eq("plantId", plantId)
+                Ids.eq("userId", userId),
+                Ids.eq("plantId", plantId)
         );
         List<JournalEntry> out = new ArrayList<>();
         coll.find(filter).into(out);
@@ -54,7 +59,7 @@ public class JournalRepository extends BaseRepository<JournalEntry> {
     }
 
     public List<JournalEntry> findRecentByUserId(String userId, int limit) {
-        Bson filter = Filters.eq("userId", userId);
+        Bson filter = Ids.eq("userId", userId);
         List<JournalEntry> out = new ArrayList<>();
         coll.find(filter)
                 .sort(Filters.eq("entryDate", -1)) // Sort by entryDate descending
@@ -63,6 +68,50 @@ public class JournalRepository extends BaseRepository<JournalEntry> {
         return out;
     }
 
+    public JournalEntry findById(String id) {
+        return super.findById(id, JournalEntry::getId);
+    }
+
+    /**
+     * One page of the journal timeline, newest first.
+     * Content is cut server-side to {@link #TIMELINE_PREVIEW_CHARS} + 1 characters, so full
+     * entries never cross the wire for list rendering; use {@link #findById(String)} for the body.
+     *
+     * @param plantId nullable; null means all plants
+     * @param after   last entry of the previous page (keyset cursor), or null for the first page
+     */
+    public List<JournalEntry> findTimelinePage(String userId, String plantId, JournalEntry after, int limit) {
+        List<Bson> clauses = new ArrayList<>();
+        clauses.add(Ids.eq("userId", userId));
+        if (plantId != null) clauses.add(Ids.eq("plantId", plantId));
+        if (after != null) {
+            // undated entries sort last, and $lt never matches null, so they get their own clause
+            Bson olderId = Filters.lt("_id", Ids.value(after.getId()));
+            if (after.getEntryDate() == null) {
+                clauses.add(Filters.and(Filters.eq("entryDate", null), olderId));
+            } else {
+                clauses.add(Filters.or(
+                        Filters.lt("entryDate", after.getEntryDate()),
+                        Filters.and(Filters.eq("entryDate", after.getEntryDate()), olderId),
+                        Filters.eq("entryDate", null)
+                ));
+            }
+        }
+
+        Bson preview = Projections.computed("content", new Document("$substrCP", List.of(
+                new Document("$ifNull", List.of("$content", "")), 0, TIMELINE_PREVIEW_CHARS + 1)));
+
+        List<JournalEntry> out = new ArrayList<>();
+        coll.find(Filters.and(clauses))
+                .projection(Projections.fields(
+                        Projections.include("userId", "plantId", "plantName", "entryDate", "photoPath"),
+                        preview))
+                .sort(Sorts.descending("entryDate", "_id"))
+                .limit(limit)
+                .into(out);
+        return out;
+    }
+
     public void save(JournalEntry entry) {
         // For update/replace functionality
         if (entry.getId() != null) {
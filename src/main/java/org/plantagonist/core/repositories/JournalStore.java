@@ -0,0 +1,34 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.JournalEntry;
+import java.util.Date;
+import java.util.List;
+
+public interface JournalStore {
+    /** Characters of content returned by timeline pages; one extra char tells the UI it was cut. */
+    int TIMELINE_PREVIEW_CHARS = 280;
+
+    void insertOne(JournalEntry entry);
+
+    /** Replace when the entry has an id, insert otherwise. */
+    void save(JournalEntry entry);
+
+    JournalEntry findById(String id);
+    List<JournalEntry> getAll();
+    List<JournalEntry> findByUserId(String userId);
+    List<JournalEntry> findByPlantId(String plantId);
+    List<JournalEntry> findByUserIdAndPlantId(String userId, String plantId);
+    List<JournalEntry> findRecentByUserId(String userId, int limit);
+
+    /**
+     * One page of the journal timeline, newest first (entryDate, then id), with content cut
+     * to {@link #TIMELINE_PREVIEW_CHARS} + 1 characters. Entries without a date come last.
+     *
+     * @param plantId nullable; null means all plants
+     * @param after   last entry of the previous page (keyset cursor), or null for the first page
+     */
+    List<JournalEntry> findTimelinePage(String userId, String plantId, JournalEntry after, int limit);
+
+    /** What the user wrote or deleted since a high-water mark; see {@link ChangeSet}. */
+    ChangeSet<JournalEntry> changedSince(String userId, Date since);
+}
@@ -0,0 +1,106 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Directory holding the embedded backend's collections (one snapshot + journal pair each).
+ * Takes an exclusive file lock so a second app instance can't interleave journal writes.
+ */
+public final class LocalDatabase implements AutoCloseable {
+    private final Path dir;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final Map<String, CollectionFile> files = new ConcurrentHashMap<>();
+    private final Map<String, MemoryCollection<?>> collections = new ConcurrentHashMap<>();
+    private volatile ChangeListener listener;
+    private Tombstones tombstones;
+
+    private LocalDatabase(Path dir, FileChannel lockChannel, FileLock lock) {
+        this.dir = dir;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+    }
+
+    public static LocalDatabase open(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            FileChannel ch = FileChannel.open(dir.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = ch.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null; // already open in this process
+            }
+            if (lock == null) {
+                ch.close();
+                throw new IllegalStateException("Local database at " + dir + " is in use by another Plantagonist");
+            }
+            return new LocalDatabase(dir, ch, lock);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open local database at " + dir, e);
+        }
+    }
+
+    public Path dir() { return dir; }
+
+    /** One file pair per collection name; MemoryCollection loads it on construction. */
+    CollectionFile file(String name) {
+        return files.computeIfAbsent(name, n -> new CollectionFile(dir, n));
+    }
+
+    /** The database's shared delete markers, loaded on first use. */
+    synchronized Tombstones tombstones() {
+        if (tombstones == null) tombstones = new Tombstones(this);
+        return tombstones;
+    }
+
+    /** Reports every later write to {@code l} (e.g. an outbox that replays them to Mongo). */
+    public void replicateTo(ChangeListener l) {
+        this.listener = l;
+    }
+
+    ChangeListener listener() { return listener; }
+
+    void register(String name, MemoryCollection<?> collection) {
+        collections.put(name, collection);
+    }
+
+    /**
+     * Stores a document that came from the remote side without reporting it to the listener.
+     * {@code accept} is asked under the collection's write lock, so a local write can't slip in
+     * between the check and the store. Returns false for unknown collections or when declined.
+     */
+    public boolean applyRemote(String collection, RawBsonDocument doc, Predicate<BsonValue> accept) {
+        MemoryCollection<?> c = collections.get(collection);
+        return c != null && c.applyRemote(doc, accept);
+    }
+
+    /** Deletes a document the remote side reported deleted; same rules as {@link #applyRemote}. */
+    public boolean applyRemoteDelete(String collection, String docId, Predicate<BsonValue> accept) {
+        MemoryCollection<?> c = collections.get(collection);
+        return c != null && c.applyRemoteDelete(docId, accept);
+    }
+
+    @Override
+    public void close() {
+        files.values().forEach(CollectionFile::close);
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("[LocalDatabase] unlock " + dir + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.types.ObjectId;
+import org.plantagonist.core.db.Ids;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.Syncable;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process stand-in for a MongoCollection: primary map by id plus secondary indexes.
+ * Hash indexes answer equality on one field (userId, plantId); sorted indexes are keyed by a
+ * composite string such as {@code userId\0date} (see {@link #key}) and answer prefix and range
+ * scans in key order, so "this user's tasks between two dates" or "newest logs first" need
+ * neither a full scan nor a sort.
+ *
+ * Documents are kept encoded with the same POJO codec the driver uses, so every read hands
+ * out a fresh copy and nothing a caller mutates leaks into the store, just like with Mongo.
+ * Reads share a read lock; writes update the primary and all indexes under the write lock.
+ * When {@link #persistTo persisted}, each write is appended to the collection's journal
+ * before it is applied, then reported to the database's {@link ChangeListener} if any.
+ *
+ * For {@link Syncable} types the collection also stamps createdAt/updatedAt on every local
+ * write, keeps a sorted (userId, updatedAt) index and leaves a tombstone on delete, which is
+ * what {@link #changedSince} reads.
+ */
+final class MemoryCollection<T> {
+
+    /** Separates the parts of a sorted-index key; sorts below every printable character. */
+    static final char SEP = '\u0000';
+    private static final String UPDATED = "userUpdated";
+
+    private final Codec<T> codec;
+    private final Function<T, Object> idOf;
+    private final Map<String, Function<T, String>> keyFns = new LinkedHashMap<>();
+    private final Map<String, Map<String, Set<Object>>> indexes = new HashMap<>();
+
+    // insertion-ordered, like Mongo's natural order for a fresh collection
+    private final Map<Object, Stored> docs = new LinkedHashMap<>();
+    private final ReentrantReadWriteLock rw = new ReentrantReadWriteLock();
+    private final boolean syncable;
+    private CollectionFile file;
+    private LocalDatabase db;
+    private String name;
+    private Tombstones tombstones;
+
+    /** Encoded document plus the index keys it was filed under (same order as keyFns). */
+    private record Stored(RawBsonDocument doc, String[] keys) {}
+
+    MemoryCollection(Class<T> type, Function<T, Object> idOf) {
+        this.codec = MongoConfig.codecRegistry().get(type);
+        this.idOf = idOf;
+        this.syncable = Syncable.class.isAssignableFrom(type);
+        if (syncable) {
+            sortedIndex(UPDATED, t -> key(((Syncable) t).getUserId(), ChangeSet.sortable(((Syncable) t).getUpdatedAt()),
+                    String.valueOf(idOf.apply(t))));
+        }
+    }
+
+    /** Hash index for equality lookups on one field. Register before the first write. */
+    MemoryCollection<T> index(String name, Function<T, String> key) {
+        keyFns.put(name, key);
+        indexes.put(name, new HashMap<>());
+        return this;
+    }
+
+    /** Ordered index over a composite key built with {@link #key}; null keys are not indexed. */
+    MemoryCollection<T> sortedIndex(String name, Function<T, String> key) {
+        keyFns.put(name, key);
+        indexes.put(name, new TreeMap<>());
+        return this;
+    }
+
+    /**
+     * Names the collection; with a {@code db} also loads it from there and journals every later
+     * write. Tombstones go to the database's shared collection, or a private one without a db.
+     */
+    MemoryCollection<T> persistTo(LocalDatabase db, String name) {
+        this.name = name;
+        if (db == null) {
+            if (syncable) tombstones = new Tombstones(null);
+            return this;
+        }
+        rw.writeLock().lock();
+        try {
+            this.db = db;
+            if (syncable) tombstones = db.tombstones();
+            db.register(name, this);
+            file = db.file(name);
+            for (RawBsonDocument doc : file.load()) {
+                T entity = doc.decode(codec);
+                Stored stored = new Stored(doc, keysOf(entity));
+                Object id = idOf.apply(entity);
+                Stored old = docs.put(id, stored);
+                if (old != null) unindex(id, old);
+                index(id, stored);
+            }
+        } finally {
+            rw.writeLock().unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Composite sorted-index key; null when the leading part (the owner) is missing so the
+     * document stays out of the index. Later null parts become "" and sort first.
+     */
+    static String key(Object... parts) {
+        if (parts.length == 0 || parts[0] == null) return null;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append(SEP);
+            if (parts[i] != null) sb.append(parts[i]);
+        }
+        return sb.toString();
+    }
+
+    /** Smallest and (just past the) largest key under a prefix, for whole-prefix scans. */
+    static String prefixStart(Object... parts) { return key(parts) + SEP; }
+    static String prefixEnd(Object... parts) { return key(parts) + SEP + '\uffff'; }
+
+    /** Insert or replace by id. */
+    void put(T entity) {
+        Object id = idOf.apply(entity);
+        if (id == null) throw new IllegalArgumentException("id required");
+        stamp(entity, null);
+        Stored stored = encode(entity);
+        rw.writeLock().lock();
+        try {
+            if (file != null) file.appendPut(stored.doc());
+            Stored old = docs.put(id, stored);
+            if (old != null) unindex(id, old);
+            index(id, stored);
+            notifyPut(stored);
+            maybeCompact();
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    /** Like Mongo's replaceOne: no-op when the id is unknown. */
+    boolean replace(Object id, T entity) {
+        rw.writeLock().lock();
+        try {
+            Stored old = docs.get(id);
+            if (old == null) return false;
+            stamp(entity, old);
+            write(id, old, encode(entity));
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    /** Decode, apply the change and store again; returns false when the id is unknown. */
+    boolean update(Object id, Consumer<T> change) {
+        return update(id, t -> true, change);
+    }
+
+    /** As {@link #update(Object, Consumer)}, but only while the stored entity still matches {@code when}. */
+    boolean update(Object id, Predicate<T> when, Consumer<T> change) {
+        rw.writeLock().lock();
+        try {
+            Stored old = docs.get(id);
+            if (old == null) return false;
+            T entity = old.doc().decode(codec);
+            if (!when.test(entity)) return false;
+            change.accept(entity);
+            stamp(entity, old);
+            write(id, old, encode(entity));
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    /** See {@link LocalDatabase#applyRemote}; journaled but not reported to the listener. */
+    boolean applyRemote(RawBsonDocument doc, Predicate<BsonValue> accept) {
+        T entity = doc.decode(codec);
+        Object id = idOf.apply(entity);
+        if (id == null) return false;
+        Stored stored = encode(entity);
+        rw.writeLock().lock();
+        try {
+            if (!accept.test(stored.doc().get("_id"))) return false;
+            if (file != null) file.appendPut(stored.doc());
+            Stored old = docs.put(id, stored);
+            if (old != null) unindex(id, old);
+            index(id, stored);
+            maybeCompact();
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    /** Remote counterpart of {@link #remove}: not reported to the listener; the tombstone is local only. */
+    boolean applyRemoteDelete(String docId, Predicate<BsonValue> accept) {
+        rw.writeLock().lock();
+        try {
+            Object id = docId;
+            // ids travel as strings; ObjectId-keyed collections (supplies) need them back
+            if (!docs.containsKey(id) && ObjectId.isValid(docId)) id = new ObjectId(docId);
+            Stored old = docs.get(id);
+            if (old == null || !accept.test(old.doc().get("_id"))) return false;
+            if (file != null) file.appendDelete(old.doc().get("_id"));
+            docs.remove(id);
+            unindex(id, old);
+            if (tombstones != null) tombstones.recordRemote(name, docId, userIdOf(old));
+            maybeCompact();
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    T get(Object id) {
+        rw.readLock().lock();
+        try {
+            Stored s = docs.get(id);
+            return s == null ? null : s.doc().decode(codec);
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    boolean remove(Object id) {
+        rw.writeLock().lock();
+        try {
+            Stored old = docs.get(id);
+            if (old == null) return false;
+            delete(id, old);
+            maybeCompact();
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    List<T> all() {
+        rw.readLock().lock();
+        try {
+            List<T> out = new ArrayList<>(docs.size());
+            for (Stored s : docs.values()) out.add(s.doc().decode(codec));
+            return out;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    /** Full scan; only for queries no index can narrow (e.g. across all users). */
+    List<T> scan(Predicate<T> filter) {
+        List<T> out = all();
+        out.removeIf(filter.negate());
+        return out;
+    }
+
+    /** Documents whose hash-indexed {@code field} equals {@code key}, optionally filtered further. */
+    List<T> find(String field, String key, Predicate<T> filter) {
+        rw.readLock().lock();
+        try {
+            Set<Object> ids = posting(field, key);
+            if (ids.isEmpty()) return new ArrayList<>();
+            List<T> out = new ArrayList<>(ids.size());
+            for (Object id : ids) {
+                T t = docs.get(id).doc().decode(codec);
+                if (filter == null || filter.test(t)) out.add(t);
+            }
+            return out;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    List<T> find(String field, String key) {
+        return find(field, key, null);
+    }
+
+    /**
+     * Walks a sorted index between two keys (inclusive/exclusive as given) in key order or
+     * reversed, decoding only what passes {@code filter}, and stops after {@code limit}
+     * matches (0 = no limit).
+     */
+    List<T> range(String index, String from, boolean fromInclusive, String to, boolean toInclusive,
+                  boolean descending, Predicate<T> filter, int limit) {
+        rw.readLock().lock();
+        try {
+            if (!(indexes.get(index) instanceof NavigableMap<String, Set<Object>> sorted)) {
+                throw new IllegalArgumentException("No sorted index " + index);
+            }
+            if (from.compareTo(to) > 0) return new ArrayList<>();
+            NavigableMap<String, Set<Object>> slice = sorted.subMap(from, fromInclusive, to, toInclusive);
+            if (descending) slice = slice.descendingMap();
+            List<T> out = new ArrayList<>();
+            for (Set<Object> ids : slice.values()) {
+                for (Object id : ids) {
+                    T t = docs.get(id).doc().decode(codec);
+                    if (filter != null && !filter.test(t)) continue;
+                    out.add(t);
+                    if (limit > 0 && out.size() >= limit) return out;
+                }
+            }
+            return out;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    /** Deletes matching documents from one hash-index bucket; returns how many went. */
+    int removeWhere(String field, String key, Predicate<T> filter) {
+        rw.writeLock().lock();
+        try {
+            List<Object> doomed = new ArrayList<>();
+            for (Object id : posting(field, key)) {
+                if (filter == null || filter.test(docs.get(id).doc().decode(codec))) doomed.add(id);
+            }
+            for (Object id : doomed) delete(id, docs.get(id));
+            if (!doomed.isEmpty()) maybeCompact();
+            return doomed.size();
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    /** See {@link ChangeSet}; only for Syncable types. */
+    ChangeSet<T> changedSince(String userId, Date since) {
+        if (!syncable) throw new UnsupportedOperationException(name + " is not tracked for delta reads");
+        long start = System.currentTimeMillis();
+        if (userId == null) return new ChangeSet<>(List.of(), List.of(), ChangeSet.until(since, start), false);
+        boolean full = ChangeSet.isFull(since, start);
+        String from = full ? prefixStart(userId) : key(userId, ChangeSet.sortable(since));
+        List<T> changed = range(UPDATED, from, true, prefixEnd(userId), true, false, null, 0);
+        List<String> deleted = full ? List.of() : tombstones.since(name, userId, since);
+        return new ChangeSet<>(changed, deleted, ChangeSet.until(since, start), full);
+    }
+
+    int size() {
+        rw.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    // ---------- internals (callers hold the write lock) ----------
+
+    private void write(Object id, Stored old, Stored stored) {
+        if (file != null) file.appendPut(stored.doc());
+        docs.put(id, stored);
+        unindex(id, old);
+        index(id, stored);
+        notifyPut(stored);
+        maybeCompact();
+    }
+
+    private void delete(Object id, Stored old) {
+        if (file != null) file.appendDelete(old.doc().get("_id"));
+        docs.remove(id);
+        unindex(id, old);
+        ChangeListener l = db == null ? null : db.listener();
+        if (l != null) l.delete(name, old.doc().get("_id"));
+        if (tombstones != null) tombstones.record(name, idString(old.doc().get("_id")), userIdOf(old));
+    }
+
+    /** createdAt survives replaces that don't carry it; updatedAt is always now. */
+    private void stamp(T entity, Stored old) {
+        if (!(entity instanceof Syncable s)) return;
+        Date now = new Date();
+        if (s.getCreatedAt() == null) {
+            BsonValue created = old == null ? null : old.doc().get("createdAt");
+            if (old == null) s.setCreatedAt(now);
+            else if (created != null && created.isDateTime()) s.setCreatedAt(new Date(created.asDateTime().getValue()));
+        }
+        s.setUpdatedAt(now);
+    }
+
+    private static String userIdOf(Stored s) {
+        return Ids.string(s.doc().get("userId"));
+    }
+
+    static String idString(BsonValue id) {
+        return Ids.string(id);
+    }
+
+    private void notifyPut(Stored stored) {
+        ChangeListener l = db == null ? null : db.listener();
+        if (l != null) l.put(name, stored.doc());
+    }
+
+    private void maybeCompact() {
+        if (file == null || !file.shouldCompact(docs.size())) return;
+        List<RawBsonDocument> live = new ArrayList<>(docs.size());
+        for (Stored s : docs.values()) live.add(s.doc());
+        file.compact(live);
+    }
+
+    private Stored encode(T entity) {
+        return new Stored(new RawBsonDocument(entity, codec), keysOf(entity));
+    }
+
+    private String[] keysOf(T entity) {
+        String[] keys = new String[keyFns.size()];
+        int i = 0;
+        for (Function<T, String> f : keyFns.values()) keys[i++] = f.apply(entity);
+        return keys;
+    }
+
+    private Set<Object> posting(String field, String key) {
+        Map<String, Set<Object>> index = indexes.get(field);
+        if (index == null) throw new IllegalArgumentException("No index on " + field);
+        Set<Object> ids = index.get(key);
+        return ids == null ? Set.of() : ids;
+    }
+
+    private void index(Object id, Stored s) {
+        int i = 0;
+        for (String field : keyFns.keySet()) {
+            String key = s.keys()[i++];
+            if (key != null) indexes.get(field).computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+        }
+    }
+
+    private void unindex(Object id, Stored s) {
+        int i = 0;
+        for (String field : keyFns.keySet()) {
+            String key = s.keys()[i++];
+            if (key == null) continue;
+            Map<String, Set<Object>> index = indexes.get(field);
+            Set<Object> ids = index.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * TaskStore decorator that reports every successful write to the {@link TaskListener}s in
+ * {@code listeners}. Bulk deletes by plant are reported per task, which costs one indexed
+ * read beforehand, and only while someone is listening.
+ */
+final class ObservableTaskStore implements TaskStore {
+    private final TaskStore delegate;
+    private final List<TaskListener> listeners;
+
+    ObservableTaskStore(TaskStore delegate, List<TaskListener> listeners) {
+        this.delegate = delegate;
+        this.listeners = listeners;
+    }
+
+    TaskStore delegate() { return delegate; }
+
+    private void saved(CareTask t) { each(l -> l.saved(t)); }
+
+    private void deleted(String id) { each(l -> l.deleted(id)); }
+
+    private void statusChanged(String id, TaskStatus status) { each(l -> l.statusChanged(id, status)); }
+
+    // a failing listener must not fail (or be taken for a failure of) a write that already happened
+    private void each(Consumer<TaskListener> call) {
+        for (TaskListener l : listeners) {
+            try {
+                call.accept(l);
+            } catch (RuntimeException e) {
+                System.err.println("[Tasks] listener failed: " + e);
+            }
+        }
+    }
+
+    @Override
+    public void insertOne(CareTask t) {
+        delegate.insertOne(t);
+        saved(t);
+    }
+
+    @Override
+    public CareTask findById(String id) { return delegate.findById(id); }
+
+    @Override
+    public List<CareTask> findByUserId(String userId) { return delegate.findByUserId(userId); }
+
+    @Override
+    public List<CareTask> findByPlantIdAndType(String plantId, TaskType type) {
+        return delegate.findByPlantIdAndType(plantId, type);
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndStatus(String userId, TaskStatus status) {
+        return delegate.findByUserIdAndStatus(userId, status);
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndDate(String userId, LocalDate date) {
+        return delegate.findByUserIdAndDate(userId, date);
+    }
+
+    @Override
+    public List<CareTask> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate) {
+        return delegate.findByUserIdAndDateRange(userId, startDate, endDate);
+    }
+
+    @Override
+    public List<CareTask> findDueOrUpcoming() { return delegate.findDueOrUpcoming(); }
+
+    @Override
+    public List<CareTask> findDueOrUpcoming(String userId) { return delegate.findDueOrUpcoming(userId); }
+
+    @Override
+    public void replaceById(CareTask t) {
+        delegate.replaceById(t);
+        saved(t);
+    }
+
+    @Override
+    public void replaceById(String id, CareTask t) {
+        delegate.replaceById(id, t);
+        if (t.getId() == null) t.setId(id);
+        saved(t);
+    }
+
+    @Override
+    public long deleteById(String id) {
+        long n = delegate.deleteById(id);
+        if (n > 0) deleted(id);
+        return n;
+    }
+
+    @Override
+    public void deleteByPlantIdAndType(String plantId, TaskType type) {
+        List<CareTask> gone = listeners.isEmpty() ? List.of() : delegate.findByPlantIdAndType(plantId, type);
+        delegate.deleteByPlantIdAndType(plantId, type);
+        for (CareTask t : gone) deleted(t.getId());
+    }
+
+    @Override
+    public void deleteByPlantIdAndType(String plantId, TaskType type, String userId) {
+        List<CareTask> gone = listeners.isEmpty() ? List.of() : delegate.findByPlantIdAndType(plantId, type);
+        delegate.deleteByPlantIdAndType(plantId, type, userId);
+        for (CareTask t : gone) {
+            if (userId == null || userId.equals(t.getUserId())) deleted(t.getId());
+        }
+    }
+
+    @Override
+    public void updateStatus(String id, TaskStatus status) {
+        delegate.updateStatus(id, status);
+        statusChanged(id, status);
+    }
+
+    @Override
+    public void updateStatusAndLastCompleted(String id, TaskStatus status, LocalDate lastCompleted) {
+        delegate.updateStatusAndLastCompleted(id, status, lastCompleted);
+        statusChanged(id, status);
+    }
+
+    @Override
+    public List<String> findOverdueIds(LocalDate cutoff, int limit) { return delegate.findOverdueIds(cutoff, limit); }
+
+    @Override
+    public List<String> markMissed(List<String> ids, LocalDate cutoff) {
+        List<String> changed = delegate.markMissed(ids, cutoff);
+        for (String id : changed) statusChanged(id, TaskStatus.MISSED);
+        return changed;
+    }
+
+    @Override
+    public ChangeSet<CareTask> changedSince(String userId, Date since) { return delegate.changedSince(userId, since); }
+}
@@ -5,7 +5,7 @@ import org.plantagonist.core.models.Plant;
 
 import java.util.List;
 
-public class PlantRepository extends BaseRepository<Plant> {
+public class PlantRepository extends BaseRepository<Plant> implements PlantStore {
     public PlantRepository() {
         super(MongoConfig.db().getCollection("plants", Plant.class));
     }
@@ -0,0 +1,19 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.Plant;
+import java.util.Date;
+import java.util.List;
+
+public interface PlantStore {
+    void insertOne(Plant p);
+    List<Plant> findAll();
+    Plant findById(String id);
+    List<Plant> findByUserId(String userId);
+
+    /** Replace using an explicit id (useful when editing a copy) */
+    void replaceById(String id, Plant p);
+    long deleteById(String id);
+
+    /** What the user wrote or deleted since a high-water mark; see {@link ChangeSet}. */
+    ChangeSet<Plant> changedSince(String userId, Date since);
+}
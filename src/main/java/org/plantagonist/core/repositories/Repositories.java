@@ -0,0 +1,184 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.storage.PathsConfig;
+import org.plantagonist.core.sync.OfflineSync;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide store instances. The backend comes from {@code -Dplantagonist.storage} or the
+ * {@code PLANTAGONIST_STORAGE} env var: {@code mongo} (default), {@code local} for the
+ * embedded file-backed database under ~/.plantagonist/data/local (single-user installs, no
+ * mongod), {@code offline} to read and write a local replica while a background worker
+ * pushes every change to Mongo (see OfflineSync), or {@code memory} for a zero-latency,
+ * non-persistent backend (benchmarks, demos).
+ *
+ * With {@code -Dplantagonist.cache=true} (or {@code PLANTAGONIST_CACHE=true}) the Mongo plant
+ * and task stores are wrapped in read-through caches; see {@link #cacheStats()}. The other
+ * backends already answer from memory and are never wrapped.
+ *
+ * Whatever the backend, {@link #tasks()} reports its writes to the listeners registered with
+ * {@link #addTaskListener} (the due-task agenda).
+ */
+public final class Repositories {
+
+    public enum Backend { MONGO, LOCAL, OFFLINE, MEMORY }
+
+    static final int CACHE_MAX_ENTITIES = 5_000;
+    static final int CACHE_MAX_QUERIES = 500;
+    static final Duration CACHE_TTL = Duration.ofSeconds(30);
+
+    private static volatile Backend backend;
+    private static volatile PlantStore plants;
+    private static volatile TaskStore tasks;
+    private static final List<TaskListener> TASK_LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile CareLogStore careLogs;
+    private static volatile JournalStore journal;
+    private static volatile SupplyStore supplies;
+    private static LocalDatabase local;
+
+    private Repositories() {}
+
+    public static Backend backend() {
+        Backend b = backend;
+        if (b == null) {
+            synchronized (Repositories.class) {
+                if (backend == null) backend = parse(configured());
+                b = backend;
+            }
+        }
+        return b;
+    }
+
+    /** Choose the backend programmatically (tools, benchmarks); drops any stores already handed out. */
+    public static synchronized void use(Backend b) {
+        if (local != null && backend != Backend.OFFLINE) local.close();
+        local = null;
+        backend = b;
+        plants = null;
+        tasks = null;
+        careLogs = null;
+        journal = null;
+        supplies = null;
+    }
+
+    public static PlantStore plants() {
+        PlantStore s = plants;
+        if (s != null) return s;
+        synchronized (Repositories.class) {
+            if (plants == null) plants = switch (backend()) {
+                case MEMORY -> new InMemoryPlantStore();
+                case LOCAL, OFFLINE -> new InMemoryPlantStore(local());
+                default -> cached() ? new CachingPlantStore(new PlantRepository(),
+                        CACHE_MAX_ENTITIES, CACHE_MAX_QUERIES, CACHE_TTL) : new PlantRepository();
+            };
+            return plants;
+        }
+    }
+
+    public static TaskStore tasks() {
+        TaskStore s = tasks;
+        if (s != null) return s;
+        synchronized (Repositories.class) {
+            if (tasks == null) tasks = new ObservableTaskStore(switch (backend()) {
+                case MEMORY -> new InMemoryTaskStore();
+                case LOCAL, OFFLINE -> new InMemoryTaskStore(local());
+                default -> cached() ? new CachingTaskStore(new CareTaskRepository(),
+                        CACHE_MAX_ENTITIES, CACHE_MAX_QUERIES, CACHE_TTL) : new CareTaskRepository();
+            }, TASK_LISTENERS);
+            return tasks;
+        }
+    }
+
+    public static CareLogStore careLogs() {
+        CareLogStore s = careLogs;
+        if (s != null) return s;
+        synchronized (Repositories.class) {
+            if (careLogs == null) careLogs = switch (backend()) {
+                case MEMORY -> new InMemoryCareLogStore();
+                case LOCAL, OFFLINE -> new InMemoryCareLogStore(local());
+                default -> new CareLogRepository();
+            };
+            return careLogs;
+        }
+    }
+
+    public static JournalStore journal() {
+        JournalStore s = journal;
+        if (s != null) return s;
+        synchronized (Repositories.class) {
+            if (journal == null) journal = switch (backend()) {
+                case MEMORY -> new InMemoryJournalStore();
+                case LOCAL, OFFLINE -> new InMemoryJournalStore(local());
+                default -> new JournalRepository();
+            };
+            return journal;
+        }
+    }
+
+    public static SupplyStore supplies() {
+        SupplyStore s = supplies;
+        if (s != null) return s;
+        synchronized (Repositories.class) {
+            if (supplies == null) supplies = switch (backend()) {
+                case MEMORY -> new InMemorySupplyStore();
+                case LOCAL, OFFLINE -> new InMemorySupplyStore(local());
+                default -> new SupplyRepository();
+            };
+            return supplies;
+        }
+    }
+
+    /** Reports writes made through {@link #tasks()} to {@code l}; kept across {@link #use}. */
+    public static void addTaskListener(TaskListener l) { TASK_LISTENERS.add(l); }
+
+    public static void removeTaskListener(TaskListener l) { TASK_LISTENERS.remove(l); }
+
+    /** Counters of the caching stores handed out so far; empty when caching is off. */
+    public static List<CacheStats> cacheStats() {
+        List<CacheStats> out = new ArrayList<>(2);
+        if (plants instanceof CachingPlantStore c) out.add(c.stats());
+        if (tasks instanceof ObservableTaskStore o && o.delegate() instanceof CachingTaskStore c) out.add(c.stats());
+        return out;
+    }
+
+    private static boolean cached() {
+        String v = System.getProperty("plantagonist.cache");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_CACHE");
+        return v != null && (v.trim().equalsIgnoreCase("true") || v.trim().equals("1"));
+    }
+
+    // callers hold the class lock
+    private static LocalDatabase local() {
+        if (local == null && backend() == Backend.OFFLINE) {
+            local = OfflineSync.start(); // owns its replica's lifecycle
+        } else if (local == null) {
+            LocalDatabase db = LocalDatabase.open(PathsConfig.localDbDir());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                synchronized (Repositories.class) {
+                    if (local == db) db.close();
+                }
+            }, "local-db-close"));
+            local = db;
+        }
+        return local;
+    }
+
+    private static String configured() {
+        String v = System.getProperty("plantagonist.storage");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_STORAGE");
+        return v == null ? "" : v.trim();
+    }
+
+    private static Backend parse(String v) {
+        if (v.isEmpty() || v.equalsIgnoreCase("mongo")) return Backend.MONGO;
+        if (v.equalsIgnoreCase("local")) return Backend.LOCAL;
+        if (v.equalsIgnoreCase("offline")) return Backend.OFFLINE;
+        if (v.equalsIgnoreCase("memory")) return Backend.MEMORY;
+        System.err.println("[Repositories] unknown storage backend '" + v + "', using mongo");
+        return Backend.MONGO;
+    }
+}
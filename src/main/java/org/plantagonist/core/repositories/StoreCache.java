@@ -0,0 +1,197 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.plantagonist.core.db.MongoConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache behind the Caching*Store decorators: an LRU of entities by id and an LRU
+ * of query results keyed by (scope, filter). A scope names whose data a query covers
+ * ({@code user:<id>}, {@code plant:<id>}, or {@link #ALL} for cross-user queries), so a write
+ * drops exactly the results that could contain the written document plus the ALL ones.
+ *
+ * Entries are kept encoded (like MemoryCollection) and decoded on every hit, so callers get
+ * their own copies. Loads run outside the lock; a write that lands while a load is in flight
+ * bumps {@code generation} and the load's result is not cached. Entries also expire after
+ * {@code ttl} to bound staleness from writes made by other processes.
+ */
+final class StoreCache<T> {
+    static final String ALL = "*";
+
+    private final String name;
+    private final Codec<T> codec;
+    private final Function<T, String> idOf;
+    private final Function<T, List<String>> scopesOf;
+    private final long ttlNanos;
+    private final Map<String, Entry<RawBsonDocument>> entities;
+    private final Map<String, Entry<List<RawBsonDocument>>> queries;
+
+    private long generation;
+    private long hits, misses, evictions, invalidations;
+
+    private record Entry<V>(List<String> scopes, V value, long loadedAt) {}
+
+    StoreCache(String name, Class<T> type, Function<T, String> idOf, Function<T, List<String>> scopesOf,
+               int maxEntities, int maxQueries, Duration ttl) {
+        this.name = name;
+        this.codec = MongoConfig.codecRegistry().get(type);
+        this.idOf = idOf;
+        this.scopesOf = scopesOf;
+        this.ttlNanos = ttl.toNanos();
+        this.entities = lru(maxEntities);
+        this.queries = lru(maxQueries);
+    }
+
+    static String user(String userId) { return "user:" + userId; }
+    static String plant(String plantId) { return "plant:" + plantId; }
+
+    /** Cached entity or {@code loader}'s; null results are not cached. */
+    T get(String id, Function<String, T> loader) {
+        if (id == null) return loader.apply(null);
+        long gen;
+        synchronized (this) {
+            Entry<RawBsonDocument> e = fresh(entities, id);
+            if (e != null) {
+                hits++;
+                return e.value().decode(codec);
+            }
+            misses++;
+            gen = generation;
+        }
+        T loaded = loader.apply(id);
+        if (loaded != null) {
+            synchronized (this) {
+                if (gen == generation) putEntity(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /** Cached result of the query {@code key} under {@code scope}, else {@code loader}'s. */
+    List<T> query(String scope, String key, Supplier<List<T>> loader) {
+        String k = scope + MemoryCollection.SEP + key;
+        long gen;
+        synchronized (this) {
+            Entry<List<RawBsonDocument>> e = fresh(queries, k);
+            if (e != null) {
+                hits++;
+                List<T> out = new ArrayList<>(e.value().size());
+                for (RawBsonDocument d : e.value()) out.add(d.decode(codec));
+                return out;
+            }
+            misses++;
+            gen = generation;
+        }
+        List<T> loaded = loader.get();
+        synchronized (this) {
+            if (gen == generation) {
+                List<RawBsonDocument> docs = new ArrayList<>(loaded.size());
+                for (T t : loaded) docs.add(putEntity(t));
+                queries.put(k, new Entry<>(List.of(scope), docs, System.nanoTime()));
+            }
+        }
+        return loaded;
+    }
+
+    /** After a new document was stored: results in its scopes may now be missing it. */
+    synchronized void inserted(T entity) {
+        generation++;
+        dropScopes(scopesOf.apply(entity));
+        if (idOf.apply(entity) != null) putEntity(entity);
+    }
+
+    /**
+     * After document {@code id} was replaced by {@code entity}. The old copy's scopes go too
+     * (the owner may have changed); if there is no cached copy, every query result does.
+     */
+    synchronized void replaced(String id, T entity) {
+        generation++;
+        Entry<RawBsonDocument> old = entities.remove(id);
+        if (old == null) {
+            dropAllQueries();
+            return;
+        }
+        dropScopes(old.scopes());
+        dropScopes(scopesOf.apply(entity));
+        if (id.equals(idOf.apply(entity))) putEntity(entity);
+    }
+
+    /** After document {@code id} was updated in place or deleted; same fallback as {@link #replaced}. */
+    synchronized void changed(String id) {
+        generation++;
+        Entry<RawBsonDocument> old = entities.remove(id);
+        if (old == null) dropAllQueries();
+        else dropScopes(old.scopes());
+    }
+
+    /**
+     * After a bulk write over the documents that are in all of {@code scopes} (say, one plant's
+     * tasks of one user): those entities go, as do the results under any of the scopes.
+     */
+    synchronized void changedScopes(String... scopes) {
+        generation++;
+        List<String> list = List.of(scopes);
+        entities.values().removeIf(e -> e.scopes().containsAll(list));
+        dropScopes(list);
+    }
+
+    /** Drops every query result but keeps entities, for writes whose owners are unknown. */
+    synchronized void changedQueries() {
+        generation++;
+        dropAllQueries();
+    }
+
+    synchronized CacheStats stats() {
+        return new CacheStats(name, hits, misses, evictions, invalidations, entities.size(), queries.size());
+    }
+
+    // ---------- internals (callers hold the lock) ----------
+
+    private RawBsonDocument putEntity(T t) {
+        RawBsonDocument doc = new RawBsonDocument(t, codec);
+        String id = idOf.apply(t);
+        if (id != null) entities.put(id, new Entry<>(scopesOf.apply(t), doc, System.nanoTime()));
+        return doc;
+    }
+
+    private <V> Entry<V> fresh(Map<String, Entry<V>> map, String key) {
+        Entry<V> e = map.get(key);
+        if (e == null) return null;
+        if (System.nanoTime() - e.loadedAt() > ttlNanos) {
+            map.remove(key);
+            return null;
+        }
+        return e;
+    }
+
+    /** Drops the results under any of {@code scopes} and every cross-user result. */
+    private void dropScopes(List<String> scopes) {
+        int before = queries.size();
+        queries.values().removeIf(e -> e.scopes().get(0).equals(ALL) || scopes.contains(e.scopes().get(0)));
+        invalidations += before - queries.size();
+    }
+
+    private void dropAllQueries() {
+        invalidations += queries.size();
+        queries.clear();
+    }
+
+    private <V> Map<String, Entry<V>> lru(int max) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() <= max) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+}
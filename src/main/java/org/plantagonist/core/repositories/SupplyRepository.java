@@ -5,30 +5,29 @@ import com.mongodb.client.model.*;
 import com.mongodb.client.MongoCollection;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.plantagonist.core.db.Ids;
 import org.plantagonist.core.db.MongoConfig;
 import org.plantagonist.core.models.SupplyItem;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import static com.mongodb.client.model.Filters.*;
 import static com.mongodb.client.model.Updates.*;
 
-public class SupplyRepository extends BaseRepository<SupplyItem> {
+public class SupplyRepository extends BaseRepository<SupplyItem> implements SupplyStore {
 
     public SupplyRepository() {
         super(MongoConfig.db().getCollection("supplies", SupplyItem.class));
-        // Unique name per user
-        coll.createIndex(Indexes.compoundIndex(Indexes.ascending("userId", "name")),
-                new IndexOptions().unique(true));
-        coll.createIndex(Indexes.ascending("userId"));
+        // indexes (incl. unique userId+name) are created once by MongoConfig's warm-up
     }
 
     /** Get all supplies for a user. */
     public List<SupplyItem> findAll(String userId) {
         List<SupplyItem> list = new ArrayList<>();
-        coll.find(eq("userId", userId)).into(list);
+        coll.find(Ids.eq("userId", userId)).into(list);
         return list;
     }
 
@@ -37,33 +36,36 @@ public class SupplyRepository extends BaseRepository<SupplyItem> {
         List<SupplyItem> list = new ArrayList<>();
         // quantity <= refillBelow
         Bson lowExpr = expr(new org.bson.Document("$lte", List.of("$quantity", "$refillBelow")));
-        coll.find(and(eq("userId", userId), lowExpr)).into(list);
+        coll.find(and(Ids.eq("userId", userId), lowExpr)).into(list);
         return list;
     }
 
     /** Increase/decrease quantity (delta can be negative). */
     public void adjustQuantity(ObjectId id, String userId, int delta) {
-        coll.updateOne(and(eq("_id", id), eq("userId", userId)), inc("quantity", delta));
+        coll.updateOne(and(eq("_id", id), Ids.eq("userId", userId)), combine(inc("quantity", delta), touched()));
     }
 
     /** Delete by id for a user. */
     public void delete(ObjectId id, String userId) {
-        coll.deleteOne(and(eq("_id", id), eq("userId", userId)));
+        if (coll.findOneAndDelete(and(eq("_id", id), Ids.eq("userId", userId))) != null) tombstone(id, userId);
     }
 
     /** Upsert by (userId,name). Also refresh lastRestocked on insert/update. */
     public void upsertByName(String userId, SupplyItem item) {
-        Bson filter = and(eq("userId", userId), eq("name", item.getName()));
+        Bson filter = and(Ids.eq("userId", userId), eq("name", item.getName()));
         UpdateOptions opts = new UpdateOptions().upsert(true);
 
         // ensure we set _id on insert
         ObjectId id = item.getId() != null ? item.getId() : new ObjectId();
+        Date now = new Date();
 
         coll.updateOne(
                 filter,
                 combine(
                         setOnInsert("_id", id),
-                        set("userId", userId),
+                        setOnInsert("createdAt", now),
+                        set("updatedAt", now),
+                        set("userId", Ids.value(userId)),
                         set("name", item.getName()),
                         set("quantity", item.getQuantity()),
                         set("refillBelow", item.getRefillBelow()),
@@ -76,10 +78,11 @@ public class SupplyRepository extends BaseRepository<SupplyItem> {
     public void restock(ObjectId id, String userId, int add) {
         if (add <= 0) return; // ignore no-op / invalid
         coll.updateOne(
-                and(eq("_id", id), eq("userId", userId)),
+                and(eq("_id", id), Ids.eq("userId", userId)),
                 combine(
                         inc("quantity", add),
-                        set("lastRestocked", LocalDate.now())
+                        set("lastRestocked", LocalDate.now()),
+                        touched()
                 )
         );
     }
@@ -87,18 +90,19 @@ public class SupplyRepository extends BaseRepository<SupplyItem> {
     /** Optional: clamp at zero so we never go negative */
     public void adjustQuantity(ObjectId id, String userId, int delta, boolean clampAtZero) {
         if (!clampAtZero) {
-            coll.updateOne(and(eq("_id", id), eq("userId", userId)), inc("quantity", delta));
+            adjustQuantity(id, userId, delta);
             return;
         }
         // clamp with $max after computing new value
         coll.updateOne(
-                and(eq("_id", id), eq("userId", userId)),
+                and(eq("_id", id), Ids.eq("userId", userId)),
                 combine(
                         inc("quantity", delta),
                         // enforce quantity >= 0
                         // NOTE: requires MongoDB 4.2+ for update pipeline if you want true clamp;
                         // a simple post-fix could be done with findOneAndUpdate
-                        inc("quantity", 0) // placeholder — or use findOneAndUpdate + Math.max in Java side
+                        inc("quantity", 0), // placeholder — or use findOneAndUpdate + Math.max in Java side
+                        touched()
                 )
         );
     }
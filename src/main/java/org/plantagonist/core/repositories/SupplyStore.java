@@ -0,0 +1,30 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.types.ObjectId;
+import org.plantagonist.core.models.SupplyItem;
+
+import java.util.Date;
+import java.util.List;
+
+/** Supplies are always addressed per user; (userId, name) is unique. */
+public interface SupplyStore {
+    List<SupplyItem> findAll(String userId);
+
+    /** quantity <= refillBelow */
+    List<SupplyItem> findLowStock(String userId);
+
+    /** Upsert by (userId,name). Also refresh lastRestocked on insert/update. */
+    void upsertByName(String userId, SupplyItem item);
+
+    /** Increase/decrease quantity (delta can be negative). */
+    void adjustQuantity(ObjectId id, String userId, int delta);
+    void adjustQuantity(ObjectId id, String userId, int delta, boolean clampAtZero);
+
+    /** Adds to quantity and stamps lastRestocked; non-positive amounts are ignored. */
+    void restock(ObjectId id, String userId, int add);
+
+    void delete(ObjectId id, String userId);
+
+    /** What the user wrote or deleted since a high-water mark; see {@link ChangeSet}. */
+    ChangeSet<SupplyItem> changedSince(String userId, Date since);
+}
@@ -0,0 +1,17 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+
+/**
+ * Told about task writes made through {@link Repositories#tasks()}, after they succeed and on
+ * the writing thread, so implementations should be quick and must not block on the UI.
+ */
+public interface TaskListener {
+    /** Inserted or replaced; {@code t} is the caller's object, don't keep or modify it. */
+    void saved(CareTask t);
+
+    void deleted(String id);
+
+    void statusChanged(String id, TaskStatus status);
+}
@@ -0,0 +1,52 @@
+package org.plantagonist.core.repositories;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+public interface TaskStore {
+    void insertOne(CareTask t);
+    CareTask findById(String id);
+    List<CareTask> findByUserId(String userId);
+    List<CareTask> findByPlantIdAndType(String plantId, TaskType type);
+    List<CareTask> findByUserIdAndStatus(String userId, TaskStatus status);
+    List<CareTask> findByUserIdAndDate(String userId, LocalDate date);
+
+    /** Inclusive range, sorted by due date. */
+    List<CareTask> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate);
+
+    /** Everything not DONE, across users. */
+    List<CareTask> findDueOrUpcoming();
+
+    /** Not DONE or CANCELLED, sorted by due date. */
+    List<CareTask> findDueOrUpcoming(String userId);
+
+    void replaceById(CareTask t);
+    void replaceById(String id, CareTask t);
+    long deleteById(String id);
+    void deleteByPlantIdAndType(String plantId, TaskType type);
+    void deleteByPlantIdAndType(String plantId, TaskType type, String userId);
+
+    /** Light‑weight status update (no full replace) */
+    void updateStatus(String id, TaskStatus status);
+    void updateStatusAndLastCompleted(String id, TaskStatus status, LocalDate lastCompleted);
+
+    /**
+     * One batch of the missed-task sweep: the ids of up to {@code limit} tasks due before
+     * {@code cutoff} that are not DONE, MISSED or CANCELLED, across users. Empty once nothing is left.
+     */
+    List<String> findOverdueIds(LocalDate cutoff, int limit);
+
+    /**
+     * Marks those of {@code ids} that are still overdue as of {@code cutoff} MISSED and returns
+     * only the ids it changed; a task completed since {@link #findOverdueIds} is left alone.
+     */
+    List<String> markMissed(List<String> ids, LocalDate cutoff);
+
+    /** What the user wrote or deleted since a high-water mark; see {@link ChangeSet}. */
+    ChangeSet<CareTask> changedSince(String userId, Date since);
+}
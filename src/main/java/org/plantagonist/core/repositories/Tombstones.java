@@ -0,0 +1,54 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.Tombstone;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.plantagonist.core.repositories.MemoryCollection.key;
+import static org.plantagonist.core.repositories.MemoryCollection.prefixEnd;
+
+/**
+ * Delete markers for the in-process backends, one "tombstones" collection per database
+ * (shared by all its stores, like Mongo's) sorted by (userId, collection, deletedAt).
+ * Markers past {@link ChangeSet#TOMBSTONE_RETENTION} are dropped when the database opens.
+ */
+final class Tombstones {
+    private final MemoryCollection<Tombstone> marks;
+
+    Tombstones(LocalDatabase db) {
+        marks = new MemoryCollection<>(Tombstone.class, Tombstone::getId)
+                .sortedIndex("userDeleted", t -> key(t.getUserId(), t.getCollection(),
+                        ChangeSet.sortable(t.getDeletedAt()), t.getId()))
+                .persistTo(db, "tombstones");
+        Date cutoff = new Date(System.currentTimeMillis() - ChangeSet.TOMBSTONE_RETENTION.toMillis());
+        for (Tombstone t : marks.scan(t -> t.getDeletedAt() == null || t.getDeletedAt().before(cutoff))) {
+            marks.remove(t.getId());
+        }
+    }
+
+    void record(String collection, String docId, String userId) {
+        marks.put(new Tombstone(collection, docId, userId, new Date()));
+    }
+
+    /** A delete pulled from the server: kept for local delta readers but not replicated back. */
+    void recordRemote(String collection, String docId, String userId) {
+        Codec<Tombstone> codec = MongoConfig.codecRegistry().get(Tombstone.class);
+        marks.applyRemote(new RawBsonDocument(new Tombstone(collection, docId, userId, new Date()), codec), id -> true);
+    }
+
+    /** Ids of {@code collection} documents the user deleted at or after {@code since}. */
+    List<String> since(String collection, String userId, Date since) {
+        if (userId == null) return List.of();
+        List<String> ids = new ArrayList<>();
+        for (Tombstone t : marks.range("userDeleted", key(userId, collection, ChangeSet.sortable(since)), true,
+                prefixEnd(userId, collection), true, false, null, 0)) {
+            ids.add(t.getDocId());
+        }
+        return ids;
+    }
+}
@@ -69,13 +69,9 @@ public class UserRepositoryJson implements UserStore {
         rw.readLock().lock();
         try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
             List<UserProfile> users = gson.fromJson(br, LIST_TYPE);
-            if (users == null) users = new ArrayList<>();
-            // normalize + backfill ids
-            for (UserProfile u : users) {
-                if (u.getId() == null || u.getId().isBlank()) u.setId(UUID.randomUUID().toString());
-                u.normalize();
-            }
-            return users;
+            // ids and normalized fields are written by saveAll and backfilled once by the
+            // 003-normalize-users-json migration, so reads take the file as it is
+            return users == null ? new ArrayList<>() : users;
         } catch (IOException e) {
             throw new RuntimeException("Failed reading " + file, e);
         } finally {
@@ -109,6 +105,26 @@ public class UserRepositoryJson implements UserStore {
         }
     }
 
+    /**
+     * Backfills ids and normalizes every stored user, rewriting the file only if something
+     * changed. Returns the number of users in the file. Run once by the migrations.
+     */
+    public int normalizeStoredUsers() {
+        rw.writeLock().lock();
+        try {
+            List<UserProfile> users = loadAll();
+            String before = gson.toJson(users, LIST_TYPE);
+            for (UserProfile u : users) {
+                if (u.getId() == null || u.getId().isBlank()) u.setId(UUID.randomUUID().toString());
+                u.normalize();
+            }
+            if (!before.equals(gson.toJson(users, LIST_TYPE))) saveAll(users);
+            return users.size();
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
     // ---------- Lookups ----------
 
     @Override
@@ -0,0 +1,253 @@
+package org.plantagonist.core.schedule;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.repositories.TaskListener;
+import org.plantagonist.core.repositories.TaskStore;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The logged-in user's open tasks on a {@link TimingWheel}, each at the instant its status next
+ * changes: UPCOMING becomes TODAY when its due day starts, TODAY becomes DUE a day later, and
+ * DUE becomes MISSED once {@link #missedGraceDays()} more days have passed. When a timer fires
+ * the agenda stores the new status and tells its subscribers (dashboard, notifications).
+ *
+ * One indexed query loads the agenda; after that it follows the task writes reported by
+ * {@link Repositories#tasks()} and never queries again. Each minute's tick looks at one
+ * bucket of the wheel. Tasks changed outside this process show up at the next login.
+ */
+public final class DueAgenda implements TaskListener {
+
+    /** A status change the agenda made; {@code from} is what was stored before. */
+    public record Transition(String userId, String taskId, String plantId, String plantName, TaskType type, LocalDate due,
+                             TaskStatus from, TaskStatus to) {}
+
+    public interface Subscriber {
+        /** Called on the agenda's thread; hop to the FX thread before touching the UI. */
+        void onTransition(Transition t);
+    }
+
+    static final long TICK_MILLIS = 60_000;
+    static final int SLOTS = 4096; // ~2.8 days per rotation, so consecutive midnights land in different buckets
+    static final int DEFAULT_GRACE_DAYS = 2;
+
+    private static DueAgenda current; // guarded by DueAgenda.class
+
+    private record Tracked(String id, String plantId, String plantName, TaskType type, LocalDate due, TaskStatus status) {
+        static Tracked of(CareTask t) {
+            return new Tracked(t.getId(), t.getPlantId(), t.getPlantName(), t.getType(), t.getDueDate(), t.getStatus());
+        }
+
+        Tracked with(TaskStatus s) { return new Tracked(id, plantId, plantName, type, due, s); }
+    }
+
+    private record Entry(Tracked task, TimingWheel.Timer<String> timer) {}
+
+    private final String userId;
+    private final TaskStore tasks;
+    private final Clock clock;
+    private final int graceDays;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final TimingWheel<String> wheel;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private Set<String> deletedWhileLoading = new HashSet<>(); // null once loaded
+    private ScheduledExecutorService ticker;
+
+    DueAgenda(String userId, TaskStore tasks, Clock clock, int graceDays) {
+        this.userId = userId;
+        this.tasks = tasks;
+        this.clock = clock;
+        this.graceDays = graceDays;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, SLOTS, clock.millis());
+    }
+
+    /** Replaces any running agenda with one for {@code userId}; it loads on its own thread. */
+    public static synchronized DueAgenda start(String userId) {
+        stop();
+        DueAgenda a = new DueAgenda(userId, Repositories.tasks(), Clock.systemDefaultZone(), missedGraceDays());
+        Repositories.addTaskListener(a);
+        a.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "due-agenda");
+            t.setDaemon(true);
+            return t;
+        });
+        a.ticker.execute(a::load);
+        a.ticker.scheduleAtFixedRate(a::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        current = a;
+        return a;
+    }
+
+    /** The running agenda, or null before login / after logout. */
+    public static synchronized DueAgenda current() { return current; }
+
+    public static synchronized void stop() {
+        if (current == null) return;
+        Repositories.removeTaskListener(current);
+        current.ticker.shutdownNow();
+        current = null;
+    }
+
+    /** Days a task stays DUE before it counts as MISSED ({@code plantagonist.missedGraceDays}, default 2). */
+    public static int missedGraceDays() {
+        String v = System.getProperty("plantagonist.missedGraceDays");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_MISSED_GRACE_DAYS");
+        if (v == null || v.isBlank()) return DEFAULT_GRACE_DAYS;
+        try {
+            return Math.max(0, Integer.parseInt(v.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("[Agenda] bad missed grace days '" + v + "', using " + DEFAULT_GRACE_DAYS);
+            return DEFAULT_GRACE_DAYS;
+        }
+    }
+
+    /** The status a task due on {@code due} should have on {@code today}. */
+    public static TaskStatus expected(LocalDate due, LocalDate today, int graceDays) {
+        if (due.isAfter(today)) return TaskStatus.UPCOMING;
+        if (due.isEqual(today)) return TaskStatus.TODAY;
+        return today.isAfter(due.plusDays(graceDays)) ? TaskStatus.MISSED : TaskStatus.DUE;
+    }
+
+    public String userId() { return userId; }
+
+    public void subscribe(Subscriber s) { subscribers.add(s); }
+
+    public void unsubscribe(Subscriber s) { subscribers.remove(s); }
+
+    /** Tasks currently DUE or TODAY, for badges. */
+    public synchronized int dueCount() {
+        int n = 0;
+        for (Entry e : entries.values()) if (e.task().status().isDueish()) n++;
+        return n;
+    }
+
+    /** Tasks on the wheel. */
+    public synchronized int size() { return entries.size(); }
+
+    /** Re-reads the user's open tasks, e.g. after a sync pulled in changes made elsewhere. */
+    public void reload() {
+        ScheduledExecutorService t = ticker;
+        if (t != null) t.execute(this::load);
+        else load();
+    }
+
+    void load() {
+        List<CareTask> open;
+        try {
+            open = tasks.findDueOrUpcoming(userId);
+        } catch (Exception e) {
+            System.err.println("[Agenda] load failed: " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (deletedWhileLoading == null) { // a reload: forget what is no longer open
+                Set<String> ids = new HashSet<>();
+                for (CareTask t : open) ids.add(t.getId());
+                for (String id : new ArrayList<>(entries.keySet())) if (!ids.contains(id)) untrack(id);
+            }
+            for (CareTask t : open) {
+                if (t.getId() == null) continue;
+                // writes seen while the query ran are newer than its results
+                if (deletedWhileLoading != null && (deletedWhileLoading.contains(t.getId()) || entries.containsKey(t.getId()))) continue;
+                track(Tracked.of(t));
+            }
+            deletedWhileLoading = null;
+        }
+    }
+
+    void tick() {
+        try {
+            List<Transition> changed = new ArrayList<>();
+            synchronized (this) {
+                LocalDate today = LocalDate.now(clock);
+                for (String id : wheel.advance(clock.millis())) {
+                    Entry e = entries.get(id);
+                    if (e == null) continue;
+                    Tracked t = e.task();
+                    TaskStatus to = expected(t.due(), today, graceDays);
+                    if (to != t.status()) {
+                        changed.add(new Transition(userId, t.id(), t.plantId(), t.plantName(), t.type(), t.due(), t.status(), to));
+                    }
+                    track(t.with(to));
+                }
+            }
+            // outside the lock: the store reports the write back to statusChanged
+            for (Transition t : changed) {
+                tasks.updateStatus(t.taskId(), t.to());
+                for (Subscriber s : subscribers) {
+                    try {
+                        s.onTransition(t);
+                    } catch (RuntimeException ex) {
+                        System.err.println("[Agenda] subscriber failed: " + ex);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[Agenda] tick failed: " + e); // keep the ticker alive
+        }
+    }
+
+    // ---------- TaskListener ----------
+
+    @Override
+    public void saved(CareTask t) {
+        if (t.getId() == null || !userId.equals(t.getUserId())) return;
+        Tracked tr = Tracked.of(t);
+        synchronized (this) {
+            track(tr);
+        }
+    }
+
+    @Override
+    public synchronized void deleted(String id) {
+        untrack(id);
+        if (deletedWhileLoading != null) deletedWhileLoading.add(id);
+    }
+
+    // a task reopened from DONE or CANCELLED isn't on the wheel; it comes back with its next save
+    @Override
+    public synchronized void statusChanged(String id, TaskStatus status) {
+        Entry e = entries.get(id);
+        if (e != null && e.task().status() != status) track(e.task().with(status));
+    }
+
+    // ---------- wheel ----------
+
+    // callers hold the lock
+    private void track(Tracked t) {
+        untrack(t.id());
+        if (t.due() == null || t.status() == null || !t.status().isOpen() || t.status() == TaskStatus.MISSED) return;
+        entries.put(t.id(), new Entry(t, wheel.schedule(nextChange(t), t.id())));
+    }
+
+    private void untrack(String id) {
+        Entry e = entries.remove(id);
+        if (e != null) wheel.cancel(e.timer());
+    }
+
+    /** When {@code t}'s status next changes; now (the next tick) if it went stale while the app was closed. */
+    private long nextChange(Tracked t) {
+        LocalDate today = LocalDate.now(clock);
+        TaskStatus expected = expected(t.due(), today, graceDays);
+        if (expected != t.status()) return clock.millis();
+        LocalDate day = switch (expected) {
+            case UPCOMING -> t.due();
+            case TODAY -> t.due().plusDays(1);
+            default -> t.due().plusDays(graceDays + 1L);
+        };
+        return day.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
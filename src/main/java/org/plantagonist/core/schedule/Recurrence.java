@@ -0,0 +1,45 @@
+package org.plantagonist.core.schedule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Expands recurrence rules into dated occurrences without storing them: a k-way merge over
+ * the rules' next occurrence in a priority queue, so a window over R rules yielding K
+ * occurrences costs O((R + K) log R) and no queries.
+ */
+public final class Recurrence {
+
+    public record Occurrence(RecurrenceRule rule, LocalDate due, long index) {
+        /** The stored (materialized) occurrence; later ones are projections. */
+        public boolean isNext() { return index == 0; }
+    }
+
+    private static final Comparator<Occurrence> ORDER = Comparator.comparing(Occurrence::due)
+            .thenComparing(o -> o.rule().plantId())
+            .thenComparing(o -> o.rule().type());
+
+    private Recurrence() {}
+
+    /** Every occurrence due in [from, to], in due-date order. */
+    public static List<Occurrence> between(Collection<RecurrenceRule> rules, LocalDate from, LocalDate to) {
+        PriorityQueue<Occurrence> heads = new PriorityQueue<>(Math.max(1, rules.size()), ORDER);
+        for (RecurrenceRule r : rules) {
+            long k = r.firstIndexOnOrAfter(from);
+            LocalDate d = r.occurrence(k);
+            if (!d.isAfter(to)) heads.add(new Occurrence(r, d, k));
+        }
+        List<Occurrence> out = new ArrayList<>();
+        while (!heads.isEmpty()) {
+            Occurrence o = heads.poll();
+            out.add(o);
+            LocalDate d = o.rule().occurrence(o.index() + 1);
+            if (!d.isAfter(to)) heads.add(new Occurrence(o.rule(), d, o.index() + 1));
+        }
+        return out;
+    }
+}
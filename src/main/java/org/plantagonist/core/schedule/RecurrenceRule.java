@@ -0,0 +1,89 @@
+package org.plantagonist.core.schedule;
+
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One plant's recurring care of one type: due {@code next}, then every {@code everyDays} after
+ * that. Rules are derived from the plant (interval + last completion) whenever they're needed;
+ * only {@code next} is ever stored, as the plant's CareTask of that type.
+ */
+public record RecurrenceRule(String userId, String plantId, String plantName, TaskType type,
+                             int everyDays, LocalDate next) {
+
+    /** Task types a plant can schedule. */
+    public static final List<TaskType> TYPES = List.of(TaskType.WATER, TaskType.FERTILIZE, TaskType.SOIL_CHANGE);
+
+    /** Due date of the k-th occurrence (k = 0 is {@code next}). */
+    public LocalDate occurrence(long k) {
+        return next.plusDays(k * everyDays);
+    }
+
+    /** Index of the first occurrence on or after {@code day}. */
+    public long firstIndexOnOrAfter(LocalDate day) {
+        long behind = day.toEpochDay() - next.toEpochDay();
+        return behind <= 0 ? 0 : (behind + everyDays - 1) / everyDays;
+    }
+
+    public RecurrenceRule withNext(LocalDate d) {
+        return new RecurrenceRule(userId, plantId, plantName, type, everyDays, d);
+    }
+
+    /** The plant's rules, one per type that has an interval. */
+    public static List<RecurrenceRule> of(Plant p) {
+        List<RecurrenceRule> out = new ArrayList<>(TYPES.size());
+        for (TaskType t : TYPES) {
+            RecurrenceRule r = of(p, t);
+            if (r != null) out.add(r);
+        }
+        return out;
+    }
+
+    /**
+     * The plant's rule for {@code type}, or null without an interval. The first occurrence is
+     * one interval after the last completion, or after the plant was added if it never was.
+     */
+    public static RecurrenceRule of(Plant p, TaskType type) {
+        Integer every = everyDays(p, type);
+        if (every == null || every <= 0 || p.getId() == null || p.getId().isBlank()) return null;
+        LocalDate anchor = lastDone(p, type);
+        if (anchor == null) {
+            anchor = p.getCreatedAt() == null ? LocalDate.now()
+                    : p.getCreatedAt().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+        return new RecurrenceRule(p.getUserId(), p.getId(), p.getName(), type, every, anchor.plusDays(every));
+    }
+
+    public static Integer everyDays(Plant p, TaskType type) {
+        return switch (type) {
+            case WATER -> p.getWaterEveryDays();
+            case FERTILIZE -> p.getFertilizeEveryDays();
+            case SOIL_CHANGE -> p.getSoilChangeEveryDays();
+            case OTHER -> null;
+        };
+    }
+
+    public static LocalDate lastDone(Plant p, TaskType type) {
+        return switch (type) {
+            case WATER -> p.getLastWatered();
+            case FERTILIZE -> p.getLastFertilized();
+            case SOIL_CHANGE -> p.getLastSoilChanged();
+            case OTHER -> null;
+        };
+    }
+
+    /** Records a completion on the plant, which moves the rule's next occurrence. */
+    public static void markDone(Plant p, TaskType type, LocalDate on) {
+        switch (type) {
+            case WATER -> p.setLastWatered(on);
+            case FERTILIZE -> p.setLastFertilized(on);
+            case SOIL_CHANGE -> p.setLastSoilChanged(on);
+            case OTHER -> { }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.plantagonist.core.schedule;
+
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.repositories.TaskListener;
+import org.plantagonist.core.repositories.TaskStore;
+import org.plantagonist.core.services.NotificationService;
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fires a reminder for each open task at {@code plantagonist.reminderHour} (default 9) on its
+ * due day, from a {@link ReminderStore} under {@link PathsConfig#appHome()} so reminders
+ * survive restarts. Reminders that came due while the app was closed are fired together on
+ * the first tick after startup. Fired reminders go to {@link NotificationService}.
+ *
+ * Task writes through {@link Repositories#tasks()} keep the schedule current; a user's tasks
+ * from before they first logged in with reminders are adopted once on login.
+ */
+public final class ReminderScheduler implements TaskListener {
+
+    public record Stats(int scheduled, long fired, long caughtUp, long skipped, long openMillis, int pagesRead) {
+        @Override
+        public String toString() {
+            return String.format("%d scheduled, %d fired (%d caught up), %d skipped as stale; opened in %d ms reading %d page(s)",
+                    scheduled, fired, caughtUp, skipped, openMillis, pagesRead);
+        }
+    }
+
+    static final long TICK_MILLIS = 60_000;
+    static final int DEFAULT_HOUR = 9;
+
+    private static ReminderScheduler running; // guarded by ReminderScheduler.class
+
+    private final ReminderStore store;
+    private final Supplier<TaskStore> tasks; // resolved on the reminder thread, not at startup
+    private final NotificationService bus;
+    private final Clock clock;
+    private final int hour;
+    private final long startedAt;
+    private final long openMillis;
+    private ScheduledExecutorService executor;
+    private volatile long fired, caughtUp, skipped; // written on the reminder thread only
+
+    ReminderScheduler(Path dir, Supplier<TaskStore> tasks, NotificationService bus, Clock clock, int hour) {
+        long t0 = System.nanoTime();
+        this.startedAt = clock.millis();
+        this.store = new ReminderStore(dir, clock.getZone(), startedAt);
+        this.openMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+        this.tasks = tasks;
+        this.bus = bus;
+        this.clock = clock;
+        this.hour = hour;
+    }
+
+    /** Opens the schedule and starts ticking; the first tick fires what came due while closed. */
+    public static synchronized void start() {
+        if (running != null) return;
+        ReminderScheduler s;
+        try {
+            s = new ReminderScheduler(PathsConfig.appHome().resolve("reminders"), Repositories::tasks,
+                    NotificationService.get(), Clock.systemDefaultZone(), reminderHour());
+        } catch (RuntimeException e) {
+            System.err.println("[Reminders] disabled: " + e.getMessage());
+            return;
+        }
+        s.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reminders");
+            t.setDaemon(true);
+            return t;
+        });
+        Repositories.addTaskListener(s);
+        s.executor.scheduleWithFixedDelay(s::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        running = s;
+    }
+
+    public static synchronized void stop() {
+        if (running == null) return;
+        Repositories.removeTaskListener(running);
+        running.executor.shutdownNow();
+        running = null;
+    }
+
+    /** Schedules the user's open tasks once, the first time they log in with reminders. */
+    public static synchronized void adopt(String userId) {
+        ReminderScheduler s = running;
+        if (s != null && userId != null) s.onReminderThread(() -> s.adoptNow(userId));
+    }
+
+    /** Stats of the running scheduler, or null when none was started. */
+    public static synchronized Stats stats() {
+        return running == null ? null : running.currentStats();
+    }
+
+    /** Hour of the due day reminders fire at ({@code plantagonist.reminderHour}, default 9). */
+    static int reminderHour() {
+        String v = System.getProperty("plantagonist.reminderHour");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_REMINDER_HOUR");
+        if (v == null || v.isBlank()) return DEFAULT_HOUR;
+        try {
+            return Math.min(23, Math.max(0, Integer.parseInt(v.trim())));
+        } catch (NumberFormatException e) {
+            System.err.println("[Reminders] bad reminder hour '" + v + "', using " + DEFAULT_HOUR);
+            return DEFAULT_HOUR;
+        }
+    }
+
+    Stats currentStats() {
+        return new Stats(store.size(), fired, caughtUp, skipped, openMillis, store.pagesRead());
+    }
+
+    void adoptNow(String userId) {
+        if (store.adopted(userId)) return;
+        try {
+            for (CareTask t : tasks.get().findDueOrUpcoming(userId)) schedule(t);
+            store.markAdopted(userId);
+        } catch (RuntimeException e) {
+            System.err.println("[Reminders] adopting tasks failed: " + e.getMessage()); // again on next login
+        }
+    }
+
+    void tick() {
+        try {
+            long now = clock.millis();
+            store.loadThrough(LocalDate.now(clock).plusDays(ReminderStore.LOOKAHEAD_DAYS));
+            List<ReminderStore.Reminder> due = store.due(now);
+            if (!due.isEmpty()) {
+                Map<String, CareTask> open = openTasks(due); // throws: leave them queued for the next tick
+                int late = 0;
+                for (ReminderStore.Reminder r : due) {
+                    CareTask t = open.get(r.taskId());
+                    if (t == null || !r.due().equals(t.getDueDate())) {
+                        skipped++;
+                        continue;
+                    }
+                    boolean missed = r.at() < startedAt;
+                    bus.publish(new NotificationService.Reminder(r.userId(), r.taskId(),
+                            t.getPlantName() != null ? t.getPlantName() : r.plantName(), t.getType(), r.due(), missed));
+                    fired++;
+                    if (missed) late++;
+                }
+                if (late > 0) {
+                    caughtUp += late;
+                    System.out.println("[Reminders] " + late + " reminder(s) came due while the app was closed");
+                }
+            }
+            store.markFired(now);
+        } catch (RuntimeException e) {
+            System.err.println("[Reminders] tick failed: " + e.getMessage()); // keep the ticker alive
+        }
+    }
+
+    /** The reminders' tasks that are still open, one query per user. */
+    private Map<String, CareTask> openTasks(List<ReminderStore.Reminder> due) {
+        Set<String> users = new HashSet<>();
+        for (ReminderStore.Reminder r : due) users.add(r.userId());
+        Map<String, CareTask> open = new HashMap<>();
+        TaskStore store = tasks.get();
+        for (String userId : users) {
+            for (CareTask t : store.findDueOrUpcoming(userId)) open.put(t.getId(), t);
+        }
+        return open;
+    }
+
+    private void schedule(CareTask t) {
+        if (t.getId() == null) return;
+        if (t.getUserId() == null || t.getDueDate() == null || t.getStatus() == null
+                || !t.getStatus().isOpen() || t.getStatus() == TaskStatus.MISSED) {
+            store.drop(t.getId());
+            return;
+        }
+        long at = t.getDueDate().atTime(hour, 0).atZone(clock.getZone()).toInstant().toEpochMilli();
+        store.set(new ReminderStore.Reminder(t.getId(), t.getUserId(), t.getPlantName(), t.getType(), t.getDueDate(), at));
+    }
+
+    // ---------- TaskListener: store writes happen on the reminder thread ----------
+
+    @Override
+    public void saved(CareTask t) {
+        CareTask copy = new CareTask();
+        copy.setId(t.getId());
+        copy.setUserId(t.getUserId());
+        copy.setPlantName(t.getPlantName());
+        copy.setType(t.getType());
+        copy.setDueDate(t.getDueDate());
+        copy.setStatus(t.getStatus());
+        onReminderThread(() -> schedule(copy));
+    }
+
+    @Override
+    public void deleted(String id) {
+        onReminderThread(() -> store.drop(id));
+    }
+
+    @Override
+    public void statusChanged(String id, TaskStatus status) {
+        if (!status.isOpen()) onReminderThread(() -> store.drop(id));
+    }
+
+    private void onReminderThread(Runnable r) {
+        try {
+            executor.execute(() -> {
+                try {
+                    r.run();
+                } catch (RuntimeException e) {
+                    System.err.println("[Reminders] update failed: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // stopped
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.plantagonist.core.schedule;
+
+import org.bson.*;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.plantagonist.core.models.TaskType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Durable reminder schedule, paged by day: each day's reminders are appended as BSON records
+ * to {@code <dir>/<yyyy-MM-dd>.log} (last record per task wins, a "drop" removes it), and
+ * {@code <dir>/state} holds the fired watermark: every reminder at or before it has been handed
+ * out. Opening reads the state and only the pages from the watermark's day through
+ * {@link #LOOKAHEAD_DAYS} ahead into a priority queue, so startup cost follows the days since
+ * the app last ran, not the number of reminders scheduled; later pages load as days pass.
+ * Pages behind the watermark are deleted.
+ *
+ * A task moved to another day gets a record on the new page; every record carries a write
+ * version, so when both pages load the newer one wins. Dropping a reminder on a page that isn't
+ * loaded isn't possible (its day is unknown), so a reminder may outlive its task;
+ * {@link ReminderScheduler} checks the task before firing.
+ */
+final class ReminderStore {
+
+    record Reminder(String taskId, String userId, String plantName, TaskType type, LocalDate due, long at) {}
+
+    static final int LOOKAHEAD_DAYS = 1;
+    private static final int MAX_PROBED_DAYS = 62; // past this gap, list the directory instead of probing each day
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final Path dir;
+    private final Path stateFile;
+    private final ZoneId zone;
+    private final PriorityQueue<Reminder> queue = new PriorityQueue<>(Comparator.comparingLong(Reminder::at));
+    private final Map<String, Reminder> live = new HashMap<>(); // taskId -> its queued reminder; stale queue entries are skipped
+    private final Map<String, Long> versions = new HashMap<>(); // taskId -> write version of its live reminder
+    private long lastVersion;
+    private final Set<String> adopted = new HashSet<>();
+    private long fired;
+    private LocalDate loadedThrough;
+    private int pagesRead;
+
+    ReminderStore(Path dir, ZoneId zone, long nowMillis) {
+        this.dir = dir;
+        this.stateFile = dir.resolve("state");
+        this.zone = zone;
+        try {
+            Files.createDirectories(dir);
+            readState();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open reminders " + dir, e);
+        }
+        if (fired == 0) { // first run: nothing can be overdue yet
+            fired = nowMillis;
+            writeState();
+        }
+        loadedThrough = day(fired).minusDays(1);
+        loadThrough(day(nowMillis).plusDays(LOOKAHEAD_DAYS));
+    }
+
+    /** Pages up to and including {@code last} into the queue. */
+    synchronized void loadThrough(LocalDate last) {
+        if (!last.isAfter(loadedThrough)) return;
+        LocalDate first = loadedThrough.plusDays(1);
+        if (first.plusDays(MAX_PROBED_DAYS).isBefore(last)) {
+            for (LocalDate d : pagesBetween(first, last)) readPage(d);
+        } else {
+            for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) readPage(d);
+        }
+        loadedThrough = last;
+    }
+
+    /** Schedules {@code r}, replacing the task's earlier reminder when that one is loaded. */
+    synchronized void set(Reminder r) {
+        if (r.at() <= fired) r = new Reminder(r.taskId(), r.userId(), r.plantName(), r.type(), r.due(), fired + 1);
+        Reminder old = live.get(r.taskId());
+        if (r.equals(old)) return;
+        if (old != null && !day(old.at()).equals(day(r.at()))) append(day(old.at()), dropRecord(old.taskId()));
+        long v = Math.max(lastVersion + 1, System.currentTimeMillis());
+        lastVersion = v;
+        append(day(r.at()), encode(r, v));
+        if (day(r.at()).isAfter(loadedThrough)) {
+            forget(r.taskId());
+        } else {
+            live.put(r.taskId(), r);
+            versions.put(r.taskId(), v);
+            queue.add(r);
+        }
+    }
+
+    synchronized void drop(String taskId) {
+        Reminder old = forget(taskId);
+        if (old != null) append(day(old.at()), dropRecord(taskId));
+    }
+
+    /** Reminders at or before {@code nowMillis}, earliest first; they stay queued until {@link #markFired}. */
+    synchronized List<Reminder> due(long nowMillis) {
+        List<Reminder> out = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().at() <= nowMillis) {
+            Reminder r = queue.poll();
+            if (live.get(r.taskId()) == r) out.add(r);
+        }
+        queue.addAll(out);
+        return out;
+    }
+
+    /** Everything at or before {@code upToMillis} was handed out; moves the watermark and deletes finished pages. */
+    synchronized void markFired(long upToMillis) {
+        if (upToMillis <= fired) return;
+        while (!queue.isEmpty() && queue.peek().at() <= upToMillis) {
+            Reminder r = queue.poll();
+            if (live.get(r.taskId()) == r) forget(r.taskId());
+        }
+        LocalDate from = day(fired);
+        fired = upToMillis;
+        writeState();
+        for (LocalDate d = from; d.isBefore(day(fired)); d = d.plusDays(1)) {
+            try {
+                Files.deleteIfExists(page(d));
+            } catch (IOException e) {
+                System.err.println("[Reminders] could not delete " + page(d).getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    synchronized boolean adopted(String userId) { return adopted.contains(userId); }
+
+    synchronized void markAdopted(String userId) {
+        if (adopted.add(userId)) writeState();
+    }
+
+    synchronized long fired() { return fired; }
+
+    synchronized int size() { return live.size(); }
+
+    synchronized int pagesRead() { return pagesRead; }
+
+    private Reminder forget(String taskId) {
+        versions.remove(taskId);
+        return live.remove(taskId);
+    }
+
+    // ---------- files ----------
+
+    private LocalDate day(long millis) { return Instant.ofEpochMilli(millis).atZone(zone).toLocalDate(); }
+
+    private Path page(LocalDate d) { return dir.resolve(d + ".log"); }
+
+    private List<LocalDate> pagesBetween(LocalDate first, LocalDate last) {
+        List<LocalDate> out = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(p -> {
+                String name = p.getFileName().toString();
+                if (!name.endsWith(".log")) return;
+                try {
+                    LocalDate d = LocalDate.parse(name.substring(0, name.length() - 4));
+                    if (!d.isBefore(first) && !d.isAfter(last)) out.add(d);
+                } catch (DateTimeParseException ignored) {
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list reminders " + dir, e);
+        }
+        Collections.sort(out);
+        return out;
+    }
+
+    private void readPage(LocalDate d) {
+        Path file = page(d);
+        if (!Files.exists(file)) return;
+        Map<String, RawBsonDocument> last = new LinkedHashMap<>();
+        for (RawBsonDocument r : readRecords(file)) {
+            String taskId = r.getString("task").getValue();
+            if ("drop".equals(r.getString("t").getValue())) last.remove(taskId);
+            else last.put(taskId, r);
+        }
+        pagesRead++;
+        for (RawBsonDocument rec : last.values()) {
+            Reminder r = decode(rec);
+            long v = rec.getInt64("v").getValue();
+            lastVersion = Math.max(lastVersion, v);
+            if (r.at() <= fired || versions.getOrDefault(r.taskId(), Long.MIN_VALUE) > v) continue;
+            live.put(r.taskId(), r);
+            versions.put(r.taskId(), v);
+            queue.add(r);
+        }
+    }
+
+    private static List<RawBsonDocument> readRecords(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed reading " + file, e);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        List<RawBsonDocument> out = new ArrayList<>();
+        int pos = 0;
+        while (pos < bytes.length) {
+            int size = bytes.length - pos >= 4 ? in.getInt(pos) : -1;
+            if (size < 5 || pos + size > bytes.length) {
+                System.err.println("[Reminders] ignoring torn record at end of " + file.getFileName());
+                break;
+            }
+            out.add(new RawBsonDocument(bytes, pos, size));
+            pos += size;
+        }
+        return out;
+    }
+
+    private void append(LocalDate d, BsonDocument record) {
+        Path file = page(d);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = bytes(record);
+            while (bytes.hasRemaining()) ch.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing reminders " + file, e);
+        }
+    }
+
+    private void readState() throws IOException {
+        if (!Files.exists(stateFile)) return;
+        List<RawBsonDocument> records = readRecords(stateFile);
+        if (records.isEmpty()) return;
+        RawBsonDocument s = records.get(0);
+        fired = s.getInt64("fired").getValue();
+        for (BsonValue u : s.getArray("adopted", new BsonArray())) adopted.add(u.asString().getValue());
+    }
+
+    /** tmp + atomic move, so a crash leaves the old watermark rather than none. */
+    private void writeState() {
+        BsonArray users = new BsonArray();
+        for (String u : adopted) users.add(new BsonString(u));
+        BsonDocument s = new BsonDocument("fired", new BsonInt64(fired)).append("adopted", users);
+        Path tmp = stateFile.resolveSibling("state.tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = bytes(s);
+            while (bytes.hasRemaining()) ch.write(bytes);
+            ch.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing " + tmp, e);
+        }
+        try {
+            Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing " + stateFile, e);
+        }
+    }
+
+    private static ByteBuffer bytes(BsonDocument d) {
+        BasicOutputBuffer buf = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buf), d, EncoderContext.builder().build());
+        return ByteBuffer.wrap(buf.getInternalBuffer(), 0, buf.getPosition());
+    }
+
+    private static BsonDocument encode(Reminder r, long version) {
+        BsonDocument d = new BsonDocument("t", new BsonString("set"))
+                .append("task", new BsonString(r.taskId()))
+                .append("v", new BsonInt64(version))
+                .append("user", new BsonString(r.userId()))
+                .append("due", new BsonString(r.due().toString()))
+                .append("at", new BsonInt64(r.at()));
+        if (r.plantName() != null) d.append("plant", new BsonString(r.plantName()));
+        if (r.type() != null) d.append("type", new BsonString(r.type().name()));
+        return d;
+    }
+
+    private static BsonDocument dropRecord(String taskId) {
+        return new BsonDocument("t", new BsonString("drop")).append("task", new BsonString(taskId));
+    }
+
+    private static Reminder decode(BsonDocument d) {
+        return new Reminder(
+                d.getString("task").getValue(),
+                d.getString("user").getValue(),
+                d.containsKey("plant") ? d.getString("plant").getValue() : null,
+                d.containsKey("type") ? TaskType.parse(d.getString("type").getValue()) : null,
+                LocalDate.parse(d.getString("due").getValue()),
+                d.getInt64("at").getValue());
+    }
+}
@@ -0,0 +1,101 @@
+package org.plantagonist.core.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: {@code slots} buckets of {@code tickMillis} each, a timer living in the
+ * bucket of its deadline tick as a node of an intrusive doubly linked list. Scheduling and
+ * cancelling are O(1); advancing one tick looks at one bucket and fires the timers in it whose
+ * deadline has passed (the others are a full rotation or more away). Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    static final class Timer<T> {
+        final T payload;
+        final long deadlineTick;
+        private Timer<T> prev, next;
+        private int bucket = -1;
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        boolean isScheduled() { return bucket >= 0; }
+    }
+
+    private final long tickMillis;
+    private final Timer<T>[] heads;
+    private long tick; // last tick advanced past
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int slots, long startMillis) {
+        if (tickMillis <= 0 || slots <= 0) throw new IllegalArgumentException("tickMillis and slots must be positive");
+        this.tickMillis = tickMillis;
+        this.heads = (Timer<T>[]) new Timer<?>[slots];
+        this.tick = startMillis / tickMillis;
+    }
+
+    int size() { return size; }
+
+    /** Fires on the first advance at or after {@code atMillis}; past deadlines fire on the next one. */
+    Timer<T> schedule(long atMillis, T payload) {
+        long deadline = Math.max(ceilDiv(atMillis, tickMillis), tick + 1);
+        Timer<T> t = new Timer<>(payload, deadline);
+        int b = (int) Math.floorMod(deadline, (long) heads.length);
+        t.bucket = b;
+        t.next = heads[b];
+        if (t.next != null) t.next.prev = t;
+        heads[b] = t;
+        size++;
+        return t;
+    }
+
+    /** False if the timer already fired or was cancelled. */
+    boolean cancel(Timer<T> t) {
+        if (t == null || t.bucket < 0) return false;
+        unlink(t);
+        return true;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and returns the payloads that came due, in no
+     * particular order. After a long gap (a suspended laptop) each bucket is visited once.
+     */
+    List<T> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<T> fired = new ArrayList<>();
+        if (target <= tick) return fired;
+        long from = target - tick >= heads.length ? target - heads.length + 1 : tick + 1;
+        for (long k = from; k <= target; k++) expire((int) Math.floorMod(k, (long) heads.length), target, fired);
+        tick = target;
+        return fired;
+    }
+
+    private void expire(int b, long upTo, List<T> fired) {
+        Timer<T> t = heads[b];
+        while (t != null) {
+            Timer<T> next = t.next;
+            if (t.deadlineTick <= upTo) {
+                unlink(t);
+                fired.add(t.payload);
+            }
+            t = next;
+        }
+    }
+
+    private void unlink(Timer<T> t) {
+        if (t.prev != null) t.prev.next = t.next;
+        else heads[t.bucket] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+        t.bucket = -1;
+        size--;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return -Math.floorDiv(-a, b);
+    }
+}
@@ -0,0 +1,233 @@
+package org.plantagonist.core.search;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Local inverted index with BM25 ranking.
+ *
+ * Documents are keyed by (kind, id) and carry a display title/snippet plus their term frequencies.
+ * Upserts and removals are incremental; the index can be written to / read from a single JSON
+ * segment file so it does not have to be rebuilt from the database on every start.
+ *
+ * Thread-safe (coarse lock); queries touch only the postings of the query terms.
+ */
+public class FullTextIndex {
+
+    public enum Kind { PLANT, JOURNAL, CARE_LOG, TASK }
+
+    public static final class Result {
+        public final Kind kind;
+        public final String id;
+        public final String title;
+        public final String snippet;
+        public final double score;
+
+        Result(Kind kind, String id, String title, String snippet, double score) {
+            this.kind = kind;
+            this.id = id;
+            this.title = title;
+            this.snippet = snippet;
+            this.score = score;
+        }
+    }
+
+    // BM25 tunables (standard defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int SNIPPET_CHARS = 140;
+    private static final int SEGMENT_VERSION = 1;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "i",
+            "in", "is", "it", "its", "my", "of", "on", "or", "so", "that", "the", "this", "to", "was",
+            "were", "will", "with");
+
+    /** Persisted shape of one document (postings are derived from termFreqs on load). */
+    private static final class Doc {
+        Kind kind;
+        String id;
+        String title;
+        String snippet;
+        int length;
+        Map<String, Integer> termFreqs;
+    }
+
+    private static final class Segment {
+        int version;
+        Long syncedUntil; // epoch millis; absent in segments written before the stamp existed
+        List<Doc> docs;
+    }
+
+    private static final Gson GSON = new Gson();
+
+    private final Map<String, Doc> docs = new HashMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>(); // term -> docKey -> tf
+    private long totalLength;
+    private Date syncedUntil;
+
+    // ---------- updates ----------
+
+    /** Adds or replaces a document; {@code text} is what gets tokenized, {@code title} is for display. */
+    public synchronized void upsert(Kind kind, String id, String title, String text) {
+        if (id == null || id.isBlank()) return;
+        String key = key(kind, id);
+        removeKey(key);
+
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) return;
+
+        Doc d = new Doc();
+        d.kind = kind;
+        d.id = id;
+        d.title = title;
+        d.snippet = snippet(text);
+        d.length = tokens.size();
+        d.termFreqs = new HashMap<>();
+        for (String t : tokens) d.termFreqs.merge(t, 1, Integer::sum);
+        post(key, d);
+    }
+
+    public synchronized void remove(Kind kind, String id) {
+        removeKey(key(kind, id));
+    }
+
+    /** Drops every document of a kind (used when a whole collection is re-indexed). */
+    public synchronized void removeKind(Kind kind) {
+        for (String key : new ArrayList<>(docs.keySet())) {
+            if (docs.get(key).kind == kind) removeKey(key);
+        }
+    }
+
+    public synchronized int size() { return docs.size(); }
+
+    /** The repositories' state up to this time is in the index; null means never reconciled. */
+    public synchronized Date syncedUntil() { return syncedUntil; }
+
+    public synchronized void syncedUntil(Date until) { this.syncedUntil = until; }
+
+    private void post(String key, Doc d) {
+        docs.put(key, d);
+        totalLength += d.length;
+        for (Map.Entry<String, Integer> e : d.termFreqs.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(key, e.getValue());
+        }
+    }
+
+    private void removeKey(String key) {
+        Doc old = docs.remove(key);
+        if (old == null) return;
+        totalLength -= old.length;
+        for (String term : old.termFreqs.keySet()) {
+            Map<String, Integer> p = postings.get(term);
+            if (p == null) continue;
+            p.remove(key);
+            if (p.isEmpty()) postings.remove(term);
+        }
+    }
+
+    // ---------- queries ----------
+
+    /** BM25-ranked results for a free-text query (documents matching any term). */
+    public synchronized List<Result> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || docs.isEmpty()) return List.of();
+
+        int n = docs.size();
+        double avgdl = (double) totalLength / n;
+        Map<String, Double> scores = new HashMap<>();
+
+        for (String term : terms) {
+            Map<String, Integer> p = postings.get(term);
+            if (p == null) continue;
+            double idf = Math.log(1 + (n - p.size() + 0.5) / (p.size() + 0.5));
+            for (Map.Entry<String, Integer> e : p.entrySet()) {
+                int tf = e.getValue();
+                int dl = docs.get(e.getKey()).length;
+                double s = idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * dl / avgdl));
+                scores.merge(e.getKey(), s, Double::sum);
+            }
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+
+        List<Result> out = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && out.size() < limit; i++) {
+            Doc d = docs.get(ranked.get(i).getKey());
+            out.add(new Result(d.kind, d.id, d.title, d.snippet, ranked.get(i).getValue()));
+        }
+        return out;
+    }
+
+    // ---------- segment IO ----------
+
+    /** Writes the whole index atomically (tmp file + move). */
+    public void save(Path file) throws IOException {
+        Segment seg = new Segment();
+        seg.version = SEGMENT_VERSION;
+        synchronized (this) {
+            seg.docs = new ArrayList<>(docs.values());
+            seg.syncedUntil = syncedUntil == null ? null : syncedUntil.getTime();
+        }
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(seg, w);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Loads a segment written by {@link #save}; returns null if missing, unreadable or from another version. */
+    public static FullTextIndex load(Path file) {
+        if (!Files.exists(file)) return null;
+        try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Segment seg = GSON.fromJson(r, Segment.class);
+            if (seg == null || seg.version != SEGMENT_VERSION || seg.docs == null) return null;
+            FullTextIndex idx = new FullTextIndex();
+            for (Doc d : seg.docs) {
+                if (d == null || d.kind == null || d.id == null || d.termFreqs == null) continue;
+                idx.post(key(d.kind, d.id), d);
+            }
+            if (seg.syncedUntil != null) idx.syncedUntil = new Date(seg.syncedUntil);
+            return idx;
+        } catch (IOException | JsonParseException e) {
+            System.err.println("[search] ignoring unreadable segment " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ---------- helpers ----------
+
+    /** Lowercase, accent-folded alphanumeric tokens; stopwords and single characters are dropped. */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String n = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+        List<String> out = new ArrayList<>();
+        for (String t : n.split("[^\\p{L}\\p{N}]+")) {
+            if (t.length() < 2 || STOPWORDS.contains(t)) continue;
+            out.add(t);
+        }
+        return out;
+    }
+
+    private static String snippet(String text) {
+        String s = text.replaceAll("\\s+", " ").trim();
+        return s.length() > SNIPPET_CHARS ? s.substring(0, SNIPPET_CHARS) + "..." : s;
+    }
+
+    private static String key(Kind kind, String id) { return kind.name() + ":" + id; }
+}
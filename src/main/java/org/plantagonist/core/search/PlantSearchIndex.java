@@ -0,0 +1,171 @@
+package org.plantagonist.core.search;
+
+import org.plantagonist.core.models.Plant;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * In-memory n-gram index over plant name/species for incremental "search as you type".
+ *
+ * Every 1..3 character substring of the normalized fields is posted to the plants containing it,
+ * so a query term is answered by intersecting a few posting sets and verifying the survivors,
+ * instead of lowercasing and scanning every plant per keystroke.
+ * Results are ranked: name matches beat species matches, prefixes beat word starts beat substrings.
+ *
+ * Thread-safe; updates are incremental (upsert/remove), unchanged plants are skipped.
+ */
+public class PlantSearchIndex {
+
+    private static final int MAX_GRAM = 3;
+
+    public static final class Hit {
+        public final String id;
+        public final int score;
+
+        Hit(String id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class Doc {
+        final String name;     // normalized
+        final String species;  // normalized
+        final Set<String> grams;
+
+        Doc(String name, String species) {
+            this.name = name;
+            this.species = species;
+            this.grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(species, grams);
+        }
+    }
+
+    private final Map<String, Doc> docs = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    // ---------- updates ----------
+
+    public synchronized void upsert(Plant p) {
+        if (p == null || p.getId() == null || p.getId().isBlank()) return;
+        String name = normalize(p.getName());
+        String species = normalize(p.getSpecies());
+
+        Doc old = docs.get(p.getId());
+        if (old != null && old.name.equals(name) && old.species.equals(species)) return;
+        if (old != null) unpost(p.getId(), old);
+
+        Doc doc = new Doc(name, species);
+        docs.put(p.getId(), doc);
+        for (String g : doc.grams) postings.computeIfAbsent(g, k -> new HashSet<>()).add(p.getId());
+    }
+
+    public synchronized void remove(String id) {
+        Doc old = docs.remove(id);
+        if (old != null) unpost(id, old);
+    }
+
+    /** Brings the index in line with a freshly loaded list: upserts changes, drops plants that are gone. */
+    public synchronized void sync(Collection<Plant> plants) {
+        Set<String> live = new HashSet<>();
+        for (Plant p : plants) {
+            if (p == null || p.getId() == null) continue;
+            live.add(p.getId());
+            upsert(p);
+        }
+        for (String id : new ArrayList<>(docs.keySet())) {
+            if (!live.contains(id)) remove(id);
+        }
+    }
+
+    public synchronized int size() { return docs.size(); }
+
+    private void unpost(String id, Doc doc) {
+        for (String g : doc.grams) {
+            Set<String> ids = postings.get(g);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (ids.isEmpty()) postings.remove(g);
+        }
+    }
+
+    // ---------- queries ----------
+
+    /** Ranked ids of plants matching every whitespace-separated term (substring semantics). */
+    public synchronized List<Hit> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) return List.of();
+        String[] terms = q.split(" ");
+
+        Set<String> candidates = null;
+        for (String term : terms) {
+            Set<String> forTerm = candidatesFor(term);
+            if (candidates == null) candidates = new HashSet<>(forTerm);
+            else candidates.retainAll(forTerm);
+            if (candidates.isEmpty()) return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (String id : candidates) {
+            Doc d = docs.get(id);
+            int score = 0;
+            for (String term : terms) {
+                int s = score(d, term);
+                if (s == 0) { score = 0; break; } // gram candidate but not a real substring match
+                score += s;
+            }
+            if (score > 0) hits.add(new Hit(id, score));
+        }
+
+        hits.sort(Comparator.comparingInt((Hit h) -> -h.score).thenComparing(h -> docs.get(h.id).name));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private Set<String> candidatesFor(String term) {
+        if (term.length() <= MAX_GRAM) {
+            return postings.getOrDefault(term, Set.of());
+        }
+        // intersect the term's trigrams, rarest first
+        List<Set<String>> lists = new ArrayList<>();
+        for (int i = 0; i + MAX_GRAM <= term.length(); i++) {
+            Set<String> ids = postings.get(term.substring(i, i + MAX_GRAM));
+            if (ids == null) return Set.of();
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<String> out = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !out.isEmpty(); i++) out.retainAll(lists.get(i));
+        return out;
+    }
+
+    private static int score(Doc d, String term) {
+        if (d.name.equals(term)) return 100;
+        if (d.name.startsWith(term)) return 60;
+        if (d.name.contains(" " + term)) return 40;
+        if (d.name.contains(term)) return 20;
+        // every species score stays below every name score
+        if (d.species.startsWith(term)) return 15;
+        if (d.species.contains(" " + term)) return 8;
+        if (d.species.contains(term)) return 5;
+        return 0;
+    }
+
+    // ---------- helpers ----------
+
+    /** Lowercase, strip accents, collapse whitespace. */
+    public static String normalize(String s) {
+        if (s == null) return "";
+        String n = Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return n.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    private static void addGrams(String text, Set<String> out) {
+        for (int i = 0; i < text.length(); i++) {
+            for (int len = 1; len <= MAX_GRAM && i + len <= text.length(); len++) {
+                out.add(text.substring(i, i + len));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.plantagonist.core.services;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Weather read from WeatherAPI-shaped JSON files, for offline demos and tests:
+ * {@code <dir>/<place>.current.json} and {@code <dir>/<place>.forecast.json}, where
+ * {@code <place>} is the query lower-cased with anything but letters and digits as '_'
+ * (so "auto:ip" is {@code auto_ip}); {@code default.*.json} answers for places without a file.
+ * Forecast dates may be written as "+N" for N days from today, so a file stays current.
+ *
+ * The directory is {@code plantagonist.weatherDir} (env {@code PLANTAGONIST_WEATHER_DIR}),
+ * default {@code ~/.plantagonist/data/weather}.
+ */
+public class FileWeatherProvider implements WeatherProvider {
+
+    private final Path dir;
+
+    public FileWeatherProvider() {
+        this(configuredDir());
+    }
+
+    public FileWeatherProvider(Path dir) {
+        this.dir = dir;
+    }
+
+    static Path configuredDir() {
+        String v = System.getProperty("plantagonist.weatherDir");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_WEATHER_DIR");
+        return v == null || v.isBlank() ? PathsConfig.dataDir().resolve("weather") : Path.of(v.trim());
+    }
+
+    @Override
+    public String name() { return "weather files in " + dir; }
+
+    @Override
+    public WeatherService.WeatherNow now(String q) throws IOException {
+        return WeatherApiProvider.parseCurrent(read(q, "current"));
+    }
+
+    @Override
+    public WeatherService.Forecast forecast(String q, int days) throws IOException {
+        JsonObject root = read(q, "forecast");
+        LocalDate today = LocalDate.now();
+        for (JsonElement e : root.getAsJsonObject("forecast").getAsJsonArray("forecastday")) {
+            JsonObject fd = e.getAsJsonObject();
+            String date = fd.get("date").getAsString();
+            if (date.startsWith("+")) fd.addProperty("date", today.plusDays(Integer.parseInt(date.substring(1))).toString());
+        }
+        WeatherService.Forecast f = WeatherApiProvider.parseForecast(root);
+        if (f.days.size() > days) f.days = new ArrayList<>(f.days.subList(0, days));
+        return f;
+    }
+
+    static String slug(String q) {
+        return q.trim().toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "_");
+    }
+
+    private JsonObject read(String q, String kind) throws IOException {
+        Path file = dir.resolve(slug(q) + "." + kind + ".json");
+        if (!Files.exists(file)) file = dir.resolve("default." + kind + ".json");
+        if (!Files.exists(file)) throw new IllegalArgumentException("No " + kind + " weather file for '" + q + "' in " + dir);
+        try {
+            return JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Malformed weather file " + file, e);
+        }
+    }
+}
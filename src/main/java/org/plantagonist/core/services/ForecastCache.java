@@ -0,0 +1,66 @@
+package org.plantagonist.core.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Multi-day forecasts per location, fetched at most once per refresh window
+ * ({@code plantagonist.forecastTtlMinutes}, default 180) however many plants, users or threads
+ * ask for the same place: the first caller fetches, concurrent callers wait for its result.
+ * A failed fetch is remembered as "no forecast", and a stale one (the provider's last known
+ * good) as is, for only a minute, so an outage doesn't turn every caller into a request.
+ *
+ * Locations are keyed as given to WeatherAPI; city names ignore case and coordinates are
+ * rounded to ~1 km ({@link #at(double, double)}) so neighbours share one forecast.
+ */
+public final class ForecastCache {
+
+    public static final String AUTO = "auto:ip";
+    public static final int DAYS = 7;
+    static final long DEFAULT_TTL_MINUTES = 180;
+
+    private static volatile ForecastCache shared;
+
+    private final LocationCache<WeatherService.Forecast> cache;
+
+    public ForecastCache(WeatherService service) {
+        this(q -> service.getForecast(q, DAYS), Duration.ofMinutes(ttlMinutes()), Clock.systemUTC());
+    }
+
+    public ForecastCache(Function<String, WeatherService.Forecast> fetch, Duration ttl, Clock clock) {
+        this.cache = new LocationCache<>("Forecast", fetch, f -> f.stale, ttl, clock);
+    }
+
+    /** The app's cache, shared by every screen and service. */
+    public static ForecastCache shared() {
+        ForecastCache c = shared;
+        if (c == null) {
+            synchronized (ForecastCache.class) {
+                if (shared == null) shared = new ForecastCache(new WeatherService());
+                c = shared;
+            }
+        }
+        return c;
+    }
+
+    /** Forecast for {@code location}, or null when none is available right now. */
+    public WeatherService.Forecast get(String location) {
+        return cache.get(location);
+    }
+
+    public WeatherService.Forecast at(double lat, double lon) {
+        return get(String.format(Locale.ROOT, "%.2f,%.2f", lat, lon));
+    }
+
+    /** Requests made to the weather API. */
+    public long fetches() { return cache.fetches(); }
+
+    /** Lookups answered from the cache (or from a fetch already in flight). */
+    public long hits() { return cache.hits(); }
+
+    static long ttlMinutes() {
+        return LocationCache.minutes("forecastTtlMinutes", "FORECAST_TTL_MINUTES", DEFAULT_TTL_MINUTES);
+    }
+}
@@ -0,0 +1,123 @@
+package org.plantagonist.core.services;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * City name to coordinates, asked of the geocoder once per city: places found are kept in
+ * {@code geocode.json} for good (cities don't move), places not found for the session, failed
+ * lookups for a minute. Without {@code OPENCAGE_API_KEY} nothing is looked up and every city
+ * comes back null.
+ */
+public final class GeoCache {
+
+    private static volatile GeoCache shared;
+
+    private final Function<String, GeoService.LatLng> geocoder;
+    private final Path file; // null: memory only
+    private final Map<String, GeoService.LatLng> saved = new ConcurrentHashMap<>();
+    private final LocationCache<GeoService.LatLng> cache;
+    private final LongAdder lookups = new LongAdder();
+
+    public GeoCache(Function<String, GeoService.LatLng> geocoder, Path file) {
+        this.geocoder = geocoder;
+        this.file = file;
+        if (file != null) load();
+        this.cache = new LocationCache<>("Geocode", this::lookup, ll -> false,
+                Duration.ofDays(365), Clock.systemUTC());
+    }
+
+    public static GeoCache shared() {
+        GeoCache g = shared;
+        if (g == null) {
+            synchronized (GeoCache.class) {
+                if (shared == null) {
+                    String key = System.getenv("OPENCAGE_API_KEY");
+                    Function<String, GeoService.LatLng> geocoder;
+                    if (key == null || key.isBlank()) {
+                        System.out.println("[Geocode] no OPENCAGE_API_KEY: weather is looked up by city name");
+                        geocoder = city -> null;
+                    } else {
+                        geocoder = new GeoService()::geocodeCity;
+                    }
+                    shared = new GeoCache(geocoder, PathsConfig.dataDir().resolve("geocode.json"));
+                }
+                g = shared;
+            }
+        }
+        return g;
+    }
+
+    /** Coordinates of {@code city}, or null when unknown or the geocoder is unavailable. */
+    public GeoService.LatLng locate(String city) {
+        return cache.get(city);
+    }
+
+    /** Requests made to the geocoder. */
+    public long lookups() { return lookups.sum(); }
+
+    private GeoService.LatLng lookup(String city) {
+        String key = city.toLowerCase(Locale.ROOT);
+        GeoService.LatLng ll = saved.get(key);
+        if (ll != null) return ll;
+        lookups.increment();
+        ll = geocoder.apply(city);
+        if (ll != null && file != null) {
+            saved.put(key, ll);
+            save();
+        }
+        return ll;
+    }
+
+    // ---------- file ----------
+
+    private void load() {
+        if (!Files.exists(file)) return;
+        try {
+            JsonElement root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8));
+            for (Map.Entry<String, JsonElement> e : root.getAsJsonObject().entrySet()) {
+                JsonObject j = e.getValue().getAsJsonObject();
+                GeoService.LatLng ll = new GeoService.LatLng();
+                ll.lat = j.get("lat").getAsDouble();
+                ll.lng = j.get("lng").getAsDouble();
+                saved.put(e.getKey(), ll);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[Geocode] ignoring unreadable " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    /** tmp + atomic move; a failed write only costs a lookup next run, so it's logged, not thrown. */
+    private synchronized void save() {
+        JsonObject all = new JsonObject();
+        saved.forEach((city, ll) -> {
+            JsonObject j = new JsonObject();
+            j.addProperty("lat", ll.lat);
+            j.addProperty("lng", ll.lng);
+            all.add(city, j);
+        });
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(tmp, all.toString(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[Geocode] could not save " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.plantagonist.core.services;
+
+import org.plantagonist.core.storage.PathsConfig;
+import org.plantagonist.util.CircuitBreaker;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Puts a {@link CircuitBreaker} in front of a provider and answers from
+ * {@link LastKnownWeather} when the call fails or the circuit is open, so an outage costs a
+ * few timed-out requests instead of one per sync. Without a last good reading the caller gets
+ * an IOException straight away.
+ */
+final class GuardedWeatherProvider implements WeatherProvider {
+
+    static final int FAILURES_TO_OPEN = 3;
+    static final Duration FIRST_OPEN = Duration.ofSeconds(30);
+    static final Duration MAX_OPEN = Duration.ofMinutes(10);
+    static final Duration LAST_GOOD_MAX_AGE = Duration.ofHours(24);
+
+    private static volatile GuardedWeatherProvider shared;
+
+    private interface Call<T> {
+        T call() throws IOException;
+    }
+
+    private final WeatherProvider inner;
+    private final CircuitBreaker breaker;
+    private final LastKnownWeather lastGood;
+
+    GuardedWeatherProvider(WeatherProvider inner, CircuitBreaker breaker, LastKnownWeather lastGood) {
+        this.inner = inner;
+        this.breaker = breaker;
+        this.lastGood = lastGood;
+    }
+
+    static GuardedWeatherProvider shared() {
+        GuardedWeatherProvider g = shared;
+        if (g == null) {
+            synchronized (GuardedWeatherProvider.class) {
+                if (shared == null) {
+                    shared = new GuardedWeatherProvider(fromConfig(),
+                            new CircuitBreaker(FAILURES_TO_OPEN, FIRST_OPEN, MAX_OPEN),
+                            new LastKnownWeather(PathsConfig.dataDir().resolve("weather_last_good.json"), LAST_GOOD_MAX_AGE));
+                }
+                g = shared;
+            }
+        }
+        return g;
+    }
+
+    /** {@code plantagonist.weatherProvider} (env {@code PLANTAGONIST_WEATHER_PROVIDER}): "weatherapi" or "file". */
+    static WeatherProvider fromConfig() {
+        String v = System.getProperty("plantagonist.weatherProvider");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_WEATHER_PROVIDER");
+        if (v != null && v.trim().equalsIgnoreCase("file")) return new FileWeatherProvider();
+        if (v != null && !v.isBlank() && !v.trim().equalsIgnoreCase("weatherapi")) {
+            System.err.println("[Weather] unknown provider '" + v + "', using WeatherAPI");
+        }
+        return new WeatherApiProvider();
+    }
+
+    CircuitBreaker breaker() { return breaker; }
+
+    @Override
+    public String name() { return inner.name(); }
+
+    @Override
+    public WeatherService.WeatherNow now(String q) throws IOException {
+        return guarded(() -> inner.now(q), () -> lastGood.now(q), w -> lastGood.putNow(q, w));
+    }
+
+    @Override
+    public WeatherService.Forecast forecast(String q, int days) throws IOException {
+        return guarded(() -> inner.forecast(q, days), () -> lastGood.forecast(q), f -> lastGood.putForecast(q, f));
+    }
+
+    private <T> T guarded(Call<T> call, Supplier<T> fallback, Consumer<T> remember) throws IOException {
+        if (!breaker.allow()) {
+            T last = fallback.get();
+            if (last != null) return last;
+            throw new IOException(inner.name() + " unavailable, retrying in " + breaker.retryIn().toSeconds() + " s");
+        }
+        T value;
+        try {
+            value = call.call();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            breaker.onSuccess(); // the provider answered; the request was wrong
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            if (breaker.onFailure()) {
+                System.err.println("[Weather] " + inner.name() + " failing (" + e.getMessage() + "), pausing requests for "
+                        + breaker.retryIn().toSeconds() + " s");
+            }
+            T last = fallback.get();
+            if (last != null) return last;
+            throw e instanceof IOException io ? io : new IOException(e);
+        }
+        breaker.onSuccess();
+        remember.accept(value);
+        return value;
+    }
+}
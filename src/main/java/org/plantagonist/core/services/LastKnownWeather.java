@@ -0,0 +1,172 @@
+package org.plantagonist.core.services;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * The last good reading and forecast per location, kept in one JSON file so they survive
+ * restarts, for use while the provider is unavailable. Readings older than {@code maxAge}
+ * are not handed out. Copies come back marked {@code stale}.
+ */
+final class LastKnownWeather {
+
+    private final Path file;
+    private final Duration maxAge;
+    private JsonObject byLocation; // loaded on first use; guarded by this
+
+    LastKnownWeather(Path file, Duration maxAge) {
+        this.file = file;
+        this.maxAge = maxAge;
+    }
+
+    /** Null when there is none, it's too old or it can't be read. */
+    synchronized WeatherService.WeatherNow now(String q) {
+        try {
+            JsonObject e = fresh(q, "now");
+            return e == null ? null : nowFrom(e);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    synchronized WeatherService.Forecast forecast(String q) {
+        try {
+            JsonObject e = fresh(q, "forecast");
+            return e == null ? null : forecastFrom(e);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    synchronized void putNow(String q, WeatherService.WeatherNow w) {
+        JsonObject j = new JsonObject();
+        j.addProperty("tempC", w.tempC);
+        j.addProperty("precipMm", w.precipMm);
+        j.addProperty("description", w.description);
+        j.addProperty("lat", w.lat);
+        j.addProperty("lon", w.lon);
+        j.addProperty("locationName", w.locationName);
+        put(q, "now", j);
+    }
+
+    synchronized void putForecast(String q, WeatherService.Forecast f) {
+        JsonObject j = new JsonObject();
+        j.addProperty("locationName", f.locationName);
+        j.addProperty("lat", f.lat);
+        j.addProperty("lon", f.lon);
+        JsonArray days = new JsonArray();
+        for (WeatherService.Day d : f.days) {
+            JsonObject dj = new JsonObject();
+            dj.addProperty("date", d.date.toString());
+            dj.addProperty("maxTempC", d.maxTempC);
+            dj.addProperty("avgTempC", d.avgTempC);
+            dj.addProperty("precipMm", d.precipMm);
+            dj.addProperty("chanceOfRain", d.chanceOfRain);
+            days.add(dj);
+        }
+        j.add("days", days);
+        put(q, "forecast", j);
+    }
+
+    // ---------- file ----------
+
+    private JsonObject fresh(String q, String kind) {
+        JsonObject loc = locations().getAsJsonObject(key(q));
+        if (loc == null || !loc.has(kind)) return null;
+        JsonObject e = loc.getAsJsonObject(kind);
+        long at = e.get("at").getAsLong();
+        return System.currentTimeMillis() - at > maxAge.toMillis() ? null : e;
+    }
+
+    private void put(String q, String kind, JsonObject value) {
+        value.addProperty("at", System.currentTimeMillis());
+        JsonObject all = locations();
+        JsonObject loc = all.getAsJsonObject(key(q));
+        if (loc == null) all.add(key(q), loc = new JsonObject());
+        loc.add(kind, value);
+        write(all);
+    }
+
+    private JsonObject locations() {
+        if (byLocation != null) return byLocation;
+        byLocation = new JsonObject();
+        if (Files.exists(file)) {
+            try {
+                JsonElement e = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8));
+                if (e.isJsonObject()) byLocation = e.getAsJsonObject();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[Weather] ignoring unreadable " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+        return byLocation;
+    }
+
+    /** tmp + atomic move; a failed write only costs the fallback, so it's logged, not thrown. */
+    private void write(JsonObject all) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(tmp, all.toString(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[Weather] could not save last known weather: " + e.getMessage());
+        }
+    }
+
+    private static String key(String q) { return q.trim().toLowerCase(Locale.ROOT); }
+
+    private static WeatherService.WeatherNow nowFrom(JsonObject j) {
+        WeatherService.WeatherNow w = new WeatherService.WeatherNow();
+        w.tempC = j.get("tempC").getAsDouble();
+        w.precipMm = j.get("precipMm").getAsDouble();
+        w.description = string(j, "description");
+        w.lat = number(j, "lat");
+        w.lon = number(j, "lon");
+        w.locationName = string(j, "locationName");
+        w.lastUpdated = Instant.ofEpochMilli(j.get("at").getAsLong()).toString();
+        w.stale = true;
+        return w;
+    }
+
+    private static WeatherService.Forecast forecastFrom(JsonObject j) {
+        WeatherService.Forecast f = new WeatherService.Forecast();
+        f.locationName = string(j, "locationName");
+        f.lat = number(j, "lat");
+        f.lon = number(j, "lon");
+        f.fetchedAt = Instant.ofEpochMilli(j.get("at").getAsLong());
+        for (JsonElement e : j.getAsJsonArray("days")) {
+            JsonObject dj = e.getAsJsonObject();
+            WeatherService.Day d = new WeatherService.Day();
+            d.date = LocalDate.parse(dj.get("date").getAsString());
+            d.maxTempC = dj.get("maxTempC").getAsDouble();
+            d.avgTempC = dj.get("avgTempC").getAsDouble();
+            d.precipMm = dj.get("precipMm").getAsDouble();
+            d.chanceOfRain = dj.get("chanceOfRain").getAsInt();
+            f.days.add(d);
+        }
+        f.stale = true;
+        return f;
+    }
+
+    private static Double number(JsonObject j, String field) {
+        JsonElement e = j.get(field);
+        return e == null || e.isJsonNull() ? null : e.getAsDouble();
+    }
+
+    private static String string(JsonObject j, String field) {
+        JsonElement e = j.get(field);
+        return e == null || e.isJsonNull() ? null : e.getAsString();
+    }
+}
@@ -0,0 +1,81 @@
+package org.plantagonist.core.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Weather per location, fetched at most once per {@code ttl}: the first caller fetches,
+ * concurrent callers for the same location wait for its result. Failures are kept as null,
+ * and values {@code stale} says are stand-ins (last known good), for only {@link #FAILURE_TTL}.
+ * Keys ignore case and surrounding blanks.
+ */
+final class LocationCache<V> {
+
+    static final Duration FAILURE_TTL = Duration.ofMinutes(1);
+
+    private record Entry<V>(CompletableFuture<V> value, long expiresAt) {}
+
+    private final String tag;
+    private final Function<String, V> fetch;
+    private final Predicate<V> stale;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Entry<V>> byLocation = new ConcurrentHashMap<>();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    LocationCache(String tag, Function<String, V> fetch, Predicate<V> stale, Duration ttl, Clock clock) {
+        this.tag = tag;
+        this.fetch = fetch;
+        this.stale = stale;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    V get(String location) {
+        if (location == null || location.isBlank()) return null;
+        String key = location.trim().toLowerCase(Locale.ROOT);
+        long now = clock.millis();
+        Entry<V> mine = new Entry<>(new CompletableFuture<>(), now + ttl.toMillis());
+        Entry<V> e = byLocation.compute(key, (k, old) -> old != null && old.expiresAt() > now ? old : mine);
+        if (e != mine) {
+            hits.increment();
+            return e.value().join(); // cached, or someone else is fetching it
+        }
+        fetches.increment();
+        try {
+            V v = fetch.apply(location.trim());
+            // a last-known-good stand-in: look again soon rather than a whole window later
+            if (v != null && stale.test(v)) byLocation.replace(key, mine, new Entry<>(mine.value(), now + FAILURE_TTL.toMillis()));
+            mine.value().complete(v);
+        } catch (RuntimeException ex) {
+            System.err.println("[" + tag + "] " + location + " unavailable: " + ex.getMessage());
+            byLocation.replace(key, mine, new Entry<>(mine.value(), now + FAILURE_TTL.toMillis()));
+            mine.value().complete(null);
+        }
+        return mine.value().join();
+    }
+
+    long fetches() { return fetches.sum(); }
+
+    long hits() { return hits.sum(); }
+
+    /** {@code plantagonist.<prop>} (env {@code PLANTAGONIST_<ENV>}) in minutes, at least 1. */
+    static long minutes(String prop, String env, long fallback) {
+        String v = System.getProperty("plantagonist." + prop);
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_" + env);
+        if (v == null || v.isBlank()) return fallback;
+        try {
+            return Math.max(1, Long.parseLong(v.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("[Weather] bad " + prop + " '" + v + "', using " + fallback + " minutes");
+            return fallback;
+        }
+    }
+}
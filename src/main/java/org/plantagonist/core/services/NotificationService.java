@@ -1,4 +1,294 @@
 package org.plantagonist.core.services;
 
-public class NotificationService {
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.schedule.DueAgenda;
+import org.plantagonist.util.MpscQueue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process publish/subscribe bus for things worth telling the user: tasks coming due,
+ * supplies running low, weather worth acting on. Any thread may {@link #publish}; events go
+ * into a bounded lock-free queue that one dispatcher thread drains once per window. Events
+ * with the same {@link Event#key()} inside a window are coalesced into the latest one, and
+ * each subscriber gets the window's events as one {@link Digest}.
+ *
+ * When the queue is full {@link #publish} returns false rather than blocking (a slow
+ * subscriber holds up the dispatcher, which fills the queue); past half full the dispatcher
+ * is woken early. {@link #stats()} counts what was published, rejected and coalesced and how
+ * long events took from publish to delivery.
+ */
+public class NotificationService implements DueAgenda.Subscriber {
+
+    public sealed interface Event permits TaskDue, Reminder, SupplyLow, WeatherAlert {
+        String userId();
+
+        /** Events with the same key in one window are delivered once, as the latest of them. */
+        String key();
+
+        String message();
+    }
+
+    public record TaskDue(String userId, String taskId, String plantName, TaskType type, LocalDate due,
+                          TaskStatus status) implements Event {
+        @Override
+        public String key() { return "task:" + taskId; }
+
+        @Override
+        public String message() {
+            String what = (type == null ? "Care" : type.display()) + " " + (plantName == null || plantName.isBlank() ? "a plant" : plantName);
+            return switch (status) {
+                case TODAY -> "⭐ " + what + " is due today";
+                case DUE -> "⚠️ " + what + " is overdue (was due " + due + ")";
+                case MISSED -> "❌ " + what + " was missed";
+                default -> what + ": " + status.display();
+            };
+        }
+    }
+
+    /** From the persistent reminder schedule; {@code late} when it came due while the app was closed. */
+    public record Reminder(String userId, String taskId, String plantName, TaskType type, LocalDate due,
+                           boolean late) implements Event {
+        @Override
+        public String key() { return "reminder:" + taskId; }
+
+        @Override
+        public String message() {
+            String what = (type == null ? "Care" : type.display()) + " " + (plantName == null || plantName.isBlank() ? "a plant" : plantName);
+            return late ? "⏰ Reminder you missed: " + what + " (due " + due + ")" : "⏰ Reminder: " + what + " today";
+        }
+    }
+
+    public record SupplyLow(String userId, String supplyId, String name, int quantity, int refillBelow) implements Event {
+        @Override
+        public String key() { return "supply:" + (supplyId != null ? supplyId : name); }
+
+        @Override
+        public String message() { return "📦 Low on " + name + ": " + quantity + " left (refill below " + refillBelow + ")"; }
+    }
+
+    /** {@code kind} names the condition ("rain", "heat") so alerts for different ones don't coalesce. */
+    public record WeatherAlert(String userId, String location, String kind, String detail) implements Event {
+        @Override
+        public String key() { return "weather:" + location + ":" + kind; }
+
+        @Override
+        public String message() { return "🌦 " + detail; }
+    }
+
+    /** One window's events, each key's latest with how many were folded into it. */
+    public record Digest(List<Item> items, Instant at) {
+        public record Item(Event event, int count) {
+            public String message() { return count > 1 ? event.message() + " (×" + count + ")" : event.message(); }
+        }
+
+        public List<Item> forUser(String userId) {
+            List<Item> out = new ArrayList<>();
+            for (Item i : items) if (userId != null && userId.equals(i.event().userId())) out.add(i);
+            return out;
+        }
+    }
+
+    public interface Subscriber {
+        /** Called on the dispatcher thread; hop to the FX thread before touching the UI. */
+        void onDigest(Digest d);
+    }
+
+    public record Stats(long published, long rejected, long coalesced, long digests, long delivered,
+                        double avgLatencyMs, double p99LatencyMs, double maxLatencyMs, int queued) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d published, %d rejected, %d coalesced, %d delivered in %d digests; latency avg %.1f ms, p99 <%.1f ms, max %.1f ms; %d queued",
+                    published, rejected, coalesced, delivered, digests, avgLatencyMs, p99LatencyMs, maxLatencyMs, queued);
+        }
+    }
+
+    static final long DEFAULT_WINDOW_MS = 1_000;
+    static final int DEFAULT_CAPACITY = 4_096;
+    static final int RECENT = 50;
+
+    private static volatile NotificationService shared;
+
+    private record Queued(Event event, long at) {}
+
+    private static final class Pending {
+        Event event;
+        int count = 1;
+
+        Pending(Event event) { this.event = event; }
+    }
+
+    private final MpscQueue<Queued> queue;
+    private final long windowNanos;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    // written by the dispatcher, read by stats(); guarded by this
+    private long coalesced, digests, delivered, latencyCount, latencyNanos, maxLatencyNanos;
+    private final long[] latencyBuckets = new long[40]; // bucket i: below 2^i microseconds
+    private final ArrayDeque<Digest.Item> recent = new ArrayDeque<>(RECENT); // guarded by this
+
+    public NotificationService() { this(DEFAULT_WINDOW_MS, DEFAULT_CAPACITY); }
+
+    public NotificationService(long windowMs, int capacity) {
+        this.queue = new MpscQueue<>(capacity);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.dispatcher = new Thread(this::run, "notify-dispatch");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /** The app's bus, started on first use. */
+    public static NotificationService get() {
+        NotificationService s = shared;
+        if (s == null) {
+            synchronized (NotificationService.class) {
+                if (shared == null) shared = new NotificationService();
+                s = shared;
+            }
+        }
+        return s;
+    }
+
+    /** The app's bus stats, or null if nothing used it. */
+    public static Stats sharedStats() {
+        NotificationService s = shared;
+        return s == null ? null : s.stats();
+    }
+
+    public void subscribe(Subscriber s) { subscribers.add(s); }
+
+    public void unsubscribe(Subscriber s) { subscribers.remove(s); }
+
+    /** On logout, so screens of the previous session stop receiving. */
+    public void unsubscribeAll() { subscribers.clear(); }
+
+    /** False when the queue is full or the bus closed; the event is then dropped. */
+    public boolean publish(Event e) {
+        if (closed || !queue.offer(new Queued(e, System.nanoTime()))) {
+            rejected.increment();
+            return false;
+        }
+        published.increment();
+        if (queue.size() >= queue.capacity() / 2) LockSupport.unpark(dispatcher);
+        return true;
+    }
+
+    @Override
+    public void onTransition(DueAgenda.Transition t) {
+        if (t.to().isDueish() || t.to() == TaskStatus.MISSED) {
+            publish(new TaskDue(t.userId(), t.taskId(), t.plantName(), t.type(), t.due(), t.to()));
+        }
+    }
+
+    /** Delivers what is queued and stops the dispatcher. */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join(TimeUnit.NANOSECONDS.toMillis(windowNanos) + 1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The user's last delivered items, newest first, so a screen opened after a digest went
+     * out (e.g. reminders caught up at startup) can still show it.
+     */
+    public synchronized List<Digest.Item> recent(String userId) {
+        List<Digest.Item> out = new ArrayList<>();
+        for (Iterator<Digest.Item> it = recent.descendingIterator(); it.hasNext(); ) {
+            Digest.Item i = it.next();
+            if (userId != null && userId.equals(i.event().userId())) out.add(i);
+        }
+        return out;
+    }
+
+    public synchronized Stats stats() {
+        double avg = latencyCount == 0 ? 0 : latencyNanos / 1e6 / latencyCount;
+        return new Stats(published.sum(), rejected.sum(), coalesced, digests, delivered,
+                avg, percentileMs(0.99), maxLatencyNanos / 1e6, queue.size());
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>();
+        while (true) {
+            boolean last = closed;
+            if (!last) LockSupport.parkNanos(this, windowNanos);
+            batch.clear();
+            queue.drainTo(batch, Integer.MAX_VALUE);
+            if (!batch.isEmpty()) deliver(batch);
+            if (last) return;
+        }
+    }
+
+    private void deliver(List<Queued> batch) {
+        Map<String, Pending> byKey = new LinkedHashMap<>();
+        for (Queued q : batch) {
+            Pending p = byKey.get(q.event().key());
+            if (p == null) {
+                byKey.put(q.event().key(), new Pending(q.event()));
+            } else {
+                p.event = q.event();
+                p.count++;
+            }
+        }
+        List<Digest.Item> items = new ArrayList<>(byKey.size());
+        for (Pending p : byKey.values()) items.add(new Digest.Item(p.event, p.count));
+        Digest d = new Digest(List.copyOf(items), Instant.now());
+        for (Subscriber s : subscribers) {
+            try {
+                s.onDigest(d);
+            } catch (RuntimeException e) {
+                System.err.println("[Notify] subscriber failed: " + e);
+            }
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            coalesced += batch.size() - items.size();
+            delivered += items.size();
+            digests++;
+            for (Digest.Item i : items) {
+                if (recent.size() == RECENT) recent.removeFirst();
+                recent.addLast(i);
+            }
+            for (Queued q : batch) {
+                long l = now - q.at();
+                latencyCount++;
+                latencyNanos += l;
+                maxLatencyNanos = Math.max(maxLatencyNanos, l);
+                long micros = Math.max(1, l / 1_000);
+                latencyBuckets[Math.min(latencyBuckets.length - 1, 64 - Long.numberOfLeadingZeros(micros))]++;
+            }
+        }
+    }
+
+    // upper bound of the bucket holding the p-th latency; callers hold the lock
+    private double percentileMs(double p) {
+        if (latencyCount == 0) return 0;
+        long want = (long) Math.ceil(latencyCount * p), seen = 0;
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            seen += latencyBuckets[i];
+            if (seen >= want) return Math.min((1L << i) / 1_000.0, maxLatencyNanos / 1e6);
+        }
+        return maxLatencyNanos / 1e6;
+    }
 }
@@ -1,4 +1,140 @@
 package org.plantagonist.core.services;
 
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.repositories.TaskStore;
+import org.plantagonist.core.schedule.DueAgenda;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Background sweep that marks tasks MISSED once they are more than
+ * {@link DueAgenda#missedGraceDays()} days overdue, for every user, so forgotten tasks don't
+ * stay DUE forever. The agenda does the same for the logged-in user at the right instant;
+ * the sweep covers everyone else and whatever happened while no app was running.
+ *
+ * Each batch is one bulk update (see {@link TaskStore#markMissed}); a sweep repeats
+ * batches until none are left. Runs every {@code plantagonist.sweepMinutes} minutes
+ * (env {@code PLANTAGONIST_SWEEP_MINUTES}, default 60, 0 turns it off).
+ */
 public class SchedulerService {
+
+    /** One sweep, or the running totals of all of them. */
+    public record SweepStats(long sweeps, long tasks, long batches, long millis, long maxMillis) {
+        public double tasksPerSecond() { return millis == 0 ? 0 : tasks * 1000.0 / millis; }
+
+        @Override
+        public String toString() {
+            return String.format("%d sweeps, %d tasks marked missed in %d batches, %d ms (max %d ms), %.0f tasks/s",
+                    sweeps, tasks, batches, millis, maxMillis, tasksPerSecond());
+        }
+    }
+
+    static final int BATCH_SIZE = 500;
+    static final long DEFAULT_INTERVAL_MINUTES = 60;
+    private static final Duration FIRST_DELAY = Duration.ofMinutes(1); // stay out of login and warm-up
+
+    private static SchedulerService running; // guarded by SchedulerService.class
+    private static ScheduledExecutorService executor;
+
+    private final Supplier<TaskStore> tasks; // resolved on the sweep thread, not at startup
+    private final Clock clock;
+    private final int graceDays;
+    private final int batchSize;
+    private long sweeps, swept, batches, millis, maxMillis; // guarded by this
+
+    public SchedulerService() {
+        this(Repositories::tasks, Clock.systemDefaultZone(), DueAgenda.missedGraceDays(), BATCH_SIZE);
+    }
+
+    public SchedulerService(TaskStore tasks, Clock clock, int graceDays, int batchSize) {
+        this(() -> tasks, clock, graceDays, batchSize);
+    }
+
+    private SchedulerService(Supplier<TaskStore> tasks, Clock clock, int graceDays, int batchSize) {
+        this.tasks = tasks;
+        this.clock = clock;
+        this.graceDays = graceDays;
+        this.batchSize = batchSize;
+    }
+
+    /** Starts the periodic sweep unless it's off or already running. */
+    public static synchronized void startSweeps() {
+        if (running != null) return;
+        long minutes = intervalMinutes();
+        if (minutes <= 0) return;
+        SchedulerService s = new SchedulerService();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "missed-sweep");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                s.sweep();
+            } catch (Exception e) {
+                System.err.println("[Sweep] failed: " + e.getMessage()); // try again next time
+            }
+        }, FIRST_DELAY.toMinutes(), minutes, TimeUnit.MINUTES);
+        running = s;
+    }
+
+    public static synchronized void stopSweeps() {
+        if (executor != null) executor.shutdownNow();
+        executor = null;
+        running = null;
+    }
+
+    /** Totals of the running sweep, or null when none was started. */
+    public static synchronized SweepStats stats() {
+        return running == null ? null : running.totals();
+    }
+
+    /** Marks everything past the grace period MISSED, one bulk update per batch. */
+    public SweepStats sweep() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(graceDays);
+        TaskStore store = tasks.get();
+        long start = System.nanoTime();
+        long n = 0, b = 0;
+        while (true) {
+            List<String> ids = store.findOverdueIds(cutoff, batchSize);
+            if (ids.isEmpty()) break;
+            n += store.markMissed(ids, cutoff).size();
+            b++;
+            if (ids.size() < batchSize) break;
+        }
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        synchronized (this) {
+            sweeps++;
+            swept += n;
+            batches += b;
+            millis += ms;
+            maxMillis = Math.max(maxMillis, ms);
+        }
+        SweepStats one = new SweepStats(1, n, b, ms, ms);
+        if (n > 0) System.out.println("[Sweep] " + one);
+        return one;
+    }
+
+    public synchronized SweepStats totals() {
+        return new SweepStats(sweeps, swept, batches, millis, maxMillis);
+    }
+
+    static long intervalMinutes() {
+        String v = System.getProperty("plantagonist.sweepMinutes");
+        if (v == null || v.isBlank()) v = System.getenv("PLANTAGONIST_SWEEP_MINUTES");
+        if (v == null || v.isBlank()) return DEFAULT_INTERVAL_MINUTES;
+        try {
+            return Long.parseLong(v.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("[Sweep] bad interval '" + v + "', using " + DEFAULT_INTERVAL_MINUTES + " minutes");
+            return DEFAULT_INTERVAL_MINUTES;
+        }
+    }
 }
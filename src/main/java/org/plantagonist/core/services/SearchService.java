@@ -0,0 +1,184 @@
+package org.plantagonist.core.services;
+
+import org.plantagonist.core.models.CareLogEntry;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.JournalEntry;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.repositories.ChangeSet;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.search.FullTextIndex;
+import org.plantagonist.core.search.FullTextIndex.Kind;
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Global search over plants, journal entries, care logs and task notes for one user.
+ *
+ * The index lives in memory and is persisted as a segment under {@code dataDir()/search}.
+ * The segment is stamped with the time the repositories were last read into it; opening loads
+ * it and applies whatever {@code changedSince} reports after that stamp (writes from another
+ * device, a sync, or a save made while the index was closed). Without a segment, or when the
+ * stamp is older than the tombstones reach, that is a full rebuild.
+ *
+ * Callers push inserts/replacements through the index* methods, and writes to disk are
+ * coalesced into one flush a couple of seconds after the last change. UI save hooks go through
+ * {@link #ifOpen} so they never build an index on the FX thread; a change they skip is picked
+ * up by the next open.
+ */
+public class SearchService {
+
+    private static final Map<String, SearchService> OPEN = new ConcurrentHashMap<>();
+    private static final long FLUSH_DELAY_MS = 2000;
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "search-flush");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String userId;
+    private final Path segment;
+    private final FullTextIndex index;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private SearchService(String userId, Path segment, FullTextIndex index) {
+        this.userId = userId;
+        this.segment = segment;
+        this.index = index;
+    }
+
+    /** Opens (or returns the already open) index for a user; the first call reads the DB, so keep it off the FX thread. */
+    public static SearchService forUser(String userId) {
+        return OPEN.computeIfAbsent(userId, SearchService::open);
+    }
+
+    /** The user's index only if something already opened it (for cheap write hooks). */
+    public static Optional<SearchService> ifOpen(String userId) {
+        return Optional.ofNullable(userId == null ? null : OPEN.get(userId));
+    }
+
+    private static SearchService open(String userId) {
+        Path file = PathsConfig.searchDir().resolve(userId + ".idx.json");
+        FullTextIndex loaded = FullTextIndex.load(file);
+        SearchService s = new SearchService(userId, file, loaded != null ? loaded : new FullTextIndex());
+        s.reconcile();
+        return s;
+    }
+
+    // ---------- queries ----------
+
+    public List<FullTextIndex.Result> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    // ---------- updates ----------
+
+    public void indexPlant(Plant p) {
+        if (p == null) return;
+        index.upsert(Kind.PLANT, p.getId(), nz(p.getName(), "Plant"), nz(p.getName(), "") + " " + nz(p.getSpecies(), ""));
+        scheduleFlush();
+    }
+
+    public void removePlant(String plantId) {
+        index.remove(Kind.PLANT, plantId);
+        scheduleFlush();
+    }
+
+    public void indexJournal(JournalEntry e) {
+        if (e == null) return;
+        String title = "Journal" + (e.getPlantName() != null ? " · " + e.getPlantName() : "")
+                + (e.getEntryDate() != null ? " · " + e.getFormattedDate() : "");
+        index.upsert(Kind.JOURNAL, e.getId(), title, nz(e.getContent(), "") + " " + nz(e.getPlantName(), ""));
+        scheduleFlush();
+    }
+
+    public void indexCareLog(CareLogEntry e) {
+        if (e == null) return;
+        String title = e.getActionTypeDisplay() + " · " + nz(e.getPlantName(), "plant")
+                + (e.getDate() != null ? " · " + e.getDate() : "");
+        index.upsert(Kind.CARE_LOG, e.getId(), title, nz(e.getNotes(), "") + " " + nz(e.getPlantName(), ""));
+        scheduleFlush();
+    }
+
+    /** Tasks are regenerated wholesale by TaskService, so their documents are replaced as a set. */
+    public void reindexTasks(List<CareTask> tasks) {
+        index.removeKind(Kind.TASK);
+        for (CareTask t : tasks) addTask(t);
+        scheduleFlush();
+    }
+
+    private void addTask(CareTask t) {
+        if (t.getNotes() == null || t.getNotes().isBlank()) return;
+        String title = t.getTypeDisplay() + " · " + nz(t.getPlantName(), "plant")
+                + (t.getDueDate() != null ? " · " + t.getDueDate() : "");
+        index.upsert(Kind.TASK, t.getId(), title, t.getNotes() + " " + nz(t.getPlantName(), ""));
+    }
+
+    /** Full re-index from the repositories, then an immediate flush. */
+    public void rebuild() {
+        index.syncedUntil(null);
+        reconcile();
+    }
+
+    /** Applies every change since the segment's stamp (everything, if it has none), then flushes. */
+    private void reconcile() {
+        long t0 = System.nanoTime();
+        Date since = index.syncedUntil();
+        Date until = apply(Kind.PLANT, Repositories.plants().changedSince(userId, since), Plant::getId, this::indexPlant);
+        until = earliest(until, apply(Kind.JOURNAL, Repositories.journal().changedSince(userId, since), JournalEntry::getId, this::indexJournal));
+        until = earliest(until, apply(Kind.CARE_LOG, Repositories.careLogs().changedSince(userId, since), CareLogEntry::getId, this::indexCareLog));
+        until = earliest(until, apply(Kind.TASK, Repositories.tasks().changedSince(userId, since), CareTask::getId, t -> {
+            index.remove(Kind.TASK, t.getId()); // a task whose notes were cleared drops out
+            addTask(t);
+        }));
+        index.syncedUntil(until);
+
+        flush();
+        System.out.println("[search] " + (since == null ? "rebuilt" : "reconciled") + " index for " + userId + ": "
+                + index.size() + " docs in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+    }
+
+    private <T> Date apply(Kind kind, ChangeSet<T> cs, Function<T, String> id, Consumer<T> add) {
+        if (cs.full()) index.removeKind(kind);
+        for (String deleted : cs.deletedIds()) index.remove(kind, deleted);
+        for (T t : cs.changed()) {
+            if (id.apply(t) != null) add.accept(t);
+        }
+        return cs.until();
+    }
+
+    private static Date earliest(Date a, Date b) { return a.before(b) ? a : b; }
+
+    // ---------- persistence ----------
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            FLUSHER.schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void flush() {
+        try {
+            index.save(segment);
+        } catch (IOException e) {
+            System.err.println("[search] failed to write " + segment + ": " + e.getMessage());
+        }
+    }
+
+    private static String nz(String s, String d) { return (s == null || s.isBlank()) ? d : s; }
+}
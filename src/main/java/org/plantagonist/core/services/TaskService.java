@@ -1,102 +1,235 @@
 package org.plantagonist.core.services;
 
+import org.plantagonist.core.auth.CurrentUser;
 import org.plantagonist.core.models.CareTask;
 import org.plantagonist.core.models.Plant;
-import org.plantagonist.core.repositories.CareTaskRepository;
-import org.plantagonist.core.repositories.PlantRepository;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.models.UserProfile;
+import org.plantagonist.core.repositories.PlantStore;
+import org.plantagonist.core.repositories.TaskStore;
+import org.plantagonist.core.schedule.Recurrence;
+import org.plantagonist.core.schedule.RecurrenceRule;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class TaskService {
 
-    private final PlantRepository plantRepo;
-    private final CareTaskRepository taskRepo;
-    private final WeatherService weatherService;
+    private final PlantStore plantRepo;
+    private final TaskStore taskRepo;
+    private final WeatherCells weather;
     private final SuggestionService suggestion;
 
-    public TaskService(PlantRepository plantRepo, CareTaskRepository taskRepo,
-                       WeatherService weatherService, SuggestionService suggestion) {
+    public TaskService(PlantStore plantRepo, TaskStore taskRepo,
+                       WeatherCells weather, SuggestionService suggestion) {
         this.plantRepo = plantRepo;
         this.taskRepo = taskRepo;
-        this.weatherService = weatherService;
+        this.weather = weather;
         this.suggestion = suggestion;
     }
 
     /**
-     * Recompute WATER tasks for all plants.
-     * - next = lastWatered + waterEveryDays
+     * Recompute every plant's recurring tasks (see {@link RecurrenceRule}); each rule keeps
+     * exactly one stored task, its next occurrence:
+     * - next = last completion + interval (or plant added + interval)
      * - if next < today => DUE
      * - if next == today => TODAY (treated as DUE in ordering)
      * - else UPCOMING
-     * Weather nudges:
-     * - precip >= threshold => push by +1 day (unless already overdue)
-     * - hot day => pull by -1 day (min today)
+     * A task whose due date is unchanged is left alone, including one the user CANCELLED;
+     * a MISSED one is replaced by the occurrence after it (see {@link #resumedAfter}).
+     * WATER due dates within the forecast window are moved by {@link WateringPlanner}
+     * (rain expected => later, heat => earlier).
      */
-    public void syncAllWaterTasks(String userId) {
-        WeatherService.WeatherNow w = null;
+    public void syncAllTasks(String userId) {
+        syncAllTasks(userId, cityOf(userId));
+    }
+
+    /** As {@link #syncAllTasks(String)}, with the forecast for {@code city}'s weather cell. */
+    public void syncAllTasks(String userId, String city) {
+        WeatherService.Forecast f = null;
         try {
-            w = weatherService.getNowAuto();
+            f = weather.forecast(city);
         } catch (Exception ignored) {}
 
-        List<Plant> plants = plantRepo.findByUserId(userId);
-        LocalDate today = LocalDate.now();
+        // one read for the current tasks instead of one per plant and type
+        List<Change> changes = plan(userId, plantRepo.findByUserId(userId), taskRepo.findByUserId(userId), f, LocalDate.now());
+        for (Change c : changes) {
+            if (!c.replaced().isEmpty()) taskRepo.deleteByPlantIdAndType(c.plantId(), c.type(), userId);
+            if (c.next() != null) taskRepo.insertOne(c.next());
+        }
+
+        // Task notes are searchable; only pay for the re-read if this user's index is open
+        SearchService.ifOpen(userId).ifPresent(s -> s.reindexTasks(taskRepo.findByUserId(userId)));
+    }
 
+    /** The profile city of the signed-in user, or of a saved profile; null when neither is this user. */
+    private static String cityOf(String userId) {
+        UserProfile current = CurrentUser.get();
+        if (current != null && userId.equals(current.getId())) return current.getCity();
+        for (UserProfile u : UserProfileService.loadAllProfiles()) {
+            if (u != null && userId.equals(u.getId())) return u.getCity();
+        }
+        return null;
+    }
+
+    /**
+     * One rule's stored task being rewritten: the rows now stored for the plant and type go,
+     * and {@code next} (null when the plant no longer has that schedule) takes their place.
+     */
+    public record Change(String plantId, TaskType type, List<CareTask> replaced, CareTask next) {}
 
+    /**
+     * What {@link #syncAllTasks} writes for a user, given their plants, their stored tasks and
+     * the forecast ({@code f} may be null); no I/O, so batch jobs can apply it their own way.
+     */
+    public static List<Change> plan(String userId, List<Plant> plants, List<CareTask> tasks,
+                                    WeatherService.Forecast f, LocalDate today) {
+        Map<String, List<CareTask>> stored = new HashMap<>();
+        for (CareTask t : tasks) {
+            stored.computeIfAbsent(key(t.getPlantId(), t.getType()), k -> new ArrayList<>()).add(t);
+        }
+
+        List<Change> out = new ArrayList<>();
         for (Plant p : plants) {
             String pid = p.getId();
             if (pid == null || pid.isBlank()) continue;
 
-            Integer every = p.getWaterEveryDays();
-            LocalDate last = p.getLastWatered();
-
-            // If no schedule, don’t create a task
-            if (every == null || every <= 0) {
-                // Also clean any existing WATER task for this plant
-                taskRepo.deleteByPlantIdAndType(pid, "WATER");
-                continue;
-            }
+            for (TaskType type : RecurrenceRule.TYPES) {
+                List<CareTask> current = stored.getOrDefault(key(pid, type), List.of());
+                RecurrenceRule rule = RecurrenceRule.of(p, type);
 
-            LocalDate next = (last == null) ? today.plusDays(every) : last.plusDays(every);
+                // If no schedule, don’t create a task (and clean any existing one)
+                if (rule == null) {
+                    if (!current.isEmpty()) out.add(new Change(pid, type, current, null));
+                    continue;
+                }
 
-            // Weather nudges (conservative): only nudge future/today, not past-due
-            if (w != null && (next.isAfter(today) || next.isEqual(today))) {
-                // Roughly mirror your SuggestionService heuristics
-                if (w.precipMm >= 2.0) {
-                    next = next.plusDays(1);
-                } else if (w.tempC >= 34.0) {
-                    next = next.minusDays(1);
-                    if (next.isBefore(today)) next = today;
+                if (current.size() == 1) rule = resumedAfter(rule, current.get(0), today);
+                LocalDate next = type == TaskType.WATER ? WateringPlanner.plan(rule.next(), today, f).date() : rule.next();
+                TaskStatus status = statusOn(next, today);
+                if (current.size() == 1 && next.equals(current.get(0).getDueDate())
+                        && (current.get(0).getStatus() == status || current.get(0).getStatus() == TaskStatus.CANCELLED)) {
+                    continue;
                 }
+                out.add(new Change(pid, type, current, newTask(p, rule, next, status, userId)));
             }
+        }
+        return out;
+    }
 
-            String status;
-            if (next.isBefore(today)) status = "DUE";
-            else if (next.isEqual(today)) status = "TODAY";
-            else status = "UPCOMING";
+    /**
+     * Everything due in [from, to] across the user's plants, merged from the rules rather than
+     * stored rows: each rule's next occurrence comes back as its stored task (so it can be
+     * completed, missed or cancelled), later ones as unsaved UPCOMING projections without an id.
+     */
+    public List<CareTask> upcoming(String userId, LocalDate from, LocalDate to) {
+        Map<String, CareTask> heads = new HashMap<>();
+        Map<String, CareTask> missed = new HashMap<>(); // not yet replaced by a sync
+        for (CareTask t : taskRepo.findByUserId(userId)) {
+            if (t.getStatus() == TaskStatus.MISSED) missed.put(key(t.getPlantId(), t.getType()), t);
+            else if (t.getStatus() != null && t.getStatus().isOpen()) heads.put(key(t.getPlantId(), t.getType()), t);
+        }
+        LocalDate today = LocalDate.now();
+        List<RecurrenceRule> rules = new ArrayList<>();
+        for (Plant p : plantRepo.findByUserId(userId)) {
+            for (RecurrenceRule r : RecurrenceRule.of(p)) {
+                CareTask m = missed.get(key(r.plantId(), r.type()));
+                if (m != null) r = resumedAfter(r, m, today);
+                CareTask head = heads.get(key(r.plantId(), r.type()));
+                // the stored due date carries the weather nudge
+                rules.add(head != null && head.getDueDate() != null ? r.withNext(head.getDueDate()) : r);
+            }
+        }
+        List<CareTask> out = new ArrayList<>();
+        for (Recurrence.Occurrence o : Recurrence.between(rules, from, to)) {
+            CareTask head = o.isNext() ? heads.get(key(o.rule().plantId(), o.rule().type())) : null;
+            out.add(head != null ? head : projected(o));
+        }
+        return out;
+    }
 
-            upsertWaterTask(pid, safe(p.getName()), next, status, userId);
+    /**
+     * Marks the task done on {@code on}: stores the status, records the completion on the plant
+     * (which moves its rule) and materializes the rule's next occurrence.
+     */
+    public void complete(CareTask task, LocalDate on) {
+        if (task.getId() != null) taskRepo.updateStatusAndLastCompleted(task.getId(), TaskStatus.DONE, on);
+        task.setStatus(TaskStatus.DONE);
+        task.setLastCompleted(on);
+        if (task.getPlantId() != null && task.getType() != null) {
+            Plant p = plantRepo.findById(task.getPlantId());
+            if (p != null) {
+                RecurrenceRule.markDone(p, task.getType(), on);
+                plantRepo.replaceById(p.getId(), p);
+            }
         }
+        if (task.getUserId() != null) syncAllTasks(task.getUserId());
     }
 
-    private void upsertWaterTask(String plantId, String plantName, LocalDate due, String status, String userId) {
-        // Delete any existing WATER task for this plant and insert fresh (keeps it simple)
-        taskRepo.deleteByPlantIdAndType(plantId, "WATER", userId);
+    static TaskStatus statusOn(LocalDate due, LocalDate today) {
+        if (due.isBefore(today)) return TaskStatus.DUE;
+        if (due.isEqual(today)) return TaskStatus.TODAY;
+        return TaskStatus.UPCOMING;
+    }
 
+    /**
+     * Only completions move a rule, so after a MISSED task the rule would keep proposing the
+     * missed date. Its next occurrence is one interval after the miss instead (today if that
+     * has passed too), unless a completion has moved the rule beyond the miss since.
+     */
+    static RecurrenceRule resumedAfter(RecurrenceRule rule, CareTask stored, LocalDate today) {
+        if (stored.getStatus() != TaskStatus.MISSED || stored.getDueDate() == null) return rule;
+        if (rule.next().isAfter(stored.getDueDate())) return rule;
+        LocalDate next = stored.getDueDate().plusDays(rule.everyDays());
+        return rule.withNext(next.isBefore(today) ? today : next);
+    }
 
+    private static CareTask newTask(Plant p, RecurrenceRule rule, LocalDate due, TaskStatus status, String userId) {
         CareTask t = new CareTask();
         t.setId(UUID.randomUUID().toString());
         t.setUserId(userId);
-        t.setPlantId(plantId);
-        t.setPlantName(plantName);
-        t.setType("WATER");
+        t.setPlantId(rule.plantId());
+        t.setPlantName(safe(p.getName()));
+        t.setType(rule.type());
         t.setDueDate(due);
         t.setStatus(status);
-        if ("DUE".equals(status) || "TODAY".equals(status)) {
-            t.setNotes("Watering due");
+        t.setFrequencyDays(rule.everyDays());
+        t.setLastCompleted(RecurrenceRule.lastDone(p, rule.type()));
+        if (status.isDueish()) {
+            t.setNotes(dueNote(rule.type()));
         }
-        taskRepo.insertOne(t);
+        return t;
+    }
+
+    private static CareTask projected(Recurrence.Occurrence o) {
+        RecurrenceRule r = o.rule();
+        CareTask t = new CareTask();
+        t.setUserId(r.userId());
+        t.setPlantId(r.plantId());
+        t.setPlantName(safe(r.plantName()));
+        t.setType(r.type());
+        t.setDueDate(o.due());
+        t.setStatus(TaskStatus.UPCOMING);
+        t.setFrequencyDays(r.everyDays());
+        return t;
+    }
+
+    private static String dueNote(TaskType type) {
+        return switch (type) {
+            case WATER -> "Watering due";
+            case FERTILIZE -> "Fertilizing due";
+            case SOIL_CHANGE -> "Soil change due";
+            case OTHER -> "Care due";
+        };
+    }
+
+    private static String key(String plantId, TaskType type) {
+        return plantId + "/" + type;
     }
 
     private static String safe(String s) { return s == null ? "" : s; }
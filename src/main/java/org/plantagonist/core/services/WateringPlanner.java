@@ -0,0 +1,87 @@
+package org.plantagonist.core.services;
+
+import org.plantagonist.core.schedule.RecurrenceRule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves watering days using the multi-day forecast instead of one current reading:
+ * - rain expected before the scheduled day waters the plant for us => later (+1 day, +2 after a soaking)
+ * - no rain but hot days before it => earlier (one day per hot day, at most 2, never before today)
+ * - the planned day itself is rainy => the next dry day (at most 3 days on)
+ * Overdue days and days past the forecast are left alone, as is everything without a forecast.
+ */
+public final class WateringPlanner {
+
+    /** A planned watering day and why it moved ({@code reason} is null when it didn't). */
+    public record Plan(LocalDate date, String reason) {}
+
+    static final double RAIN_MM = 2.0;     // same thresholds as SuggestionService
+    static final double SOAK_MM = 10.0;
+    static final double HOT_C = 34.0;
+    static final int MAX_PULL = 2;
+    static final int MAX_WET_SKIP = 3;
+
+    private WateringPlanner() {}
+
+    /** Where watering scheduled for {@code scheduled} should go, given the forecast ({@code f} may be null). */
+    public static Plan plan(LocalDate scheduled, LocalDate today, WeatherService.Forecast f) {
+        return plan(scheduled, today, today, f);
+    }
+
+    // weather from {@code since} (the day after the previous watering, or today) counts toward this one
+    static Plan plan(LocalDate scheduled, LocalDate today, LocalDate since, WeatherService.Forecast f) {
+        if (f == null || scheduled.isBefore(today) || f.on(scheduled) == null) return new Plan(scheduled, null);
+
+        double rain = 0;
+        int hot = 0;
+        for (LocalDate d = since.isBefore(today) ? today : since; d.isBefore(scheduled); d = d.plusDays(1)) {
+            WeatherService.Day day = f.on(d);
+            if (day == null) continue;
+            rain += day.precipMm;
+            if (day.maxTempC >= HOT_C) hot++;
+        }
+
+        LocalDate date = scheduled;
+        String reason = null;
+        if (rain >= SOAK_MM) {
+            date = date.plusDays(2);
+            reason = String.format("%.0f mm of rain expected first", rain);
+        } else if (rain >= RAIN_MM) {
+            date = date.plusDays(1);
+            reason = String.format("%.0f mm of rain expected first", rain);
+        } else if (hot > 0) {
+            LocalDate earlier = date.minusDays(Math.min(hot, MAX_PULL));
+            date = earlier.isBefore(today) ? today : earlier;
+            if (!date.equals(scheduled)) reason = hot + " hot day(s) ahead";
+        }
+
+        for (int skipped = 0; skipped < MAX_WET_SKIP; skipped++) {
+            WeatherService.Day day = f.on(date);
+            if (day == null || day.precipMm < RAIN_MM) break;
+            date = date.plusDays(1);
+            reason = "rain on the day";
+        }
+        return new Plan(date, reason);
+    }
+
+    /**
+     * The rule's watering days in the forecast window starting {@code today}, each planned from
+     * the one before it, so a day moved by rain moves the rest of the week with it.
+     */
+    public static List<Plan> week(RecurrenceRule rule, LocalDate today, WeatherService.Forecast f) {
+        LocalDate end = today.plusDays(ForecastCache.DAYS - 1);
+        List<Plan> out = new ArrayList<>();
+        LocalDate next = rule.next(), since = today;
+        while (!next.isAfter(end)) {
+            Plan p = plan(next, today, since, f);
+            if (p.date().isAfter(end)) break;
+            out.add(p);
+            since = p.date().plusDays(1);
+            next = p.date().plusDays(Math.max(1, rule.everyDays()));
+        }
+        return out;
+    }
+}
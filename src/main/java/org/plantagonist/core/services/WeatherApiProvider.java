@@ -0,0 +1,187 @@
+package org.plantagonist.core.services;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * WeatherAPI.com over HTTP. Request timeouts adapt to how fast the API has been answering
+ * (four times the moving average, between {@link #MIN_TIMEOUT} and {@link #MAX_TIMEOUT}),
+ * so a dead endpoint costs seconds rather than the worst case; a timeout lengthens the next one.
+ */
+public class WeatherApiProvider implements WeatherProvider {
+
+    static final String DEFAULT_BASE_URL = "https://api.weatherapi.com/v1";
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    static final Duration FIRST_TIMEOUT = Duration.ofSeconds(8);
+    static final Duration MIN_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration MAX_TIMEOUT = Duration.ofSeconds(15);
+
+    private final String baseUrl;
+    private final String key;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    private volatile double avgMillis = -1; // moving average of successful requests
+
+    public WeatherApiProvider() {
+        this(baseUrl(), weatherApiKey());
+    }
+
+    public WeatherApiProvider(String baseUrl, String key) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.key = key == null ? "" : key;
+    }
+
+    private static String env(String key) {
+        String v = System.getenv(key);
+        return v == null ? "" : v.trim();
+    }
+
+    private static String weatherApiKey() {
+        String k = env("WEATHERAPI_KEY");
+        if (k.isBlank()) k = env("WEATHER_API_KEY");
+        return k;
+    }
+
+    /** API root; {@code plantagonist.weatherUrl} points the app at a local stub (see tools.ForecastStub). */
+    private static String baseUrl() {
+        String v = System.getProperty("plantagonist.weatherUrl");
+        if (v == null || v.isBlank()) v = env("PLANTAGONIST_WEATHER_URL");
+        return v == null || v.isBlank() ? DEFAULT_BASE_URL : v.trim();
+    }
+
+    @Override
+    public String name() { return "WeatherAPI"; }
+
+    @Override
+    public WeatherService.WeatherNow now(String q) throws IOException {
+        return parseCurrent(get("current.json", q, "&aqi=no"));
+    }
+
+    @Override
+    public WeatherService.Forecast forecast(String q, int days) throws IOException {
+        return parseForecast(get("forecast.json", q, "&days=" + days + "&aqi=no&alerts=no"));
+    }
+
+    /** The timeout the next request gets. */
+    Duration timeout() {
+        double avg = avgMillis;
+        if (avg < 0) return FIRST_TIMEOUT;
+        long ms = (long) (avg * 4);
+        return Duration.ofMillis(Math.max(MIN_TIMEOUT.toMillis(), Math.min(MAX_TIMEOUT.toMillis(), ms)));
+    }
+
+    private JsonObject get(String endpoint, String q, String params) throws IOException {
+        // a stub (non-default URL) needs no key
+        if (key.isBlank() && baseUrl.equals(DEFAULT_BASE_URL)) throw new IllegalStateException("WEATHERAPI_KEY is not set");
+
+        String url = baseUrl + "/" + endpoint + "?key="
+                + URLEncoder.encode(key, StandardCharsets.UTF_8)
+                + "&q=" + URLEncoder.encode(q, StandardCharsets.UTF_8) + params;
+
+        Duration timeout = timeout();
+        HttpRequest req = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> res;
+        try {
+            res = http.send(req, HttpResponse.BodyHandlers.ofString());
+        } catch (HttpTimeoutException e) {
+            // slow rather than dead, perhaps: give the next request more time
+            avgMillis = Math.min(MAX_TIMEOUT.toMillis() / 4.0, Math.max(avgMillis, timeout.toMillis() / 4.0) * 1.5);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        }
+        double ms = (System.nanoTime() - start) / 1e6;
+
+        int status = res.statusCode();
+        // 400: no such location; 401/403: bad key. The API is up, the request is wrong.
+        if (status == 400 || status == 401 || status == 403) {
+            throw new IllegalArgumentException("WeatherAPI HTTP " + status + ": " + errorMessage(res.body()));
+        }
+        if (status / 100 != 2) throw new IOException("WeatherAPI HTTP " + status);
+
+        JsonObject root;
+        try {
+            root = JsonParser.parseString(res.body()).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("WeatherAPI sent a malformed response", e);
+        }
+        if (root.has("error")) throw new IllegalArgumentException("WeatherAPI error: " + errorMessage(res.body()));
+        avgMillis = avgMillis < 0 ? ms : 0.8 * avgMillis + 0.2 * ms;
+        return root;
+    }
+
+    private static String errorMessage(String body) {
+        try {
+            return JsonParser.parseString(body).getAsJsonObject().getAsJsonObject("error").get("message").getAsString();
+        } catch (RuntimeException e) {
+            return body;
+        }
+    }
+
+    // ---------- WeatherAPI JSON, shared with FileWeatherProvider ----------
+
+    static WeatherService.WeatherNow parseCurrent(JsonObject root) throws IOException {
+        try {
+            JsonObject loc = root.getAsJsonObject("location");
+            JsonObject cur = root.getAsJsonObject("current");
+
+            WeatherService.WeatherNow w = new WeatherService.WeatherNow();
+            w.tempC = cur.get("temp_c").getAsDouble();
+            w.precipMm = cur.has("precip_mm") ? cur.get("precip_mm").getAsDouble() : 0.0;
+            w.description = cur.getAsJsonObject("condition").get("text").getAsString();
+            w.lat = loc.get("lat").getAsDouble();
+            w.lon = loc.get("lon").getAsDouble();
+            w.locationName = loc.get("name").getAsString();
+            return w;
+        } catch (RuntimeException e) {
+            throw new IOException("unexpected current weather payload", e);
+        }
+    }
+
+    static WeatherService.Forecast parseForecast(JsonObject root) throws IOException {
+        try {
+            JsonObject loc = root.getAsJsonObject("location");
+
+            WeatherService.Forecast f = new WeatherService.Forecast();
+            f.locationName = loc.get("name").getAsString();
+            f.lat = loc.get("lat").getAsDouble();
+            f.lon = loc.get("lon").getAsDouble();
+            f.fetchedAt = Instant.now();
+            for (JsonElement e : root.getAsJsonObject("forecast").getAsJsonArray("forecastday")) {
+                JsonObject fd = e.getAsJsonObject();
+                JsonObject day = fd.getAsJsonObject("day");
+                WeatherService.Day d = new WeatherService.Day();
+                d.date = LocalDate.parse(fd.get("date").getAsString());
+                d.maxTempC = day.get("maxtemp_c").getAsDouble();
+                d.avgTempC = day.has("avgtemp_c") ? day.get("avgtemp_c").getAsDouble() : d.maxTempC;
+                d.precipMm = day.has("totalprecip_mm") ? day.get("totalprecip_mm").getAsDouble() : 0.0;
+                d.chanceOfRain = day.has("daily_chance_of_rain") ? day.get("daily_chance_of_rain").getAsInt() : 0;
+                f.days.add(d);
+            }
+            return f;
+        } catch (RuntimeException e) {
+            throw new IOException("unexpected forecast payload", e);
+        }
+    }
+}
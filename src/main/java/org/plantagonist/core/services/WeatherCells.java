@@ -0,0 +1,141 @@
+package org.plantagonist.core.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Weather for many users without a request each. A user's profile city is geocoded once
+ * ({@link GeoCache}) and snapped to a cell of {@value #CELL_DEGREES}° latitude by longitude
+ * (about 25 km); current conditions ({@code plantagonist.weatherTtlMinutes}, default 30) and
+ * forecasts ({@link ForecastCache}) are fetched once per cell per refresh window and shared by
+ * every user in it. A city the geocoder can't place is a cell of its own, asked for by name.
+ *
+ * Readings are shared between users; treat them as read-only.
+ */
+public final class WeatherCells {
+
+    public static final double CELL_DEGREES = 0.25;
+    static final long DEFAULT_NOW_TTL_MINUTES = 30;
+    static final int MAX_PARALLEL_FETCHES = 8;
+
+    /** A cell: {@code key} identifies it, {@code query} is what the weather provider is asked. */
+    public record Cell(String key, String query) {}
+
+    private static volatile WeatherCells shared;
+
+    private final GeoCache geo;
+    private final LocationCache<WeatherService.WeatherNow> now;
+    private final ForecastCache forecasts;
+
+    public WeatherCells(GeoCache geo, WeatherService service, ForecastCache forecasts, Duration nowTtl, Clock clock) {
+        this.geo = geo;
+        this.now = new LocationCache<>("Weather", service::getNowForCity, w -> w.stale, nowTtl, clock);
+        this.forecasts = forecasts;
+    }
+
+    /** The app's cells, on {@link ForecastCache#shared()}. */
+    public static WeatherCells shared() {
+        WeatherCells c = shared;
+        if (c == null) {
+            synchronized (WeatherCells.class) {
+                if (shared == null) {
+                    long ttl = LocationCache.minutes("weatherTtlMinutes", "WEATHER_TTL_MINUTES", DEFAULT_NOW_TTL_MINUTES);
+                    shared = new WeatherCells(GeoCache.shared(), new WeatherService(), ForecastCache.shared(),
+                            Duration.ofMinutes(ttl), Clock.systemUTC());
+                }
+                c = shared;
+            }
+        }
+        return c;
+    }
+
+    /** The cell {@code city} falls in; null for a blank city. */
+    public Cell cellOf(String city) {
+        if (city == null || city.isBlank()) return null;
+        GeoService.LatLng ll = geo.locate(city);
+        if (ll == null) return new Cell("city:" + city.trim().toLowerCase(Locale.ROOT), city.trim());
+        long row = (long) Math.floor(ll.lat / CELL_DEGREES);
+        long col = (long) Math.floor(ll.lng / CELL_DEGREES);
+        return new Cell("cell:" + row + ":" + col, String.format(Locale.ROOT, "%.3f,%.3f",
+                (row + 0.5) * CELL_DEGREES, (col + 0.5) * CELL_DEGREES));
+    }
+
+    /**
+     * Current weather for {@code city}'s cell, or null when unavailable. A blank city falls back
+     * to locating the caller by IP, which only makes sense on a user's own machine.
+     */
+    public WeatherService.WeatherNow now(String city) {
+        Cell cell = cellOf(city);
+        return now.get(cell == null ? ForecastCache.AUTO : cell.query());
+    }
+
+    /** Forecast for {@code city}'s cell, or null; a blank city as in {@link #now}. */
+    public WeatherService.Forecast forecast(String city) {
+        Cell cell = cellOf(city);
+        return forecasts.get(cell == null ? ForecastCache.AUTO : cell.query());
+    }
+
+    /** Current weather per user id, given each user's city; users without a city or reading are left out. */
+    public Map<String, WeatherService.WeatherNow> nowByUser(Map<String, String> cityByUser) {
+        return byUser(cityByUser, cell -> now.get(cell.query()));
+    }
+
+    /** Forecast per user id, as {@link #nowByUser}. */
+    public Map<String, WeatherService.Forecast> forecastByUser(Map<String, String> cityByUser) {
+        return byUser(cityByUser, cell -> forecasts.get(cell.query()));
+    }
+
+    /** Requests made to the weather provider for current conditions and forecasts. */
+    public long fetches() { return now.fetches() + forecasts.fetches(); }
+
+    /**
+     * Geocodes each distinct city, fetches each distinct cell once and hands every user their
+     * cell's value. Both steps run a few at a time, so a cold start neither waits on one request
+     * after another nor fires them all at once.
+     */
+    private <V> Map<String, V> byUser(Map<String, String> cityByUser, Function<Cell, V> fetch) {
+        Set<String> cities = new HashSet<>();
+        for (String city : cityByUser.values()) if (city != null && !city.isBlank()) cities.add(city);
+        Map<String, Cell> cellByCity = inParallel(cities, this::cellOf);
+        Map<Cell, V> byCell = inParallel(new HashSet<>(cellByCity.values()), fetch);
+
+        Map<String, V> out = new HashMap<>();
+        cityByUser.forEach((userId, city) -> {
+            Cell cell = city == null ? null : cellByCity.get(city);
+            V v = cell == null ? null : byCell.get(cell);
+            if (v != null) out.put(userId, v);
+        });
+        return out;
+    }
+
+    /** {@code f} over {@code keys} on virtual threads, at most {@value #MAX_PARALLEL_FETCHES} at once; nulls are left out. */
+    private static <K, V> Map<K, V> inParallel(Collection<K> keys, Function<K, V> f) {
+        Map<K, V> out = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(MAX_PARALLEL_FETCHES);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (K k : keys) {
+                pool.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        V v = f.apply(k);
+                        if (v != null) out.put(k, v);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,27 @@
+package org.plantagonist.core.services;
+
+import java.io.IOException;
+
+/**
+ * Source of weather readings behind {@link WeatherService}. {@code q} is a city, "lat,lon" or
+ * "auto:ip". An IOException means the provider itself is failing (unreachable, timed out, bad
+ * response) and counts toward opening its circuit; IllegalArgumentException means the request
+ * was wrong (e.g. unknown place) and doesn't.
+ */
+public interface WeatherProvider {
+
+    String name();
+
+    WeatherService.WeatherNow now(String q) throws IOException;
+
+    WeatherService.Forecast forecast(String q, int days) throws IOException;
+
+    /**
+     * The app's provider, chosen by {@code plantagonist.weatherProvider}: "weatherapi" (default)
+     * or "file" (see {@link FileWeatherProvider}); behind a circuit breaker with last-known-good
+     * fallback, and shared so every WeatherService sees the same breaker.
+     */
+    static WeatherProvider configured() {
+        return GuardedWeatherProvider.shared();
+    }
+}
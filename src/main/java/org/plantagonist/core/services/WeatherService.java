@@ -1,17 +1,16 @@
 package org.plantagonist.core.services;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
+/**
+ * Current weather and forecasts from a {@link WeatherProvider} (WeatherAPI unless configured
+ * otherwise). Failures come back as RuntimeException; while the provider is failing, readings
+ * may be the last good ones for the location, marked {@code stale}.
+ */
 public class WeatherService {
 
     public static class WeatherNow {
@@ -26,102 +25,74 @@ public class WeatherService {
         public String humidity;
         public String windKph;
         public String lastUpdated;
+        public boolean stale;       // last known good, the provider is unavailable
     }
 
-    private static String env(String key) {
-        String v = System.getenv(key);
-        return v == null ? "" : v.trim();
+    /** One day of a forecast. */
+    public static class Day {
+        public LocalDate date;
+        public double maxTempC;
+        public double avgTempC;
+        public double precipMm;     // total for the day
+        public int chanceOfRain;    // %
     }
 
-    private static String weatherApiKey() {
-        String k = env("WEATHERAPI_KEY");
-        if (k.isBlank()) k = env("WEATHER_API_KEY");
-        return k;
+    /** Daily forecast for a location, today first. */
+    public static class Forecast {
+        public String locationName;
+        public Double lat;
+        public Double lon;
+        public List<Day> days = new ArrayList<>();
+        public Instant fetchedAt;
+        public boolean stale;
+
+        /** The forecast for {@code date}, or null outside the forecast range. */
+        public Day on(LocalDate date) {
+            for (Day d : days) if (d.date.equals(date)) return d;
+            return null;
+        }
     }
 
-    private final HttpClient http = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
+    private final WeatherProvider provider;
 
-    /** AUTO: detect by caller IP (no OpenCage needed). */
-    public WeatherNow getNowAuto() {
-        try {
-            String key = weatherApiKey();
-            if (key.isBlank()) throw new IllegalStateException("WEATHERAPI_KEY is not set");
-
-            String url = "https://api.weatherapi.com/v1/current.json?key="
-                    + URLEncoder.encode(key, StandardCharsets.UTF_8)
-                    + "&q=auto:ip&aqi=no";
+    public WeatherService() {
+        this(WeatherProvider.configured());
+    }
 
-            HttpRequest req = HttpRequest.newBuilder(URI.create(url))
-                    .timeout(Duration.ofSeconds(15))
-                    .GET()
-                    .build();
+    public WeatherService(WeatherProvider provider) {
+        this.provider = provider;
+    }
 
-            HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (res.statusCode() / 100 != 2) {
-                throw new RuntimeException("WeatherAPI HTTP " + res.statusCode() + ": " + res.body());
-            }
+    /** AUTO: detect by caller IP (no OpenCage needed). */
+    public WeatherNow getNowAuto() {
+        return fetch("auto:ip");
+    }
 
-            JsonObject root = JsonParser.parseString(res.body()).getAsJsonObject();
-            if (root.has("error")) {
-                String msg = root.getAsJsonObject("error").get("message").getAsString();
-                throw new RuntimeException("WeatherAPI error: " + msg);
-            }
+    /** Manual: fetch by lat/lon (used when city is set in Settings). */
+    public WeatherNow getNow(double lat, double lon) {
+        return fetch(String.format(Locale.ROOT, "%f,%f", lat, lon));
+    }
 
-            JsonObject loc = root.getAsJsonObject("location");
-            JsonObject cur = root.getAsJsonObject("current");
+    /** By place name, as WeatherAPI resolves it (no geocoding round trip). */
+    public WeatherNow getNowForCity(String city) {
+        return fetch(city.trim());
+    }
 
-            WeatherNow w = new WeatherNow();
-            w.tempC = cur.get("temp_c").getAsDouble();
-            w.precipMm = cur.has("precip_mm") ? cur.get("precip_mm").getAsDouble() : 0.0;
-            w.description = cur.getAsJsonObject("condition").get("text").getAsString();
-            w.lat = loc.get("lat").getAsDouble();
-            w.lon = loc.get("lon").getAsDouble();
-            w.locationName = loc.get("name").getAsString();
-            return w;
+    /**
+     * Daily forecast for {@code q} (a city, "lat,lon" or "auto:ip"), up to {@code days} days
+     * from today. Uncached; most callers want {@link ForecastCache}.
+     */
+    public Forecast getForecast(String q, int days) {
+        try {
+            return provider.forecast(q, days);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
-    /** Manual: fetch by lat/lon (used when city is set in Settings). */
-    public WeatherNow getNow(double lat, double lon) {
+    private WeatherNow fetch(String q) {
         try {
-            String key = weatherApiKey();
-            if (key.isBlank()) throw new IllegalStateException("WEATHERAPI_KEY is not set");
-
-            String url = String.format(Locale.ROOT,
-                    "https://api.weatherapi.com/v1/current.json?key=%s&q=%f,%f&aqi=no",
-                    URLEncoder.encode(key, StandardCharsets.UTF_8), lat, lon);
-
-            HttpRequest req = HttpRequest.newBuilder(URI.create(url))
-                    .timeout(Duration.ofSeconds(15))
-                    .GET()
-                    .build();
-
-            HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (res.statusCode() / 100 != 2) {
-                throw new RuntimeException("WeatherAPI HTTP " + res.statusCode() + ": " + res.body());
-            }
-
-            JsonObject root = JsonParser.parseString(res.body()).getAsJsonObject();
-            if (root.has("error")) {
-                String msg = root.getAsJsonObject("error").get("message").getAsString();
-                throw new RuntimeException("WeatherAPI error: " + msg);
-            }
-
-            JsonObject loc = root.getAsJsonObject("location");
-            JsonObject cur = root.getAsJsonObject("current");
-
-            WeatherNow w = new WeatherNow();
-            w.tempC = cur.get("temp_c").getAsDouble();
-            w.precipMm = cur.has("precip_mm") ? cur.get("precip_mm").getAsDouble() : 0.0;
-            w.description = cur.getAsJsonObject("condition").get("text").getAsString();
-            w.lat = loc.get("lat").getAsDouble();
-            w.lon = loc.get("lon").getAsDouble();
-            w.locationName = loc.get("name").getAsString();
-            return w;
+            return provider.now(q);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -13,4 +13,6 @@ public class PathsConfig {
     public static Path logsJson() { return dataDir().resolve("care_logs.json"); }
     public static Path suppliesJson() { return dataDir().resolve("supplies.json"); }
     public static Path userJson() { return dataDir().resolve("user.json"); }
+    public static Path searchDir() { return dataDir().resolve("search"); }
+    public static Path localDbDir() { return dataDir().resolve("local"); }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.plantagonist.core.sync;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.*;
+import org.bson.BsonArray;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays outbox batches with one unordered bulkWrite per collection. Every upserted document
+ * carries {@value #SEQ_FIELD} (ignored by the POJO codecs): the highest op seq applied to it
+ * per install, so one device's counter never hides another device's writes. The upsert only
+ * matches while this install's seq on the document is older, so a replayed op is a no-op: it
+ * matches nothing and its upsert hits the duplicate _id (error 11000, skipped).
+ *
+ * Any other duplicate key is a real conflict, e.g. the unique (userId, name) on supplies.
+ * Retrying can't fix it, so the op is kept in {@value #DEAD_LETTERS} with the error, and logged,
+ * rather than retried forever or dropped.
+ */
+public final class MongoSink implements RemoteSink {
+    static final String SEQ_FIELD = "_syncSeq";
+    static final String DEAD_LETTERS = "sync_dead_letters";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoDatabase db;
+    private final String installId;
+
+    public MongoSink(MongoDatabase db, String installId) {
+        this.db = db;
+        this.installId = installId;
+    }
+
+    @Override
+    public void apply(List<OutboxOp> batch) {
+        Map<String, List<OutboxOp>> byCollection = new LinkedHashMap<>();
+        for (OutboxOp op : batch) byCollection.computeIfAbsent(op.collection(), c -> new ArrayList<>()).add(op);
+
+        for (Map.Entry<String, List<OutboxOp>> e : byCollection.entrySet()) {
+            List<OutboxOp> ops = e.getValue();
+            List<WriteModel<BsonDocument>> models = new ArrayList<>(ops.size());
+            for (OutboxOp op : ops) models.add(model(op));
+            MongoCollection<BsonDocument> coll = db.getCollection(e.getKey(), BsonDocument.class);
+            try {
+                coll.bulkWrite(models, new BulkWriteOptions().ordered(false));
+            } catch (MongoBulkWriteException ex) {
+                List<WriteModel<BsonDocument>> dead = new ArrayList<>();
+                int replayed = 0;
+                for (BulkWriteError err : ex.getWriteErrors()) {
+                    if (err.getCode() != DUPLICATE_KEY) throw ex; // the whole batch is retried; replays are no-ops
+                    if (err.getMessage().contains("index: _id_ ")) {
+                        replayed++; // this install already applied something newer to the document
+                    } else {
+                        dead.add(deadLetter(ops.get(err.getIndex()), err));
+                    }
+                }
+                if (replayed > 0) {
+                    System.out.println("[MongoSink] " + e.getKey() + ": skipped " + replayed + " op(s) already applied");
+                }
+                if (!dead.isEmpty()) {
+                    db.getCollection(DEAD_LETTERS, BsonDocument.class).bulkWrite(dead, new BulkWriteOptions().ordered(false));
+                    System.err.println("[MongoSink] " + e.getKey() + ": " + dead.size() + " op(s) conflict with a unique index, kept in "
+                            + DEAD_LETTERS + " (" + ex.getWriteErrors().get(0).getMessage() + ")");
+                }
+            }
+        }
+    }
+
+    private WriteModel<BsonDocument> model(OutboxOp op) {
+        Bson sameDoc = Filters.eq("_id", op.id());
+        if (op.isDelete()) return new DeleteOneModel<>(sameDoc);
+
+        String mine = SEQ_FIELD + "." + installId;
+        Bson olderOnly = Filters.and(sameDoc, Filters.or(Filters.exists(mine, false), Filters.lt(mine, op.seq())));
+        // replace the document but merge our seq into the other installs' ones
+        BsonDocument doc = op.doc().decode(new BsonDocumentCodec()); // a raw document's clone is still read-only
+        doc.remove(SEQ_FIELD);
+        BsonDocument others = new BsonDocument("$cond", new BsonArray(List.of(
+                new BsonDocument("$eq", new BsonArray(List.of(
+                        new BsonDocument("$type", new BsonString("$" + SEQ_FIELD)), new BsonString("object")))),
+                new BsonString("$" + SEQ_FIELD),
+                new BsonDocument())));
+        BsonDocument seqs = new BsonDocument("$mergeObjects", new BsonArray(List.of(
+                others, new BsonDocument(installId, new BsonInt64(op.seq())))));
+        BsonDocument replacement = new BsonDocument("$mergeObjects", new BsonArray(List.of(
+                new BsonDocument("$literal", doc), // field values are data, never expressions
+                new BsonDocument(SEQ_FIELD, seqs))));
+        List<Bson> pipeline = List.of(new BsonDocument("$replaceWith", replacement));
+        return new UpdateOneModel<>(olderOnly, pipeline, new UpdateOptions().upsert(true));
+    }
+
+    /** Keyed by install and seq, so a retried batch doesn't store the same conflict twice. */
+    private WriteModel<BsonDocument> deadLetter(OutboxOp op, BulkWriteError err) {
+        BsonString id = new BsonString(installId + ":" + op.seq());
+        BsonDocument d = new BsonDocument("_id", id)
+                .append("installId", new BsonString(installId))
+                .append("seq", new BsonInt64(op.seq()))
+                .append("collection", new BsonString(op.collection()))
+                .append("docId", op.id())
+                .append("doc", op.doc())
+                .append("error", new BsonString(err.getMessage()))
+                .append("at", new BsonDateTime(System.currentTimeMillis()));
+        if (op.doc().containsKey("userId")) d.append("userId", op.doc().get("userId"));
+        return new ReplaceOneModel<>(Filters.eq("_id", id), d, new ReplaceOptions().upsert(true));
+    }
+}
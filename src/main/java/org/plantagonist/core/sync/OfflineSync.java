@@ -0,0 +1,140 @@
+package org.plantagonist.core.sync;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import com.mongodb.client.model.Filters;
+import org.plantagonist.core.db.Ids;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.Tombstone;
+import org.plantagonist.core.repositories.ChangeSet;
+import org.plantagonist.core.repositories.LocalDatabase;
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Wiring for the offline-first backend: a local replica (the embedded database under
+ * data/replica) that all reads and writes hit, an outbox that records every replica write,
+ * and a worker that replays the outbox to Mongo. Started once per process by Repositories.
+ */
+public final class OfflineSync {
+    /** Collections mirrored from Mongo; all of them are owned by userId. */
+    private static final List<String> COLLECTIONS = List.of("plants", "care_tasks", "care_logs", "journal_entries", "supplies");
+
+    /** Per-user high-water marks of the last hydrate, next to the replica's files. */
+    private static final String HYDRATE_STATE = "hydrated.properties";
+
+    private static LocalDatabase replica;
+    private static Outbox outbox;
+    private static SyncWorker worker;
+
+    private OfflineSync() {}
+
+    /** Opens the replica and outbox and starts the worker; idempotent. */
+    public static synchronized LocalDatabase start() {
+        if (replica != null) return replica;
+        replica = LocalDatabase.open(PathsConfig.dataDir().resolve("replica"));
+        outbox = new Outbox(PathsConfig.dataDir().resolve("outbox.log"));
+        replica.replicateTo(outbox);
+        worker = new SyncWorker(outbox, new MongoSink(MongoConfig.db(), outbox.installId()), 200);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(OfflineSync::shutdown, "offline-sync-stop"));
+        return replica;
+    }
+
+    public static synchronized SyncWorker.Status status() {
+        return worker == null ? null : worker.status();
+    }
+
+    /**
+     * Pulls the user's changes from Mongo into the replica in the background, skipping any
+     * document with local writes still queued (the local version wins and will be pushed).
+     * After the first full pull only documents updated (or deleted) since the last successful
+     * hydrate are fetched; see ChangeSet. Fails quietly when the server is unreachable; the
+     * replica just keeps what it has.
+     */
+    public static CompletableFuture<Integer> hydrateAsync(String userId) {
+        LocalDatabase db;
+        Outbox box;
+        synchronized (OfflineSync.class) {
+            db = replica;
+            box = outbox;
+        }
+        if (db == null || userId == null) return CompletableFuture.completedFuture(0);
+        return CompletableFuture.supplyAsync(() -> {
+            Path statePath = db.dir().resolve(HYDRATE_STATE);
+            Properties state = loadState(statePath);
+            String last = state.getProperty(userId);
+            Date since = last == null ? null : new Date(Long.parseLong(last));
+            long start = System.currentTimeMillis();
+            boolean full = since == null || since.getTime() < start - ChangeSet.TOMBSTONE_RETENTION.toMillis();
+
+            int applied = 0;
+            Bson mine = Ids.eq("userId", userId);
+            Bson filter = full ? mine : Filters.and(mine, Filters.gte("updatedAt", since));
+            for (String name : COLLECTIONS) {
+                MongoCollection<RawBsonDocument> coll = MongoConfig.db().getCollection(name, RawBsonDocument.class);
+                for (RawBsonDocument doc : coll.find(filter)) {
+                    if (db.applyRemote(name, strip(doc), id -> !box.hasPending(name, id))) applied++;
+                }
+            }
+            if (!full) {
+                MongoCollection<Tombstone> tombs = MongoConfig.db().getCollection("tombstones", Tombstone.class);
+                for (Tombstone t : tombs.find(Filters.and(mine, Filters.gte("deletedAt", since)))) {
+                    if (db.applyRemoteDelete(t.getCollection(), t.getDocId(), id -> !box.hasPending(t.getCollection(), id))) applied++;
+                }
+            }
+            state.setProperty(userId, Long.toString(start - ChangeSet.LAG.toMillis()));
+            saveState(statePath, state);
+            System.out.println("[OfflineSync] hydrated " + applied + " document(s) for " + userId
+                    + (full ? " (full)" : " (changes since " + since + ")"));
+            return applied;
+        }).exceptionally(e -> {
+            System.err.println("[OfflineSync] hydrate skipped: " + e.getMessage());
+            return 0;
+        });
+    }
+
+    private static Properties loadState(Path p) {
+        Properties props = new Properties();
+        if (Files.exists(p)) {
+            try (Reader r = Files.newBufferedReader(p)) {
+                props.load(r);
+            } catch (IOException e) {
+                System.err.println("[OfflineSync] ignoring unreadable " + p.getFileName() + ": " + e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    private static void saveState(Path p, Properties props) {
+        try (Writer w = Files.newBufferedWriter(p)) {
+            props.store(w, "last hydrate per user (epoch millis)");
+        } catch (IOException e) {
+            System.err.println("[OfflineSync] could not save " + p.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static RawBsonDocument strip(RawBsonDocument doc) {
+        if (!doc.containsKey(MongoSink.SEQ_FIELD)) return doc;
+        BsonDocument copy = doc.clone();
+        copy.remove(MongoSink.SEQ_FIELD);
+        return new RawBsonDocument(copy, new org.bson.codecs.BsonDocumentCodec());
+    }
+
+    private static synchronized void shutdown() {
+        if (worker != null) worker.stop();
+        if (outbox != null) outbox.close();
+        if (replica != null) replica.close();
+    }
+}
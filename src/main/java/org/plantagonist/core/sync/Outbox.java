@@ -0,0 +1,233 @@
+package org.plantagonist.core.sync;
+
+import org.bson.*;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.plantagonist.core.db.Ids;
+import org.plantagonist.core.repositories.ChangeListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Durable FIFO of local writes waiting for Mongo. Ops and acks are appended to one BSON log;
+ * on open, everything after the last ack is pending again, so a crash at worst replays a
+ * batch the server already has (harmless, see {@link OutboxOp}). The log is rewritten with
+ * just the pending ops once acked records dominate it.
+ *
+ * Seqs are unique per {@link #installId()}, which is made with the log and kept in its
+ * high-water record, so a deleted log starts a new install rather than reusing old seqs.
+ */
+public final class Outbox implements ChangeListener {
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final Path file;
+    private FileChannel out;
+    private final ArrayDeque<OutboxOp> pending = new ArrayDeque<>();
+    // collection \0 id -> queued ops for that document, so hydration can skip dirty docs
+    private final Map<String, Integer> dirty = new HashMap<>();
+    private long nextSeq = 1;
+    private int ackedRecords;
+    private String installId;
+
+    public Outbox(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.getParent());
+            load();
+            out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (installId == null) {
+                installId = UUID.randomUUID().toString().replace("-", "");
+                write(highWater());
+                out.force(true);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open outbox " + file, e);
+        }
+    }
+
+    // ---------- producer side (ChangeListener) ----------
+
+    @Override
+    public void put(String collection, RawBsonDocument doc) {
+        enqueue(collection, doc.get("_id"), doc);
+    }
+
+    @Override
+    public void delete(String collection, BsonValue id) {
+        enqueue(collection, id, null);
+    }
+
+    private synchronized void enqueue(String collection, BsonValue id, RawBsonDocument doc) {
+        OutboxOp op = new OutboxOp(nextSeq++, collection, id, doc);
+        BsonDocument r = new BsonDocument("t", new BsonString("op"))
+                .append("seq", new BsonInt64(op.seq()))
+                .append("c", new BsonString(collection))
+                .append("id", id);
+        if (doc != null) r.append("doc", doc);
+        write(r);
+        pending.addLast(op);
+        dirty.merge(key(collection, id), 1, Integer::sum);
+        notifyAll();
+    }
+
+    // ---------- consumer side (SyncWorker) ----------
+
+    /** Oldest pending ops, without removing them. */
+    public synchronized List<OutboxOp> peek(int max) {
+        List<OutboxOp> out = new ArrayList<>(Math.min(max, pending.size()));
+        for (OutboxOp op : pending) {
+            if (out.size() >= max) break;
+            out.add(op);
+        }
+        return out;
+    }
+
+    /** Everything up to and including {@code seq} reached the server. */
+    public synchronized void ack(long seq) {
+        int n = 0;
+        while (!pending.isEmpty() && pending.peekFirst().seq() <= seq) {
+            OutboxOp op = pending.removeFirst();
+            dirty.computeIfPresent(key(op.collection(), op.id()), (k, c) -> c > 1 ? c - 1 : null);
+            n++;
+        }
+        if (n == 0) return;
+        write(new BsonDocument("t", new BsonString("ack")).append("seq", new BsonInt64(seq)));
+        ackedRecords += n + 1;
+        if (ackedRecords > 1024 && ackedRecords > 2 * pending.size()) compact();
+        notifyAll();
+    }
+
+    /** Blocks until something is pending or the timeout passes. */
+    public synchronized void awaitWork(long timeoutMs) throws InterruptedException {
+        if (pending.isEmpty()) wait(timeoutMs);
+    }
+
+    /** Blocks until the queue is empty or the timeout passes; true when drained. */
+    public synchronized boolean awaitDrained(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!pending.isEmpty()) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) return false;
+            wait(left);
+        }
+        return true;
+    }
+
+    public synchronized int pending() { return pending.size(); }
+
+    /** The install the seqs belong to; remote sinks key their idempotency guard by it. */
+    public synchronized String installId() { return installId; }
+
+    public synchronized boolean hasPending(String collection, BsonValue id) {
+        return dirty.containsKey(key(collection, id));
+    }
+
+    public synchronized void close() {
+        if (out == null) return;
+        try {
+            out.force(true);
+            out.close();
+        } catch (IOException e) {
+            System.err.println("[Outbox] close: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    // ---------- file ----------
+
+    private static String key(String collection, BsonValue id) {
+        return collection + '\0' + Ids.string(id);
+    }
+
+    private void write(BsonDocument record) {
+        BasicOutputBuffer buf = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buf), record, EncoderContext.builder().build());
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(buf.getInternalBuffer(), 0, buf.getPosition());
+            while (bytes.hasRemaining()) out.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing outbox " + file, e);
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) return;
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer in = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int pos = 0;
+        long acked = 0;
+        List<OutboxOp> ops = new ArrayList<>();
+        while (pos < bytes.length) {
+            int size = bytes.length - pos >= 4 ? in.getInt(pos) : -1;
+            if (size < 5 || pos + size > bytes.length) {
+                System.err.println("[Outbox] dropping torn record at end of " + file.getFileName());
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(pos);
+                }
+                break;
+            }
+            RawBsonDocument r = new RawBsonDocument(bytes, pos, size);
+            long seq = r.getInt64("seq").getValue();
+            String type = r.getString("t").getValue();
+            if (r.containsKey("install")) installId = r.getString("install").getValue();
+            if ("ack".equals(type)) {
+                acked = Math.max(acked, seq);
+            } else if ("op".equals(type)) {
+                RawBsonDocument doc = r.containsKey("doc") ? (RawBsonDocument) r.getDocument("doc") : null;
+                ops.add(new OutboxOp(seq, r.getString("c").getValue(), r.get("id"), doc));
+            }
+            nextSeq = Math.max(nextSeq, seq + 1);
+            pos += size;
+        }
+        for (OutboxOp op : ops) {
+            if (op.seq() <= acked) continue;
+            pending.addLast(op);
+            dirty.merge(key(op.collection(), op.id()), 1, Integer::sum);
+        }
+        ackedRecords = ops.size() - pending.size();
+        if (!pending.isEmpty()) {
+            System.out.println("[Outbox] " + pending.size() + " write(s) still waiting for the server");
+        }
+    }
+
+    private BsonDocument highWater() {
+        return new BsonDocument("t", new BsonString("hw")).append("seq", new BsonInt64(nextSeq - 1))
+                .append("install", new BsonString(installId));
+    }
+
+    /** Rewrites the log with only the pending ops (tmp + atomic move). */
+    private void compact() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            out.close();
+            out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            // the seq high-water mark must survive even when nothing is pending
+            write(highWater());
+            for (OutboxOp op : pending) {
+                BsonDocument r = new BsonDocument("t", new BsonString("op"))
+                        .append("seq", new BsonInt64(op.seq()))
+                        .append("c", new BsonString(op.collection()))
+                        .append("id", op.id());
+                if (op.doc() != null) r.append("doc", op.doc());
+                write(r);
+            }
+            out.force(true);
+            out.close();
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            ackedRecords = 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed compacting outbox " + file, e);
+        }
+    }
+}
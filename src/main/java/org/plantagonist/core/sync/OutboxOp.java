@@ -0,0 +1,14 @@
+package org.plantagonist.core.sync;
+
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+/**
+ * One queued write: the document's full new state, or a delete when {@code doc} is null.
+ * {@code seq} is unique and increasing per install ({@link Outbox#installId()}) and, with it,
+ * the idempotency key: the remote side keeps the highest seq it applied per document and
+ * install, and ignores anything older from that install.
+ */
+public record OutboxOp(long seq, String collection, BsonValue id, RawBsonDocument doc) {
+    public boolean isDelete() { return doc == null; }
+}
@@ -0,0 +1,9 @@
+package org.plantagonist.core.sync;
+
+import java.util.List;
+
+/** Where the sync worker replays queued writes. Must be idempotent per op seq. */
+public interface RemoteSink {
+    /** Applies the whole batch or throws; a failed batch is retried as is (or with more ops). */
+    void apply(List<OutboxOp> batch) throws Exception;
+}
@@ -0,0 +1,123 @@
+package org.plantagonist.core.sync;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Background thread draining the {@link Outbox} into a {@link RemoteSink}: up to
+ * {@code batchSize} ops at a time, coalesced so each document is sent once per batch with its
+ * latest state. Failures back off exponentially (with jitter) up to 30 s; new writes don't
+ * cut a backoff short, so a dead server isn't hammered.
+ */
+public final class SyncWorker {
+    private static final long MIN_BACKOFF_MS = 250;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    /** Point-in-time view for status displays. */
+    public record Status(int pending, int consecutiveFailures, Instant lastSync, String lastError) {}
+
+    private final Outbox outbox;
+    private final RemoteSink sink;
+    private final int batchSize;
+    private volatile boolean running;
+    private volatile Thread thread;
+    private volatile int failures;
+    private volatile Instant lastSync;
+    private volatile String lastError;
+    private volatile long sentOps;
+
+    public SyncWorker(Outbox outbox, RemoteSink sink, int batchSize) {
+        this.outbox = outbox;
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::loop, "outbox-sync");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops after the batch in flight (if any); pending ops stay in the outbox for next time. */
+    public synchronized void stop() {
+        running = false;
+        Thread t = thread;
+        if (t == null) return;
+        t.interrupt();
+        try {
+            t.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    public Status status() {
+        return new Status(outbox.pending(), failures, lastSync, lastError);
+    }
+
+    /** Ops the server accepted since start (after coalescing). */
+    public long sentOps() { return sentOps; }
+
+    private void loop() {
+        while (running) {
+            try {
+                List<OutboxOp> ops = outbox.peek(batchSize);
+                if (ops.isEmpty()) {
+                    outbox.awaitWork(5_000);
+                    continue;
+                }
+                List<OutboxOp> batch = coalesce(ops);
+                try {
+                    sink.apply(batch);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    failures++;
+                    lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+                    long backoff = Math.min(MAX_BACKOFF_MS, MIN_BACKOFF_MS << Math.min(failures - 1, 16));
+                    backoff = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                    if (failures == 1 || failures % 10 == 0) {
+                        System.err.println("[SyncWorker] " + outbox.pending() + " pending, retry in " + backoff
+                                + " ms (" + lastError + ")");
+                    }
+                    Thread.sleep(backoff);
+                    continue;
+                }
+                outbox.ack(ops.get(ops.size() - 1).seq());
+                sentOps += batch.size();
+                if (failures > 0) System.out.println("[SyncWorker] server reachable again, resyncing");
+                failures = 0;
+                lastError = null;
+                lastSync = Instant.now();
+            } catch (InterruptedException e) {
+                if (!running) return;
+            } catch (RuntimeException e) {
+                // e.g. the outbox file became unwritable; don't let the thread die silently
+                System.err.println("[SyncWorker] " + e.getMessage());
+                try {
+                    Thread.sleep(MAX_BACKOFF_MS);
+                } catch (InterruptedException ie) {
+                    if (!running) return;
+                }
+            }
+        }
+    }
+
+    /** Latest op per document, in order of each document's last write. */
+    static List<OutboxOp> coalesce(List<OutboxOp> ops) {
+        Map<String, OutboxOp> latest = new LinkedHashMap<>();
+        for (OutboxOp op : ops) {
+            String key = op.collection() + '\0' + op.id();
+            latest.remove(key);
+            latest.put(key, op);
+        }
+        return new ArrayList<>(latest.values());
+    }
+}
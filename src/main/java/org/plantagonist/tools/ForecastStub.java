@@ -0,0 +1,100 @@
+package org.plantagonist.tools;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for WeatherAPI's {@code current.json} and {@code forecast.json}, with weather
+ * made up deterministically from the location and date, for running the app or the planner
+ * without a key or network. Usage: {@code ForecastStub [serve] [port]} (default 8089); start the
+ * app with {@code -Dplantagonist.weatherUrl=http://localhost:<port>/v1}.
+ */
+public class ForecastStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final LocalDate today;
+
+    ForecastStub(int port, LocalDate today) throws IOException {
+        this.today = today;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/v1/forecast.json", ex -> reply(ex, true));
+        server.createContext("/v1/current.json", ex -> reply(ex, false));
+        server.setExecutor(Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "forecast-stub");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+    }
+
+    String baseUrl() { return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1"; }
+
+    @Override
+    public void close() { server.stop(0); }
+
+    public static void main(String[] args) throws Exception {
+        int first = args.length > 0 && args[0].equals("serve") ? 1 : 0;
+        int port = args.length > first ? Integer.parseInt(args[first]) : 8089;
+        ForecastStub stub = new ForecastStub(port, LocalDate.now());
+        System.out.println("[ForecastStub] serving " + stub.baseUrl() + " (Ctrl+C to stop)");
+        Thread.currentThread().join();
+    }
+
+    // ---------- server ----------
+
+    private void reply(HttpExchange ex, boolean forecast) throws IOException {
+        Map<String, String> q = query(ex.getRequestURI().getRawQuery());
+        String where = q.getOrDefault("q", "auto:ip");
+        String body;
+        if (forecast) {
+            int days = Math.max(1, Math.min(14, Integer.parseInt(q.getOrDefault("days", "3"))));
+            StringBuilder fd = new StringBuilder();
+            for (int i = 0; i < days; i++) {
+                LocalDate d = today.plusDays(i);
+                SplittableRandom rnd = new SplittableRandom(Objects.hash(where.toLowerCase(Locale.ROOT), d));
+                double max = 20 + rnd.nextDouble() * 16;
+                double rain = rnd.nextDouble() < 0.35 ? rnd.nextDouble() * 14 : 0;
+                if (i > 0) fd.append(',');
+                fd.append(String.format(Locale.ROOT,
+                        "{\"date\":\"%s\",\"day\":{\"maxtemp_c\":%.1f,\"avgtemp_c\":%.1f,\"totalprecip_mm\":%.1f,\"daily_chance_of_rain\":%d}}",
+                        d, max, max - 5, rain, rain > 0 ? 80 : 10));
+            }
+            body = "{" + location(where) + ",\"forecast\":{\"forecastday\":[" + fd + "]}}";
+        } else {
+            SplittableRandom rnd = new SplittableRandom(Objects.hash(where.toLowerCase(Locale.ROOT), today));
+            body = String.format(Locale.ROOT,
+                    "{%s,\"current\":{\"temp_c\":%.1f,\"precip_mm\":%.1f,\"condition\":{\"text\":\"Stub weather\"}}}",
+                    location(where), 22 + rnd.nextDouble() * 12, rnd.nextDouble() < 0.3 ? rnd.nextDouble() * 5 : 0);
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String location(String q) {
+        String name = q.equals("auto:ip") ? "Dhaka" : q.replace("\"", "");
+        return String.format(Locale.ROOT, "\"location\":{\"name\":\"%s\",\"lat\":23.81,\"lon\":90.41}", name);
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> out = new HashMap<>();
+        if (raw == null) return out;
+        for (String kv : raw.split("&")) {
+            int eq = kv.indexOf('=');
+            if (eq > 0) out.put(kv.substring(0, eq), URLDecoder.decode(kv.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,192 @@
+package org.plantagonist.tools;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonBinary;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.CareAction;
+import org.plantagonist.core.models.CareLogEntry;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares string and binary UUID ids (see core.db.Ids) on a generated dataset: encoded
+ * document sizes always, and with a reachable MongoDB ({@code MONGODB_URI}) also data and
+ * index sizes and the throughput of the app's main lookups, each format in its own scratch
+ * database ({@code <MONGODB_DB>_ids_string|binary}, dropped afterwards).
+ * Usage: {@code IdFormatBench [users] [plantsPerUser]} (default 200 x 20, 3 tasks and 10 logs per plant).
+ */
+public class IdFormatBench {
+    private static final int QUERY_SECONDS = 5;
+
+    record Dataset(List<String> users, List<String> plants, List<Plant> plantDocs, List<CareTask> tasks, List<CareLogEntry> logs) {}
+
+    public static void main(String[] args) {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int perUser = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Dataset data = generate(users, perUser, new Random(42));
+        System.out.printf("dataset: %d users, %d plants, %d tasks, %d care logs%n",
+                users, data.plantDocs().size(), data.tasks().size(), data.logs().size());
+
+        System.out.println("\naverage encoded document size (bytes)");
+        for (boolean binary : new boolean[]{false, true}) {
+            CodecRegistry reg = MongoConfig.codecRegistry(binary);
+            System.out.printf("  %-6s plants %7.1f  tasks %7.1f  logs %7.1f%n", binary ? "binary" : "string",
+                    avgSize(data.plantDocs(), reg, Plant.class), avgSize(data.tasks(), reg, CareTask.class),
+                    avgSize(data.logs(), reg, CareLogEntry.class));
+        }
+
+        String uri = System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017");
+        String dbName = System.getenv().getOrDefault("MONGODB_DB", "plantagonist");
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToClusterSettings(b -> b.serverSelectionTimeout(3, TimeUnit.SECONDS))
+                .build();
+        try (MongoClient client = MongoClients.create(settings)) {
+            try {
+                client.getDatabase("admin").runCommand(new Document("ping", 1));
+            } catch (Exception e) {
+                System.out.println("\nMongoDB not reachable at " + uri + "; skipping index size and throughput");
+                return;
+            }
+            for (boolean binary : new boolean[]{false, true}) {
+                MongoDatabase db = client.getDatabase(dbName + "_ids_" + (binary ? "binary" : "string"))
+                        .withCodecRegistry(MongoConfig.codecRegistry(binary));
+                db.drop();
+                try {
+                    load(db, data);
+                    client.getDatabase("admin").runCommand(new Document("fsync", 1)); // so sizes reflect the data
+                    System.out.println("\n" + (binary ? "binary" : "string") + " ids");
+                    for (String c : List.of("plants", "care_tasks", "care_logs")) report(db.getCollection(c));
+                    measure(db, data, binary);
+                } finally {
+                    db.drop();
+                }
+            }
+        }
+    }
+
+    static Dataset generate(int users, int perUser, Random rnd) {
+        List<String> userIds = new ArrayList<>();
+        List<String> plantIds = new ArrayList<>();
+        List<Plant> plants = new ArrayList<>();
+        List<CareTask> tasks = new ArrayList<>();
+        List<CareLogEntry> logs = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int u = 0; u < users; u++) {
+            String userId = UUID.randomUUID().toString();
+            userIds.add(userId);
+            for (int i = 0; i < perUser; i++) {
+                Plant p = new Plant();
+                p.setId(UUID.randomUUID().toString());
+                p.setUserId(userId);
+                p.setName("Plant " + i);
+                p.setSpecies("Species " + rnd.nextInt(40));
+                p.setWaterEveryDays(1 + rnd.nextInt(14));
+                plants.add(p);
+                plantIds.add(p.getId());
+                for (TaskType type : List.of(TaskType.WATER, TaskType.FERTILIZE, TaskType.SOIL_CHANGE)) {
+                    CareTask t = new CareTask();
+                    t.setId(UUID.randomUUID().toString());
+                    t.setUserId(userId);
+                    t.setPlantId(p.getId());
+                    t.setPlantName(p.getName());
+                    t.setType(type);
+                    t.setStatus(TaskStatus.UPCOMING);
+                    t.setDueDate(start.plusDays(rnd.nextInt(60)));
+                    tasks.add(t);
+                }
+                for (int l = 0; l < 10; l++) {
+                    CareLogEntry e = new CareLogEntry();
+                    e.setId(UUID.randomUUID().toString());
+                    e.setUserId(userId);
+                    e.setPlantId(p.getId());
+                    e.setPlantName(p.getName());
+                    e.setActionType(CareAction.WATERING);
+                    e.setDate(start.plusDays(rnd.nextInt(365)));
+                    logs.add(e);
+                }
+            }
+        }
+        return new Dataset(userIds, plantIds, plants, tasks, logs);
+    }
+
+    private static <T> double avgSize(List<T> docs, CodecRegistry reg, Class<T> type) {
+        long total = 0;
+        for (T t : docs) total += new RawBsonDocument(t, reg.get(type)).getByteBuffer().remaining();
+        return (double) total / docs.size();
+    }
+
+    /** The documents plus the indexes MongoConfig creates for these lookups. */
+    private static void load(MongoDatabase db, Dataset data) {
+        db.getCollection("plants", Plant.class).insertMany(data.plantDocs());
+        db.getCollection("care_tasks", CareTask.class).insertMany(data.tasks());
+        db.getCollection("care_logs", CareLogEntry.class).insertMany(data.logs());
+        db.getCollection("plants").createIndex(Indexes.ascending("userId"));
+        db.getCollection("care_tasks").createIndex(Indexes.ascending("userId", "dueDate"));
+        db.getCollection("care_tasks").createIndex(Indexes.ascending("plantId", "type"));
+        db.getCollection("care_logs").createIndex(Indexes.ascending("userId", "date"));
+        db.getCollection("care_logs").createIndex(Indexes.ascending("plantId", "date"));
+    }
+
+    private static void report(MongoCollection<Document> coll) {
+        Document stats = coll.aggregate(List.of(new Document("$collStats", new Document("storageStats", new Document()))))
+                .first();
+        Document s = stats == null ? new Document() : stats.get("storageStats", Document.class);
+        System.out.printf("  %-11s data %8.1f KiB  indexes %8.1f KiB  %s%n", coll.getNamespace().getCollectionName(),
+                kib(s.get("size")), kib(s.get("totalIndexSize")), s.get("indexSizes", Document.class));
+    }
+
+    private static double kib(Object bytes) {
+        return bytes instanceof Number n ? n.doubleValue() / 1024 : 0;
+    }
+
+    private static void measure(MongoDatabase db, Dataset data, boolean binary) {
+        Function<String, Object> v = id -> binary ? new BsonBinary(UUID.fromString(id)) : id;
+        MongoCollection<Document> plants = db.getCollection("plants");
+        MongoCollection<Document> tasks = db.getCollection("care_tasks");
+        MongoCollection<Document> logs = db.getCollection("care_logs");
+        Random rnd = new Random(7);
+        run("plant by _id", () -> plants.find(Filters.eq("_id", v.apply(pick(data.plants(), rnd)))).first());
+        run("user's plants", () -> plants.find(Filters.eq("userId", v.apply(pick(data.users(), rnd)))).into(new ArrayList<>()));
+        run("user's tasks by due", () -> tasks.find(Filters.eq("userId", v.apply(pick(data.users(), rnd))))
+                .sort(Sorts.ascending("dueDate")).into(new ArrayList<>()));
+        run("plant's logs by date", () -> logs.find(Filters.eq("plantId", v.apply(pick(data.plants(), rnd))))
+                .sort(Sorts.descending("date")).into(new ArrayList<>()));
+    }
+
+    private static String pick(List<String> ids, Random rnd) {
+        return ids.get(rnd.nextInt(ids.size()));
+    }
+
+    private static void run(String name, Runnable query) {
+        for (int i = 0; i < 200; i++) query.run(); // warm up
+        long n = 0;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(QUERY_SECONDS);
+        while (System.nanoTime() < end) {
+            query.run();
+            n++;
+        }
+        System.out.printf("  %-21s %8.0f queries/s%n", name, n / (double) QUERY_SECONDS);
+    }
+}
@@ -0,0 +1,177 @@
+package org.plantagonist.tools;
+
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.SupplyItem;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.repositories.InMemoryPlantStore;
+import org.plantagonist.core.repositories.InMemorySupplyStore;
+import org.plantagonist.core.repositories.InMemoryTaskStore;
+import org.plantagonist.core.repositories.LocalDatabase;
+import org.plantagonist.core.sync.Outbox;
+import org.plantagonist.core.sync.OutboxOp;
+import org.plantagonist.core.sync.RemoteSink;
+import org.plantagonist.core.sync.SyncWorker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Soak test for the offline outbox against an in-process stand-in server that can be paused
+ * (unreachable), made slow, and made to "lose" acks (apply a batch, then fail), with the app
+ * side restarted mid-run. At the end the server must hold exactly the replica's state.
+ * Usage: {@code OutboxSoak [writes]} (default 5000).
+ */
+public class OutboxSoak {
+
+    /** Stand-in for Mongo: per-document state guarded by op seq, like MongoSink's filter. */
+    static final class StandInServer implements RemoteSink {
+        final Map<String, BsonDocument> docs = new ConcurrentHashMap<>();
+        final Map<String, Long> seqs = new ConcurrentHashMap<>();
+        volatile boolean paused;
+        volatile long latencyMs = 2;
+        volatile double lostAckRate = 0.05;
+        long batches, duplicates;
+        final Random rnd = new Random(7);
+
+        @Override
+        public synchronized void apply(List<OutboxOp> batch) throws Exception {
+            if (paused) throw new IOException("server unreachable");
+            Thread.sleep(latencyMs);
+            for (OutboxOp op : batch) {
+                String key = op.collection() + '/' + op.id();
+                if (seqs.getOrDefault(key, 0L) >= op.seq()) {
+                    duplicates++;
+                    continue;
+                }
+                seqs.put(key, op.seq());
+                if (op.isDelete()) docs.remove(key);
+                else docs.put(key, op.doc().clone());
+            }
+            batches++;
+            if (rnd.nextDouble() < lostAckRate) throw new IOException("connection reset before ack");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int writes = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        Path dir = Files.createTempDirectory("plantagonist-outbox");
+        StandInServer server = new StandInServer();
+        String user = "soak-user";
+        Random rnd = new Random(42);
+
+        LocalDatabase db = null;
+        Outbox outbox = null;
+        SyncWorker worker = null;
+        InMemoryPlantStore plants = null;
+        InMemoryTaskStore tasks = null;
+        InMemorySupplyStore supplies = null;
+        long worstWriteNanos = 0;
+        long t0 = System.nanoTime();
+
+        for (int i = 0; i < writes; i++) {
+            if (i % 1500 == 0) {
+                // (re)start the app side: everything not yet acked must come back from disk
+                if (worker != null) {
+                    worker.stop();
+                    outbox.close();
+                    db.close();
+                    System.out.println("  restart at write " + i);
+                }
+                db = LocalDatabase.open(dir.resolve("replica"));
+                outbox = new Outbox(dir.resolve("outbox.log"));
+                db.replicateTo(outbox);
+                plants = new InMemoryPlantStore(db);
+                tasks = new InMemoryTaskStore(db);
+                supplies = new InMemorySupplyStore(db);
+                worker = new SyncWorker(outbox, server, 100);
+                worker.start();
+            }
+            if (i % 1000 == 300) {
+                server.paused = true;
+                System.out.println("  server paused at write " + i + " (pending " + outbox.pending() + ")");
+            }
+            if (i % 1000 == 700) {
+                server.paused = false;
+                System.out.println("  server resumed at write " + i + " (pending " + outbox.pending() + ")");
+            }
+
+            long w0 = System.nanoTime();
+            String plantId = "plant-" + rnd.nextInt(50);
+            switch (rnd.nextInt(6)) {
+                case 0, 1 -> {
+                    Plant p = new Plant();
+                    p.setId(plantId);
+                    p.setUserId(user);
+                    p.setName("Plant " + i);
+                    p.setWaterEveryDays(1 + rnd.nextInt(10));
+                    if (plants.findById(plantId) == null) plants.insertOne(p);
+                    else plants.replaceById(plantId, p);
+                }
+                case 2 -> plants.deleteById(plantId);
+                case 3 -> {
+                    CareTask t = new CareTask();
+                    t.setId("task-" + rnd.nextInt(80));
+                    t.setUserId(user);
+                    t.setPlantId(plantId);
+                    t.setType(TaskType.WATER);
+                    t.setStatus(TaskStatus.UPCOMING);
+                    t.setDueDate(LocalDate.of(2025, 1, 1).plusDays(rnd.nextInt(60)));
+                    tasks.deleteByPlantIdAndType(plantId, TaskType.WATER, user);
+                    tasks.insertOne(t);
+                }
+                case 4 -> {
+                    List<CareTask> mine = tasks.findByUserId(user);
+                    if (!mine.isEmpty()) tasks.updateStatus(mine.get(rnd.nextInt(mine.size())).getId(), TaskStatus.DONE);
+                }
+                default -> supplies.upsertByName(user, new SupplyItem(user, "Supply " + rnd.nextInt(10), rnd.nextInt(20), 5));
+            }
+            worstWriteNanos = Math.max(worstWriteNanos, System.nanoTime() - w0);
+        }
+        long writeMs = (System.nanoTime() - t0) / 1_000_000;
+
+        server.paused = false;
+        server.lostAckRate = 0;
+        boolean drained = outbox.awaitDrained(120_000);
+        System.out.printf("%d writes in %d ms (worst single write %.2f ms, server paused 40%% of the run)%n",
+                writes, writeMs, worstWriteNanos / 1e6);
+        System.out.println("drained=" + drained + ", server batches=" + server.batches
+                + ", duplicate ops ignored=" + server.duplicates);
+
+        Map<String, BsonDocument> expected = new HashMap<>();
+        Codec<Plant> pc = MongoConfig.codecRegistry().get(Plant.class);
+        Codec<CareTask> tc = MongoConfig.codecRegistry().get(CareTask.class);
+        Codec<SupplyItem> sc = MongoConfig.codecRegistry().get(SupplyItem.class);
+        for (Plant p : plants.findAll()) expected.put("plants/" + new RawBsonDocument(p, pc).get("_id"), new RawBsonDocument(p, pc));
+        for (CareTask t : tasks.findByUserId(user)) expected.put("care_tasks/" + new RawBsonDocument(t, tc).get("_id"), new RawBsonDocument(t, tc));
+        for (SupplyItem s : supplies.findAll(user)) expected.put("supplies/" + new RawBsonDocument(s, sc).get("_id"), new RawBsonDocument(s, sc));
+
+        int mismatches = 0;
+        Set<String> keys = new HashSet<>(expected.keySet());
+        keys.addAll(server.docs.keySet());
+        keys.removeIf(k -> k.startsWith("tombstones/")); // delete markers replicate too; not compared here
+        for (String k : keys) {
+            BsonDocument want = expected.get(k) == null ? null : expected.get(k).clone();
+            BsonDocument got = server.docs.get(k);
+            if (!Objects.equals(want, got)) {
+                if (mismatches++ < 5) System.out.println("  MISMATCH " + k + "\n    replica " + want + "\n    server  " + got);
+            }
+        }
+        worker.stop();
+        outbox.close();
+        db.close();
+        System.out.println(mismatches == 0
+                ? "OK: server matches replica (" + expected.size() + " documents)"
+                : "FAILED: " + mismatches + " document(s) differ");
+        if (mismatches > 0 || !drained) System.exit(1);
+    }
+}
@@ -0,0 +1,345 @@
+package org.plantagonist.tools;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.plantagonist.core.db.Ids;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.Tombstone;
+import org.plantagonist.core.services.TaskService;
+import org.plantagonist.core.services.WeatherCells;
+import org.plantagonist.core.services.WeatherService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Headless recompute of every user's care tasks (what TaskService.syncAllTasks does at login)
+ * for shared deployments. Plants are streamed from Mongo sorted by userId and cut into one job
+ * per user; jobs run on virtual threads, with at most {@code --in-flight} users between their
+ * read and their write. The forecast is fetched once per weather cell ({@link WeatherCells}) rather than per user.
+ * The planned changes go out as ordered bulkWrites of up to {@value #WRITE_BATCH} models,
+ * plus the tombstones delta readers need for the deleted tasks.
+ *
+ * Every few seconds it prints users/s and checkpoints the highest userId below which every
+ * user is written (the {@code jobs} collection), so a rerun resumes after it.
+ * Usage: {@code RecomputeAll [--in-flight N] [--restart] [--dry-run]} (default 256 in flight).
+ */
+public class RecomputeAll {
+    static final int WRITE_BATCH = 1_000;
+    static final int DEFAULT_IN_FLIGHT = 256;
+    static final String JOB_ID = "recompute-all";
+    private static final long REPORT_SECONDS = 5;
+
+    /** Where jobs read stored tasks and write their changes; Mongo in production. */
+    interface Store {
+        List<CareTask> tasksOf(String userId);
+        void write(List<WriteModel<CareTask>> tasks, List<WriteModel<Tombstone>> tombstones);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int inFlight = DEFAULT_IN_FLIGHT;
+        boolean restart = false, dryRun = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--in-flight" -> inFlight = Integer.parseInt(args[++i]);
+                case "--restart" -> restart = true;
+                case "--dry-run" -> dryRun = true;
+                default -> throw new IllegalArgumentException("unknown argument " + args[i]);
+            }
+        }
+
+        MongoDatabase db = MongoConfig.db();
+        MongoCollection<Document> jobs = db.getCollection("jobs");
+        Document checkpoint = restart ? null : jobs.find(Filters.eq("_id", JOB_ID)).first();
+        String resumeAfter = checkpoint == null ? null : checkpoint.getString("lastUserId");
+        if (resumeAfter != null) System.out.println("[Recompute] resuming after user " + resumeAfter);
+
+        Map<String, String> cities = new HashMap<>();
+        for (Document u : db.getCollection("users").find().projection(Projections.include("_id", "city"))) {
+            String city = u.getString("city");
+            if (city != null && !city.isBlank()) cities.put(Ids.string(u.get("_id")), city);
+        }
+
+        MongoCollection<CareTask> tasks = db.getCollection("care_tasks", CareTask.class);
+        MongoCollection<Tombstone> tombstones = db.getCollection("tombstones", Tombstone.class);
+        boolean write = !dryRun;
+        Store store = new Store() {
+            @Override
+            public List<CareTask> tasksOf(String userId) {
+                return tasks.find(Ids.eq("userId", userId)).into(new ArrayList<>());
+            }
+
+            @Override
+            public void write(List<WriteModel<CareTask>> t, List<WriteModel<Tombstone>> ts) {
+                if (!write) return;
+                // ordered: a user's deletes must land before the inserts that replace them
+                if (!t.isEmpty()) tasks.bulkWrite(t, new BulkWriteOptions().ordered(true));
+                if (!ts.isEmpty()) tombstones.bulkWrite(ts, new BulkWriteOptions().ordered(false));
+            }
+        };
+
+        Bson owned = Filters.ne("userId", null);
+        Bson filter = resumeAfter == null ? owned : Filters.and(owned, Filters.gt("userId", Ids.value(resumeAfter)));
+        RecomputeAll job = new RecomputeAll(store, cities::get, new Weather(WeatherCells.shared()), inFlight, LocalDate.now());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "recompute-report");
+            t.setDaemon(true);
+            return t;
+        });
+        reporter.scheduleAtFixedRate(() -> {
+            System.out.println("[Recompute] " + job.progress());
+            if (write) saveCheckpoint(jobs, job.watermark.last(), job.users.get());
+        }, REPORT_SECONDS, REPORT_SECONDS, TimeUnit.SECONDS);
+
+        try (MongoCursor<Plant> plants = db.getCollection("plants", Plant.class).find(filter)
+                .sort(Sorts.ascending("userId")).batchSize(1_000).iterator()) {
+            job.run(plants);
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        System.out.println("[Recompute] done: " + job.progress());
+        if (!write) return;
+        if (job.failures.get() == 0) {
+            jobs.deleteOne(Filters.eq("_id", JOB_ID)); // the next run starts from the top
+        } else {
+            saveCheckpoint(jobs, job.watermark.last(), job.users.get());
+            System.out.println("[Recompute] " + job.failures.get() + " users failed; rerun to resume after "
+                    + job.watermark.last());
+            System.exit(1);
+        }
+    }
+
+    private static void saveCheckpoint(MongoCollection<Document> jobs, String lastUserId, long users) {
+        if (lastUserId == null) return;
+        jobs.updateOne(Filters.eq("_id", JOB_ID),
+                Updates.combine(Updates.set("lastUserId", lastUserId), Updates.set("users", users),
+                        Updates.set("updatedAt", new Date())),
+                new UpdateOptions().upsert(true));
+    }
+
+    // ---------- the job ----------
+
+    private record UserJob(long seq, String userId, List<Plant> plants) {}
+
+    private final Store store;
+    private final Function<String, String> cityOf;
+    private final Weather weather;
+    private final int inFlight;
+    private final LocalDate today;
+    private final Semaphore permits;
+    final Watermark watermark = new Watermark();
+    final AtomicLong users = new AtomicLong(), plants = new AtomicLong(), inserts = new AtomicLong(),
+            deletes = new AtomicLong(), batches = new AtomicLong(), failures = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+
+    // jobs whose models wait in the buffer still hold their permit
+    private final List<WriteModel<CareTask>> bufferedTasks = new ArrayList<>();
+    private final List<WriteModel<Tombstone>> bufferedTombstones = new ArrayList<>();
+    private final List<UserJob> bufferedJobs = new ArrayList<>();
+
+    RecomputeAll(Store store, Function<String, String> cityOf, Weather weather, int inFlight, LocalDate today) {
+        this.store = store;
+        this.cityOf = cityOf;
+        this.weather = weather;
+        this.inFlight = inFlight;
+        this.today = today;
+        this.permits = new Semaphore(inFlight);
+    }
+
+    /** Consumes plants sorted by userId and returns once every job is written or failed. */
+    void run(Iterator<Plant> sortedPlants) throws InterruptedException {
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            String user = null;
+            List<Plant> group = new ArrayList<>();
+            while (sortedPlants.hasNext()) {
+                Plant p = sortedPlants.next();
+                if (p.getUserId() == null) continue;
+                if (!p.getUserId().equals(user) && !group.isEmpty()) {
+                    submit(pool, user, group);
+                    group = new ArrayList<>();
+                }
+                user = p.getUserId();
+                group.add(p);
+            }
+            if (!group.isEmpty()) submit(pool, user, group);
+        } // waits until every job has read and planned
+        flush();
+    }
+
+    private void submit(ExecutorService pool, String userId, List<Plant> group) throws InterruptedException {
+        permits.acquire();
+        UserJob job = new UserJob(watermark.next(userId), userId, group);
+        pool.execute(() -> {
+            try {
+                recompute(job);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                System.err.println("[Recompute] user " + job.userId() + " failed: " + e.getMessage());
+                permits.release(); // not marked done: the checkpoint stays below this user
+            }
+        });
+    }
+
+    private void recompute(UserJob job) {
+        List<CareTask> stored = store.tasksOf(job.userId());
+        WeatherService.Forecast f = weather.at(cityOf.apply(job.userId()));
+        List<TaskService.Change> changes = TaskService.plan(job.userId(), job.plants(), stored, f, today);
+
+        List<WriteModel<CareTask>> t = new ArrayList<>();
+        List<WriteModel<Tombstone>> ts = new ArrayList<>();
+        Date now = new Date();
+        for (TaskService.Change c : changes) {
+            for (CareTask old : c.replaced()) {
+                t.add(new DeleteOneModel<>(Ids.eq("_id", old.getId())));
+                Tombstone tomb = new Tombstone("care_tasks", old.getId(), job.userId(), now);
+                ts.add(new ReplaceOneModel<>(Filters.eq("_id", tomb.getId()), tomb, new ReplaceOptions().upsert(true)));
+            }
+            if (c.next() != null) {
+                c.next().setCreatedAt(now);
+                c.next().setUpdatedAt(now);
+                t.add(new InsertOneModel<>(c.next()));
+                inserts.incrementAndGet();
+            }
+            deletes.addAndGet(c.replaced().size());
+        }
+        users.incrementAndGet();
+        plants.addAndGet(job.plants().size());
+        if (t.isEmpty()) {
+            finished(List.of(job));
+        } else {
+            add(job, t, ts);
+        }
+    }
+
+    private void add(UserJob job, List<WriteModel<CareTask>> t, List<WriteModel<Tombstone>> ts) {
+        synchronized (this) {
+            bufferedTasks.addAll(t);
+            bufferedTombstones.addAll(ts);
+            bufferedJobs.add(job);
+            // by size, or before waiting jobs hold so many permits that the reader stalls
+            if (bufferedTasks.size() < WRITE_BATCH && bufferedJobs.size() < Math.max(1, inFlight / 2)) return;
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<WriteModel<CareTask>> t;
+        List<WriteModel<Tombstone>> ts;
+        List<UserJob> jobs;
+        synchronized (this) {
+            if (bufferedJobs.isEmpty()) return;
+            t = new ArrayList<>(bufferedTasks);
+            ts = new ArrayList<>(bufferedTombstones);
+            jobs = new ArrayList<>(bufferedJobs);
+            bufferedTasks.clear();
+            bufferedTombstones.clear();
+            bufferedJobs.clear();
+        }
+        try {
+            store.write(t, ts);
+            batches.incrementAndGet();
+            finished(jobs);
+        } catch (RuntimeException e) {
+            failures.addAndGet(jobs.size());
+            System.err.println("[Recompute] bulk write of " + jobs.size() + " users failed: " + e.getMessage());
+            permits.release(jobs.size());
+        }
+    }
+
+    private void finished(List<UserJob> jobs) {
+        for (UserJob j : jobs) watermark.done(j.seq());
+        permits.release(jobs.size());
+    }
+
+    String progress() {
+        double secs = (System.nanoTime() - startNanos) / 1e9;
+        return String.format(Locale.ROOT,
+                "%d users (%.0f users/s), %d plants, %d tasks written, %d replaced, %d bulk writes, %d weather lookups, %d failed",
+                users.get(), users.get() / Math.max(secs, 1e-3), plants.get(), inserts.get(), deletes.get(),
+                batches.get(), weather.lookups(), failures.get());
+    }
+
+    /**
+     * Jobs finish out of order; this tracks the last user of the longest finished prefix of
+     * the stream, which is where a rerun can safely resume.
+     */
+    static final class Watermark {
+        private final Map<Long, String> open = new HashMap<>();
+        private final Set<Long> done = new HashSet<>();
+        private long next, low;
+        private String last;
+
+        synchronized long next(String userId) {
+            open.put(next, userId);
+            return next++;
+        }
+
+        synchronized void done(long seq) {
+            done.add(seq);
+            while (done.remove(low)) last = open.remove(low++);
+        }
+
+        synchronized String last() { return last; }
+    }
+
+    /** Forecast for a city's weather cell, fetched once however many users share it; null without a key or city. */
+    static final class Weather {
+        private final WeatherCells cells;
+        private final boolean enabled;
+
+        Weather(WeatherCells cells) {
+            // a stub server (PLANTAGONIST_WEATHER_URL) needs no key
+            this(cells, hasKey("WEATHERAPI_KEY") || hasKey("WEATHER_API_KEY") || hasKey("PLANTAGONIST_WEATHER_URL"));
+        }
+
+        private static boolean hasKey(String env) {
+            String v = System.getenv(env);
+            return v != null && !v.isBlank();
+        }
+
+        Weather(WeatherCells cells, boolean enabled) {
+            this.cells = cells;
+            this.enabled = enabled;
+            if (!enabled) System.out.println("[Recompute] no WEATHERAPI_KEY: scheduling without weather nudges");
+        }
+
+        WeatherService.Forecast at(String city) {
+            if (!enabled || city == null || city.isBlank()) return null;
+            return cells.forecast(city);
+        }
+
+        long lookups() { return cells.fetches(); }
+    }
+}
@@ -0,0 +1,59 @@
+package org.plantagonist.tools;
+
+import org.plantagonist.core.storage.PathsConfig;
+import org.plantagonist.util.StartupTimer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Summarizes startup runs recorded with {@code -Dplantagonist.startupBenchmark=true}.
+ * Launch the app a few times (log in each time), then run this to get min/median/p90 for
+ * time-to-login-screen and login-to-dashboard. Pass a path to read a different file.
+ */
+public class StartupBenchmark {
+    private static final Pattern LOGIN = Pattern.compile("\"loginScreenMs\":(-?\\d+)");
+    private static final Pattern DASHBOARD = Pattern.compile("\"dashboardMs\":(-?\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Path file = args.length > 0 ? Path.of(args[0]) : PathsConfig.appHome().resolve(StartupTimer.LOG_FILE);
+        if (!Files.exists(file)) {
+            System.out.println("No runs recorded yet at " + file.toAbsolutePath()
+                    + " (start the app with -Dplantagonist.startupBenchmark=true)");
+            return;
+        }
+
+        List<Long> login = new ArrayList<>();
+        List<Long> dashboard = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            Matcher l = LOGIN.matcher(line);
+            Matcher d = DASHBOARD.matcher(line);
+            if (l.find() && Long.parseLong(l.group(1)) >= 0) login.add(Long.parseLong(l.group(1)));
+            if (d.find()) dashboard.add(Long.parseLong(d.group(1)));
+        }
+
+        System.out.println("Runs: " + dashboard.size() + " (" + file.toAbsolutePath() + ")");
+        report("time-to-login-screen", login);
+        report("login-to-dashboard  ", dashboard);
+    }
+
+    private static void report(String name, List<Long> ms) {
+        if (ms.isEmpty()) {
+            System.out.println(name + ": no samples");
+            return;
+        }
+        Collections.sort(ms);
+        System.out.printf("%s: min %d ms, median %d ms, p90 %d ms, max %d ms%n",
+                name, ms.get(0), pct(ms, 50), pct(ms, 90), ms.get(ms.size() - 1));
+    }
+
+    private static long pct(List<Long> sorted, int p) {
+        int i = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, i)));
+    }
+}
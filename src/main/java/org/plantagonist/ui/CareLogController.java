@@ -1,5 +1,6 @@
 package org.plantagonist.ui;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -8,22 +9,29 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
 import org.plantagonist.core.auth.CurrentUser;
+import org.plantagonist.core.models.CareAction;
 import org.plantagonist.core.models.CareLogEntry;
 import org.plantagonist.core.models.CareTask;
 import org.plantagonist.core.models.Plant;
-import org.plantagonist.core.repositories.CareLogRepository;
-import org.plantagonist.core.repositories.CareTaskRepository;
-import org.plantagonist.core.repositories.PlantRepository;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.repositories.CareLogStore;
+import org.plantagonist.core.repositories.PlantStore;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.repositories.TaskStore;
+import org.plantagonist.core.schedule.DueAgenda;
+import org.plantagonist.core.services.NotificationService;
+import org.plantagonist.core.services.SearchService;
 import org.plantagonist.core.services.SuggestionService;
 import org.plantagonist.core.services.TaskService;
-import org.plantagonist.core.services.WeatherService;
+import org.plantagonist.core.services.WeatherCells;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
-public class CareLogController {
+public class CareLogController implements Refreshable {
 
     @FXML private Label plantFactLabel;
     @FXML private TableView<CareTask> todayTasksTable;
@@ -33,9 +41,9 @@ public class CareLogController {
     @FXML private VBox notificationContainer;
     @FXML private TabPane careLogTabPane;
 
-    private final CareLogRepository careLogRepository;
-    private final CareTaskRepository careTaskRepository;
-    private final PlantRepository plantRepository;
+    private final CareLogStore careLogRepository;
+    private final TaskStore careTaskRepository;
+    private final PlantStore plantRepository;
     private final TaskService taskService;
     private final String currentUserId;
 
@@ -43,16 +51,17 @@ public class CareLogController {
     private ObservableList<CareTask> upcomingTasks;
     private ObservableList<CareLogEntry> careHistory;
     private ObservableList<String> notifications;
+    private final List<String> recentAlerts = new ArrayList<>();
+    private static final int MAX_ALERTS = 10;
 
     public CareLogController() {
-        this.careLogRepository = new CareLogRepository();
-        this.careTaskRepository = new CareTaskRepository();
-        this.plantRepository = new PlantRepository();
+        this.careLogRepository = Repositories.careLogs();
+        this.careTaskRepository = Repositories.tasks();
+        this.plantRepository = Repositories.plants();
 
         // Initialize services with required dependencies
-        WeatherService weatherService = new WeatherService();
         SuggestionService suggestionService = new SuggestionService();
-        this.taskService = new TaskService(plantRepository, careTaskRepository, weatherService, suggestionService);
+        this.taskService = new TaskService(plantRepository, careTaskRepository, WeatherCells.shared(), suggestionService);
 
         this.currentUserId = CurrentUser.get().getId();
 
@@ -73,8 +82,25 @@ public class CareLogController {
 
         setupTables();
         loadPlantFact();
+        // what the bus delivered before this screen opened, e.g. reminders caught up at startup
+        for (NotificationService.Digest.Item i : NotificationService.get().recent(currentUserId)) {
+            if (recentAlerts.size() == MAX_ALERTS) break;
+            recentAlerts.add(i.message());
+        }
         loadData();
         setupTabSelectionListener();
+
+        DueAgenda agenda = DueAgenda.current();
+        if (agenda != null) agenda.subscribe(t -> Platform.runLater(this::loadTodayTasks));
+        NotificationService.get().subscribe(d -> {
+            List<NotificationService.Digest.Item> mine = d.forUser(currentUserId);
+            if (!mine.isEmpty()) Platform.runLater(() -> showAlerts(mine));
+        });
+    }
+
+    @Override
+    public void onShow() {
+        loadData();
     }
 
     private void setupTables() {
@@ -142,9 +168,9 @@ public class CareLogController {
         historyDetailsCol.setCellValueFactory(data -> javafx.beans.binding.Bindings.createStringBinding(
                 () -> {
                     CareLogEntry entry = data.getValue();
-                    if ("WATERING".equals(entry.getActionType()) && entry.getSoilMoisturePct() != null) {
+                    if (entry.getActionType() == CareAction.WATERING && entry.getSoilMoisturePct() != null) {
                         return "Moisture: " + entry.getSoilMoisturePct() + "%";
-                    } else if ("FERTILIZING".equals(entry.getActionType()) && entry.getFertilizerMl() != null) {
+                    } else if (entry.getActionType() == CareAction.FERTILIZING && entry.getFertilizerMl() != null) {
                         return "Fertilizer: " + entry.getFertilizerMl() + "ml";
                     }
                     return entry.getNotes() != null ? entry.getNotes() : "";
@@ -242,8 +268,8 @@ public class CareLogController {
     private void loadUpcomingTasks() {
         LocalDate tomorrow = LocalDate.now().plusDays(1);
         LocalDate nextWeek = LocalDate.now().plusWeeks(1);
-        List<CareTask> tasks = careTaskRepository.findByUserIdAndDateRange(currentUserId, tomorrow, nextWeek);
-        upcomingTasks.setAll(tasks);
+        // computed from the plants' schedules, so repeats within the week show too
+        upcomingTasks.setAll(taskService.upcoming(currentUserId, tomorrow, nextWeek));
     }
 
     private void loadCareHistory() {
@@ -254,18 +280,34 @@ public class CareLogController {
     private void loadNotifications() {
         notifications.clear();
 
-        // Check for due tasks
-        List<CareTask> dueTasks = careTaskRepository.findByUserIdAndStatus(currentUserId, "DUE");
-        if (!dueTasks.isEmpty()) {
-            notifications.add("⚠️ You have " + dueTasks.size() + " tasks due today!");
+        // One read for both counts; open tasks include the missed ones
+        int due = 0, missed = 0;
+        for (CareTask t : careTaskRepository.findDueOrUpcoming(currentUserId)) {
+            if (t.getStatus() == TaskStatus.DUE) due++;
+            else if (t.getStatus() == TaskStatus.MISSED) missed++;
+        }
+        if (due > 0) {
+            notifications.add("⚠️ You have " + due + " tasks due today!");
         }
+        if (missed > 0) {
+            notifications.add("❌ You have " + missed + " missed tasks!");
+        }
+
+        // Alerts pushed by the notification bus since the screen opened, newest first
+        notifications.addAll(recentAlerts);
+        showNotificationContainer();
+    }
 
-        // Check for missed tasks
-        List<CareTask> missedTasks = careTaskRepository.findByUserIdAndStatus(currentUserId, "MISSED");
-        if (!missedTasks.isEmpty()) {
-            notifications.add("❌ You have " + missedTasks.size() + " missed tasks!");
+    private void showAlerts(List<NotificationService.Digest.Item> items) {
+        for (NotificationService.Digest.Item i : items) {
+            recentAlerts.add(0, i.message());
+            notifications.add(0, i.message());
         }
+        while (recentAlerts.size() > MAX_ALERTS) notifications.remove(recentAlerts.remove(recentAlerts.size() - 1));
+        showNotificationContainer();
+    }
 
+    private void showNotificationContainer() {
         // Hide notification section if no notifications
         notificationContainer.setVisible(!notifications.isEmpty());
         notificationContainer.setManaged(!notifications.isEmpty());
@@ -291,22 +333,22 @@ public class CareLogController {
 
     @FXML
     private void logWatering() {
-        showLogDialog("WATERING");
+        showLogDialog(CareAction.WATERING);
     }
 
     @FXML
     private void logFertilizing() {
-        showLogDialog("FERTILIZING");
+        showLogDialog(CareAction.FERTILIZING);
     }
 
     @FXML
     private void logSoilChange() {
-        showLogDialog("SOIL_CHANGE");
+        showLogDialog(CareAction.SOIL_CHANGE);
     }
 
-    private void showLogDialog(String actionType) {
+    private void showLogDialog(CareAction actionType) {
         Dialog<CareLogEntry> dialog = new Dialog<>();
-        dialog.setTitle("Log " + actionType.replace("_", " "));
+        dialog.setTitle("Log " + actionType.name().replace("_", " "));
         dialog.setHeaderText("Record your plant care activity");
 
         // Attach form stylesheet
@@ -346,7 +388,7 @@ public class CareLogController {
         notesField.setPromptText("Notes (optional)");
 
         // Add specific fields based on action type
-        if ("WATERING".equals(actionType)) {
+        if (actionType == CareAction.WATERING) {
             TextField moistureField = new TextField();
             moistureField.setPromptText("Soil Moisture % (optional)");
             form.getChildren().addAll(
@@ -355,7 +397,7 @@ public class CareLogController {
                     new Label("Soil Moisture %:"), moistureField,
                     new Label("Notes:"), notesField
             );
-        } else if ("FERTILIZING".equals(actionType)) {
+        } else if (actionType == CareAction.FERTILIZING) {
             TextField fertilizerField = new TextField();
             fertilizerField.setPromptText("Fertilizer ml (optional)");
             form.getChildren().addAll(
@@ -398,40 +440,51 @@ public class CareLogController {
 
         dialog.showAndWait().ifPresent(entry -> {
             careLogRepository.insert(entry);
+            SearchService.ifOpen(currentUserId).ifPresent(s -> s.indexCareLog(entry));
             loadCareHistory();
             showSuccess("Care activity logged successfully!");
         });
     }
 
     private void markTaskDone(CareTask task) {
-        task.setStatus("DONE");
-        careTaskRepository.updateStatus(task.getId(), "DONE");
+        if (task.getUserId() == null) task.setUserId(currentUserId);
+        taskService.complete(task, LocalDate.now());
 
         CareLogEntry logEntry = new CareLogEntry();
         logEntry.setId(UUID.randomUUID().toString());
         logEntry.setPlantId(task.getPlantId());
         logEntry.setUserId(currentUserId);
         logEntry.setDate(LocalDate.now());
-        logEntry.setActionType(task.getType());
+        logEntry.setActionType(task.getType() == null ? CareAction.OTHER : task.getType().action());
         logEntry.setPlantName(task.getPlantName());
         logEntry.setNotes("Completed scheduled task");
         careLogRepository.insert(logEntry);
+        SearchService.ifOpen(currentUserId).ifPresent(s -> s.indexCareLog(logEntry));
 
         loadTodayTasks();
+        loadUpcomingTasks();
         loadCareHistory();
         loadNotifications();
     }
 
     private void markTaskMissing(CareTask task) {
-        task.setStatus("MISSED");
-        careTaskRepository.updateStatus(task.getId(), "MISSED");
+        if (task.getId() == null) {
+            showAlert("Only the next occurrence of a task can be changed.");
+            return;
+        }
+        task.setStatus(TaskStatus.MISSED);
+        careTaskRepository.updateStatus(task.getId(), TaskStatus.MISSED);
         loadTodayTasks();
         loadNotifications();
     }
 
     private void cancelTask(CareTask task) {
-        task.setStatus("CANCELLED");
-        careTaskRepository.updateStatus(task.getId(), "CANCELLED");
+        if (task.getId() == null) {
+            showAlert("Only the next occurrence of a task can be changed.");
+            return;
+        }
+        task.setStatus(TaskStatus.CANCELLED);
+        careTaskRepository.updateStatus(task.getId(), TaskStatus.CANCELLED);
         loadTodayTasks();
         loadNotifications();
     }
@@ -1,9 +1,12 @@
 package org.plantagonist.ui;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Cursor;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -11,16 +14,23 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
+import org.controlsfx.control.GridCell;
+import org.controlsfx.control.GridView;
 import org.plantagonist.core.auth.CurrentUser;
 import org.plantagonist.core.models.CareTask;
 import org.plantagonist.core.models.Plant;
-import org.plantagonist.core.repositories.CareTaskRepository;
-import org.plantagonist.core.repositories.PlantRepository;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.repositories.PlantStore;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.repositories.TaskStore;
+import org.plantagonist.core.schedule.DueAgenda;
+import org.plantagonist.core.services.NotificationService;
+import org.plantagonist.core.services.SearchService;
 import org.plantagonist.core.services.SuggestionService;
 import org.plantagonist.core.services.TaskService;
+import org.plantagonist.core.services.WeatherCells;
 import org.plantagonist.core.services.WeatherService;
 
-import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -30,7 +40,7 @@ import java.util.Objects;
 import java.util.spi.CurrencyNameProvider;
 import java.util.stream.Collectors;
 
-public class DashboardController {
+public class DashboardController implements Refreshable {
 
     // Weather-related FXML elements
     @FXML private Label weatherAdvice;
@@ -43,7 +53,7 @@ public class DashboardController {
     // Task and plant related elements
     @FXML private ListView<CareTask> taskList;
     @FXML private ListView<String> streakList;
-    @FXML private FlowPane plantsGrid;
+    @FXML private GridView<Plant> plantsGrid;
     @FXML private Label taskCount;
     @FXML private Label plantsCount;
 
@@ -52,16 +62,21 @@ public class DashboardController {
     @FXML private HBox plantsTipContainer;
     @FXML private Button addPlantBtn;
 
-    private final CareTaskRepository taskRepo = new CareTaskRepository();
-    private final PlantRepository plantRepo = new PlantRepository();
+    private final TaskStore taskRepo = Repositories.tasks();
+    private final PlantStore plantRepo = Repositories.plants();
     private final TaskService taskService =
-            new TaskService(plantRepo, taskRepo, new WeatherService(), new SuggestionService());
+            new TaskService(plantRepo, taskRepo, WeatherCells.shared(), new SuggestionService());
+    private final ObservableList<Plant> plants = FXCollections.observableArrayList();
 
     // Plant card constants
     private static final double PLANT_CARD_WIDTH = 180;
     private static final double PLANT_CARD_HEIGHT = 240;
     private static final double PLANT_IMAGE_SIZE = 140;
 
+    // Weather alert thresholds
+    private static final double RAIN_ALERT_MM = 2.0;
+    private static final double HEAT_ALERT_C = 34.0;
+
     @FXML
     public void initialize() {
         String userId = CurrentUser.get().getId();
@@ -69,6 +84,22 @@ public class DashboardController {
         setupPlaceholders();
         setupWeatherDisplay();
         configureTaskCells();
+        configurePlantCells();
+        loadTasks(userId);
+        loadPlants(userId);
+        updateTimestamp();
+
+        // Tasks turning due or missed re-badge the list without waiting for the next visit
+        DueAgenda agenda = DueAgenda.current();
+        if (agenda != null) agenda.subscribe(t -> Platform.runLater(() -> {
+            loadTasks(userId);
+            updateTimestamp();
+        }));
+    }
+
+    @Override
+    public void onShow() {
+        String userId = CurrentUser.get().getId();
         loadTasks(userId);
         loadPlants(userId);
         updateTimestamp();
@@ -97,10 +128,27 @@ public class DashboardController {
         Platform.runLater(this::loadWeatherData);
     }
 
+    /** Weather worth acting on goes to the notification bus; repeats within a window coalesce. */
+    private void publishWeatherAlert(WeatherService.WeatherNow weather, String location) {
+        String userId = CurrentUser.get() != null ? CurrentUser.get().getId() : null;
+        if (userId == null) return;
+        NotificationService bus = NotificationService.get();
+        if (weather.precipMm >= RAIN_ALERT_MM) {
+            bus.publish(new NotificationService.WeatherAlert(userId, location, "rain",
+                    String.format("%.1fmm of rain in %s, skip watering outdoor plants", weather.precipMm, location)));
+        }
+        if (weather.tempC >= HEAT_ALERT_C) {
+            bus.publish(new NotificationService.WeatherAlert(userId, location, "heat",
+                    String.format("%.1f°C in %s, check thirsty plants", weather.tempC, location)));
+        }
+    }
+
     private void loadWeatherData() {
         try {
-            WeatherService ws = new WeatherService();
-            WeatherService.WeatherNow weather = ws.getNowAuto();
+            // the profile city's weather cell, shared with everyone nearby; by IP without a profile
+            String city = CurrentUser.get() != null ? CurrentUser.get().getCity() : null;
+            WeatherService.WeatherNow weather = WeatherCells.shared().now(city);
+            if (weather == null) throw new IllegalStateException("no weather for " + (city != null ? city : "this location"));
             SuggestionService suggestions = new SuggestionService();
 
             // Update weather advice
@@ -110,10 +158,11 @@ public class DashboardController {
             }
 
             // Update location
-            String location = (weather.locationName != null && !weather.locationName.isBlank())
-                    ? weather.locationName : "Unknown location";
+            String location = city != null ? city
+                    : (weather.locationName != null && !weather.locationName.isBlank()) ? weather.locationName : "Unknown location";
             if (weatherLocation != null) {
-                weatherLocation.setText(location);
+                // weather service unreachable: this is the last reading we got
+                weatherLocation.setText(weather.stale ? location + " (last known)" : location);
             }
 
             // Update temperature
@@ -142,6 +191,8 @@ public class DashboardController {
                 Tooltip.install(weatherAdvice, tooltip);
             }
 
+            if (!weather.stale) publishWeatherAlert(weather, location);
+
         } catch (Exception e) {
             // Graceful error handling
             if (weatherAdvice != null) {
@@ -184,8 +235,7 @@ public class DashboardController {
                     setText(null); setGraphic(null); return;
                 }
 
-                String status = t.getStatus() == null ? "" : t.getStatus();
-                badge.setText(status.equals("DUE") || status.equals("TODAY") ? "DUE" : "NEXT");
+                badge.setText(t.getStatus() != null && t.getStatus().isDueish() ? "DUE" : "NEXT");
 
                 String when = t.getDueDate() == null ? "—" : t.getDueDate().toString();
                 String plant = t.getPlantName() == null ? "General Task" : t.getPlantName();
@@ -208,15 +258,11 @@ public class DashboardController {
 
         // Filter out DONE here defensively in case the repo doesn’t.
         List<CareTask> active = items.stream()
-                .filter(t -> !"DONE".equalsIgnoreCase(Objects.toString(t.getStatus(), "")))
+                .filter(t -> t.getStatus() != TaskStatus.DONE)
                 .collect(Collectors.toList());
 
         Comparator<CareTask> cmp = Comparator
-                .comparing((CareTask t) -> {
-                    String s = Objects.toString(t.getStatus(), "");
-                    boolean dueish = "DUE".equalsIgnoreCase(s) || "TODAY".equalsIgnoreCase(s);
-                    return dueish ? 0 : 1;
-                })
+                .comparingInt((CareTask t) -> t.getStatus() != null && t.getStatus().isDueish() ? 0 : 1)
                 .thenComparing(t -> t.getDueDate() == null ? LocalDate.MAX : t.getDueDate());
 
         List<CareTask> sortedTasks = active.stream().sorted(cmp).collect(Collectors.toList());
@@ -230,19 +276,26 @@ public class DashboardController {
     }
 
 
+    private void configurePlantCells() {
+        plantsGrid.setCellWidth(PLANT_CARD_WIDTH);
+        plantsGrid.setCellHeight(PLANT_CARD_HEIGHT);
+        plantsGrid.setCellFactory(gv -> new PlantCardCell());
+        plantsGrid.setItems(plants);
+    }
+
     private void loadPlants(String userId) {
         try {
-            List<Plant> plants = plantRepo.findByUserId(userId);
-            plantsGrid.getChildren().clear();
+            List<Plant> all = plantRepo.findByUserId(userId);
+            plants.setAll(all);
 
             // Update plants count
             if (plantsCount != null) {
-                int count = plants.size();
+                int count = all.size();
                 plantsCount.setText(count == 1 ? "1 plant" : count + " plants");
             }
 
             // Show/hide empty state
-            boolean hasPlants = !plants.isEmpty();
+            boolean hasPlants = !all.isEmpty();
             if (emptyPlantsState != null) {
                 emptyPlantsState.setVisible(!hasPlants);
                 emptyPlantsState.setManaged(!hasPlants);
@@ -251,113 +304,125 @@ public class DashboardController {
                 plantsTipContainer.setVisible(hasPlants);
                 plantsTipContainer.setManaged(hasPlants);
             }
-
-            // Load plant cards
-            for (Plant plant : plants) {
-                VBox plantCard = createPlantCard(plant);
-                plantsGrid.getChildren().add(plantCard);
-            }
         } catch (Exception e) {
             System.err.println("Error loading plants: " + e.getMessage());
         }
     }
 
-    private VBox createPlantCard(Plant plant) {
-        VBox card = new VBox(8);
-        card.getStyleClass().addAll("card", "plant-card");
-        card.setPrefWidth(PLANT_CARD_WIDTH);
-        card.setPrefHeight(PLANT_CARD_HEIGHT);
-        card.setAlignment(Pos.TOP_CENTER);
-        card.setPadding(new Insets(12));
-
-        // Create image container
-        StackPane imageContainer = new StackPane();
-        imageContainer.setPrefSize(PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE);
-        imageContainer.getStyleClass().add("plant-image-container");
-
-        // Plant image
-        ImageView imageView = new ImageView();
-        imageView.setFitWidth(PLANT_IMAGE_SIZE);
-        imageView.setFitHeight(PLANT_IMAGE_SIZE);
-        imageView.setPreserveRatio(true);
-        imageView.setSmooth(true);
-
-        // Set image or placeholder
-        File imgFile = (plant.getPhotoPath() != null) ? new File(plant.getPhotoPath()) : null;
-        if (imgFile != null && imgFile.exists()) {
-            try {
-                Image image = new Image(imgFile.toURI().toString(), PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE, true, true, true);
-                imageView.setImage(image);
-            } catch (Exception e) {
-                setPlaceholderImage(imageView);
-            }
-        } else {
-            setPlaceholderImage(imageView);
+    /** Recycled plant card: nodes are created once per visible cell, then rebound to new items. */
+    private final class PlantCardCell extends GridCell<Plant> {
+        private final VBox card = new VBox(8);
+        private final ImageView imageView = new ImageView();
+        private final Label nameLabel = new Label();
+        private final Label speciesLabel = new Label();
+        private final Region spacer = new Region();
+
+        PlantCardCell() {
+            card.getStyleClass().addAll("card", "plant-card");
+            card.setPrefWidth(PLANT_CARD_WIDTH);
+            card.setPrefHeight(PLANT_CARD_HEIGHT);
+            card.setAlignment(Pos.TOP_CENTER);
+            card.setPadding(new Insets(12));
+
+            // Create image container
+            StackPane imageContainer = new StackPane();
+            imageContainer.setPrefSize(PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE);
+            imageContainer.getStyleClass().add("plant-image-container");
+
+            // Plant image
+            imageView.setFitWidth(PLANT_IMAGE_SIZE);
+            imageView.setFitHeight(PLANT_IMAGE_SIZE);
+            imageView.setPreserveRatio(true);
+            imageView.setSmooth(true);
+
+            // Add rounded corners to image
+            Rectangle clip = new Rectangle(PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE);
+            clip.setArcWidth(16);
+            clip.setArcHeight(16);
+            imageView.setClip(clip);
+
+            imageContainer.getChildren().add(imageView);
+
+            // Plant name
+            nameLabel.getStyleClass().addAll("plant-name", "text-center");
+            nameLabel.setWrapText(true);
+            nameLabel.setMaxWidth(PLANT_CARD_WIDTH - 24);
+            nameLabel.setAlignment(Pos.CENTER);
+
+            // Species (optional, subtle)
+            speciesLabel.getStyleClass().addAll("plant-species", "subtle", "text-center");
+            speciesLabel.setWrapText(true);
+            speciesLabel.setMaxWidth(PLANT_CARD_WIDTH - 24);
+            speciesLabel.setAlignment(Pos.CENTER);
+
+            // Add spacing
+            VBox.setVgrow(spacer, Priority.ALWAYS);
+
+            card.getChildren().addAll(imageContainer, nameLabel, speciesLabel, spacer);
+
+            // Enhanced hover effects
+            card.setCursor(Cursor.HAND);
+            card.setOnMouseEntered(e -> {
+                card.getStyleClass().add("card-hover");
+            });
+            card.setOnMouseExited(e -> {
+                card.getStyleClass().remove("card-hover");
+            });
+
+            // Add click handler to edit plant
+            card.setOnMouseClicked(e -> {
+                if (getItem() != null) editPlant(getItem());
+            });
         }
 
-        // Add rounded corners to image
-        Rectangle clip = new Rectangle(PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE);
-        clip.setArcWidth(16);
-        clip.setArcHeight(16);
-        imageView.setClip(clip);
-
-        imageContainer.getChildren().add(imageView);
-
-        // Plant name
-        Label nameLabel = new Label(Objects.toString(plant.getName(), "Unnamed Plant"));
-        nameLabel.getStyleClass().addAll("plant-name", "text-center");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(PLANT_CARD_WIDTH - 24);
-        nameLabel.setAlignment(Pos.CENTER);
-
-        // Species (optional, subtle)
-        Label speciesLabel = new Label(Objects.toString(plant.getSpecies(), ""));
-        speciesLabel.getStyleClass().addAll("plant-species", "subtle", "text-center");
-        speciesLabel.setWrapText(true);
-        speciesLabel.setMaxWidth(PLANT_CARD_WIDTH - 24);
-        speciesLabel.setAlignment(Pos.CENTER);
-
-        // Add spacing
-        Region spacer = new Region();
-        VBox.setVgrow(spacer, Priority.ALWAYS);
-
-        card.getChildren().addAll(imageContainer, nameLabel);
-
-        // Only add species label if it's not empty
-        if (plant.getSpecies() != null && !plant.getSpecies().trim().isEmpty()) {
-            card.getChildren().add(speciesLabel);
-        }
+        @Override
+        protected void updateItem(Plant plant, boolean empty) {
+            super.updateItem(plant, empty);
+            if (empty || plant == null) {
+                imageView.setImage(null);
+                setGraphic(null);
+                return;
+            }
 
-        card.getChildren().add(spacer);
+            // Set image or placeholder
+            Image photo = Thumbnails.get(plant.getPhotoPath(), PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE, true);
+            if (photo != null) {
+                imageView.setImage(photo);
+            } else {
+                setPlaceholderImage(imageView);
+            }
 
-        // Enhanced hover effects
-        card.setOnMouseEntered(e -> {
-            card.getStyleClass().add("card-hover");
-            card.setStyle(card.getStyle() + "; -fx-cursor: hand;");
-        });
-        card.setOnMouseExited(e -> {
-            card.getStyleClass().remove("card-hover");
-        });
+            nameLabel.setText(Objects.toString(plant.getName(), "Unnamed Plant"));
 
-        // Add click handler to edit plant
-        card.setOnMouseClicked(e -> editPlant(plant));
+            // Only show species label if it's not empty
+            boolean hasSpecies = plant.getSpecies() != null && !plant.getSpecies().trim().isEmpty();
+            speciesLabel.setText(hasSpecies ? plant.getSpecies() : "");
+            speciesLabel.setVisible(hasSpecies);
+            speciesLabel.setManaged(hasSpecies);
 
-        return card;
+            setGraphic(card);
+        }
     }
 
+    // Decoded once and shared by every recycled card without a photo
+    private Image placeholderImage;
+
     private void setPlaceholderImage(ImageView imageView) {
-        try {
-            // Try to load a default plant icon if available
-            var defaultImageUrl = getClass().getResource("/org/plantagonist/ui/plant-placeholder.png");
-            if (defaultImageUrl != null) {
-                imageView.setImage(new Image(defaultImageUrl.toExternalForm(), PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE, true, true, true));
-            } else {
-                // Create a simple colored rectangle as placeholder
-                imageView.setImage(createPlaceholderImage());
+        if (placeholderImage == null) {
+            try {
+                // Try to load a default plant icon if available
+                var defaultImageUrl = getClass().getResource("/org/plantagonist/ui/plant-placeholder.png");
+                if (defaultImageUrl != null) {
+                    placeholderImage = new Image(defaultImageUrl.toExternalForm(), PLANT_IMAGE_SIZE, PLANT_IMAGE_SIZE, true, true, true);
+                } else {
+                    // Create a simple colored rectangle as placeholder
+                    placeholderImage = createPlaceholderImage();
+                }
+            } catch (Exception e) {
+                placeholderImage = createPlaceholderImage();
             }
-        } catch (Exception e) {
-            imageView.setImage(createPlaceholderImage());
         }
+        imageView.setImage(placeholderImage);
     }
 
     private Image createPlaceholderImage() {
@@ -378,8 +443,9 @@ public class DashboardController {
             }
             created.setUserId(CurrentUser.get().getId());
             plantRepo.insertOne(created);
+            SearchService.ifOpen(created.getUserId()).ifPresent(s -> s.indexPlant(created));
             loadPlants(CurrentUser.get().getId()); // Refresh the plants display
-            taskService.syncAllWaterTasks(CurrentUser.get().getId());
+            taskService.syncAllTasks(CurrentUser.get().getId());
         } catch (Exception e) {
             showError("Couldn't add plant", e.getMessage());
         }
@@ -427,8 +493,9 @@ public class DashboardController {
 
                 edited.setUserId(CurrentUser.get().getId());
                 plantRepo.replaceById(id, edited);
+                SearchService.ifOpen(edited.getUserId()).ifPresent(s -> s.indexPlant(edited));
                 loadPlants(CurrentUser.get().getId()); // Refresh the plants display
-                taskService.syncAllWaterTasks(CurrentUser.get().getId());
+                taskService.syncAllTasks(CurrentUser.get().getId());
             }
         } catch (Exception e) {
             showError("Couldn't edit plant", e.getMessage());
@@ -444,6 +511,10 @@ public class DashboardController {
         copy.setSunlightHours(src.getSunlightHours());
         copy.setPhotoPath(src.getPhotoPath());
         copy.setLastWatered(src.getLastWatered());
+        copy.setFertilizeEveryDays(src.getFertilizeEveryDays());
+        copy.setLastFertilized(src.getLastFertilized());
+        copy.setSoilChangeEveryDays(src.getSoilChangeEveryDays());
+        copy.setLastSoilChanged(src.getLastSoilChanged());
         return copy;
     }
 
@@ -460,7 +531,6 @@ public class DashboardController {
             return;
         }
         final String taskId  = task.getId();
-        final String plantId = task.getPlantId();
         final String userId = CurrentUser.get().getId();
 
         // Optimistic UI
@@ -471,22 +541,11 @@ public class DashboardController {
         }
 
         try {
-            // 1) Mark DONE in DB (now hits _id)
-            taskRepo.updateStatus(taskId, "DONE");
-
-            // 2) Persist lastWatered BEFORE rescheduling
-            if (plantId != null && !plantId.isBlank()) {
-                Plant p = plantRepo.findById(plantId);
-                if (p != null) {
-                    p.setLastWatered(LocalDate.now());
-                    plantRepo.replaceById(p.getId(), p); // uses _id filter via BaseRepository
-                }
-            }
-
-            // 3) Recompute tasks (will delete WATER and insert next by lastWatered)
-            taskService.syncAllWaterTasks(userId);
+            // 1) Mark DONE, record it on the plant (lastWatered etc.) and schedule the next one
+            if (task.getUserId() == null) task.setUserId(userId);
+            taskService.complete(task, LocalDate.now());
 
-            // 4) Reload (defensively filters DONE anyway)
+            // 2) Reload (defensively filters DONE anyway)
             loadTasks(userId);
             updateTimestamp();
 
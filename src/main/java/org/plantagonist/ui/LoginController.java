@@ -6,6 +6,7 @@ import javafx.stage.Stage;
 import org.plantagonist.core.auth.CurrentUser;
 import org.plantagonist.core.models.UserProfile;
 import org.plantagonist.core.services.AuthService;
+import org.plantagonist.util.StartupTimer;
 
 public class LoginController {
 
@@ -21,12 +22,14 @@ public class LoginController {
         String id = emailOrUsername.getText() == null ? "" : emailOrUsername.getText().trim();
         char[] pwd = password.getText() == null ? new char[0] : password.getText().toCharArray();
         System.out.println("[LoginController] onLogin id='" + id + "' len(pwd)=" + pwd.length);
+        StartupTimer.loginSubmitted();
 
         try {
             UserProfile user = auth.login(id, pwd);
             System.out.println("[LoginController] login OK: " + user.getEmail());
             org.plantagonist.core.auth.CurrentUser.set(user);
             UiRouter.showMainApp((Stage) emailOrUsername.getScene().getWindow());
+            UiRouter.preloadAfterLogin();
         } catch (Exception e) {
             System.out.println("[LoginController] login FAIL: " + e.getMessage());
             error.setText("Invalid credentials");
@@ -2,20 +2,36 @@ package org.plantagonist.ui;
 
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import org.plantagonist.core.auth.CurrentUser;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.schedule.DueAgenda;
+import org.plantagonist.core.schedule.ReminderScheduler;
+import org.plantagonist.core.search.FullTextIndex;
 import org.plantagonist.core.services.DiagnosticsService;
+import org.plantagonist.core.services.NotificationService;
+import org.plantagonist.core.services.SearchService;
 import org.plantagonist.core.models.UserProfile;
 import org.plantagonist.core.storage.PathsConfig;
+import org.plantagonist.core.sync.OfflineSync;
 import com.google.gson.Gson;
 
 import java.nio.file.Files;
+import java.util.List;
 
-public class MainController {
+public class MainController implements Refreshable {
     @FXML private StackPane content;
+    @FXML private TextField globalSearch;
+
+    private UiRouter.View current;
 
     @FXML
     public void initialize() {
@@ -34,7 +50,12 @@ public class MainController {
             }
         });
 
+        // before the first screen so its controller can subscribe
+        DueAgenda.start(CurrentUser.get().getId()).subscribe(NotificationService.get());
+        ReminderScheduler.adopt(CurrentUser.get().getId());
         goDashboard();
+        openSearchIndexInBackground();
+        hydrateOfflineReplica();
     }
 
     public void goDashboard() { setCenter("dashboard.fxml"); }
@@ -43,15 +64,112 @@ public class MainController {
     public void goSupplies() { setCenter("supplies.fxml"); }
     public void goSettings() { setCenter("settings.fxml"); }
 
+    /** Swaps in a cached sub-screen; it is parsed once and refreshed via onShow on later visits. */
     private void setCenter(String fxml) {
         try {
-            Node ui = FXMLLoader.load(getClass().getResource("/org/plantagonist/ui/" + fxml));
-            content.getChildren().setAll(ui);
+            UiRouter.View v = UiRouter.view(fxml);
+            content.getChildren().setAll(v.root);
+            current = v;
+            UiRouter.shown(v);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    @Override
+    public void onShow() {
+        if (current != null) UiRouter.shown(current);
+    }
+
+    /** Offline-first backend: pull the user's data from Mongo, then refresh whatever is on screen. */
+    private void hydrateOfflineReplica() {
+        if (Repositories.backend() != Repositories.Backend.OFFLINE) return;
+        OfflineSync.hydrateAsync(CurrentUser.get().getId()).thenAccept(applied -> {
+            if (applied == 0) return;
+            DueAgenda agenda = DueAgenda.current();
+            if (agenda != null) agenda.reload(); // hydration writes the replica directly, past the task listeners
+            javafx.application.Platform.runLater(() -> {
+                if (current != null && current.controller instanceof Refreshable r) r.onShow();
+            });
+        });
+    }
+
+    /** Loads (or, the first time, builds) the user's search index so the first query is instant. */
+    private void openSearchIndexInBackground() {
+        String userId = CurrentUser.get().getId();
+        Thread t = new Thread(() -> {
+            try {
+                SearchService.forUser(userId);
+            } catch (Exception e) {
+                System.err.println("[search] index not available: " + e.getMessage());
+            }
+        }, "search-open");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @FXML
+    public void runGlobalSearch() {
+        String query = globalSearch == null ? "" : globalSearch.getText().trim();
+        if (query.isEmpty()) return;
+        String userId = CurrentUser.get().getId();
+
+        Task<List<FullTextIndex.Result>> task = new Task<>() {
+            @Override protected List<FullTextIndex.Result> call() {
+                return SearchService.forUser(userId).search(query, 50);
+            }
+        };
+        task.setOnSucceeded(ev -> showSearchResults(query, task.getValue()));
+        task.setOnFailed(ev -> {
+            Alert a = new Alert(Alert.AlertType.ERROR, "Search failed: " + task.getException());
+            a.setHeaderText("Search");
+            a.showAndWait();
+        });
+
+        Thread t = new Thread(task, "global-search");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void showSearchResults(String query, List<FullTextIndex.Result> results) {
+        ListView<FullTextIndex.Result> list = new ListView<>();
+        list.getItems().setAll(results);
+        list.setPlaceholder(new Label("Nothing matches \"" + query + "\""));
+        list.setPrefSize(620, 400);
+        list.setCellFactory(lv -> new ListCell<>() {
+            private final Label title = new Label();
+            private final Label snippet = new Label();
+            private final VBox box = new VBox(2, title, snippet);
+            {
+                title.setStyle("-fx-font-weight: 600;");
+                snippet.setWrapText(true);
+                snippet.setMaxWidth(580);
+            }
+            @Override protected void updateItem(FullTextIndex.Result r, boolean empty) {
+                super.updateItem(r, empty);
+                if (empty || r == null) { setGraphic(null); return; }
+                title.setText(r.title);
+                snippet.setText(r.snippet);
+                setGraphic(box);
+            }
+        });
+
+        Alert a = new Alert(Alert.AlertType.NONE, "", ButtonType.CLOSE);
+        a.setTitle("Search");
+        a.setHeaderText(results.size() + " result(s) for \"" + query + "\"");
+        a.getDialogPane().setContent(list);
+
+        // Double-click jumps to the screen that owns the result
+        list.setOnMouseClicked(ev -> {
+            FullTextIndex.Result r = list.getSelectionModel().getSelectedItem();
+            if (ev.getClickCount() < 2 || r == null) return;
+            a.close();
+            if (r.kind == FullTextIndex.Kind.CARE_LOG || r.kind == FullTextIndex.Kind.TASK) goCareLog();
+            else goPlants();
+        });
+        a.show();
+    }
+
     @FXML
     public void runDiagnostics() {
         String city = loadCityOrDefault();
@@ -23,6 +23,8 @@ public class PlantFormController {
     @FXML private TextField nameField;
     @FXML private TextField speciesField;
     @FXML private TextField waterEveryField;
+    @FXML private TextField fertilizeEveryField;
+    @FXML private TextField soilChangeEveryField;
     @FXML private TextField sunlightField;
     @FXML private TextField photoField;
     @FXML private DatePicker lastWateredPicker;
@@ -115,6 +117,8 @@ public class PlantFormController {
                 return txt.matches("\\d{0,4}") ? ch : null;
             };
             waterEveryField.setTextFormatter(new TextFormatter<>(intFilter));
+            if (fertilizeEveryField != null) fertilizeEveryField.setTextFormatter(new TextFormatter<>(intFilter));
+            if (soilChangeEveryField != null) soilChangeEveryField.setTextFormatter(new TextFormatter<>(intFilter));
         }
 
         if (sunlightField != null) {
@@ -190,6 +194,8 @@ public class PlantFormController {
         if (nameField != null) nameField.setText(nz(working.getName()));
         if (speciesField != null) speciesField.setText(nz(working.getSpecies()));
         if (waterEveryField != null) waterEveryField.setText(working.getWaterEveryDays() == null ? "" : String.valueOf(working.getWaterEveryDays()));
+        if (fertilizeEveryField != null) fertilizeEveryField.setText(working.getFertilizeEveryDays() == null ? "" : String.valueOf(working.getFertilizeEveryDays()));
+        if (soilChangeEveryField != null) soilChangeEveryField.setText(working.getSoilChangeEveryDays() == null ? "" : String.valueOf(working.getSoilChangeEveryDays()));
         if (sunlightField != null) sunlightField.setText(working.getSunlightHours() == null ? "" : String.valueOf(working.getSunlightHours()));
         if (photoField != null) photoField.setText(nz(working.getPhotoPath()));
         if (lastWateredPicker != null) lastWateredPicker.setValue(working.getLastWatered());
@@ -286,6 +292,23 @@ public class PlantFormController {
                 }
             }
 
+            Integer fertilizeEvery;
+            try {
+                fertilizeEvery = positiveDays(fertilizeEveryField);
+            } catch (NumberFormatException e) {
+                showError("Fertilize frequency must be a positive number of days.");
+                fertilizeEveryField.requestFocus();
+                return;
+            }
+            Integer soilChangeEvery;
+            try {
+                soilChangeEvery = positiveDays(soilChangeEveryField);
+            } catch (NumberFormatException e) {
+                showError("Soil change frequency must be a positive number of days.");
+                soilChangeEveryField.requestFocus();
+                return;
+            }
+
             // Optional sunlight
             Double sunlight = null;
             String s = nz(sunlightField != null ? sunlightField.getText() : "").trim();
@@ -324,6 +347,8 @@ public class PlantFormController {
             working.setName(name);
             working.setSpecies(species);
             working.setWaterEveryDays(waterEvery);
+            working.setFertilizeEveryDays(fertilizeEvery);
+            working.setSoilChangeEveryDays(soilChangeEvery);
             working.setSunlightHours(sunlight);
             working.setPhotoPath(photo);
             working.setLastWatered(lastWatered);
@@ -368,4 +393,13 @@ public class PlantFormController {
     private static String blankToNull(String s) {
         return (s == null || s.isBlank()) ? null : s;
     }
+
+    /** Optional interval field: null when blank (or absent), NumberFormatException unless positive. */
+    private static Integer positiveDays(TextField field) {
+        String t = nz(field != null ? field.getText() : "").trim();
+        if (t.isBlank()) return null;
+        int v = Integer.parseInt(t);
+        if (v <= 0) throw new NumberFormatException("Must be positive");
+        return v;
+    }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package org.plantagonist.ui;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.animation.PauseTransition;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.Cursor;
@@ -12,46 +16,64 @@ import javafx.scene.layout.*;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.controlsfx.control.GridCell;
+import org.controlsfx.control.GridView;
 import org.plantagonist.core.auth.CurrentUser;
 import org.plantagonist.core.models.Plant;
 import org.plantagonist.core.models.JournalEntry;
-import org.plantagonist.core.repositories.PlantRepository;
-import org.plantagonist.core.repositories.JournalRepository;
+import org.plantagonist.core.repositories.PlantStore;
+import org.plantagonist.core.repositories.JournalStore;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.search.PlantSearchIndex;
+import org.plantagonist.core.services.SearchService;
 
-import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
-import org.plantagonist.core.repositories.CareTaskRepository;
+import org.plantagonist.core.repositories.TaskStore;
 import org.plantagonist.core.services.TaskService;
-import org.plantagonist.core.services.WeatherService;
+import org.plantagonist.core.services.WeatherCells;
 import org.plantagonist.core.services.SuggestionService;
 
-public class PlantsController {
+public class PlantsController implements Refreshable {
 
     @FXML private TextField searchField;
-    @FXML private FlowPane grid;
+    @FXML private GridView<Plant> grid;
     @FXML private ComboBox<Plant> plantSelector;
-    @FXML private VBox journalEntriesContainer;
+    @FXML private ListView<JournalEntry> journalList;
     @FXML private Button addJournalEntryBtn;
 
     // NEW fields for journal
-    private final JournalRepository journalRepo = new JournalRepository();
+    private final JournalStore journalRepo = Repositories.journal();
     private final ObservableList<JournalEntry> journalEntries = FXCollections.observableArrayList();
     private Plant selectedPlantForJournal;
 
+    // Journal timeline paging: pages are appended as the user scrolls near the end
+    private static final int JOURNAL_PAGE_SIZE = 30;
+    private static final int JOURNAL_PREFETCH_ROWS = 5;
+    private boolean journalLoading;
+    private boolean journalExhausted;
+    private int journalGeneration; // bumps on filter change so stale pages are dropped
+
     private final ObservableList<Plant> backing = FXCollections.observableArrayList();
-    private final PlantRepository repo = new PlantRepository();
+    private final FilteredList<Plant> visible = new FilteredList<>(backing);
+    private final SortedList<Plant> ranked = new SortedList<>(visible);
+    private final PlantSearchIndex searchIndex = new PlantSearchIndex();
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(150));
+    private final PlantStore repo = Repositories.plants();
 
-    private final CareTaskRepository taskRepo = new CareTaskRepository();
-    private final TaskService taskService = new TaskService(repo, taskRepo, new WeatherService(), new SuggestionService());
+    private final TaskStore taskRepo = Repositories.tasks();
+    private final TaskService taskService = new TaskService(repo, taskRepo, WeatherCells.shared(), new SuggestionService());
 
     // Card layout constants
     private static final double CARD_WIDTH = 320;
     private static final double IMAGE_HEIGHT = 180;
+    private static final double CARD_HEIGHT = 330;
 
     @FXML
     public void initialize() {
@@ -59,18 +81,28 @@ public class PlantsController {
         String userId = CurrentUser.get().getId();
         reload();
 
-        // live search
+        // live search, debounced so a burst of keystrokes runs a single query
+        searchDebounce.setOnFinished(e -> render());
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, old, q) -> render());
+            searchField.textProperty().addListener((obs, old, q) -> searchDebounce.playFromStart());
         }
 
-        // FlowPane should wrap cards
-        grid.setPrefWrapLength(CARD_WIDTH * 3 + 24);
+        // GridView only materializes the cards that are on screen and recycles them while scrolling
+        grid.setCellWidth(CARD_WIDTH);
+        grid.setCellHeight(CARD_HEIGHT);
+        grid.setCellFactory(gv -> new PlantCardCell());
+        grid.setItems(ranked);
 
         // Initialize journal section
         initializeJournalSection();
     }
 
+    @Override
+    public void onShow() {
+        reload();
+        loadJournalEntries();
+    }
+
     private void initializeJournalSection() {
         if (plantSelector != null) {
             // Populate plant selector
@@ -109,109 +141,147 @@ public class PlantsController {
         }
 
         // Load initial journal entries
+        configureJournalList();
         loadJournalEntries();
     }
 
     private void loadJournalEntries() {
-        String userId = CurrentUser.get().getId();
+        journalGeneration++;
+        journalLoading = false;
+        journalExhausted = false;
         journalEntries.clear();
-
-        if (selectedPlantForJournal != null) {
-            // Load entries for selected plant
-            List<JournalEntry> entries = journalRepo.findByUserIdAndPlantId(userId, selectedPlantForJournal.getId());
-            journalEntries.addAll(entries);
-        } else {
-            // Load all entries for user
-            List<JournalEntry> entries = journalRepo.findByUserId(userId);
-            journalEntries.addAll(entries);
-        }
-
-        renderJournalEntries();
+        loadNextJournalPage();
     }
 
-    private void renderJournalEntries() {
-        if (journalEntriesContainer == null) return;
+    /** Fetches the next timeline page off the FX thread; the last loaded entry is the keyset cursor. */
+    private void loadNextJournalPage() {
+        if (journalLoading || journalExhausted) return;
+        journalLoading = true;
 
-        journalEntriesContainer.getChildren().clear();
+        final int generation = journalGeneration;
+        final String userId = CurrentUser.get().getId();
+        final String plantId = selectedPlantForJournal != null ? selectedPlantForJournal.getId() : null;
+        final JournalEntry cursor = journalEntries.isEmpty() ? null : journalEntries.get(journalEntries.size() - 1);
 
-        if (journalEntries.isEmpty()) {
-            Label emptyLabel = new Label("No journal entries yet.\nClick 'Add New Entry' to start your plant journal!");
-            emptyLabel.getStyleClass().addAll("journal-empty", "text-center");
-            emptyLabel.setAlignment(javafx.geometry.Pos.CENTER);
-            emptyLabel.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-            journalEntriesContainer.getChildren().add(emptyLabel);
-            return;
-        }
+        Task<List<JournalEntry>> task = new Task<>() {
+            @Override protected List<JournalEntry> call() {
+                return journalRepo.findTimelinePage(userId, plantId, cursor, JOURNAL_PAGE_SIZE);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (generation != journalGeneration) return;
+            List<JournalEntry> page = task.getValue();
+            journalExhausted = page.size() < JOURNAL_PAGE_SIZE;
+            journalLoading = false;
+            journalEntries.addAll(page);
+        });
+        task.setOnFailed(e -> {
+            if (generation != journalGeneration) return;
+            journalLoading = false;
+            System.out.println("Failed to load journal entries: " + task.getException());
+        });
 
-        for (JournalEntry entry : journalEntries) {
-            journalEntriesContainer.getChildren().add(createJournalEntryCard(entry));
-        }
+        Thread t = new Thread(task, "journal-page");
+        t.setDaemon(true);
+        t.start();
     }
 
-    private Region createJournalEntryCard(JournalEntry entry) {
-        HBox card = new HBox();
-        card.getStyleClass().add("journal-entry-card-clean");
-        card.setMaxWidth(600);
+    private void configureJournalList() {
+        if (journalList == null) return;
 
-        // Left side - Text content
-        VBox textContent = new VBox(12);
-        textContent.getStyleClass().add("entry-content-side");
-        textContent.setPadding(new Insets(20));
-        textContent.setPrefWidth(400);
+        Label emptyLabel = new Label("No journal entries yet.\nClick 'Add New Entry' to start your plant journal!");
+        emptyLabel.getStyleClass().addAll("journal-empty", "text-center");
+        emptyLabel.setAlignment(javafx.geometry.Pos.CENTER);
+        emptyLabel.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
+        journalList.setPlaceholder(emptyLabel);
 
-        // Date
-        Label dateLabel = new Label(entry.getFormattedDate());
-        dateLabel.getStyleClass().add("entry-date-clean");
+        journalList.setCellFactory(lv -> new JournalEntryCell());
+        journalList.setItems(journalEntries);
+    }
 
-        // Plant name if available
-        if (entry.getPlantName() != null && !entry.getPlantName().isEmpty()) {
-            Label plantLabel = new Label("• " + entry.getPlantName());
+    /** Recycled journal card; photos are decoded only for cells that are actually on screen. */
+    private final class JournalEntryCell extends ListCell<JournalEntry> {
+        private final HBox card = new HBox();
+        private final VBox textContent = new VBox(12);
+        private final Label dateLabel = new Label();
+        private final Label plantLabel = new Label();
+        private final Label contentLabel = new Label();
+        private final VBox photoContainer = new VBox();
+        private final ImageView photoView = new ImageView();
+
+        JournalEntryCell() {
+            card.getStyleClass().add("journal-entry-card-clean");
+            card.setMaxWidth(600);
+
+            // Left side - Text content
+            textContent.getStyleClass().add("entry-content-side");
+            textContent.setPadding(new Insets(20));
+            textContent.setPrefWidth(400);
+
+            dateLabel.getStyleClass().add("entry-date-clean");
             plantLabel.getStyleClass().add("entry-date-clean");
             plantLabel.setStyle("-fx-text-fill: #7A8F95 !important;");
             HBox header = new HBox(8, dateLabel, plantLabel);
             header.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
-            textContent.getChildren().add(header);
-        } else {
-            textContent.getChildren().add(dateLabel);
+
+            contentLabel.getStyleClass().add("entry-content-clean");
+            contentLabel.setWrapText(true);
+            contentLabel.setMaxWidth(360);
+            contentLabel.setLineSpacing(5);
+            textContent.getChildren().addAll(header, contentLabel);
+
+            // Right side - Photo if available
+            photoContainer.getStyleClass().add("entry-photo-side");
+            photoContainer.setPadding(new Insets(15));
+            photoContainer.setPrefWidth(200);
+            photoView.setFitWidth(150);
+            photoView.setFitHeight(150);
+            photoView.setPreserveRatio(true);
+            photoView.setSmooth(true);
+            photoView.getStyleClass().add("journal-photo-clean");
+            photoContainer.getChildren().add(photoView);
+
+            card.getChildren().addAll(textContent, photoContainer);
         }
 
-        // Content
-        Label contentLabel = new Label(entry.getContent());
-        contentLabel.getStyleClass().add("entry-content-clean");
-        contentLabel.setWrapText(true);
-        contentLabel.setMaxWidth(360);
-        contentLabel.setLineSpacing(5);
-        textContent.getChildren().add(contentLabel);
-
-        card.getChildren().add(textContent);
-
-        // Right side - Photo if available
-        if (entry.getPhotoPath() != null && !entry.getPhotoPath().isEmpty()) {
-            File imgFile = new File(entry.getPhotoPath());
-            if (imgFile.exists()) {
-                try {
-                    VBox photoContainer = new VBox();
-                    photoContainer.getStyleClass().add("entry-photo-side");
-                    photoContainer.setPadding(new Insets(15));
-                    photoContainer.setPrefWidth(200);
-
-                    ImageView photoView = new ImageView();
-                    photoView.setFitWidth(150);
-                    photoView.setFitHeight(150);
-                    photoView.setPreserveRatio(true);
-                    photoView.setSmooth(true);
-                    photoView.getStyleClass().add("journal-photo-clean");
-                    photoView.setImage(new Image(imgFile.toURI().toString()));
-
-                    photoContainer.getChildren().add(photoView);
-                    card.getChildren().add(photoContainer);
-                } catch (Exception e) {
-                    System.out.println("Failed to load journal photo: " + e.getMessage());
-                }
+        @Override
+        protected void updateItem(JournalEntry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                photoView.setImage(null);
+                setText(null);
+                setGraphic(null);
+                return;
             }
-        }
 
-        return card;
+            if (getIndex() >= journalEntries.size() - JOURNAL_PREFETCH_ROWS) {
+                loadNextJournalPage();
+            }
+
+            dateLabel.setText(entry.getFormattedDate());
+
+            // Plant name if available
+            boolean hasPlant = entry.getPlantName() != null && !entry.getPlantName().isEmpty();
+            plantLabel.setText(hasPlant ? "• " + entry.getPlantName() : "");
+            plantLabel.setVisible(hasPlant);
+            plantLabel.setManaged(hasPlant);
+
+            // Content (already cut to a preview by the repository projection)
+            String content = entry.getContent() == null ? "" : entry.getContent();
+            if (content.length() > JournalStore.TIMELINE_PREVIEW_CHARS) {
+                content = content.substring(0, JournalStore.TIMELINE_PREVIEW_CHARS) + "...";
+            }
+            contentLabel.setText(content);
+
+            Image photo = Thumbnails.get(entry.getPhotoPath(), 150, 150, true);
+            boolean hasPhoto = photo != null;
+            photoView.setImage(photo);
+            photoContainer.setVisible(hasPhoto);
+            photoContainer.setManaged(hasPhoto);
+
+            setText(null);
+            setGraphic(card);
+        }
     }
 
     private void openJournalEntryDialog() {
@@ -232,6 +302,7 @@ public class PlantsController {
             }
 
             journalRepo.insertOne(entry);
+            SearchService.ifOpen(entry.getUserId()).ifPresent(s -> s.indexJournal(entry));
             loadJournalEntries();
         } catch (Exception e) {
             showError("Couldn't save journal entry", e.getMessage());
@@ -252,8 +323,9 @@ public class PlantsController {
 
             created.setUserId(CurrentUser.get().getId());
             repo.insertOne(created);
+            SearchService.ifOpen(created.getUserId()).ifPresent(s -> s.indexPlant(created));
             reload();
-            taskService.syncAllWaterTasks(CurrentUser.get().getId());
+            taskService.syncAllTasks(CurrentUser.get().getId());
 
         } catch (Throwable t) {
             showError("Couldn't add plant", t.getMessage());
@@ -265,6 +337,7 @@ public class PlantsController {
         String userId = CurrentUser.get().getId();
         List<Plant> all = repo.findByUserId(userId);
         backing.setAll(all);
+        searchIndex.sync(all);
         render();
 
         // Refresh plant selector if it exists
@@ -272,98 +345,121 @@ public class PlantsController {
             plantSelector.setItems(backing);
         }
 
-        taskService.syncAllWaterTasks(userId);
+        taskService.syncAllTasks(userId);
     }
 
+    /** Re-filters and ranks via the search index; cells are recycled by the GridView, no nodes are rebuilt. */
     private void render() {
-        String needle = norm(searchField != null ? searchField.getText() : "");
-        List<Plant> items = backing.stream()
-                .filter(p -> matches(p, needle))
-                .collect(Collectors.toList());
+        String query = searchField != null ? searchField.getText() : "";
+        if (PlantSearchIndex.normalize(query).isEmpty()) {
+            visible.setPredicate(null);
+            ranked.setComparator(null);
+            return;
+        }
 
-        grid.getChildren().setAll(items.stream().map(this::createCard).collect(Collectors.toList()));
+        Map<String, Integer> rank = new HashMap<>();
+        for (PlantSearchIndex.Hit hit : searchIndex.search(query, Integer.MAX_VALUE)) {
+            rank.put(hit.id, rank.size());
+        }
+        visible.setPredicate(p -> rank.containsKey(p.getId()));
+        ranked.setComparator((a, b) -> Integer.compare(rank.get(a.getId()), rank.get(b.getId())));
     }
 
-    private boolean matches(Plant p, String needle) {
-        if (needle.isEmpty()) return true;
-        return contains(p.getName(), needle) || contains(p.getSpecies(), needle);
+    /** One reusable card; the node tree is built once and rebound in {@link #updateItem}. */
+    private final class PlantCardCell extends GridCell<Plant> {
+        private final VBox card = new VBox(10);
+        private final ImageView iv = new ImageView();
+        private final Label name = new Label();
+        private final Label species = new Label();
+        private final Label water = badge("");
+        private final Label sun = badge("");
+        private final Label next = badge("");
+
+        PlantCardCell() {
+            card.getStyleClass().add("card");
+            card.setPrefWidth(CARD_WIDTH);
+            card.setFillWidth(true);
+            card.setPadding(new Insets(12));
+
+            // Image hero (with rounded clip)
+            iv.setFitWidth(CARD_WIDTH - 24);
+            iv.setFitHeight(IMAGE_HEIGHT);
+            iv.setPreserveRatio(false);
+            iv.setSmooth(true);
+            Rectangle clip = new Rectangle(iv.getFitWidth(), IMAGE_HEIGHT);
+            clip.setArcWidth(24); clip.setArcHeight(24);
+            iv.setClip(clip);
+
+            // Header
+            name.getStyleClass().add("card-header");
+            species.getStyleClass().add("subtle");
+
+            // Meta row (water cadence / next water)
+            HBox meta = new HBox(8, water, sun, next);
+
+            // Actions
+            HBox actions = new HBox(8);
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            Button edit = new Button("Edit");
+            edit.getStyleClass().add("nav-btn");
+            edit.setOnAction(e -> edit(getItem()));
+
+            Button remove = new Button("Remove");
+            remove.getStyleClass().add("nav-btn");
+            remove.setOnAction(e -> delete(getItem()));
+
+            actions.getChildren().addAll(spacer, edit, remove);
+
+            // Allow clicking the image to edit (nice UX)
+            iv.setOnMouseEntered(e -> card.setCursor(Cursor.HAND));
+            iv.setOnMouseExited(e -> card.setCursor(Cursor.DEFAULT));
+            iv.setOnMouseClicked(e -> edit(getItem()));
+
+            card.getChildren().addAll(iv, name, species, meta, actions);
+        }
+
+        @Override
+        protected void updateItem(Plant p, boolean empty) {
+            super.updateItem(p, empty);
+            if (empty || p == null) {
+                iv.setImage(null);
+                setGraphic(null);
+                return;
+            }
+
+            Image photo = Thumbnails.get(p.getPhotoPath(), iv.getFitWidth(), IMAGE_HEIGHT, false);
+            iv.setImage(photo != null ? photo : placeholderImage());
+
+            name.setText(Objects.toString(p.getName(), "Unnamed"));
+            species.setText(Objects.toString(p.getSpecies(), "—"));
+            water.setText("Water: " + textOrDash(p.getWaterEveryDays()));
+            sun.setText("Sun: " + textOrDash(p.getSunlightHours()));
+            next.setText("Next: " + computeNextWaterText(p));
+            setGraphic(card);
+        }
     }
 
-    private static boolean contains(String s, String n) { return s != null && s.toLowerCase().contains(n); }
-    private static String norm(String s) { return s == null ? "" : s.trim().toLowerCase(); }
-
-    private Region createCard(Plant p) {
-        // Outer card
-        VBox card = new VBox(10);
-        card.getStyleClass().add("card");
-        card.setPrefWidth(CARD_WIDTH);
-        card.setFillWidth(true);
-        card.setPadding(new Insets(12));
-
-        // Image hero (with rounded clip)
-        ImageView iv = new ImageView();
-        iv.setFitWidth(CARD_WIDTH - 24);
-        iv.setFitHeight(IMAGE_HEIGHT);
-        iv.setPreserveRatio(false);
-        iv.setSmooth(true);
-
-        File imgFile = (p.getPhotoPath() != null) ? new File(p.getPhotoPath()) : null;
-        if (imgFile != null && imgFile.exists()) {
-            iv.setImage(new Image(imgFile.toURI().toString(), iv.getFitWidth(), IMAGE_HEIGHT, false, true, true));
-        } else {
-            iv.setImage(new Image(
-                    getClass().getResource("/org/plantagonist/ui/empty.png") != null
-                            ? getClass().getResource("/org/plantagonist/ui/empty.png").toExternalForm()
+    private Image placeholder;
+
+    /** Shared by every card without a photo, so it is decoded once. */
+    private Image placeholderImage() {
+        if (placeholder == null) {
+            var url = getClass().getResource("/org/plantagonist/ui/empty.png");
+            placeholder = new Image(
+                    url != null
+                            ? url.toExternalForm()
                             : "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAAEElEQVR4nGMAAQAABQABYy1V7wAAAABJRU5ErkJggg==",
-                    iv.getFitWidth(), IMAGE_HEIGHT, false, true, true
-            ));
+                    CARD_WIDTH - 24, IMAGE_HEIGHT, false, true, true
+            );
         }
-        Rectangle clip = new Rectangle(iv.getFitWidth(), IMAGE_HEIGHT);
-        clip.setArcWidth(24); clip.setArcHeight(24);
-        iv.setClip(clip);
-
-        // Header
-        Label name = new Label(Objects.toString(p.getName(), "Unnamed"));
-        name.getStyleClass().add("card-header");
-
-        Label species = new Label(Objects.toString(p.getSpecies(), "—"));
-        species.getStyleClass().add("subtle");
-
-        // Meta row (water cadence / next water)
-        HBox meta = new HBox(8);
-        meta.getChildren().addAll(
-                badge("Water: " + textOrDash(p.getWaterEveryDays())),
-                badge("Sun: " + textOrDash(p.getSunlightHours())),
-                badge("Next: " + computeNextWaterText(p))
-        );
-
-        // Actions
-        HBox actions = new HBox(8);
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        Button edit = new Button("Edit");
-        edit.getStyleClass().add("nav-btn");
-        edit.setOnAction(e -> edit(p));
-
-        Button remove = new Button("Remove");
-        remove.getStyleClass().add("nav-btn");
-        remove.setOnAction(e -> delete(p));
-
-        actions.getChildren().addAll(spacer, edit, remove);
-
-        // Allow clicking the image to edit (nice UX)
-        iv.setOnMouseEntered(e -> card.setCursor(Cursor.HAND));
-        iv.setOnMouseExited(e -> card.setCursor(Cursor.DEFAULT));
-        iv.setOnMouseClicked(e -> edit(p));
-
-        card.getChildren().addAll(iv, name, species, meta, actions);
-        return card;
+        return placeholder;
     }
 
     private String textOrDash(Object v) { return v == null ? "—" : v.toString(); }
 
-    private Label badge(String text) {
+    private static Label badge(String text) {
         Label l = new Label(text);
         l.getStyleClass().add("badge");
         return l;
@@ -391,8 +487,9 @@ public class PlantsController {
             edited.setUserId(target.getUserId());
 
             repo.replaceById(target.getId(), edited);
+            SearchService.ifOpen(CurrentUser.get().getId()).ifPresent(s -> s.indexPlant(edited));
             reload();
-            taskService.syncAllWaterTasks(CurrentUser.get().getId());
+            taskService.syncAllTasks(CurrentUser.get().getId());
 
         } catch (Exception t) {
             showError("Couldn't edit plant", t.getMessage());
@@ -407,8 +504,9 @@ public class PlantsController {
         a.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
                 repo.deleteById(p.getId());
+                SearchService.ifOpen(CurrentUser.get().getId()).ifPresent(s -> s.removePlant(p.getId()));
                 reload();
-                taskService.syncAllWaterTasks(CurrentUser.get().getId());
+                taskService.syncAllTasks(CurrentUser.get().getId());
             }
         });
     }
@@ -422,6 +520,10 @@ public class PlantsController {
         x.setSunlightHours(src.getSunlightHours());
         x.setPhotoPath(src.getPhotoPath());
         x.setLastWatered(src.getLastWatered());
+        x.setFertilizeEveryDays(src.getFertilizeEveryDays());
+        x.setLastFertilized(src.getLastFertilized());
+        x.setSoilChangeEveryDays(src.getSoilChangeEveryDays());
+        x.setLastSoilChanged(src.getLastSoilChanged());
         return x;
     }
 
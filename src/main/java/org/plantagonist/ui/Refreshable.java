@@ -0,0 +1,11 @@
+package org.plantagonist.ui;
+
+/**
+ * Implemented by controllers whose views are cached by {@link UiRouter}.
+ * The FXML is parsed and {@code initialize()} runs only once per session; every later time the
+ * cached view is shown again, {@link #onShow()} is called to refresh its data instead. A view
+ * preloaded after login also gets {@link #onShow()} on its first visit.
+ */
+public interface Refreshable {
+    void onShow();
+}
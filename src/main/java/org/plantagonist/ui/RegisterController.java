@@ -66,6 +66,7 @@ public class RegisterController {
 
                 // Navigate
                 UiRouter.showMainApp((Stage) emailField.getScene().getWindow());
+                UiRouter.preloadAfterLogin();
 
                 // Clear UI fields (NOW it's safe)
                 passwordField.clear();
@@ -7,12 +7,14 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.stage.Stage;
 import org.plantagonist.core.models.UserProfile;
+import org.plantagonist.core.schedule.DueAgenda;
+import org.plantagonist.core.services.NotificationService;
 import org.plantagonist.core.services.UserProfileService;
 import org.plantagonist.core.auth.CurrentUser; // if you have it
 
 import java.util.regex.Pattern;
 
-public class SettingsController {
+public class SettingsController implements Refreshable {
 
     @FXML private TextField usernameField;
     @FXML private TextField emailField;
@@ -28,6 +30,15 @@ public class SettingsController {
 
     @FXML
     public void initialize() {
+        populate();
+    }
+
+    @Override
+    public void onShow() {
+        populate();
+    }
+
+    private void populate() {
         try {
             userProfile = UserProfileService.loadUserProfile();
             if (userProfile == null) userProfile = new UserProfile();
@@ -80,6 +91,9 @@ public class SettingsController {
         try {
             // clear current user session (if you have this concept)
             try { CurrentUser.clear(); } catch (Throwable ignored) {}
+            DueAgenda.stop();
+            NotificationService.get().unsubscribeAll();
+            UiRouter.clearCache();
 
             Stage stage = (Stage) usernameField.getScene().getWindow();
             stage.close();
@@ -12,13 +12,14 @@ import javafx.util.converter.IntegerStringConverter;
 import org.bson.types.ObjectId;
 import org.plantagonist.core.auth.CurrentUser;
 import org.plantagonist.core.models.SupplyItem;
-import org.plantagonist.core.repositories.SupplyRepository;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.core.repositories.SupplyStore;
 import org.plantagonist.core.services.NotificationService;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
-public class SuppliesController {
+public class SuppliesController implements Refreshable {
 
     @FXML private TableView<SupplyItem> suppliesTable;
     @FXML private TableColumn<SupplyItem, String> statusColumn;
@@ -33,7 +34,7 @@ public class SuppliesController {
 
     private final ObservableList<SupplyItem> backing = FXCollections.observableArrayList();
 
-    private final SupplyRepository supplyRepository = new SupplyRepository();
+    private final SupplyStore supplyRepository = Repositories.supplies();
     private NotificationService notificationService;
 
     private String currentUserId() {
@@ -43,7 +44,7 @@ public class SuppliesController {
     @FXML
     public void initialize() {
         try {
-            notificationService = new NotificationService();
+            notificationService = NotificationService.get();
         } catch (Exception e) {
             System.out.println("Notification service not available: " + e.getMessage());
         }
@@ -52,6 +53,11 @@ public class SuppliesController {
         reload();
     }
 
+    @Override
+    public void onShow() {
+        reload();
+    }
+
     private void setupTable() {
         // Status column (computed)
         statusColumn.setCellValueFactory(cellData -> {
@@ -167,9 +173,8 @@ public class SuppliesController {
         // Notify if it transitions to Low Supply
         if ("Low Supply".equals(newStatus) && notificationService != null) {
             try {
-                // Replace with your real notification hook if available
-                System.out.println("ALERT: Low stock for " + item.getName() +
-                        ". Current quantity: " + item.getQuantity());
+                notificationService.publish(new NotificationService.SupplyLow(currentUserId(), item.getIdHex(),
+                        item.getName(), item.getQuantity(), item.getRefillBelow()));
             } catch (Exception e) {
                 System.out.println("Could not send notification: " + e.getMessage());
             }
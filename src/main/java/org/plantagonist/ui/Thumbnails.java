@@ -0,0 +1,57 @@
+package org.plantagonist.ui;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded photo thumbnails shared by the list and grid cells, so scrolling or refreshing a list
+ * reuses the Image instead of decoding the file again in every updateItem. Keyed by path, file
+ * modification time and requested size; the least recently used are dropped past
+ * {@value #MAX_ENTRIES}. FX thread only.
+ */
+final class Thumbnails {
+
+    static final int MAX_ENTRIES = 256;
+
+    private record Key(String path, long modified, double width, double height, boolean preserveRatio) {}
+
+    private static final Map<Key, Image> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private Thumbnails() {}
+
+    /**
+     * The photo at {@code path} scaled to fit {@code width} x {@code height} (loaded in the
+     * background), or null when there is no such file or it can't be decoded.
+     */
+    static Image get(String path, double width, double height, boolean preserveRatio) {
+        if (path == null || path.isBlank()) return null;
+        File file = new File(path);
+        long modified = file.lastModified(); // 0 when missing
+        if (modified == 0L) return null;
+
+        Key key = new Key(file.getAbsolutePath(), modified, width, height, preserveRatio);
+        Image img = CACHE.get(key);
+        if (img != null && img.isError()) {
+            CACHE.remove(key);
+            return null;
+        }
+        if (img == null) {
+            try {
+                img = new Image(file.toURI().toString(), width, height, preserveRatio, true, true);
+            } catch (RuntimeException e) {
+                System.err.println("[Thumbnails] " + path + ": " + e.getMessage());
+                return null;
+            }
+            CACHE.put(key, img);
+        }
+        return img;
+    }
+}
@@ -1,14 +1,118 @@
 package org.plantagonist.ui;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.plantagonist.core.auth.CurrentUser;
+import org.plantagonist.core.models.UserProfile;
+import org.plantagonist.core.repositories.Repositories;
+import org.plantagonist.util.StartupTimer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 public final class UiRouter {
 
     private UiRouter() {}
 
+    /** A parsed FXML view; root, controller and (lazily) scene are reused across navigations. */
+    static final class View {
+        final Parent root;
+        final Object controller;
+        Scene scene;
+        Stage stage;        // only for views shown in their own window
+        boolean shown;
+        boolean preloaded;  // built ahead of time, so its data may be older than the first visit
+
+        View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+
+    // Keyed by fxml name; a "#window" suffix keeps a separate instance for views that get their own Stage
+    // (a node can only live in one scene at a time).
+    private static final Map<String, View> CACHE = new ConcurrentHashMap<>();
+
+    // Screens a user typically opens right after the dashboard
+    private static final String[] LIKELY_NEXT = { "plants.fxml", "care_log.fxml", "supplies.fxml" };
+
+    // Bumped by clearCache; a preload started under an older generation must not fill the cache
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /** Returns the cached view, parsing the FXML on first use. FX thread only: controllers build nodes. */
+    static View view(String key) {
+        return view(key, UiRouter::parse);
+    }
+
+    /**
+     * Parses outside the map rather than in computeIfAbsent: a controller's initialize() may
+     * open a nested view (main.fxml shows the dashboard), and a recursive compute on the same
+     * map throws.
+     */
+    static View view(String key, Function<String, View> parser) {
+        View v = CACHE.get(key);
+        if (v != null) return v;
+        v = parser.apply(key);
+        View raced = CACHE.putIfAbsent(key, v);
+        return raced != null ? raced : v;
+    }
+
+    /**
+     * Marks a cached view visible. Its controller gets {@link Refreshable#onShow()} from the second
+     * time on, and on the first time too when the view was preloaded.
+     */
+    static void shown(View v) {
+        if ((v.shown || v.preloaded) && v.controller instanceof Refreshable r) r.onShow();
+        v.shown = true;
+        v.preloaded = false;
+    }
+
+    /**
+     * Gets the likely next screens ready so the first navigation is instant: the stores are
+     * opened and the user's plants and tasks read on a background thread (warming the caches
+     * the controllers read from), then each FXML is parsed on the FX thread, one per pulse.
+     * Logging out, or another user logging in, meanwhile stops it.
+     */
+    public static void preloadAfterLogin() {
+        long generation = GENERATION.get();
+        UserProfile user = CurrentUser.get();
+        if (user == null) return;
+        Thread t = new Thread(() -> {
+            try {
+                Repositories.plants().findByUserId(user.getId());
+                Repositories.tasks().findByUserId(user.getId());
+                Repositories.careLogs();
+                Repositories.supplies();
+            } catch (Exception e) {
+                System.err.println("[UiRouter] preload skipped: " + e.getMessage()); // screens load on first visit instead
+                return;
+            }
+            for (String fxml : LIKELY_NEXT) {
+                Platform.runLater(() -> {
+                    if (GENERATION.get() != generation || CurrentUser.get() != user || CACHE.containsKey(fxml)) return;
+                    try {
+                        view(fxml).preloaded = true;
+                    } catch (Exception e) {
+                        System.err.println("[UiRouter] preload failed for " + fxml + ": " + e.getMessage());
+                    }
+                });
+            }
+        }, "ui-preload");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Drops every cached view and cancels a pending preload; call on logout so the next user gets fresh controllers. */
+    public static void clearCache() {
+        GENERATION.incrementAndGet();
+        CACHE.clear();
+    }
+
     // Show Login screen
     public static void showLogin(Stage stage) {
         stage.setScene(new Scene(load("login.fxml")));
@@ -19,11 +123,13 @@ public final class UiRouter {
     // Show Main application screen (with MainController)
     public static void showMainApp(Stage stage) {
         try {
-            FXMLLoader loader = new FXMLLoader(UiRouter.class.getResource("/org/plantagonist/ui/main.fxml"));
-            Scene scene = new Scene(loader.load(), 1080, 700);
-            stage.setScene(scene);
+            View v = view("main.fxml");
+            if (v.scene == null) v.scene = new Scene(v.root, 1080, 700);
+            stage.setScene(v.scene);
             stage.centerOnScreen();
             stage.show();
+            shown(v);
+            StartupTimer.dashboardShown();
         } catch (Exception e) {
             throw new RuntimeException("Failed to load main application", e);
         }
@@ -39,12 +145,13 @@ public final class UiRouter {
     // Show Care Log screen
     public static void showCareLog(Stage stage) {
         try {
-            FXMLLoader loader = new FXMLLoader(UiRouter.class.getResource("/org/plantagonist/ui/care_log.fxml"));
-            Scene scene = new Scene(loader.load(), 1000, 700);
-            stage.setScene(scene);
+            View v = view("care_log.fxml#window");
+            if (v.scene == null) v.scene = new Scene(v.root, 1000, 700);
+            stage.setScene(v.scene);
             stage.setTitle("Plant Care Log");
             stage.centerOnScreen();
             stage.show();
+            shown(v);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load care log", e);
         }
@@ -52,16 +159,19 @@ public final class UiRouter {
 
     // Show Care Log screen from existing stage (for navigation from main app)
     public static void showCareLog() {
-        Stage stage = new Stage();
+        View v = view("care_log.fxml#window");
+        if (v.stage == null) v.stage = new Stage();
+        showCareLog(v.stage);
+    }
+
+    private static View parse(String key) {
+        String fxml = key.contains("#") ? key.substring(0, key.indexOf('#')) : key;
         try {
-            FXMLLoader loader = new FXMLLoader(UiRouter.class.getResource("/org/plantagonist/ui/care_log.fxml"));
-            Scene scene = new Scene(loader.load(), 1000, 700);
-            stage.setScene(scene);
-            stage.setTitle("Plant Care Log");
-            stage.centerOnScreen();
-            stage.show();
+            FXMLLoader loader = new FXMLLoader(UiRouter.class.getResource("/org/plantagonist/ui/" + fxml));
+            Parent root = loader.load();
+            return new View(root, loader.getController());
         } catch (Exception e) {
-            throw new RuntimeException("Failed to load care log", e);
+            throw new RuntimeException("Failed to load FXML " + fxml, e);
         }
     }
 
@@ -75,14 +185,15 @@ public final class UiRouter {
     // Show Settings screen
     public static void showSettings(Stage stage) {
         try {
-            FXMLLoader loader = new FXMLLoader(UiRouter.class.getResource("/org/plantagonist/ui/settings.fxml"));
-            Scene scene = new Scene(loader.load(), 600, 500);
-            stage.setScene(scene);
+            View v = view("settings.fxml#window");
+            if (v.scene == null) v.scene = new Scene(v.root, 600, 500);
+            stage.setScene(v.scene);
             stage.setTitle("Settings - Plantagonist");
             stage.centerOnScreen();
             stage.show();
+            shown(v);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load settings", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package org.plantagonist.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Fails fast while a dependency is down. After {@code threshold} failures in a row the circuit
+ * opens and {@link #allow()} refuses calls for a while; then one trial call is let through
+ * (half open). Its success closes the circuit, its failure opens it again for twice as long,
+ * up to {@code maxOpen}.
+ *
+ * Every allowed call must report back through {@link #onSuccess()} or {@link #onFailure()}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int threshold;
+    private final long baseOpenNanos;
+    private final long maxOpenNanos;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openNanos;
+    private long openUntil;
+    private long opened; // times the circuit opened
+
+    public CircuitBreaker(int threshold, Duration baseOpen, Duration maxOpen) {
+        this(threshold, baseOpen, maxOpen, System::nanoTime);
+    }
+
+    public CircuitBreaker(int threshold, Duration baseOpen, Duration maxOpen, LongSupplier nanoTime) {
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be positive");
+        this.threshold = threshold;
+        this.baseOpenNanos = baseOpen.toNanos();
+        this.maxOpenNanos = Math.max(baseOpenNanos, maxOpen.toNanos());
+        this.openNanos = baseOpenNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /** Whether to make the call now; false while open, and while a half-open trial is out. */
+    public synchronized boolean allow() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoTime.getAsLong() - openUntil < 0) return false;
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        openNanos = baseOpenNanos;
+    }
+
+    /** True when this failure opened the circuit. */
+    public synchronized boolean onFailure() {
+        if (state == State.HALF_OPEN) {
+            openNanos = Math.min(maxOpenNanos, openNanos * 2);
+            open();
+            return true;
+        }
+        if (state == State.CLOSED && ++failures >= threshold) {
+            open();
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized State state() { return state; }
+
+    /** Until the next trial call, or zero when not open. */
+    public synchronized Duration retryIn() {
+        if (state != State.OPEN) return Duration.ZERO;
+        return Duration.ofNanos(Math.max(0, openUntil - nanoTime.getAsLong()));
+    }
+
+    public synchronized long timesOpened() { return opened; }
+
+    private void open() {
+        state = State.OPEN;
+        failures = 0;
+        openUntil = nanoTime.getAsLong() + openNanos;
+        opened++;
+    }
+}
@@ -0,0 +1,76 @@
+package org.plantagonist.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue (Vyukov's linked MPSC): a producer
+ * swaps its node into {@code tail} with one atomic exchange and then links it, the consumer
+ * walks {@code head} without any atomics. {@link #offer} fails instead of blocking once
+ * {@code capacity} items are queued, which is the producer's backpressure signal.
+ *
+ * Only one thread may call {@link #poll}/{@link #drainTo}.
+ */
+public final class MpscQueue<T> {
+
+    private static final class Node<T> {
+        volatile Node<T> next;
+        T value;
+
+        Node(T value) { this.value = value; }
+    }
+
+    private final int capacity;
+    private final AtomicReference<Node<T>> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    private Node<T> head; // consumer only; always the already-consumed (stub) node
+
+    public MpscQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /** False (and nothing queued) when the queue is full. */
+    public boolean offer(T value) {
+        if (value == null) throw new NullPointerException();
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        Node<T> node = new Node<>(value);
+        Node<T> prev = tail.getAndSet(node);
+        prev.next = node; // until this lands the consumer sees the queue end at prev
+        return true;
+    }
+
+    /** Next item, or null when empty or the next producer hasn't linked its node yet. */
+    public T poll() {
+        Node<T> next = head.next;
+        if (next == null) return null;
+        T v = next.value;
+        next.value = null;
+        head = next;
+        size.decrementAndGet();
+        return v;
+    }
+
+    /** Moves up to {@code max} items into {@code out}; returns how many. */
+    public int drainTo(Collection<? super T> out, int max) {
+        int n = 0;
+        T v;
+        while (n < max && (v = poll()) != null) {
+            out.add(v);
+            n++;
+        }
+        return n;
+    }
+
+    /** Approximate while producers are active. */
+    public int size() { return size.get(); }
+
+    public int capacity() { return capacity; }
+}
@@ -0,0 +1,63 @@
+package org.plantagonist.util;
+
+import org.plantagonist.core.storage.PathsConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Records the two startup numbers we care about: JVM start → login screen visible, and
+ * login submitted → dashboard visible (user typing time excluded). Always printed; with
+ * {@code -Dplantagonist.startupBenchmark=true} each run is also appended to
+ * {@link #LOG_FILE} under the app home, which {@code tools.StartupBenchmark} summarizes.
+ */
+public final class StartupTimer {
+    public static final String LOG_FILE = "startup-times.jsonl";
+
+    private static final long CLASS_LOADED_MS = System.currentTimeMillis();
+    private static long loginScreenMs = -1;
+    private static long loginSubmittedNanos = -1;
+    private static boolean dashboardRecorded;
+
+    private StartupTimer() {}
+
+    public static synchronized void loginScreenShown() {
+        if (loginScreenMs >= 0) return;
+        loginScreenMs = System.currentTimeMillis() - jvmStartMs();
+        System.out.println("[Startup] login screen after " + loginScreenMs + " ms");
+    }
+
+    public static synchronized void loginSubmitted() {
+        if (!dashboardRecorded) loginSubmittedNanos = System.nanoTime();
+    }
+
+    public static synchronized void dashboardShown() {
+        if (dashboardRecorded || loginSubmittedNanos < 0) return;
+        dashboardRecorded = true;
+        long toDashboardMs = (System.nanoTime() - loginSubmittedNanos) / 1_000_000;
+        System.out.println("[Startup] dashboard " + toDashboardMs + " ms after login");
+        if (Boolean.getBoolean("plantagonist.startupBenchmark")) append(loginScreenMs, toDashboardMs);
+    }
+
+    private static long jvmStartMs() {
+        return ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli)
+                .orElse(CLASS_LOADED_MS);
+    }
+
+    private static void append(long loginMs, long dashboardMs) {
+        String line = "{\"at\":\"" + Instant.now() + "\",\"loginScreenMs\":" + loginMs
+                + ",\"dashboardMs\":" + dashboardMs + "}\n";
+        try {
+            Path file = PathsConfig.appHome().resolve(LOG_FILE);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (Exception e) {
+            System.err.println("[Startup] could not record timings: " + e.getMessage());
+        }
+    }
+}
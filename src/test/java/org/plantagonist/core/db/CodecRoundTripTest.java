@@ -0,0 +1,163 @@
+package org.plantagonist.core.db;
+
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Models survive encode + decode with either id format, and read documents written in the other one. */
+class CodecRoundTripTest {
+
+    private static final boolean[] ID_FORMATS = {false, true};
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void plantRoundTrips() {
+        for (boolean binary : ID_FORMATS) {
+            CodecRegistry reg = MongoConfig.codecRegistry(binary);
+            Plant p = plant(UUID.randomUUID().toString());
+            BsonDocument doc = encode(p, Plant.class, reg);
+            Plant back = decode(doc, Plant.class, reg);
+
+            assertEquals(p.getId(), back.getId());
+            assertEquals(p.getUserId(), back.getUserId());
+            assertEquals(p.getName(), back.getName());
+            assertEquals(p.getSpecies(), back.getSpecies());
+            assertEquals(p.getWaterEveryDays(), back.getWaterEveryDays());
+            assertEquals(p.getSunlightHours(), back.getSunlightHours());
+            assertEquals(DAY, back.getLastWatered());
+            assertEquals(DAY.minusDays(30), back.getLastFertilized());
+            assertEquals(p.getCreatedAt(), back.getCreatedAt());
+            assertEquals(p.getUpdatedAt(), back.getUpdatedAt());
+        }
+    }
+
+    @Test
+    void uuidIdsAreBinaryOnlyInBinaryMode() {
+        String id = UUID.randomUUID().toString();
+        BsonDocument asString = encode(plant(id), Plant.class, MongoConfig.codecRegistry(false));
+        assertEquals(new BsonString(id), asString.get("_id"));
+        assertEquals(new BsonString(id), asString.get("userId"));
+
+        BsonDocument asBinary = encode(plant(id), Plant.class, MongoConfig.codecRegistry(true));
+        assertTrue(asBinary.get("_id").isBinary());
+        assertEquals(BsonBinarySubType.UUID_STANDARD.getValue(), asBinary.getBinary("_id").getType());
+        assertEquals(UUID.fromString(id), asBinary.getBinary("_id").asUuid());
+        assertTrue(asBinary.get("userId").isBinary());
+    }
+
+    @Test
+    void idsThatAreNotCanonicalUuidsStayStrings() {
+        BsonDocument doc = encode(plant("plant-1"), Plant.class, MongoConfig.codecRegistry(true));
+        assertEquals(new BsonString("plant-1"), doc.get("_id"));
+        String upper = UUID.randomUUID().toString().toUpperCase();
+        doc = encode(plant(upper), Plant.class, MongoConfig.codecRegistry(true));
+        assertEquals(new BsonString(upper), doc.get("_id"));
+    }
+
+    @Test
+    void eitherIdFormatDecodesToTheSameString() {
+        String id = UUID.randomUUID().toString();
+        for (boolean writtenBinary : ID_FORMATS) {
+            BsonDocument doc = encode(plant(id), Plant.class, MongoConfig.codecRegistry(writtenBinary));
+            for (boolean readBinary : ID_FORMATS) {
+                Plant back = decode(doc, Plant.class, MongoConfig.codecRegistry(readBinary));
+                assertEquals(id, back.getId());
+                assertEquals(id, back.getUserId());
+            }
+        }
+    }
+
+    @Test
+    void taskEnumsAreStoredAsCodesAndReadFromNamesToo() {
+        CodecRegistry reg = MongoConfig.codecRegistry(false);
+        CareTask t = new CareTask();
+        t.setId(UUID.randomUUID().toString());
+        t.setUserId(UUID.randomUUID().toString());
+        t.setPlantId(UUID.randomUUID().toString());
+        t.setType(TaskType.FERTILIZE);
+        t.setStatus(TaskStatus.MISSED);
+        t.setDueDate(DAY);
+        t.setLastCompleted(DAY.minusDays(14));
+        t.setFrequencyDays(14);
+
+        RawBsonDocument doc = encode(t, CareTask.class, reg);
+        assertEquals(new BsonInt32(TaskType.FERTILIZE.code()), doc.get("type"));
+        assertEquals(new BsonInt32(TaskStatus.MISSED.code()), doc.get("status"));
+        CareTask back = decode(doc, CareTask.class, reg);
+        assertEquals(TaskType.FERTILIZE, back.getType());
+        assertEquals(TaskStatus.MISSED, back.getStatus());
+        assertEquals(DAY, back.getDueDate());
+        assertEquals(DAY.minusDays(14), back.getLastCompleted());
+        assertEquals(t.getPlantId(), back.getPlantId());
+
+        BsonDocument old = doc.decode(new BsonDocumentCodec()); // a mutable copy
+        old.put("type", new BsonString("FERTILIZE"));
+        old.put("status", new BsonString("MISSED"));
+        CareTask legacy = decode(old, CareTask.class, reg);
+        assertEquals(TaskType.FERTILIZE, legacy.getType());
+        assertEquals(TaskStatus.MISSED, legacy.getStatus());
+    }
+
+    @Test
+    void careLogAndJournalRoundTrip() {
+        for (boolean binary : ID_FORMATS) {
+            CodecRegistry reg = MongoConfig.codecRegistry(binary);
+            CareLogEntry log = new CareLogEntry(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                    UUID.randomUUID().toString(), DAY, CareAction.FERTILIZING, 41.5, 12.0, "half strength", "Fern");
+            CareLogEntry logBack = decode(encode(log, CareLogEntry.class, reg), CareLogEntry.class, reg);
+            assertEquals(log.getId(), logBack.getId());
+            assertEquals(log.getPlantId(), logBack.getPlantId());
+            assertEquals(DAY, logBack.getDate());
+            assertEquals(CareAction.FERTILIZING, logBack.getActionType());
+            assertEquals(41.5, logBack.getSoilMoisturePct());
+            assertEquals("half strength", logBack.getNotes());
+
+            LocalDateTime at = LocalDateTime.of(2025, 6, 15, 9, 30);
+            JournalEntry e = new JournalEntry(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                    UUID.randomUUID().toString(), "Fern", at, "new frond", null);
+            JournalEntry eBack = decode(encode(e, JournalEntry.class, reg), JournalEntry.class, reg);
+            assertEquals(e.getId(), eBack.getId());
+            assertEquals(e.getUserId(), eBack.getUserId());
+            assertEquals(at, eBack.getEntryDate());
+            assertEquals("new frond", eBack.getContent());
+        }
+    }
+
+    private static Plant plant(String id) {
+        Plant p = new Plant();
+        p.setId(id);
+        p.setUserId(id);
+        p.setName("Fern");
+        p.setSpecies("Nephrolepis");
+        p.setWaterEveryDays(3);
+        p.setSunlightHours(4.5);
+        p.setLastWatered(DAY);
+        p.setFertilizeEveryDays(30);
+        p.setLastFertilized(DAY.minusDays(30));
+        p.setCreatedAt(new Date(1_700_000_000_000L));
+        p.setUpdatedAt(new Date(1_700_000_500_000L));
+        return p;
+    }
+
+    private static <T> RawBsonDocument encode(T value, Class<T> type, CodecRegistry reg) {
+        return new RawBsonDocument(value, reg.get(type));
+    }
+
+    private static <T> T decode(BsonDocument doc, Class<T> type, CodecRegistry reg) {
+        return reg.get(type).decode(doc.asBsonReader(), DecoderContext.builder().build());
+    }
+}
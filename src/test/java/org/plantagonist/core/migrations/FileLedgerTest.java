@@ -0,0 +1,56 @@
+package org.plantagonist.core.migrations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.plantagonist.core.models.UserProfile;
+import org.plantagonist.core.repositories.UserRepositoryJson;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileLedgerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void checkpointsSurviveAReopen() {
+        FileLedger ledger = new FileLedger(dir.resolve("data/migrations.properties"));
+        assertEquals(MigrationLedger.Checkpoint.NEW, ledger.load("001-x"));
+        ledger.save("001-x", new MigrationLedger.Checkpoint(42, 500, false));
+        ledger.save("002-y", new MigrationLedger.Checkpoint(null, 0, true));
+
+        FileLedger reopened = new FileLedger(dir.resolve("data/migrations.properties"));
+        assertEquals(new MigrationLedger.Checkpoint("42", 500, false), reopened.load("001-x"), "ids come back as strings");
+        assertEquals(new MigrationLedger.Checkpoint(null, 0, true), reopened.load("002-y"));
+        assertFalse(Files.exists(dir.resolve("data/migrations.properties.tmp")));
+    }
+
+    @Test
+    void usersFileIsNormalizedOnce() throws IOException {
+        Path users = dir.resolve("user.json");
+        String raw = "[{\"email\":\" Alice@Example.COM \",\"username\":\" alice \",\"units\":\"IMPERIAL\",\"ThemeMode\":\"neon\"}]";
+        Files.writeString(users, raw);
+        FileLedger ledger = new FileLedger(dir.resolve("migrations.properties"));
+        UserJsonNormalization m = new UserJsonNormalization(new UserRepositoryJson(users));
+
+        new MigrationRunner(ledger, List.of(m)).runAsync().join();
+        List<UserProfile> all = new UserRepositoryJson(users).listAll();
+        assertEquals(1, all.size());
+        UserProfile u = all.get(0);
+        assertNotNull(u.getId(), "an id is backfilled");
+        assertEquals("alice@example.com", u.getEmail());
+        assertEquals("alice", u.getUsername());
+        assertEquals("imperial", u.getUnits());
+        assertEquals("light", u.getThemeMode());
+        assertEquals(new MigrationLedger.Checkpoint(null, 1, true), ledger.load(m.id()));
+
+        Files.writeString(users, raw);
+        new MigrationRunner(ledger, List.of(m)).runAsync().join();
+        assertEquals(raw, Files.readString(users), "applied once: the ledger says done");
+    }
+}
@@ -0,0 +1,69 @@
+package org.plantagonist.core.migrations;
+
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The writes and the resume filter, without a server. */
+class LegacyIdMigrationTest {
+
+    private final LegacyIdMigration migration = new LegacyIdMigration(null, "plants");
+
+    @Test
+    void resumesByFilterNotByTheCheckpointId() {
+        assertEquals(doc(Filters.exists("id", true)), doc(migration.after(null)));
+        assertEquals(doc(Filters.exists("id", true)), doc(migration.after(new ObjectId())),
+                "migrated documents get a new _id, so the last one says nothing about what's left");
+        assertTrue(migration.ordered(), "never delete a legacy document whose upsert failed");
+    }
+
+    @Test
+    void keysetMigrationsResumeAfterTheCheckpointId() {
+        BatchedMongoMigration keyset = new CareLogDateMigration(null);
+        ObjectId last = new ObjectId();
+        BsonDocument after = doc(keyset.after(last));
+        assertTrue(after.toJson().contains(last.toHexString()), after.toJson());
+        assertEquals(doc(keyset.pending()), doc(keyset.after(null)));
+    }
+
+    @Test
+    void movesTheAppIdIntoIdAndDropsTheLegacyDocument() {
+        ObjectId oldId = new ObjectId();
+        List<WriteModel<Document>> writes = migration.migrate(List.of(
+                new Document("_id", oldId).append("id", "p1").append("name", "Fern")));
+        assertEquals(2, writes.size());
+
+        UpdateOneModel<Document> upsert = (UpdateOneModel<Document>) writes.get(0);
+        assertEquals(doc(Filters.eq("_id", "p1")), doc(upsert.getFilter()));
+        assertTrue(upsert.getOptions().isUpsert());
+        BsonDocument update = doc((Bson) upsert.getUpdate());
+        assertEquals("Fern", update.getDocument("$setOnInsert").getString("name").getValue(),
+                "an existing canonical copy wins");
+        assertFalse(update.getDocument("$setOnInsert").containsKey("id"));
+
+        DeleteOneModel<Document> delete = (DeleteOneModel<Document>) writes.get(1);
+        assertEquals(doc(Filters.eq("_id", oldId)), doc(delete.getFilter()));
+    }
+
+    @Test
+    void aDocumentAlreadyKeyedByItsIdJustLosesTheField() {
+        List<WriteModel<Document>> writes = migration.migrate(List.of(new Document("_id", "p1").append("id", "p1")));
+        assertEquals(1, writes.size());
+        UpdateOneModel<Document> unset = (UpdateOneModel<Document>) writes.get(0);
+        assertTrue(doc((Bson) unset.getUpdate()).containsKey("$unset"));
+    }
+
+    private static BsonDocument doc(Bson b) {
+        return b.toBsonDocument();
+    }
+}
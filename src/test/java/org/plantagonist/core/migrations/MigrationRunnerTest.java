@@ -0,0 +1,115 @@
+package org.plantagonist.core.migrations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationRunnerTest {
+
+    static final class MemoryLedger implements MigrationLedger {
+        final Map<String, Checkpoint> saved = new HashMap<>();
+
+        @Override
+        public synchronized Checkpoint load(String migrationId) { return saved.getOrDefault(migrationId, Checkpoint.NEW); }
+
+        @Override
+        public synchronized void save(String migrationId, Checkpoint c) { saved.put(migrationId, c); }
+    }
+
+    /** Handles items 1..{@code items} in batches of 3 after the checkpoint; fails once past {@code failAfter}. */
+    static final class Stub implements Migration {
+        final String id, target;
+        final int items;
+        int failAfter = -1;
+        final List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        final List<String> runs;
+
+        Stub(String id, String target, int items, List<String> runs) {
+            this.id = id;
+            this.target = target;
+            this.items = items;
+            this.runs = runs;
+        }
+
+        @Override public String id() { return id; }
+        @Override public String target() { return target; }
+
+        @Override
+        public void run(MigrationContext ctx) throws Exception {
+            runs.add(id);
+            int last = ctx.lastId() == null ? 0 : (Integer) ctx.lastId();
+            ctx.expect(items - last);
+            while (last < items) {
+                if (failAfter >= 0 && last >= failAfter) {
+                    failAfter = -1;
+                    throw new Exception("connection reset");
+                }
+                int end = Math.min(items, last + 3);
+                for (int i = last + 1; i <= end; i++) handled.add(i);
+                ctx.checkpoint(end, end - last);
+                last = end;
+            }
+        }
+    }
+
+    private final MemoryLedger ledger = new MemoryLedger();
+    private final List<String> runs = Collections.synchronizedList(new ArrayList<>());
+    private final String prefix = UUID.randomUUID() + "-"; // Migrations.isApplied is process-wide
+
+    @Test
+    void aStoppedMigrationResumesFromItsCheckpoint() {
+        Stub m = new Stub(prefix + "001", "plants", 10, runs);
+        m.failAfter = 6;
+        run(m);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), m.handled);
+        assertEquals(new MigrationLedger.Checkpoint(6, 6, false), ledger.load(m.id()));
+        assertFalse(Migrations.isApplied(m.id()));
+
+        run(m);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), m.handled, "nothing handled twice");
+        assertEquals(new MigrationLedger.Checkpoint(10, 10, true), ledger.load(m.id()));
+        assertTrue(Migrations.isApplied(m.id()));
+
+        run(m);
+        assertEquals(2, runs.size(), "an applied migration doesn't run again");
+    }
+
+    @Test
+    void aFailureStopsTheRestOfItsTargetsChainOnly() {
+        Stub first = new Stub(prefix + "001", "plants", 4, runs);
+        Stub second = new Stub(prefix + "002", "plants", 4, runs);
+        Stub other = new Stub(prefix + "003", "care_logs", 4, runs);
+        first.failAfter = 3;
+        run(second, other, first); // listed out of order: each chain runs in id order
+
+        assertTrue(runs.contains(first.id()));
+        assertFalse(runs.contains(second.id()), "the step after a failure waits");
+        assertTrue(Migrations.isApplied(other.id()), "another target is unaffected");
+
+        runs.clear();
+        run(second, other, first);
+        assertEquals(List.of(first.id(), second.id()), runs);
+        assertTrue(Migrations.isApplied(second.id()));
+        assertEquals(List.of(1, 2, 3, 4), first.handled);
+    }
+
+    @Test
+    void nothingPendingCompletesAtOnce() {
+        Stub m = new Stub(prefix + "001", "plants", 0, runs);
+        ledger.save(m.id(), new MigrationLedger.Checkpoint(null, 0, true));
+        assertTrue(new MigrationRunner(ledger, List.of(m)).runAsync().isDone());
+        assertTrue(runs.isEmpty());
+        assertTrue(Migrations.isApplied(m.id()), "done in the ledger counts as applied");
+    }
+
+    private void run(Migration... ms) {
+        new MigrationRunner(ledger, List.of(ms)).runAsync().join();
+    }
+}
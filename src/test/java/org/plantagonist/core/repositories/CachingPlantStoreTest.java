@@ -0,0 +1,136 @@
+package org.plantagonist.core.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.Plant;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingPlantStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final InMemoryPlantStore inner = new InMemoryPlantStore();
+
+    @Test
+    void repeatedReadsAreHitsAndReturnCopies() {
+        CachingPlantStore cache = new CachingPlantStore(inner, 100, 100, TTL);
+        cache.insertOne(plant("a", "u1", "Fern"));
+        assertEquals(1, cache.findByUserId("u1").size());
+        cache.findByUserId("u1").get(0).setName("changed, not saved");
+        assertEquals("Fern", cache.findByUserId("u1").get(0).getName());
+        assertEquals("Fern", cache.findById("a").getName(), "the query filled the entity cache");
+        CacheStats s = cache.stats();
+        assertEquals(1, s.misses());
+        assertEquals(3, s.hits());
+    }
+
+    @Test
+    void aLoadThatRacesAWriteIsNotCached() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1), written = new CountDownLatch(1);
+        PlantStore slow = new InMemoryPlantStore() {
+            @Override
+            public List<Plant> findByUserId(String userId) {
+                List<Plant> out = inner.findByUserId(userId);
+                loaded.countDown();
+                try {
+                    written.await(5, TimeUnit.SECONDS); // the write lands while this result is in flight
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return out;
+            }
+        };
+        CachingPlantStore cache = new CachingPlantStore(slow, 100, 100, TTL);
+        inner.insertOne(plant("a", "u1", "Fern"));
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Plant>> stale = reader.submit(() -> cache.findByUserId("u1"));
+            assertTrue(loaded.await(5, TimeUnit.SECONDS));
+            Plant b = plant("b", "u1", "Monstera");
+            inner.insertOne(b);
+            cache.insertOne(b); // bumps the generation; reaches the cache through the decorator only
+            written.countDown();
+            assertEquals(1, stale.get(5, TimeUnit.SECONDS).size(), "the in-flight read is the old one");
+        } finally {
+            reader.shutdownNow();
+        }
+        written.countDown();
+        assertEquals(2, cache.findByUserId("u1").size(), "and it was not cached");
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void aReplaceThatChangesTheOwnerDropsBothUsersResults() {
+        CachingPlantStore cache = new CachingPlantStore(inner, 100, 100, TTL);
+        cache.insertOne(plant("a", "u1", "Fern"));
+        assertEquals(1, cache.findByUserId("u1").size());
+        assertEquals(0, cache.findByUserId("u2").size());
+
+        cache.replaceById("a", plant("a", "u2", "Fern"));
+        assertEquals(0, cache.findByUserId("u1").size());
+        assertEquals(1, cache.findByUserId("u2").size());
+        assertEquals(2, cache.stats().invalidations());
+    }
+
+    @Test
+    void aReplaceOfAnUncachedPlantDropsEveryResult() {
+        CachingPlantStore cache = new CachingPlantStore(inner, 1, 100, TTL);
+        inner.insertOne(plant("a", "u1", "Fern"));
+        inner.insertOne(plant("b", "u2", "Monstera"));
+        cache.findByUserId("u1");
+        cache.findByUserId("u2"); // "a" is evicted from the one-entry entity cache
+        assertEquals(1, cache.stats().evictions());
+
+        cache.replaceById("a", plant("a", "u3", "Fern")); // its old owner is unknown now
+        assertEquals(0, cache.findByUserId("u1").size());
+        assertEquals(1, cache.findByUserId("u3").size());
+        assertEquals(2, cache.stats().invalidations(), "both cached results went");
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedPastTheLimit() {
+        CachingPlantStore cache = new CachingPlantStore(inner, 2, 100, TTL);
+        for (String id : List.of("a", "b", "c")) inner.insertOne(plant(id, "u1", id));
+        cache.findById("a");
+        cache.findById("b");
+        cache.findById("a"); // "b" is now the eldest
+        cache.findById("c");
+        assertEquals(1, cache.stats().evictions());
+        cache.findById("a");
+        assertEquals(2, cache.stats().hits());
+        cache.findById("b");
+        assertEquals(4, cache.stats().misses(), "b was the one evicted");
+        assertEquals(2, cache.stats().cachedEntities());
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() throws InterruptedException {
+        CachingPlantStore cache = new CachingPlantStore(inner, 100, 100, Duration.ofMillis(30));
+        inner.insertOne(plant("a", "u1", "Fern"));
+        cache.findById("a");
+        cache.findById("a");
+        assertEquals(1, cache.stats().hits());
+        inner.replaceById("a", plant("a", "u1", "Renamed elsewhere"));
+        Thread.sleep(60);
+        assertEquals("Renamed elsewhere", cache.findById("a").getName());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    static Plant plant(String id, String userId, String name) {
+        Plant p = new Plant();
+        p.setId(id);
+        p.setUserId(userId);
+        p.setName(name);
+        p.setWaterEveryDays(3);
+        return p;
+    }
+}
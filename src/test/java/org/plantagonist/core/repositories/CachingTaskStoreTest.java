@@ -0,0 +1,73 @@
+package org.plantagonist.core.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingTaskStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    private final InMemoryTaskStore inner = new InMemoryTaskStore();
+    private final CachingTaskStore cache = new CachingTaskStore(inner, 100, 100, Duration.ofMinutes(5));
+
+    @Test
+    void aPlantScopedDeleteDropsCrossUserResults() {
+        cache.insertOne(task("a", "u1", "p1", TaskType.WATER));
+        cache.insertOne(task("b", "u1", "p1", TaskType.FERTILIZE));
+        cache.insertOne(task("c", "u2", "p2", TaskType.WATER));
+        assertEquals(3, cache.findDueOrUpcoming().size()); // every user's, cached under ALL
+        assertEquals(2, cache.findDueOrUpcoming("u1").size());
+        assertEquals(1, cache.findDueOrUpcoming("u2").size());
+
+        cache.deleteByPlantIdAndType("p1", TaskType.WATER, "u1");
+        assertEquals(2, cache.findDueOrUpcoming().size(), "the cross-user result went too");
+        assertEquals(1, cache.findDueOrUpcoming("u1").size());
+        assertNull(cache.findById("a"));
+        assertEquals(1, cache.findDueOrUpcoming("u2").size());
+
+        cache.deleteByPlantIdAndType("p2", TaskType.WATER); // owner unknown
+        assertEquals(1, cache.findDueOrUpcoming().size());
+        assertTrue(cache.findDueOrUpcoming("u2").isEmpty());
+    }
+
+    @Test
+    void inPlaceUpdatesDropTheTasksResults() {
+        cache.insertOne(task("a", "u1", "p1", TaskType.WATER));
+        assertEquals(1, cache.findDueOrUpcoming("u1").size());
+        assertEquals(1, cache.findByPlantIdAndType("p1", TaskType.WATER).size());
+
+        cache.updateStatusAndLastCompleted("a", TaskStatus.DONE, TODAY);
+        assertTrue(cache.findDueOrUpcoming("u1").isEmpty());
+        assertEquals(TaskStatus.DONE, cache.findByPlantIdAndType("p1", TaskType.WATER).get(0).getStatus());
+        assertEquals(TODAY, cache.findById("a").getLastCompleted());
+    }
+
+    @Test
+    void theMissedSweepDropsResultsOfUncachedOwners() {
+        inner.insertOne(task("a", "u1", "p1", TaskType.WATER)); // not through the cache
+        assertEquals(1, cache.findDueOrUpcoming("u1").size());
+        cache.findById("a");
+
+        cache.markMissed(cache.findOverdueIds(TODAY.plusDays(10), 10), TODAY.plusDays(10));
+        assertEquals(TaskStatus.MISSED, cache.findDueOrUpcoming("u1").get(0).getStatus());
+        assertEquals(TaskStatus.MISSED, cache.findById("a").getStatus());
+    }
+
+    private static CareTask task(String id, String userId, String plantId, TaskType type) {
+        CareTask t = new CareTask();
+        t.setId(id);
+        t.setUserId(userId);
+        t.setPlantId(plantId);
+        t.setType(type);
+        t.setStatus(TaskStatus.UPCOMING);
+        t.setDueDate(TODAY.plusDays(1));
+        return t;
+    }
+}
@@ -0,0 +1,62 @@
+package org.plantagonist.core.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.plantagonist.core.models.SupplyItem;
+import org.plantagonist.core.models.TaskStatus;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** The contract on the embedded file-backed database, plus what must survive a restart. */
+class LocalStoreContractTest extends StoreContractTest {
+
+    @TempDir
+    Path dir;
+    private LocalDatabase db;
+
+    @Override
+    Stores stores() {
+        db = LocalDatabase.open(dir);
+        return local(db);
+    }
+
+    @AfterEach
+    void close() {
+        if (db != null) db.close();
+    }
+
+    @Test
+    void everythingSurvivesReopen() {
+        List<String> plantIds = plants(s, user, 4);
+        List<String> taskIds = tasks(s, user, plantIds.subList(0, 3));
+        logs(s, user, plantIds.get(0), 3);
+        journal(s, user, plantIds, 5);
+        s.supplies().upsertByName(user, new SupplyItem(user, "Potting soil", 5, 2));
+        s.plants().deleteById(plantIds.get(2));
+        s.plants().deleteById(plantIds.get(3));
+        s.tasks().updateStatus(taskIds.get(0), TaskStatus.DONE);
+        s.tasks().deleteById(taskIds.get(2));
+        db.close();
+
+        db = LocalDatabase.open(dir);
+        Stores reopened = local(db);
+        assertEquals(2, reopened.plants().findByUserId(user).size(), "plants");
+        assertEquals(2, reopened.plants().changedSince(user, new Date(System.currentTimeMillis() - 60_000))
+                .deletedIds().size(), "tombstones");
+        assertEquals(1, reopened.tasks().findByUserIdAndStatus(user, TaskStatus.DONE).size(), "task status");
+        assertEquals(2, reopened.tasks().findByUserId(user).size(), "task deletes");
+        assertEquals(3, reopened.logs().findByPlant(plantIds.get(0)).size(), "care logs");
+        assertEquals(5, reopened.journal().findByUserId(user).size(), "journal");
+        assertEquals(1, reopened.supplies().findAll(user).size(), "supplies");
+    }
+
+    private static Stores local(LocalDatabase db) {
+        return new Stores(new InMemoryPlantStore(db), new InMemoryTaskStore(db),
+                new InMemoryCareLogStore(db), new InMemoryJournalStore(db), new InMemorySupplyStore(db));
+    }
+}
@@ -0,0 +1,11 @@
+package org.plantagonist.core.repositories;
+
+/** The contract on the plain in-memory stores. */
+class MemoryStoreContractTest extends StoreContractTest {
+
+    @Override
+    Stores stores() {
+        return new Stores(new InMemoryPlantStore(), new InMemoryTaskStore(),
+                new InMemoryCareLogStore(), new InMemoryJournalStore(), new InMemorySupplyStore());
+    }
+}
@@ -0,0 +1,18 @@
+package org.plantagonist.core.repositories;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * The contract on the Mongo repositories. Needs a reachable server (MONGODB_URI/MONGODB_DB, with
+ * MONGODB_DB pointing at a scratch database), so it only runs with
+ * {@code -Dplantagonist.test.mongo=true}.
+ */
+@EnabledIfSystemProperty(named = "plantagonist.test.mongo", matches = "true")
+class MongoStoreContractTest extends StoreContractTest {
+
+    @Override
+    Stores stores() {
+        return new Stores(new PlantRepository(), new CareTaskRepository(),
+                new CareLogRepository(), new JournalRepository(), new SupplyRepository());
+    }
+}
@@ -0,0 +1,48 @@
+package org.plantagonist.core.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObservableTaskStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void theMissedSweepReportsOnlyTasksItChanged() {
+        List<String> missed = new ArrayList<>();
+        InMemoryTaskStore inner = new InMemoryTaskStore();
+        TaskStore store = new ObservableTaskStore(inner, List.of(new TaskListener() {
+            @Override public void saved(CareTask t) {}
+            @Override public void deleted(String id) {}
+            @Override public void statusChanged(String id, TaskStatus status) {
+                if (status == TaskStatus.MISSED) missed.add(id);
+            }
+        }));
+        inner.insertOne(task("a"));
+        inner.insertOne(task("b"));
+
+        List<String> read = store.findOverdueIds(TODAY, 10);
+        inner.updateStatus("b", TaskStatus.DONE); // completed between the read and the update
+        assertEquals(List.of("a"), store.markMissed(read, TODAY));
+        assertEquals(List.of("a"), missed);
+    }
+
+    private static CareTask task(String id) {
+        CareTask t = new CareTask();
+        t.setId(id);
+        t.setUserId("u1");
+        t.setPlantId("p-" + id);
+        t.setType(TaskType.WATER);
+        t.setStatus(TaskStatus.DUE);
+        t.setDueDate(TODAY.minusDays(3));
+        return t;
+    }
+}
@@ -0,0 +1,260 @@
+package org.plantagonist.core.repositories;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The repository contract every storage backend must meet; each backend runs it through a
+ * subclass that supplies its stores. Every test writes under a fresh user id, so backends that
+ * keep data between tests (a scratch Mongo database) still see only their own documents.
+ */
+abstract class StoreContractTest {
+
+    record Stores(PlantStore plants, TaskStore tasks, CareLogStore logs, JournalStore journal, SupplyStore supplies) {}
+
+    static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    Stores s;
+    String user;
+
+    abstract Stores stores() throws Exception;
+
+    @BeforeEach
+    void setUpStores() throws Exception {
+        s = stores();
+        user = "contract-" + UUID.randomUUID();
+    }
+
+    @Test
+    void plants() {
+        List<String> ids = plants(s, user, 4);
+        Plant fetched = s.plants().findById(ids.get(0));
+        assertNotNull(fetched);
+        assertEquals("Plant 0", fetched.getName());
+        assertEquals(TODAY, fetched.getLastWatered(), "LocalDate round-trips");
+
+        fetched.setName("mutated but not saved");
+        assertEquals("Plant 0", s.plants().findById(ids.get(0)).getName(), "reads are copies");
+        fetched.setName("Renamed");
+        s.plants().replaceById(fetched.getId(), fetched);
+        assertEquals("Renamed", s.plants().findById(ids.get(0)).getName());
+
+        assertEquals(1, s.plants().deleteById(ids.get(3)));
+        assertEquals(3, s.plants().findByUserId(user).size());
+    }
+
+    @Test
+    void tasks() {
+        List<String> plantIds = plants(s, user, 3);
+        List<String> taskIds = tasks(s, user, plantIds);
+
+        List<CareTask> open = s.tasks().findDueOrUpcoming(user);
+        assertEquals(3, open.size());
+        assertEquals(TODAY, open.get(0).getDueDate(), "sorted by due date");
+        assertEquals(TODAY.plusDays(2), open.get(2).getDueDate());
+        assertEquals(1, s.tasks().findByUserIdAndDate(user, TODAY.plusDays(1)).size());
+
+        List<CareTask> range = s.tasks().findByUserIdAndDateRange(user, TODAY, TODAY.plusDays(1));
+        assertEquals(2, range.size(), "range is inclusive");
+        assertEquals(TODAY, range.get(0).getDueDate(), "range is ascending");
+
+        s.tasks().updateStatusAndLastCompleted(taskIds.get(0), TaskStatus.DONE, TODAY);
+        assertEquals(1, s.tasks().findByUserIdAndStatus(user, TaskStatus.DONE).size());
+        assertEquals(TODAY, s.tasks().findById(taskIds.get(0)).getLastCompleted());
+        assertEquals(2, s.tasks().findDueOrUpcoming(user).size(), "DONE leaves findDueOrUpcoming");
+
+        s.tasks().deleteByPlantIdAndType(plantIds.get(1), TaskType.WATER, user);
+        assertTrue(s.tasks().findByPlantIdAndType(plantIds.get(1), TaskType.WATER).isEmpty());
+        assertEquals(2, s.tasks().findByUserId(user).size());
+    }
+
+    @Test
+    void missedSweepLeavesTasksCompletedSinceTheRead() {
+        List<String> plantIds = plants(s, user, 3);
+        List<String> taskIds = tasks(s, user, plantIds); // due today + 2, + 1 and today
+        LocalDate cutoff = TODAY.plusDays(3);
+        List<String> read = s.tasks().findOverdueIds(cutoff, Integer.MAX_VALUE);
+        assertTrue(read.containsAll(taskIds), "all three are overdue by the cutoff");
+
+        s.tasks().updateStatusAndLastCompleted(taskIds.get(1), TaskStatus.DONE, TODAY); // between read and update
+        List<String> changed = s.tasks().markMissed(taskIds, cutoff);
+        assertEquals(2, changed.size());
+        assertEquals(Set.of(taskIds.get(0), taskIds.get(2)), Set.copyOf(changed), "only the tasks it marked");
+        assertEquals(TaskStatus.DONE, s.tasks().findById(taskIds.get(1)).getStatus(), "the completed task stays DONE");
+        assertEquals(TaskStatus.MISSED, s.tasks().findById(taskIds.get(0)).getStatus());
+        assertTrue(s.tasks().markMissed(taskIds, cutoff).isEmpty(), "nothing left to mark");
+        assertTrue(s.tasks().findOverdueIds(cutoff, Integer.MAX_VALUE).stream().noneMatch(taskIds::contains));
+    }
+
+    @Test
+    void careLogs() {
+        String plantId = plants(s, user, 1).get(0);
+        logs(s, user, plantId, 5);
+
+        List<CareLogEntry> recent = s.logs().findRecentByUser(user, 2);
+        assertEquals(2, recent.size(), "limit");
+        assertEquals(TODAY, recent.get(0).getDate(), "newest first");
+        assertEquals(TODAY.minusDays(1), recent.get(1).getDate());
+        assertEquals(5, s.logs().findByPlant(plantId).size());
+
+        List<CareLogEntry> window = s.logs().findByUserAndDateRange(user, TODAY.minusDays(3), TODAY.minusDays(1));
+        assertEquals(3, window.size(), "range is inclusive");
+        assertEquals(TODAY.minusDays(1), window.get(0).getDate(), "range is newest first");
+    }
+
+    @Test
+    void journalTimeline() {
+        List<String> plantIds = plants(s, user, 2);
+        journal(s, user, plantIds, 5);
+
+        List<JournalEntry> page1 = s.journal().findTimelinePage(user, null, null, 3);
+        List<JournalEntry> page2 = s.journal().findTimelinePage(user, null, page1.get(page1.size() - 1), 3);
+        assertEquals(3, page1.size());
+        assertEquals(2, page2.size());
+        assertFalse(page1.get(0).getEntryDate().isBefore(page1.get(2).getEntryDate()), "newest first");
+        assertTrue(page2.stream().noneMatch(e -> page1.stream().anyMatch(p -> p.getId().equals(e.getId()))),
+                "pages don't overlap");
+        assertEquals(JournalStore.TIMELINE_PREVIEW_CHARS + 1, page1.get(0).getContent().length(), "preview cut to limit + 1");
+        assertEquals(JournalStore.TIMELINE_PREVIEW_CHARS + 50, s.journal().findById(page1.get(0).getId()).getContent().length(),
+                "full body via findById");
+        assertEquals(3, s.journal().findTimelinePage(user, plantIds.get(0), null, 10).size(), "per-plant page");
+    }
+
+    @Test
+    void journalTimelinePagesThroughUndatedEntries() {
+        List<String> plantIds = plants(s, user, 1);
+        journal(s, user, plantIds, 3);
+        for (int i = 0; i < 3; i++) {
+            s.journal().insertOne(new JournalEntry(UUID.randomUUID().toString(), user, plantIds.get(0),
+                    "Plant", null, "undated " + i, null));
+        }
+
+        List<JournalEntry> seen = new ArrayList<>();
+        JournalEntry after = null;
+        for (int pages = 0; pages < 10; pages++) {
+            List<JournalEntry> page = s.journal().findTimelinePage(user, null, after, 2);
+            if (page.isEmpty()) break;
+            seen.addAll(page);
+            after = page.get(page.size() - 1);
+        }
+        assertEquals(6, seen.size(), "every entry once");
+        assertEquals(6, seen.stream().map(JournalEntry::getId).distinct().count(), "pages don't overlap");
+        assertNotNull(seen.get(2).getEntryDate(), "dated entries first");
+        assertNull(seen.get(3).getEntryDate(), "undated entries last");
+    }
+
+    @Test
+    void supplies() {
+        s.supplies().upsertByName(user, new SupplyItem(user, "Potting soil", 5, 2));
+        s.supplies().upsertByName(user, new SupplyItem(user, "Potting soil", 3, 2));
+        List<SupplyItem> items = s.supplies().findAll(user);
+        assertEquals(1, items.size(), "upsert by name keeps one row");
+        assertEquals(3, items.get(0).getQuantity());
+
+        s.supplies().adjustQuantity(items.get(0).getId(), user, -2);
+        assertEquals(1, s.supplies().findLowStock(user).size());
+        s.supplies().adjustQuantity(items.get(0).getId(), "someone-else", 100);
+        assertEquals(1, s.supplies().findAll(user).get(0).getQuantity(), "other users can't adjust");
+    }
+
+    @Test
+    void changedSince() throws InterruptedException {
+        List<String> plantIds = plants(s, user, 3);
+        List<String> taskIds = tasks(s, user, plantIds);
+        s.supplies().upsertByName(user, new SupplyItem(user, "Potting soil", 5, 2));
+        ObjectId supplyId = s.supplies().findAll(user).get(0).getId();
+
+        Plant first = s.plants().findById(plantIds.get(0));
+        assertNotNull(first.getCreatedAt(), "writes stamp createdAt");
+        assertNotNull(first.getUpdatedAt(), "writes stamp updatedAt");
+        ChangeSet<Plant> everything = s.plants().changedSince(user, null);
+        assertTrue(everything.full(), "null since is a full read");
+        assertEquals(3, everything.changed().size());
+
+        Thread.sleep(20);
+        Date mark = new Date();
+        Thread.sleep(5);
+        Plant edited = first.copy();
+        edited.setCreatedAt(null);
+        edited.setName("Delta");
+        s.plants().replaceById(edited.getId(), edited);
+        s.plants().deleteById(plantIds.get(2));
+        s.tasks().updateStatus(taskIds.get(0), TaskStatus.DONE);
+        s.supplies().adjustQuantity(supplyId, user, 1);
+
+        ChangeSet<Plant> delta = s.plants().changedSince(user, mark);
+        assertFalse(delta.full());
+        assertEquals(1, delta.changed().size(), "only what changed since the mark");
+        assertEquals("Delta", delta.changed().get(0).getName());
+        assertEquals(first.getCreatedAt(), delta.changed().get(0).getCreatedAt(), "createdAt survives a replace without it");
+        assertEquals(List.of(plantIds.get(2)), delta.deletedIds(), "delete leaves a tombstone");
+        assertFalse(delta.until().after(new Date()), "until is not after now");
+        assertEquals(1, s.tasks().changedSince(user, mark).changed().size(), "partial task update is stamped");
+        assertEquals(1, s.supplies().changedSince(user, mark).changed().size(), "supply update is stamped");
+        assertTrue(s.plants().changedSince("nobody-" + user, mark).changed().isEmpty(), "other users see nothing");
+    }
+
+    // ---------- fixtures ----------
+
+    /** {@code n} plants watered every 3 days, plant i last watered i days ago. */
+    static List<String> plants(Stores s, String user, int n) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Plant p = new Plant();
+            p.setId(UUID.randomUUID().toString());
+            p.setUserId(user);
+            p.setName("Plant " + i);
+            p.setWaterEveryDays(3);
+            p.setLastWatered(TODAY.minusDays(i));
+            s.plants().insertOne(p);
+            ids.add(p.getId());
+        }
+        return ids;
+    }
+
+    /** One upcoming WATER task per plant, plant i's due in 2 - i days. */
+    static List<String> tasks(Stores s, String user, List<String> plantIds) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < plantIds.size(); i++) {
+            CareTask t = new CareTask();
+            t.setId(UUID.randomUUID().toString());
+            t.setUserId(user);
+            t.setPlantId(plantIds.get(i));
+            t.setType(TaskType.WATER);
+            t.setStatus(TaskStatus.UPCOMING);
+            t.setDueDate(TODAY.plusDays(2 - i));
+            s.tasks().insertOne(t);
+            ids.add(t.getId());
+        }
+        return ids;
+    }
+
+    /** {@code n} waterings of one plant, the i-th i days ago. */
+    static void logs(Stores s, String user, String plantId, int n) {
+        for (int i = 0; i < n; i++) {
+            s.logs().insert(new CareLogEntry(UUID.randomUUID().toString(), plantId, user,
+                    TODAY.minusDays(i), CareAction.WATERING, null, null, "log " + i, "Plant 0"));
+        }
+    }
+
+    /** {@code n} entries alternating between the plants, two per minute, each longer than a preview. */
+    static void journal(Stores s, String user, List<String> plantIds, int n) {
+        LocalDateTime at = LocalDateTime.of(2025, 6, 15, 9, 0);
+        for (int i = 0; i < n; i++) {
+            s.journal().insertOne(new JournalEntry(UUID.randomUUID().toString(), user, plantIds.get(i % plantIds.size()),
+                    "Plant", at.plusMinutes(i / 2), "x".repeat(JournalStore.TIMELINE_PREVIEW_CHARS + 50), null));
+        }
+    }
+}
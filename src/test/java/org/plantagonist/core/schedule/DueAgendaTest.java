@@ -0,0 +1,121 @@
+package org.plantagonist.core.schedule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.repositories.InMemoryTaskStore;
+import org.plantagonist.core.services.MutableClock;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The agenda pushes each status change at the minute it happens, and only while the task is open. */
+class DueAgendaTest {
+
+    private static final String USER = "u1";
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15); // MutableClock starts at 08:00 UTC
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryTaskStore tasks = new InMemoryTaskStore();
+    private final List<DueAgenda.Transition> pushed = new ArrayList<>();
+    private DueAgenda agenda;
+
+    @BeforeEach
+    void setUp() {
+        agenda = new DueAgenda(USER, tasks, clock, 2);
+        agenda.subscribe(pushed::add);
+    }
+
+    @Test
+    void pushesTodayDueAndMissedAtTheDayBoundaries() {
+        tasks.insertOne(task("tomorrow", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        tasks.insertOne(task("today", TODAY, TaskStatus.TODAY));
+        agenda.load();
+        assertEquals(2, agenda.size());
+        assertEquals(1, agenda.dueCount());
+
+        tickAt(TODAY.atTime(23, 59));
+        assertTrue(pushed.isEmpty());
+
+        tickAt(TODAY.plusDays(1).atTime(0, 0));
+        assertTransitions("tomorrow UPCOMING>TODAY", "today TODAY>DUE");
+        assertEquals(TaskStatus.DUE, tasks.findById("today").getStatus(), "the agenda stores the new status");
+        assertEquals(2, agenda.dueCount());
+
+        tickAt(TODAY.plusDays(2).atTime(0, 0));
+        assertTransitions("tomorrow TODAY>DUE");
+
+        tickAt(TODAY.plusDays(3).atTime(0, 0)); // "today" was due on the 15th: DUE through the 17th with 2 grace days
+        assertTransitions("today DUE>MISSED");
+        assertEquals(TaskStatus.MISSED, tasks.findById("today").getStatus());
+        assertEquals(1, agenda.size(), "MISSED tasks leave the wheel");
+
+        tickAt(TODAY.plusDays(4).atTime(0, 0));
+        assertTransitions("tomorrow DUE>MISSED");
+        assertEquals(0, agenda.size());
+    }
+
+    @Test
+    void aTaskThatWentStaleWhileClosedCatchesUpOnTheNextTick() {
+        tasks.insertOne(task("old", TODAY.minusDays(10), TaskStatus.UPCOMING));
+        agenda.load();
+        clock.advance(Duration.ofMinutes(1));
+        agenda.tick();
+        assertTransitions("old UPCOMING>MISSED");
+    }
+
+    @Test
+    void followsWritesReportedByTheStore() {
+        tasks.insertOne(task("done", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        tasks.insertOne(task("deleted", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        agenda.load();
+
+        agenda.statusChanged("done", TaskStatus.DONE);
+        agenda.deleted("deleted");
+        assertEquals(0, agenda.size());
+
+        CareTask moved = task("moved", TODAY.plusDays(3), TaskStatus.UPCOMING);
+        agenda.saved(moved);
+        moved.setDueDate(TODAY.plusDays(1)); // rescheduled: the new due date replaces the old timer
+        agenda.saved(moved);
+        CareTask someoneElses = task("other", TODAY.plusDays(1), TaskStatus.UPCOMING);
+        someoneElses.setUserId("u2");
+        agenda.saved(someoneElses);
+        assertEquals(1, agenda.size());
+
+        tickAt(TODAY.plusDays(1).atTime(0, 1));
+        assertTransitions("moved UPCOMING>TODAY");
+    }
+
+    private void tickAt(LocalDateTime at) {
+        clock.advance(Duration.between(clock.instant(), at.toInstant(ZoneOffset.UTC)));
+        agenda.tick();
+    }
+
+    private void assertTransitions(String... expected) {
+        List<String> got = pushed.stream().map(t -> t.taskId() + " " + t.from() + ">" + t.to()).sorted().toList();
+        assertEquals(List.of(expected).stream().sorted().toList(), got);
+        for (DueAgenda.Transition t : pushed) assertEquals(USER, t.userId());
+        pushed.clear();
+    }
+
+    private static CareTask task(String id, LocalDate due, TaskStatus status) {
+        CareTask t = new CareTask();
+        t.setId(id);
+        t.setUserId(USER);
+        t.setPlantId("p-" + id);
+        t.setPlantName("Fern");
+        t.setType(TaskType.WATER);
+        t.setStatus(status);
+        t.setDueDate(due);
+        return t;
+    }
+}
@@ -0,0 +1,97 @@
+package org.plantagonist.core.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+    private final RecurrenceRule everyThree = new RecurrenceRule("u", "p", "Fern", TaskType.WATER, 3, DAY);
+
+    @Test
+    void occurrencesAreOneIntervalApart() {
+        assertEquals(DAY, everyThree.occurrence(0));
+        assertEquals(DAY.plusDays(3), everyThree.occurrence(1));
+        assertEquals(DAY.plusDays(30), everyThree.occurrence(10));
+    }
+
+    @Test
+    void firstIndexOnOrAfter() {
+        assertEquals(0, everyThree.firstIndexOnOrAfter(DAY.minusDays(5)), "before next is the next one");
+        assertEquals(0, everyThree.firstIndexOnOrAfter(DAY));
+        assertEquals(1, everyThree.firstIndexOnOrAfter(DAY.plusDays(1)));
+        assertEquals(1, everyThree.firstIndexOnOrAfter(DAY.plusDays(3)), "on an occurrence is that one");
+        assertEquals(2, everyThree.firstIndexOnOrAfter(DAY.plusDays(4)));
+    }
+
+    @Test
+    void ruleStartsOneIntervalAfterTheLastCompletion() {
+        Plant p = plant();
+        p.setWaterEveryDays(4);
+        p.setLastWatered(DAY);
+        RecurrenceRule r = RecurrenceRule.of(p, TaskType.WATER);
+        assertEquals(DAY.plusDays(4), r.next());
+        assertEquals(4, r.everyDays());
+        assertEquals("p1", r.plantId());
+        assertEquals("u1", r.userId());
+    }
+
+    @Test
+    void neverDoneStartsFromWhenThePlantWasAdded() {
+        Plant p = plant();
+        p.setFertilizeEveryDays(30);
+        p.setCreatedAt(Date.from(DAY.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        assertEquals(DAY.plusDays(30), RecurrenceRule.of(p, TaskType.FERTILIZE).next());
+    }
+
+    @Test
+    void onlyTypesWithAPositiveIntervalHaveRules() {
+        Plant p = plant();
+        p.setWaterEveryDays(3);
+        p.setLastWatered(DAY);
+        p.setFertilizeEveryDays(0);
+        List<RecurrenceRule> rules = RecurrenceRule.of(p);
+        assertEquals(1, rules.size());
+        assertEquals(TaskType.WATER, rules.get(0).type());
+        assertNull(RecurrenceRule.of(p, TaskType.OTHER));
+
+        p.setId(null);
+        assertNull(RecurrenceRule.of(p, TaskType.WATER), "no rule without a plant id");
+    }
+
+    @Test
+    void markDoneMovesTheRule() {
+        Plant p = plant();
+        p.setSoilChangeEveryDays(180);
+        p.setLastSoilChanged(DAY.minusDays(200));
+        RecurrenceRule.markDone(p, TaskType.SOIL_CHANGE, DAY);
+        assertEquals(DAY, p.getLastSoilChanged());
+        assertEquals(DAY.plusDays(180), RecurrenceRule.of(p, TaskType.SOIL_CHANGE).next());
+    }
+
+    @Test
+    void withNextKeepsEverythingElse() {
+        RecurrenceRule moved = everyThree.withNext(DAY.plusDays(1));
+        assertEquals(DAY.plusDays(1), moved.next());
+        assertEquals(everyThree.everyDays(), moved.everyDays());
+        assertEquals(everyThree.plantId(), moved.plantId());
+        assertEquals(everyThree.type(), moved.type());
+    }
+
+    private static Plant plant() {
+        Plant p = new Plant();
+        p.setId("p1");
+        p.setUserId("u1");
+        p.setName("Fern");
+        return p;
+    }
+}
@@ -0,0 +1,57 @@
+package org.plantagonist.core.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.TaskType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void mergesRulesInDueDateOrder() {
+        RecurrenceRule water = rule("a", TaskType.WATER, 2, DAY);
+        RecurrenceRule fertilize = rule("b", TaskType.FERTILIZE, 3, DAY.plusDays(1));
+        List<Recurrence.Occurrence> out = Recurrence.between(List.of(water, fertilize), DAY, DAY.plusDays(6));
+
+        assertEquals(List.of(DAY, DAY.plusDays(1), DAY.plusDays(2), DAY.plusDays(4), DAY.plusDays(4), DAY.plusDays(6)),
+                out.stream().map(Recurrence.Occurrence::due).toList());
+        for (int i = 1; i < out.size(); i++) {
+            assertFalse(out.get(i).due().isBefore(out.get(i - 1).due()));
+        }
+        // same day: ordered by plant, then type
+        assertEquals("a", out.get(3).rule().plantId());
+        assertEquals("b", out.get(4).rule().plantId());
+    }
+
+    @Test
+    void windowIsInclusiveAndStartsMidRule() {
+        RecurrenceRule r = rule("a", TaskType.WATER, 3, DAY);
+        List<Recurrence.Occurrence> out = Recurrence.between(List.of(r), DAY.plusDays(4), DAY.plusDays(9));
+        assertEquals(List.of(DAY.plusDays(6), DAY.plusDays(9)), out.stream().map(Recurrence.Occurrence::due).toList());
+        assertEquals(2, out.get(0).index());
+        assertFalse(out.get(0).isNext());
+    }
+
+    @Test
+    void onlyTheStoredOccurrenceIsNext() {
+        List<Recurrence.Occurrence> out = Recurrence.between(List.of(rule("a", TaskType.WATER, 7, DAY)), DAY, DAY.plusDays(14));
+        assertEquals(3, out.size());
+        assertTrue(out.get(0).isNext());
+        assertFalse(out.get(1).isNext());
+    }
+
+    @Test
+    void rulesPastTheWindowAndNoRulesGiveNothing() {
+        assertTrue(Recurrence.between(List.of(rule("a", TaskType.WATER, 2, DAY.plusDays(10))), DAY, DAY.plusDays(9)).isEmpty());
+        assertTrue(Recurrence.between(List.of(), DAY, DAY.plusDays(9)).isEmpty());
+    }
+
+    private static RecurrenceRule rule(String plantId, TaskType type, int every, LocalDate next) {
+        return new RecurrenceRule("u", plantId, "Plant " + plantId, type, every, next);
+    }
+}
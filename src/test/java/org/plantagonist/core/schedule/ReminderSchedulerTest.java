@@ -0,0 +1,116 @@
+package org.plantagonist.core.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.repositories.InMemoryTaskStore;
+import org.plantagonist.core.services.MutableClock;
+import org.plantagonist.core.services.NotificationService;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15); // MutableClock starts at 08:00 UTC
+
+    @TempDir
+    Path dir;
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryTaskStore tasks = new InMemoryTaskStore();
+    private final List<NotificationService.Reminder> sent = new CopyOnWriteArrayList<>();
+    private NotificationService bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new NotificationService(60_000, 256);
+        bus.subscribe(d -> d.items().forEach(i -> sent.add((NotificationService.Reminder) i.event())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void firesAtTheReminderHourOfTheDueDay() {
+        tasks.insertOne(task("today", TODAY, TaskStatus.TODAY));
+        tasks.insertOne(task("tomorrow", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        tasks.insertOne(task("done", TODAY, TaskStatus.DONE));
+        ReminderScheduler s = scheduler();
+        s.adoptNow("u1");
+        assertEquals(2, s.currentStats().scheduled());
+
+        s.tick();
+        assertEquals(0, s.currentStats().fired(), "08:00, before the reminder hour");
+        clock.advance(Duration.ofHours(1));
+        s.tick();
+        assertEquals(1, s.currentStats().fired());
+
+        s.adoptNow("u1");
+        assertEquals(1, s.currentStats().scheduled(), "adopted once: the fired reminder isn't scheduled again");
+
+        bus.close();
+        assertEquals(1, sent.size());
+        assertEquals("today", sent.get(0).taskId());
+        assertFalse(sent.get(0).late());
+    }
+
+    @Test
+    void catchesUpOnRestartWithoutFiringTwice() {
+        tasks.insertOne(task("a", TODAY, TaskStatus.TODAY));
+        tasks.insertOne(task("b", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        tasks.insertOne(task("c", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        tasks.insertOne(task("moved", TODAY.plusDays(1), TaskStatus.UPCOMING));
+        ReminderScheduler first = scheduler();
+        first.adoptNow("u1");
+        first.tick(); // 08:00: nothing yet; then the app closes
+
+        tasks.updateStatus("c", TaskStatus.DONE); // changed elsewhere while closed
+        CareTask moved = tasks.findById("moved");
+        moved.setDueDate(TODAY.plusDays(5));
+        tasks.replaceById("moved", moved);
+        clock.advance(Duration.ofDays(2));
+
+        ReminderScheduler second = scheduler();
+        second.tick();
+        ReminderScheduler.Stats stats = second.currentStats();
+        assertEquals(2, stats.fired());
+        assertEquals(2, stats.caughtUp());
+        assertEquals(2, stats.skipped(), "done and moved tasks are checked before firing");
+
+        ReminderScheduler third = scheduler();
+        third.tick();
+        assertEquals(0, third.currentStats().fired(), "nothing fires twice");
+
+        bus.close();
+        assertEquals(List.of("a", "b"), sent.stream().map(NotificationService.Reminder::taskId).sorted().toList());
+        assertTrue(sent.stream().allMatch(NotificationService.Reminder::late));
+    }
+
+    private ReminderScheduler scheduler() {
+        return new ReminderScheduler(dir, () -> tasks, bus, clock, 9);
+    }
+
+    private static CareTask task(String id, LocalDate due, TaskStatus status) {
+        CareTask t = new CareTask();
+        t.setId(id);
+        t.setUserId("u1");
+        t.setPlantId("p-" + id);
+        t.setPlantName("Fern");
+        t.setType(TaskType.WATER);
+        t.setStatus(status);
+        t.setDueDate(due);
+        return t;
+    }
+}
@@ -0,0 +1,142 @@
+package org.plantagonist.core.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.plantagonist.core.models.TaskType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Reopening is a restart: the schedule and the fired watermark come back from the directory. */
+class ReminderStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void remindersStayDueUntilMarkedFired() {
+        ReminderStore s = open(at(DAY, 8));
+        s.set(reminder("a", DAY, 9));
+        s.set(reminder("b", DAY.plusDays(1), 9));
+        assertEquals(List.of(), s.due(at(DAY, 8)));
+        assertEquals(List.of("a"), ids(s.due(at(DAY, 9))));
+        assertEquals(List.of("a"), ids(s.due(at(DAY, 9))), "handed out again until marked");
+
+        s.markFired(at(DAY, 9));
+        assertEquals(List.of(), s.due(at(DAY, 10)));
+        assertEquals(List.of("b"), ids(s.due(at(DAY.plusDays(1), 9))));
+        assertEquals(1, s.size());
+    }
+
+    @Test
+    void firesWhatCameDueWhileClosedOnceAndDeletesFinishedPages() throws IOException {
+        ReminderStore s = open(at(DAY, 8));
+        s.set(reminder("a", DAY, 9));
+        s.set(reminder("b", DAY.plusDays(3), 9)); // past the lookahead: on disk only
+        s.set(reminder("c", DAY.plusDays(10), 9));
+        assertEquals(1, s.size());
+        assertEquals(List.of("2025-06-15.log", "2025-06-18.log", "2025-06-25.log"), pages());
+
+        ReminderStore reopened = open(at(DAY.plusDays(4), 12));
+        assertEquals(List.of("a", "b"), ids(reopened.due(at(DAY.plusDays(4), 12))), "earliest first");
+        reopened.markFired(at(DAY.plusDays(4), 12));
+        assertEquals(List.of("2025-06-25.log"), pages(), "pages behind the watermark are deleted");
+        assertEquals(at(DAY.plusDays(4), 12), reopened.fired());
+
+        ReminderStore again = open(at(DAY.plusDays(4), 13));
+        assertEquals(List.of(), again.due(at(DAY.plusDays(4), 13)), "nothing fires twice");
+        assertEquals(List.of(), again.due(at(DAY.plusDays(10), 9)), "not loaded yet");
+        again.loadThrough(DAY.plusDays(10)); // as the scheduler's tick does when the day comes
+        assertEquals(List.of("c"), ids(again.due(at(DAY.plusDays(10), 9))));
+    }
+
+    @Test
+    void startupReadsOnlyThePagesFromTheWatermarkOn() {
+        ReminderStore s = open(at(DAY, 8));
+        for (int i = 0; i < 30; i++) s.set(reminder("t" + i, DAY.plusDays(i), 9));
+
+        ReminderStore reopened = open(at(DAY, 8));
+        assertEquals(2, reopened.pagesRead(), "today and the lookahead day");
+        assertEquals(2, reopened.size());
+
+        ReminderStore later = open(at(DAY.plusDays(200), 8)); // a long gap lists the directory instead of probing
+        assertEquals(30, later.pagesRead());
+        assertEquals(30, later.due(at(DAY.plusDays(200), 8)).size());
+    }
+
+    @Test
+    void aMovedReminderLivesOnlyOnItsNewDay() {
+        ReminderStore s = open(at(DAY, 8));
+        s.set(reminder("a", DAY, 9));
+        s.set(reminder("a", DAY.plusDays(1), 9));
+        s.set(reminder("gone", DAY, 10));
+        s.drop("gone");
+
+        ReminderStore reopened = open(at(DAY, 8));
+        assertEquals(1, reopened.size());
+        assertEquals(List.of(), reopened.due(at(DAY, 23)));
+        List<ReminderStore.Reminder> due = reopened.due(at(DAY.plusDays(1), 9));
+        assertEquals(List.of("a"), ids(due));
+        assertEquals(DAY.plusDays(1), due.get(0).due());
+    }
+
+    @Test
+    void theNewerRecordWinsWhenBothPagesLoad() {
+        ReminderStore s = open(at(DAY, 8));
+        s.set(reminder("a", DAY.plusDays(3), 9)); // not loaded, so the move can't drop it
+        s.set(reminder("a", DAY.plusDays(2), 9));
+
+        ReminderStore reopened = open(at(DAY.plusDays(5), 8));
+        List<ReminderStore.Reminder> due = reopened.due(at(DAY.plusDays(5), 8));
+        assertEquals(1, due.size());
+        assertEquals(DAY.plusDays(2), due.get(0).due());
+    }
+
+    @Test
+    void aReminderBehindTheWatermarkFiresOnTheNextTick() {
+        ReminderStore s = open(at(DAY, 8));
+        s.markFired(at(DAY, 12));
+        s.set(reminder("late", DAY, 9));
+        assertEquals(List.of("late"), ids(s.due(at(DAY, 12) + 1)));
+    }
+
+    @Test
+    void adoptedUsersArePersisted() {
+        ReminderStore s = open(at(DAY, 8));
+        assertFalse(s.adopted("u1"));
+        s.markAdopted("u1");
+        assertTrue(open(at(DAY, 9)).adopted("u1"));
+        assertFalse(open(at(DAY, 9)).adopted("u2"));
+    }
+
+    private ReminderStore open(long now) {
+        return new ReminderStore(dir, ZoneOffset.UTC, now);
+    }
+
+    private List<String> pages() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).filter(n -> n.endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static ReminderStore.Reminder reminder(String taskId, LocalDate due, int hour) {
+        return new ReminderStore.Reminder(taskId, "u1", "Fern", TaskType.WATER, due, at(due, hour));
+    }
+
+    private static long at(LocalDate day, int hour) {
+        return day.atTime(hour, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static List<String> ids(List<ReminderStore.Reminder> rs) {
+        return rs.stream().map(ReminderStore.Reminder::taskId).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package org.plantagonist.core.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    // 10 ms ticks, 8 slots: one rotation is 80 ms
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+
+    @Test
+    void firesOnTheFirstTickAtOrAfterItsDeadline() {
+        wheel.schedule(35, "a");
+        wheel.schedule(40, "b");
+        assertEquals(List.of(), wheel.advance(39));
+        assertEquals(List.of("a", "b"), sorted(wheel.advance(40)));
+        assertEquals(0, wheel.size());
+        assertEquals(List.of(), wheel.advance(200), "fired timers don't come back a rotation later");
+    }
+
+    @Test
+    void deadlinesMoreThanARotationAwayWaitForTheirTurn() {
+        wheel.schedule(165, "far"); // same bucket as tick 1 and tick 9
+        wheel.schedule(15, "near");
+        assertEquals(List.of("near"), wheel.advance(20));
+        assertEquals(List.of(), wheel.advance(90), "its bucket came round, the deadline didn't");
+        assertEquals(List.of(), wheel.advance(169));
+        assertEquals(List.of("far"), wheel.advance(170));
+    }
+
+    @Test
+    void aLongGapFiresEverythingThatCameDue() {
+        for (int i = 1; i <= 20; i++) wheel.schedule(i * 10L, "t" + i);
+        wheel.schedule(1_000, "later");
+        assertEquals(20, wheel.advance(500).size(), "a gap of several rotations visits each bucket once");
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("later"), wheel.advance(1_000));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        wheel.advance(100);
+        wheel.schedule(20, "stale");
+        assertEquals(List.of(), wheel.advance(109));
+        assertEquals(List.of("stale"), wheel.advance(110));
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimingWheel.Timer<String> a = wheel.schedule(30, "a");
+        wheel.schedule(30, "b");
+        assertTrue(a.isScheduled());
+        assertTrue(wheel.cancel(a));
+        assertFalse(a.isScheduled());
+        assertFalse(wheel.cancel(a), "only once");
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advance(30));
+
+        TimingWheel.Timer<String> fired = wheel.schedule(40, "c");
+        wheel.advance(40);
+        assertFalse(wheel.cancel(fired), "a fired timer can't be cancelled");
+        assertFalse(wheel.cancel(null));
+    }
+
+    @Test
+    void reschedulingIsCancelAndScheduleAgain() {
+        TimingWheel.Timer<String> t = wheel.schedule(30, "a");
+        wheel.cancel(t);
+        wheel.schedule(130, "a");
+        assertEquals(List.of(), wheel.advance(100));
+        assertEquals(List.of("a"), wheel.advance(130));
+    }
+
+    @Test
+    void rejectsAnEmptyWheel() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 0, 0));
+    }
+
+    private static List<String> sorted(List<String> l) {
+        return l.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,55 @@
+package org.plantagonist.core.search;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.Plant;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Ranking and resync of the in-memory plant search. */
+class PlantSearchIndexTest {
+
+    private final PlantSearchIndex index = new PlantSearchIndex();
+
+    @Test
+    void anyNameMatchOutranksAnySpeciesMatch() {
+        index.sync(List.of(
+                plant("species-prefix", "Office plant", "Ficus elastica"),
+                plant("name-substring", "Big leaf ficus", "Ficus lyrata"),
+                plant("name-prefix", "Ficus corner", "Ficus benjamina")));
+        assertEquals(List.of("name-prefix", "name-substring", "species-prefix"), ids("ficus"));
+    }
+
+    @Test
+    void termsMustAllMatchAndAccentsAreIgnored() {
+        index.sync(List.of(
+                plant("a", "Café Monstera", "Monstera deliciosa"),
+                plant("b", "Kitchen basil", "Ocimum basilicum")));
+        assertEquals(List.of("a"), ids("cafe mon"));
+        assertEquals(List.of("a"), ids("DELICIOSA"));
+        assertTrue(ids("monstera basil").isEmpty());
+        assertTrue(ids("  ").isEmpty());
+    }
+
+    @Test
+    void syncDropsPlantsThatAreGoneAndReindexesRenames() {
+        index.sync(List.of(plant("a", "Fern", null), plant("b", "Aloe", null)));
+        index.sync(List.of(plant("a", "Boston fern", null)));
+        assertEquals(1, index.size());
+        assertTrue(ids("aloe").isEmpty());
+        assertEquals(List.of("a"), ids("boston"));
+    }
+
+    private List<String> ids(String query) {
+        return index.search(query, Integer.MAX_VALUE).stream().map(h -> h.id).toList();
+    }
+
+    private static Plant plant(String id, String name, String species) {
+        Plant p = new Plant();
+        p.setId(id);
+        p.setName(name);
+        p.setSpecies(species);
+        return p;
+    }
+}
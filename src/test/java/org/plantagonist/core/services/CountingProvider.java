@@ -0,0 +1,43 @@
+package org.plantagonist.core.services;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** A provider with fixed weather everywhere that counts what it was asked, per location. */
+final class CountingProvider implements WeatherProvider {
+    final Map<String, AtomicLong> nowRequests = new ConcurrentHashMap<>();
+    final Map<String, AtomicLong> forecastRequests = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() { return "counting"; }
+
+    @Override
+    public WeatherService.WeatherNow now(String q) {
+        nowRequests.computeIfAbsent(q.toLowerCase(Locale.ROOT), k -> new AtomicLong()).incrementAndGet();
+        WeatherService.WeatherNow w = new WeatherService.WeatherNow();
+        w.locationName = q;
+        w.tempC = 28;
+        return w;
+    }
+
+    @Override
+    public WeatherService.Forecast forecast(String q, int days) {
+        forecastRequests.computeIfAbsent(q.toLowerCase(Locale.ROOT), k -> new AtomicLong()).incrementAndGet();
+        WeatherService.Forecast f = new WeatherService.Forecast();
+        f.locationName = q;
+        for (int i = 0; i < days; i++) {
+            WeatherService.Day d = new WeatherService.Day();
+            d.date = LocalDate.of(2025, 6, 15).plusDays(i);
+            d.maxTempC = 30;
+            f.days.add(d);
+        }
+        return f;
+    }
+
+    long nowTotal() { return nowRequests.values().stream().mapToLong(AtomicLong::get).sum(); }
+
+    long forecastTotal() { return forecastRequests.values().stream().mapToLong(AtomicLong::get).sum(); }
+}
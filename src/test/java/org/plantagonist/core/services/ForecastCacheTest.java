@@ -0,0 +1,61 @@
+package org.plantagonist.core.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** However many users plan at once, each location's forecast is fetched once per refresh window. */
+class ForecastCacheTest {
+
+    private static final String[] CITIES = {"Dhaka", "Chittagong", "Sylhet"};
+    private static final int USERS = 600;
+
+    private final CountingProvider provider = new CountingProvider();
+    private final MutableClock clock = new MutableClock();
+    private final WeatherService service = new WeatherService(provider);
+    private final ForecastCache cache = new ForecastCache(q -> service.getForecast(q, ForecastCache.DAYS),
+            Duration.ofMinutes(180), clock);
+
+    @Test
+    void oneRequestPerLocationPerWindow() {
+        everyoneAsks();
+        assertEquals(CITIES.length, provider.forecastTotal(), "requests " + provider.forecastRequests);
+        assertEquals(CITIES.length, cache.fetches());
+        assertEquals(USERS - CITIES.length, cache.hits());
+
+        clock.advance(Duration.ofMinutes(179));
+        everyoneAsks();
+        assertEquals(CITIES.length, provider.forecastTotal(), "still inside the window");
+
+        clock.advance(Duration.ofMinutes(2));
+        everyoneAsks();
+        assertEquals(2L * CITIES.length, provider.forecastTotal(), "one more per location after the window");
+    }
+
+    @Test
+    void coordinatesAreRoundedSoNeighboursShare() {
+        assertNotNull(cache.at(23.7901, 90.4102));
+        assertNotNull(cache.at(23.7949, 90.4149));
+        assertEquals(1, provider.forecastTotal(), "requests " + provider.forecastRequests);
+        assertTrue(provider.forecastRequests.containsKey("23.79,90.41"));
+    }
+
+    @Test
+    void forecastsCoverTheWeek() {
+        WeatherService.Forecast f = cache.get("Dhaka");
+        assertEquals(ForecastCache.DAYS, f.days.size());
+    }
+
+    private void everyoneAsks() {
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < USERS; u++) {
+                String city = CITIES[u % CITIES.length];
+                pool.execute(() -> assertNotNull(cache.get(city)));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.plantagonist.core.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty("plantagonist.testTtlMinutes");
+    }
+
+    @Test
+    void fetchesOncePerLocationPerWindow() {
+        LocationCache<String> cache = cache(q -> "weather in " + q);
+        assertEquals("weather in Dhaka", cache.get("Dhaka"));
+        assertEquals("weather in Dhaka", cache.get("  dhaka "), "keys ignore case and blanks");
+        assertEquals("weather in Sylhet", cache.get("Sylhet"));
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.hits());
+
+        clock.advance(TTL.minusSeconds(1));
+        cache.get("Dhaka");
+        assertEquals(2, cache.fetches());
+        clock.advance(Duration.ofSeconds(1));
+        cache.get("Dhaka");
+        assertEquals(3, cache.fetches(), "fetched again once the window is over");
+    }
+
+    @Test
+    void blankLocationsAreNeverFetched() {
+        LocationCache<String> cache = cache(q -> q);
+        assertNull(cache.get(null));
+        assertNull(cache.get("  "));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void failuresAreRememberedForAMinuteOnly() {
+        LocationCache<String> cache = cache(q -> {
+            throw new IllegalStateException("down");
+        });
+        assertNull(cache.get("Dhaka"));
+        assertNull(cache.get("Dhaka"));
+        assertEquals(1, calls.get());
+        clock.advance(LocationCache.FAILURE_TTL);
+        assertNull(cache.get("Dhaka"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void staleValuesAreKeptForAMinuteOnly() {
+        LocationCache<String> cache = new LocationCache<>("Test", q -> calls.incrementAndGet() == 1 ? "stale" : "fresh",
+                "stale"::equals, TTL, clock);
+        assertEquals("stale", cache.get("Dhaka"));
+        assertEquals("stale", cache.get("Dhaka"));
+        clock.advance(LocationCache.FAILURE_TTL);
+        assertEquals("fresh", cache.get("Dhaka"));
+        clock.advance(LocationCache.FAILURE_TTL);
+        assertEquals("fresh", cache.get("Dhaka"), "a fresh value is kept for the whole window");
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentCallersShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LocationCache<String> cache = cache(q -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "weather in " + q;
+        });
+        int callers = 16;
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) results.add(pool.submit(() -> cache.get("Dhaka")));
+            while (cache.hits() < callers - 1) Thread.sleep(1); // everyone but the fetcher is waiting on it
+            release.countDown();
+        }
+        for (Future<String> f : results) assertEquals("weather in Dhaka", f.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void minutesReadsThePropertyAndFallsBack() {
+        assertEquals(180, LocationCache.minutes("testTtlMinutes", "TEST_TTL_MINUTES_UNSET", 180));
+        System.setProperty("plantagonist.testTtlMinutes", "45");
+        assertEquals(45, LocationCache.minutes("testTtlMinutes", "TEST_TTL_MINUTES_UNSET", 180));
+        System.setProperty("plantagonist.testTtlMinutes", "0");
+        assertEquals(1, LocationCache.minutes("testTtlMinutes", "TEST_TTL_MINUTES_UNSET", 180), "at least a minute");
+        System.setProperty("plantagonist.testTtlMinutes", "soon");
+        assertEquals(180, LocationCache.minutes("testTtlMinutes", "TEST_TTL_MINUTES_UNSET", 180));
+    }
+
+    private LocationCache<String> cache(Function<String, String> fetch) {
+        return new LocationCache<>("Test", q -> {
+            calls.incrementAndGet();
+            return fetch.apply(q);
+        }, v -> false, TTL, clock);
+    }
+}
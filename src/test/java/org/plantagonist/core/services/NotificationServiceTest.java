@@ -0,0 +1,148 @@
+package org.plantagonist.core.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.services.NotificationService.Digest;
+import org.plantagonist.core.services.NotificationService.SupplyLow;
+import org.plantagonist.core.services.NotificationService.TaskDue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 15);
+
+    private final List<Digest> digests = new CopyOnWriteArrayList<>();
+    private NotificationService bus;
+
+    @AfterEach
+    void close() {
+        if (bus != null) bus.close();
+    }
+
+    @Test
+    void coalescesEachKeyInAWindowIntoItsLatestEvent() {
+        bus = new NotificationService(60_000, 64); // nothing goes out before close
+        bus.subscribe(digests::add);
+        assertTrue(bus.publish(due("t1", TaskStatus.TODAY)));
+        assertTrue(bus.publish(due("t2", TaskStatus.TODAY)));
+        assertTrue(bus.publish(due("t1", TaskStatus.DUE)));
+        assertTrue(bus.publish(due("t1", TaskStatus.MISSED)));
+        bus.close();
+
+        assertEquals(1, digests.size(), "one window, one digest");
+        List<Digest.Item> items = digests.get(0).items();
+        assertEquals(2, items.size());
+        assertEquals(new Digest.Item(due("t1", TaskStatus.MISSED), 3), items.get(0), "first-seen order, latest event");
+        assertEquals(new Digest.Item(due("t2", TaskStatus.TODAY), 1), items.get(1));
+        assertTrue(items.get(0).message().endsWith("(×3)"));
+
+        NotificationService.Stats s = bus.stats();
+        assertEquals(4, s.published());
+        assertEquals(2, s.coalesced());
+        assertEquals(2, s.delivered());
+        assertEquals(1, s.digests());
+        assertEquals(2, bus.recent("u1").size());
+        assertTrue(bus.recent("u2").isEmpty());
+    }
+
+    @Test
+    void dropsWhatDoesNotFitWhileASubscriberIsSlow() throws InterruptedException {
+        int capacity = 4;
+        bus = new NotificationService(5, capacity);
+        CountDownLatch inDelivery = new CountDownLatch(1), release = new CountDownLatch(1);
+        bus.subscribe(d -> {
+            digests.add(d);
+            inDelivery.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(bus.publish(supply("first")));
+        assertTrue(inDelivery.await(5, TimeUnit.SECONDS), "the dispatcher is stuck in the subscriber");
+
+        for (int i = 0; i < capacity; i++) assertTrue(bus.publish(supply("s" + i)));
+        assertFalse(bus.publish(supply("overflow")), "full: rejected, not blocked");
+        assertEquals(1, bus.stats().rejected());
+        assertEquals(capacity, bus.stats().queued());
+
+        release.countDown();
+        bus.close();
+        assertFalse(bus.publish(supply("late")), "a closed bus rejects");
+        int delivered = digests.stream().mapToInt(d -> d.items().size()).sum();
+        assertEquals(1 + capacity, delivered, "everything accepted is delivered");
+        assertTrue(digests.stream().flatMap(d -> d.items().stream()).noneMatch(i -> i.event().equals(supply("overflow"))));
+        assertEquals(2, bus.stats().rejected());
+    }
+
+    @Test
+    void keepsEachPublishersOrderAcrossDigests() throws InterruptedException {
+        int publishers = 4, each = 500;
+        bus = new NotificationService(2, publishers * each);
+        bus.subscribe(digests::add);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            String user = "u" + p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < each; i++) assertTrue(bus.publish(new SupplyLow(user, user + "-" + i, "Soil", i, 1)));
+            }));
+        }
+        for (Thread t : threads) t.join();
+        bus.close();
+
+        int[] next = new int[publishers];
+        for (Digest d : digests) {
+            for (Digest.Item item : d.items()) {
+                SupplyLow e = (SupplyLow) item.event();
+                int p = Integer.parseInt(e.userId().substring(1));
+                assertEquals(next[p]++, e.quantity(), e.userId() + " out of order");
+            }
+        }
+        for (int n : next) assertEquals(each, n);
+        assertEquals(0, bus.stats().coalesced(), "distinct keys never coalesce");
+    }
+
+    @Test
+    void unsubscribedScreensGetNothing() {
+        bus = new NotificationService(60_000, 64);
+        List<Digest> other = new CopyOnWriteArrayList<>();
+        NotificationService.Subscriber gone = other::add;
+        bus.subscribe(digests::add);
+        bus.subscribe(gone);
+        bus.unsubscribe(gone);
+        bus.publish(supply("a"));
+        bus.close();
+        assertEquals(1, digests.size());
+        assertTrue(other.isEmpty());
+
+        bus = new NotificationService(60_000, 64);
+        digests.clear();
+        bus.subscribe(digests::add);
+        bus.subscribe(other::add);
+        bus.unsubscribeAll(); // logout
+        bus.publish(supply("b"));
+        bus.close();
+        assertTrue(digests.isEmpty());
+        assertTrue(other.isEmpty());
+        assertEquals(1, bus.stats().delivered(), "still delivered, just to nobody");
+    }
+
+    private static TaskDue due(String taskId, TaskStatus status) {
+        return new TaskDue("u1", taskId, "Fern", TaskType.WATER, DAY, status);
+    }
+
+    private static SupplyLow supply(String id) {
+        return new SupplyLow("u1", id, "Soil", 1, 2);
+    }
+}
@@ -0,0 +1,108 @@
+package org.plantagonist.core.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.CareTask;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.models.TaskStatus;
+import org.plantagonist.core.repositories.InMemoryPlantStore;
+import org.plantagonist.core.repositories.InMemoryTaskStore;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** The missed sweep followed by a sync must leave every schedule with a live next occurrence. */
+class SchedulerServiceTest {
+
+    private static final String USER = "u1";
+    private static final LocalDate TODAY = LocalDate.now(); // syncAllTasks plans for the real today
+
+    private final Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+    private InMemoryPlantStore plants;
+    private InMemoryTaskStore tasks;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        plants = new InMemoryPlantStore();
+        tasks = new InMemoryTaskStore();
+        service = new TaskService(plants, tasks, noWeather(clock), new SuggestionService());
+    }
+
+    @Test
+    void syncAfterSweepCreatesTheNextOccurrence() {
+        plants.insertOne(plant("p1", 3, TODAY.minusDays(10))); // next watering was 7 days ago
+        service.syncAllTasks(USER, null);
+        assertEquals(TaskStatus.DUE, only().getStatus());
+
+        assertEquals(1, new SchedulerService(tasks, clock, 2, 100).sweep().tasks());
+        assertEquals(TaskStatus.MISSED, only().getStatus());
+
+        service.syncAllTasks(USER, null);
+        CareTask next = only();
+        assertTrue(next.getStatus().isOpen() && next.getStatus() != TaskStatus.MISSED, "status " + next.getStatus());
+        assertFalse(next.getDueDate().isBefore(TODAY), "due " + next.getDueDate());
+
+        // and the next sweep leaves it alone
+        assertEquals(0, new SchedulerService(tasks, clock, 2, 100).sweep().tasks());
+    }
+
+    @Test
+    void nextOccurrenceIsOneIntervalAfterARecentMiss() {
+        plants.insertOne(plant("p1", 7, TODAY.minusDays(10))); // due 3 days ago
+        service.syncAllTasks(USER, null);
+        new SchedulerService(tasks, clock, 2, 100).sweep();
+
+        service.syncAllTasks(USER, null);
+        CareTask next = only();
+        assertEquals(TODAY.plusDays(4), next.getDueDate());
+        assertEquals(TaskStatus.UPCOMING, next.getStatus());
+    }
+
+    @Test
+    void cancelledTaskIsLeftAlone() {
+        plants.insertOne(plant("p1", 3, TODAY.minusDays(1)));
+        service.syncAllTasks(USER, null);
+        CareTask t = only();
+        tasks.updateStatus(t.getId(), TaskStatus.CANCELLED);
+
+        service.syncAllTasks(USER, null);
+        assertEquals(t.getId(), only().getId());
+        assertEquals(TaskStatus.CANCELLED, only().getStatus());
+    }
+
+    private CareTask only() {
+        List<CareTask> all = tasks.findByUserId(USER);
+        assertEquals(1, all.size(), "tasks " + all);
+        return all.get(0);
+    }
+
+    private static Plant plant(String id, int waterEvery, LocalDate lastWatered) {
+        Plant p = new Plant();
+        p.setId(id);
+        p.setUserId(USER);
+        p.setName("Fern " + id);
+        p.setWaterEveryDays(waterEvery);
+        p.setLastWatered(lastWatered);
+        return p;
+    }
+
+    /** Cells whose provider has nothing to say, so planning runs without forecasts. */
+    static WeatherCells noWeather(Clock clock) {
+        WeatherProvider none = new WeatherProvider() {
+            @Override public String name() { return "none"; }
+            @Override public WeatherService.WeatherNow now(String q) throws IOException { throw new IOException("offline"); }
+            @Override public WeatherService.Forecast forecast(String q, int days) throws IOException { throw new IOException("offline"); }
+        };
+        return new WeatherCells(new GeoCache(city -> null, null), new WeatherService(none),
+                new ForecastCache(q -> null, Duration.ofHours(3), clock), Duration.ofMinutes(30), clock);
+    }
+}
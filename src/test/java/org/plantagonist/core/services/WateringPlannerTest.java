@@ -0,0 +1,99 @@
+package org.plantagonist.core.services;
+
+import org.junit.jupiter.api.Test;
+import org.plantagonist.core.models.TaskType;
+import org.plantagonist.core.schedule.RecurrenceRule;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WateringPlannerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Test
+    void withoutAForecastNothingMoves() {
+        assertEquals(new WateringPlanner.Plan(TODAY.plusDays(3), null), WateringPlanner.plan(TODAY.plusDays(3), TODAY, null));
+    }
+
+    @Test
+    void overdueAndOutOfRangeDaysAreLeftAlone() {
+        WeatherService.Forecast wet = forecast(new double[]{20, 20, 20, 20, 20, 20, 20}, hot(0));
+        assertNull(WateringPlanner.plan(TODAY.minusDays(1), TODAY, wet).reason());
+        assertEquals(TODAY.plusDays(9), WateringPlanner.plan(TODAY.plusDays(9), TODAY, wet).date());
+    }
+
+    @Test
+    void rainFirstPushesItLater() {
+        WateringPlanner.Plan p = WateringPlanner.plan(TODAY.plusDays(3), TODAY, forecast(new double[]{0, 5, 0, 0, 0, 0, 0}, hot(0)));
+        assertEquals(TODAY.plusDays(4), p.date());
+        assertEquals("5 mm of rain expected first", p.reason());
+    }
+
+    @Test
+    void aSoakingPushesItTwoDays() {
+        WateringPlanner.Plan p = WateringPlanner.plan(TODAY.plusDays(3), TODAY, forecast(new double[]{6, 6, 0, 0, 0, 0, 0}, hot(0)));
+        assertEquals(TODAY.plusDays(5), p.date());
+    }
+
+    @Test
+    void hotDaysPullItEarlierByAtMostTwo() {
+        WateringPlanner.Plan p = WateringPlanner.plan(TODAY.plusDays(3), TODAY, forecast(dry(), hot(3)));
+        assertEquals(TODAY.plusDays(1), p.date());
+        assertEquals("3 hot day(s) ahead", p.reason());
+
+        p = WateringPlanner.plan(TODAY.plusDays(1), TODAY, forecast(dry(), hot(1)));
+        assertEquals(TODAY, p.date());
+        assertEquals(TODAY, WateringPlanner.plan(TODAY, TODAY, forecast(dry(), hot(7))).date(), "no days before it to count");
+    }
+
+    @Test
+    void aRainyDayMovesToTheNextDryOneWithinThree() {
+        WateringPlanner.Plan p = WateringPlanner.plan(TODAY.plusDays(3), TODAY, forecast(new double[]{0, 0, 0, 5, 5, 0, 0}, hot(0)));
+        assertEquals(TODAY.plusDays(5), p.date());
+        assertEquals("rain on the day", p.reason());
+
+        p = WateringPlanner.plan(TODAY.plusDays(1), TODAY, forecast(new double[]{0, 5, 5, 5, 5, 5, 0}, hot(0)));
+        assertEquals(TODAY.plusDays(4), p.date(), "gives up after three wet days");
+    }
+
+    @Test
+    void weekChainsEachDayFromTheOneBefore() {
+        RecurrenceRule rule = new RecurrenceRule("u", "p", "Fern", TaskType.WATER, 2, TODAY.plusDays(1));
+        assertEquals(List.of(TODAY.plusDays(1), TODAY.plusDays(3), TODAY.plusDays(5)),
+                dates(WateringPlanner.week(rule, TODAY, forecast(dry(), hot(0)))));
+
+        // rain on the first day moves it, and the rest of the week with it
+        List<WateringPlanner.Plan> week = WateringPlanner.week(rule, TODAY, forecast(new double[]{0, 5, 0, 0, 0, 0, 0}, hot(0)));
+        assertEquals(List.of(TODAY.plusDays(2), TODAY.plusDays(4), TODAY.plusDays(6)), dates(week));
+        assertEquals("rain on the day", week.get(0).reason());
+        assertNull(week.get(1).reason(), "rain before the previous watering doesn't count toward the next");
+    }
+
+    private static List<LocalDate> dates(List<WateringPlanner.Plan> plans) {
+        return plans.stream().map(WateringPlanner.Plan::date).toList();
+    }
+
+    private static double[] dry() { return new double[7]; }
+
+    /** Max temperatures with the first {@code n} days hot. */
+    private static double[] hot(int n) {
+        double[] max = new double[7];
+        for (int i = 0; i < 7; i++) max[i] = i < n ? WateringPlanner.HOT_C + 1 : 25;
+        return max;
+    }
+
+    private static WeatherService.Forecast forecast(double[] rainMm, double[] maxC) {
+        WeatherService.Forecast f = new WeatherService.Forecast();
+        for (int i = 0; i < rainMm.length; i++) {
+            WeatherService.Day d = new WeatherService.Day();
+            d.date = TODAY.plusDays(i);
+            d.precipMm = rainMm[i];
+            d.maxTempC = maxC[i];
+            f.days.add(d);
+        }
+        return f;
+    }
+}
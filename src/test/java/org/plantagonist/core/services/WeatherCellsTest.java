@@ -0,0 +1,81 @@
+package org.plantagonist.core.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Users spread over neighbourhoods cost one request per weather cell, not per user or neighbourhood. */
+class WeatherCellsTest {
+
+    /** Neighbourhoods of three cities, two per weather cell. */
+    private static final Map<String, double[]> PLACES = Map.of(
+            "Gulshan, Dhaka", new double[]{23.79, 90.41}, "Dhanmondi, Dhaka", new double[]{23.75, 90.37},
+            "Agrabad, Chittagong", new double[]{22.33, 91.81}, "Halishahar, Chittagong", new double[]{22.33, 91.78},
+            "Zindabazar, Sylhet", new double[]{24.90, 91.87}, "Amberkhana, Sylhet", new double[]{24.91, 91.87});
+    private static final String UNKNOWN_PLACE = "Atlantis"; // no geocoder knows it
+    private static final int USERS = 600;
+
+    private final CountingProvider provider = new CountingProvider();
+    private final MutableClock clock = new MutableClock();
+    private final GeoCache geo = new GeoCache(WeatherCellsTest::locate, null);
+    private final WeatherService service = new WeatherService(provider);
+    private final WeatherCells cells = new WeatherCells(geo, service,
+            new ForecastCache(q -> service.getForecast(q, ForecastCache.DAYS), Duration.ofMinutes(180), clock),
+            Duration.ofMinutes(30), clock);
+
+    @Test
+    void oneRequestPerCell() {
+        List<String> places = new ArrayList<>(new TreeSet<>(PLACES.keySet()));
+        places.add(UNKNOWN_PLACE);
+        Map<String, String> cityByUser = new HashMap<>();
+        for (int u = 0; u < USERS; u++) cityByUser.put("user-" + u, places.get(u % places.size()));
+
+        int expectedCells = 3 + 1;
+        for (int round = 0; round < 2; round++) { // the second is served from the caches
+            assertEquals(USERS, cells.nowByUser(cityByUser).size(), "a reading for every user");
+            assertEquals(USERS, cells.forecastByUser(cityByUser).size(), "a forecast for every user");
+        }
+        assertEquals(expectedCells, provider.nowTotal(), "current requests " + provider.nowRequests);
+        assertEquals(expectedCells, provider.forecastTotal(), "forecast requests " + provider.forecastRequests);
+        assertEquals(places.size(), geo.lookups(), "one geocoder lookup per place");
+        assertEquals(2L * expectedCells, cells.fetches());
+    }
+
+    @Test
+    void neighboursShareACellAndUnknownPlacesAreAskedByName() {
+        WeatherCells.Cell gulshan = cells.cellOf("Gulshan, Dhaka");
+        assertEquals(gulshan, cells.cellOf("Dhanmondi, Dhaka"));
+        assertNotEquals(gulshan, cells.cellOf("Agrabad, Chittagong"));
+        assertEquals("23.875,90.375", gulshan.query(), "asked for the cell's centre");
+
+        WeatherCells.Cell unknown = cells.cellOf(" Atlantis ");
+        assertEquals("city:atlantis", unknown.key());
+        assertEquals("Atlantis", unknown.query());
+        assertNull(cells.cellOf(" "));
+    }
+
+    @Test
+    void usersWithoutACityAreLeftOut() {
+        Map<String, String> cityByUser = new HashMap<>();
+        cityByUser.put("a", "Gulshan, Dhaka");
+        cityByUser.put("b", null);
+        cityByUser.put("c", "");
+        assertEquals(List.of("a"), new ArrayList<>(cells.nowByUser(cityByUser).keySet()));
+    }
+
+    private static GeoService.LatLng locate(String city) {
+        double[] ll = PLACES.get(city);
+        if (ll == null) return null;
+        GeoService.LatLng out = new GeoService.LatLng();
+        out.lat = ll[0];
+        out.lng = ll[1];
+        return out;
+    }
+}
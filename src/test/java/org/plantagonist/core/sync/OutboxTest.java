@@ -0,0 +1,215 @@
+package org.plantagonist.core.sync;
+
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.plantagonist.core.db.MongoConfig;
+import org.plantagonist.core.models.Plant;
+import org.plantagonist.core.repositories.InMemoryPlantStore;
+import org.plantagonist.core.repositories.LocalDatabase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Replay of the outbox: nothing acked is lost across restarts, and nothing replayed goes backwards. */
+class OutboxTest {
+
+    /** Stand-in for Mongo: per-document state guarded by (install, seq), like MongoSink's filter. */
+    static final class StandInServer implements RemoteSink {
+        final Map<String, BsonDocument> docs = new HashMap<>();
+        final Map<String, Long> seqs = new HashMap<>();
+        final String installId;
+        boolean paused;
+        int loseNextAcks;
+        int replays;
+
+        StandInServer(String installId) { this.installId = installId; }
+
+        @Override
+        public synchronized void apply(List<OutboxOp> batch) throws IOException {
+            if (paused) throw new IOException("server unreachable");
+            for (OutboxOp op : batch) {
+                String key = op.collection() + '/' + op.id();
+                if (seqs.getOrDefault(installId + key, 0L) >= op.seq()) {
+                    replays++;
+                    continue;
+                }
+                seqs.put(installId + key, op.seq());
+                if (op.isDelete()) docs.remove(key);
+                else docs.put(key, op.doc().clone());
+            }
+            if (loseNextAcks > 0) {
+                loseNextAcks--;
+                throw new IOException("connection reset before ack");
+            }
+        }
+    }
+
+    @TempDir
+    Path dir;
+    private LocalDatabase db;
+    private Outbox outbox;
+    private InMemoryPlantStore plants;
+
+    @BeforeEach
+    void open() {
+        db = LocalDatabase.open(dir.resolve("replica"));
+        outbox = new Outbox(dir.resolve("outbox.log"));
+        db.replicateTo(outbox);
+        plants = new InMemoryPlantStore(db);
+    }
+
+    @AfterEach
+    void close() {
+        outbox.close();
+        db.close();
+    }
+
+    @Test
+    void pendingOpsSurviveARestart() {
+        for (int i = 0; i < 5; i++) plants.insertOne(plant("p" + i, "Plant " + i));
+        plants.deleteById("p4");
+        String install = outbox.installId();
+        int pending = outbox.pending();
+        assertTrue(pending >= 6, "one op per write, got " + pending);
+
+        restart();
+        assertEquals(pending, outbox.pending(), "unacked ops come back from the log");
+        assertEquals(install, outbox.installId(), "the install id is kept with the log");
+
+        StandInServer server = new StandInServer(install);
+        drain(server);
+        assertEquals(replica(), withoutTombstones(server.docs));
+    }
+
+    @Test
+    void ackedOpsAreNotReplayed() {
+        for (int i = 0; i < 4; i++) plants.insertOne(plant("p" + i, "Plant " + i));
+        List<OutboxOp> first = outbox.peek(2);
+        outbox.ack(first.get(1).seq());
+        int left = outbox.pending();
+
+        restart();
+        assertEquals(left, outbox.pending());
+        assertTrue(outbox.peek(Integer.MAX_VALUE).stream().allMatch(op -> op.seq() > first.get(1).seq()));
+    }
+
+    @Test
+    void replayAfterALostAckDoesNotGoBackwards() throws IOException {
+        plants.insertOne(plant("p1", "Old name"));
+        StandInServer server = new StandInServer(outbox.installId());
+        server.loseNextAcks = 1;
+        List<OutboxOp> batch = SyncWorker.coalesce(outbox.peek(100));
+        assertThrows(IOException.class, () -> server.apply(batch)); // applied, but the app never hears so
+
+        plants.replaceById("p1", plant("p1", "New name"));
+        drain(server);
+        server.apply(batch); // a late duplicate of the first batch changes nothing
+        assertEquals("New name", server.docs.get("plants/" + new RawBsonDocument(plants.findById("p1"), codec()).get("_id"))
+                .getString("name").getValue());
+        assertTrue(server.replays >= 1, "replays " + server.replays);
+        assertEquals(replica(), withoutTombstones(server.docs));
+    }
+
+    @Test
+    void workerDrainsThroughOutagesAndLostAcks() throws InterruptedException {
+        StandInServer server = new StandInServer(outbox.installId());
+        server.paused = true;
+        SyncWorker worker = new SyncWorker(outbox, server, 3);
+        worker.start();
+        try {
+            for (int i = 0; i < 10; i++) plants.insertOne(plant("p" + i, "Plant " + i));
+            plants.deleteById("p3");
+            synchronized (server) {
+                server.paused = false;
+                server.loseNextAcks = 2;
+            }
+            assertTrue(outbox.awaitDrained(20_000), "pending " + outbox.pending());
+        } finally {
+            worker.stop();
+        }
+        synchronized (server) {
+            assertEquals(replica(), withoutTombstones(server.docs));
+        }
+    }
+
+    @Test
+    void coalesceKeepsTheLatestOpPerDocumentInWriteOrder() {
+        plants.insertOne(plant("a", "A1"));
+        plants.insertOne(plant("b", "B1"));
+        plants.replaceById("a", plant("a", "A2"));
+        List<OutboxOp> ops = outbox.peek(100);
+
+        List<OutboxOp> batch = SyncWorker.coalesce(ops);
+        assertEquals(2, batch.size());
+        assertEquals("B1", batch.get(0).doc().getString("name").getValue());
+        assertEquals("A2", batch.get(1).doc().getString("name").getValue());
+        assertEquals(ops.get(ops.size() - 1).seq(), batch.get(1).seq());
+    }
+
+    @Test
+    void aNewLogIsANewInstall() {
+        Outbox other = new Outbox(dir.resolve("other.log"));
+        try {
+            assertNotEquals(outbox.installId(), other.installId());
+        } finally {
+            other.close();
+        }
+    }
+
+    private void restart() {
+        outbox.close();
+        db.close();
+        open();
+    }
+
+    /** Sends everything pending in small batches, acking each, as SyncWorker does. */
+    private void drain(StandInServer server) {
+        while (outbox.pending() > 0) {
+            List<OutboxOp> ops = outbox.peek(2);
+            try {
+                server.apply(SyncWorker.coalesce(ops));
+            } catch (IOException e) {
+                continue; // a lost ack: the same ops go again
+            }
+            outbox.ack(ops.get(ops.size() - 1).seq());
+        }
+    }
+
+    private Map<String, BsonDocument> replica() {
+        Map<String, BsonDocument> out = new HashMap<>();
+        for (Plant p : plants.findAll()) {
+            RawBsonDocument d = new RawBsonDocument(p, codec());
+            out.put("plants/" + d.get("_id"), d.clone());
+        }
+        return out;
+    }
+
+    private static Map<String, BsonDocument> withoutTombstones(Map<String, BsonDocument> docs) {
+        Map<String, BsonDocument> out = new HashMap<>(docs);
+        out.keySet().removeIf(k -> k.startsWith("tombstones/")); // delete markers replicate too
+        return out;
+    }
+
+    private static Codec<Plant> codec() {
+        return MongoConfig.codecRegistry().get(Plant.class);
+    }
+
+    private static Plant plant(String id, String name) {
+        Plant p = new Plant();
+        p.setId(id);
+        p.setUserId("u1");
+        p.setName(name);
+        p.setWaterEveryDays(3);
+        return p;
+    }
+}
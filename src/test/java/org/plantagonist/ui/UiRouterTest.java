@@ -0,0 +1,52 @@
+package org.plantagonist.ui;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The view cache, with a stand-in parser: no FXML is loaded, so no FX toolkit is needed. The
+ * parser for main.fxml opens dashboard.fxml the way MainController.initialize() does.
+ */
+class UiRouterTest {
+
+    private final List<String> parsed = new ArrayList<>();
+
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        UiRouter.clearCache();
+    }
+
+    @Test
+    void aViewCanOpenANestedViewWhileItIsParsed() {
+        Function<String, UiRouter.View> parser = new Function<>() {
+            @Override
+            public UiRouter.View apply(String key) {
+                parsed.add(key);
+                if (key.equals("main.fxml")) UiRouter.view("dashboard.fxml", this);
+                return new UiRouter.View(null, key);
+            }
+        };
+        UiRouter.View main = UiRouter.view("main.fxml", parser);
+        assertEquals("main.fxml", main.controller);
+        assertEquals(List.of("main.fxml", "dashboard.fxml"), parsed);
+
+        Function<String, UiRouter.View> none = key -> fail("parsed " + key + " again");
+        assertSame(main, UiRouter.view("main.fxml", none));
+        assertEquals("dashboard.fxml", UiRouter.view("dashboard.fxml", none).controller);
+    }
+
+    @Test
+    void clearCacheForgetsParsedViews() {
+        UiRouter.View first = UiRouter.view("plants.fxml", key -> new UiRouter.View(null, key));
+        UiRouter.clearCache();
+        assertNotSame(first, UiRouter.view("plants.fxml", key -> new UiRouter.View(null, key)));
+    }
+}
@@ -0,0 +1,85 @@
+package org.plantagonist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), Duration.ofMinutes(2), now::get);
+
+    @Test
+    void opensAfterThresholdFailuresInARow() {
+        assertFalse(breaker.onFailure());
+        assertFalse(breaker.onFailure());
+        breaker.onSuccess(); // resets the run
+        assertFalse(breaker.onFailure());
+        assertFalse(breaker.onFailure());
+        assertTrue(breaker.allow());
+        assertTrue(breaker.onFailure(), "the third in a row opens it");
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allow());
+        assertEquals(Duration.ofSeconds(30), breaker.retryIn());
+        assertEquals(1, breaker.timesOpened());
+    }
+
+    @Test
+    void letsOneTrialThroughWhenTheWaitIsOver() {
+        open();
+        advance(Duration.ofSeconds(29));
+        assertFalse(breaker.allow());
+        advance(Duration.ofSeconds(1));
+        assertTrue(breaker.allow());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.allow(), "only one trial at a time");
+        assertEquals(Duration.ZERO, breaker.retryIn());
+    }
+
+    @Test
+    void aFailedTrialDoublesTheWaitUpToTheMax() {
+        open();
+        Duration[] waits = {Duration.ofSeconds(60), Duration.ofSeconds(120), Duration.ofSeconds(120)};
+        for (Duration wait : waits) {
+            advance(breaker.retryIn());
+            assertTrue(breaker.allow());
+            assertTrue(breaker.onFailure());
+            assertEquals(wait, breaker.retryIn());
+        }
+        assertEquals(4, breaker.timesOpened());
+    }
+
+    @Test
+    void aSuccessfulTrialClosesAndResetsTheWait() {
+        open();
+        advance(breaker.retryIn());
+        assertTrue(breaker.allow());
+        assertTrue(breaker.onFailure());
+        advance(breaker.retryIn());
+        assertTrue(breaker.allow());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allow());
+
+        open();
+        assertEquals(Duration.ofSeconds(30), breaker.retryIn());
+    }
+
+    @Test
+    void thresholdMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void advance(Duration d) {
+        now.addAndGet(d.toNanos());
+    }
+}
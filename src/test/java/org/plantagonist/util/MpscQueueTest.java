@@ -0,0 +1,82 @@
+package org.plantagonist.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscQueueTest {
+
+    @Test
+    void isFifoForOneProducer() {
+        MpscQueue<Integer> q = new MpscQueue<>(8);
+        for (int i = 0; i < 5; i++) assertTrue(q.offer(i));
+        assertEquals(5, q.size());
+        assertEquals(0, q.poll());
+        List<Integer> out = new ArrayList<>();
+        assertEquals(3, q.drainTo(out, 3));
+        assertEquals(List.of(1, 2, 3), out);
+        assertEquals(4, q.poll());
+        assertNull(q.poll());
+        assertEquals(0, q.size());
+    }
+
+    @Test
+    void rejectsOnceFullUntilTheConsumerCatchesUp() {
+        MpscQueue<String> q = new MpscQueue<>(2);
+        assertTrue(q.offer("a"));
+        assertTrue(q.offer("b"));
+        assertFalse(q.offer("c"), "full");
+        assertEquals(2, q.size(), "a rejected offer leaves nothing behind");
+        assertEquals("a", q.poll());
+        assertTrue(q.offer("d"));
+        assertEquals(List.of("b", "d"), List.of(q.poll(), q.poll()));
+        assertThrows(NullPointerException.class, () -> q.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new MpscQueue<String>(0));
+    }
+
+    @Test
+    void keepsEachProducersOrderUnderContention() throws InterruptedException {
+        int producers = 4, perProducer = 20_000;
+        MpscQueue<long[]> q = new MpscQueue<>(1_024); // small, so producers also hit backpressure
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long id = p;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    while (!q.offer(new long[] {id, i})) Thread.onSpinWait();
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        start.countDown();
+
+        long[] next = new long[producers];
+        int received = 0;
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (received < producers * perProducer) {
+            long[] v = q.poll();
+            if (v == null) {
+                assertTrue(System.nanoTime() < deadline, "stalled at " + received);
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(next[(int) v[0]], v[1], "producer " + v[0] + " out of order");
+            next[(int) v[0]]++;
+            received++;
+        }
+        for (Thread t : threads) t.join();
+        assertNull(q.poll());
+        assertEquals(0, q.size());
+    }
+}